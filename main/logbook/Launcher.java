@@ -0,0 +1,26 @@
+package logbook;
+
+import java.util.Arrays;
+
+import logbook.gui.ApplicationMain;
+import logbook.server.HeadlessRecorder;
+
+/**
+ * 起動用のクラスです<br>
+ * --headless が指定されたら画面なしで記録だけ行い、それ以外はメイン画面を起動します。
+ * 画面なしの場合はSWTのクラスを読み込まないように、ApplicationMainに触る前に分岐します
+ */
+public final class Launcher {
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--headless")) {
+            HeadlessRecorder.main(args);
+        }
+        else {
+            ApplicationMain.main(args);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package logbook.config;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import logbook.constants.AppConstants;
 import logbook.dto.ItemInfoDto;
@@ -26,7 +25,7 @@ public class ItemMasterConfig {
      */
     public static void store() throws IOException {
         Map<Integer, ItemInfoDto> map = new HashMap<Integer, ItemInfoDto>();
-        for (Integer id : Item.keySet()) {
+        for (int id : Item.getIds()) {
             map.put(id, Item.get(id));
         }
         BeanUtils.writeObject(AppConstants.ITEM_MST_CONFIG_FILE, map);
@@ -42,9 +41,7 @@ public class ItemMasterConfig {
         try {
             Map<Integer, ItemInfoDto> map = BeanUtils.readObject(AppConstants.ITEM_MST_CONFIG_FILE, Map.class);
             if (map != null) {
-                for (Entry<Integer, ItemInfoDto> entry : map.entrySet()) {
-                    Item.set(entry.getKey(), entry.getValue());
-                }
+                Item.setAll(map);
             }
         } catch (Exception e) {
             LOG.warn("装備マスターを設定ファイルから読み込みますに失敗しました", e);
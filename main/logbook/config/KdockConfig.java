@@ -1,13 +1,14 @@
 package logbook.config;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.CheckForNull;
 
 import logbook.config.bean.KdockBean;
 import logbook.config.bean.KdockMapBean;
-import logbook.constants.AppConstants;
 import logbook.data.context.GlobalContext;
 import logbook.dto.GetShipDto;
 import logbook.dto.ResourceItemDto;
@@ -18,26 +19,30 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * 建造ドックの投入資源を保存・復元します
+ * 建造ドックの投入資源を保存・復元します<br>
+ * 保存先はアカウント(セッション)ごとに別のファイルです
  *
  */
 public class KdockConfig {
     /** ロガー */
     private static final Logger LOG = LogManager.getLogger(KdockConfig.class);
 
-    /** 建造ドックのBean */
-    private static KdockMapBean mapBean;
+    /** 保存先ファイル -> 建造ドックのBean */
+    private static Map<File, KdockMapBean> mapBeans = new ConcurrentHashMap<File, KdockMapBean>();
 
     /**
      * 建造ドックの投入資源を設定します
      * 
+     * @param file 保存先ファイル
      * @param dock ドック
      * @param resource 資源
      * @throws IOException IOException
      */
-    public static void store(String dock, GetShipDto data) throws IOException {
+    public static void store(File file, String dock, GetShipDto data) throws IOException {
+        KdockMapBean mapBean = mapBeans.get(file);
         if (mapBean == null) {
             mapBean = new KdockMapBean();
+            mapBeans.put(file, mapBean);
         }
         KdockBean kdock = new KdockBean();
         kdock.setType(data.isOogata() ? 1 : 0);
@@ -51,20 +56,25 @@ public class KdockConfig {
         kdock.setFreeDock(data.getFreeDock());
         mapBean.getKdockMap().put(dock, kdock);
 
-        BeanUtils.writeObject(AppConstants.KDOCK_CONFIG_FILE, mapBean);
+        BeanUtils.writeObject(file, mapBean);
     }
 
     /**
      * 建造ドックの投入資源を取得します
      * 
+     * @param file 保存先ファイル
      * @param dock ドック
      * @return 建造ドックの投入資源
      */
     @CheckForNull
-    public static GetShipDto load(String dock) {
+    public static GetShipDto load(File file, String dock) {
         try {
+            KdockMapBean mapBean = mapBeans.get(file);
             if (mapBean == null) {
-                mapBean = BeanUtils.readObject(AppConstants.KDOCK_CONFIG_FILE, KdockMapBean.class);
+                mapBean = BeanUtils.readObject(file, KdockMapBean.class);
+                if (mapBean != null) {
+                    mapBeans.put(file, mapBean);
+                }
             }
             if (mapBean != null) {
                 KdockBean kdock = mapBean.getKdockMap().get(dock);
@@ -94,14 +104,16 @@ public class KdockConfig {
     /**
      * 建造ドックの投入資源を削除します
      * 
+     * @param file 保存先ファイル
      * @param dock ドック
      * @throws IOException IOException
      */
-    public static void remove(String dock) throws IOException {
+    public static void remove(File file, String dock) throws IOException {
+        KdockMapBean mapBean = mapBeans.get(file);
         if (mapBean != null) {
             mapBean.getKdockMap().remove(dock);
         }
 
-        BeanUtils.writeObject(AppConstants.KDOCK_CONFIG_FILE, mapBean);
+        BeanUtils.writeObject(file, mapBean);
     }
 }
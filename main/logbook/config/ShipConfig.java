@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import logbook.constants.AppConstants;
 import logbook.dto.ShipInfoDto;
@@ -26,11 +25,10 @@ public class ShipConfig {
      * 設定ファイルに書き込みます
      */
     public static void store() throws IOException {
-        Set<String> shipids = Ship.keySet();
+        // 設定ファイルのキーは以前と同じ文字列のIDにする
         Map<String, ShipInfoDto> map = new HashMap<String, ShipInfoDto>();
-        for (String key : shipids) {
-            ShipInfoDto ship = Ship.get(key);
-            map.put(key, ship);
+        for (int id : Ship.getIds()) {
+            map.put(Integer.toString(id), Ship.get(id));
         }
         BeanUtils.writeObject(AppConstants.SHIP_CONFIG_FILE, map);
     }
@@ -45,9 +43,11 @@ public class ShipConfig {
         try {
             Map<String, ShipInfoDto> map = BeanUtils.readObject(AppConstants.SHIP_CONFIG_FILE, Map.class);
             if (map != null) {
+                Map<Integer, ShipInfoDto> ships = new HashMap<Integer, ShipInfoDto>();
                 for (Entry<String, ShipInfoDto> entry : map.entrySet()) {
-                    Ship.set(entry.getKey(), entry.getValue());
+                    ships.put(Integer.valueOf(entry.getKey()), entry.getValue());
                 }
+                Ship.setAll(ships);
             }
         } catch (Exception e) {
             LOG.warn("艦娘のIDと名前の紐付けを設定ファイルから読み込みますに失敗しました", e);
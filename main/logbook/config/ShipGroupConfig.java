@@ -5,7 +5,6 @@ import java.io.IOException;
 import logbook.config.bean.ShipGroupBean;
 import logbook.config.bean.ShipGroupListBean;
 import logbook.constants.AppConstants;
-import logbook.gui.ApplicationMain;
 import logbook.gui.logic.ShipGroupListener;
 import logbook.gui.logic.ShipGroupObserver;
 import logbook.util.BeanUtils;
@@ -55,13 +54,13 @@ public class ShipGroupConfig {
     /**
      * 設定ファイルに書き込みます
      */
-    public static void store() throws IOException {
+    public static synchronized void store() throws IOException {
         // 変更があったときだけ書き込む
         if (modified) {
             if (group == null) {
                 group = new ShipGroupListBean();
             }
-            ApplicationMain.sysPrint("グループファイル更新");
+            LOG.info("グループファイル更新");
             BeanUtils.writeObject(AppConstants.GROUP_CONFIG_FILE, group);
             modified = false;
         }
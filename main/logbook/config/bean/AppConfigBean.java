@@ -291,6 +291,66 @@ public final class AppConfigBean {
     private String twitterToken;
     private String twitterTokenSecret;
 
+    /** 設定ファイルの書き込みをまとめる時間(秒) */
+    private int storeDelay = 5;
+
+    /** JSONを圧縮セグメントファイルにまとめて保存する */
+    private boolean storeJsonArchive = false;
+
+    /** 戦闘履歴をJSONのみで保存する */
+    private boolean storeRawBattleLog = false;
+
+    /** 艦これ統計データベースへ同時に送信する数 */
+    private int databaseMaxInFlight = 2;
+
+    /** 艦これ統計データベースへの送信待ちを保存しておく最大件数 */
+    private int databaseOutboxMax = 10000;
+
+    /** 艦これ統計データベースの送信先 */
+    private String databaseUrl = "http://api.kancolle-db.net/2/";
+
+    /** 画面なしで動かすときの状態を返すポート番号 */
+    private int headlessStatusPort = 8889;
+
+    /** ゲームの画像や音声をキャッシュする */
+    private boolean useAssetCache = false;
+
+    /** ゲームの画像や音声のキャッシュの上限(MB) */
+    private int assetCacheSize = 2048;
+
+    /** 複数アカウントを記録する (主アカウント以外はaccountsフォルダに保存) */
+    private boolean multiAccount = false;
+
+    /** プロキシサーバーの接続を受け付けるスレッド数 */
+    private int proxyAcceptors = 1;
+
+    /** プロキシサーバーの通信を監視するスレッド数 */
+    private int proxySelectors = 1;
+
+    /** プロキシサーバーのスレッド数の下限 */
+    private int proxyMinThreads = 2;
+
+    /** プロキシサーバーのスレッド数の上限 */
+    private int proxyMaxThreads = 200;
+
+    /** ブラウザとの接続を保持する時間(ms) */
+    private int proxyIdleTimeout = 30000;
+
+    /** ゲームサーバーへの通信に使うスレッド数の上限 */
+    private int upstreamMaxThreads = 256;
+
+    /** ゲームサーバー1つあたりの接続数の上限 */
+    private int upstreamMaxConnections = 32768;
+
+    /** ゲームサーバーとの接続を保持する時間(ms) */
+    private int upstreamIdleTimeout = 30000;
+
+    /** ゲームサーバーの応答を待つ時間(ms) */
+    private int upstreamTimeout = 60000;
+
+    /** キャプチャしない応答はコピーせずにそのままブラウザに返す */
+    private boolean proxyPassThrough = true;
+
     private static RGB cloneRGB(RGB rgb) {
         return new RGB(rgb.red, rgb.green, rgb.blue);
     }
@@ -1680,4 +1740,284 @@ public final class AppConfigBean {
         this.toggleToolButton = toggleToolButton;
     }
 
-}
\ No newline at end of file
+    /**
+     * @return storeDelay
+     */
+    public int getStoreDelay() {
+        return this.storeDelay;
+    }
+
+    /**
+     * @param storeDelay セットする storeDelay
+     */
+    public void setStoreDelay(int storeDelay) {
+        this.storeDelay = storeDelay;
+    }
+
+    /**
+     * @return storeJsonArchive
+     */
+    public boolean isStoreJsonArchive() {
+        return this.storeJsonArchive;
+    }
+
+    /**
+     * @param storeJsonArchive セットする storeJsonArchive
+     */
+    public void setStoreJsonArchive(boolean storeJsonArchive) {
+        this.storeJsonArchive = storeJsonArchive;
+    }
+
+    /**
+     * @return storeRawBattleLog
+     */
+    public boolean isStoreRawBattleLog() {
+        return this.storeRawBattleLog;
+    }
+
+    /**
+     * @param storeRawBattleLog セットする storeRawBattleLog
+     */
+    public void setStoreRawBattleLog(boolean storeRawBattleLog) {
+        this.storeRawBattleLog = storeRawBattleLog;
+    }
+
+    /**
+     * @return databaseMaxInFlight
+     */
+    public int getDatabaseMaxInFlight() {
+        return this.databaseMaxInFlight;
+    }
+
+    /**
+     * @param databaseMaxInFlight セットする databaseMaxInFlight
+     */
+    public void setDatabaseMaxInFlight(int databaseMaxInFlight) {
+        this.databaseMaxInFlight = databaseMaxInFlight;
+    }
+
+    /**
+     * @return databaseOutboxMax
+     */
+    public int getDatabaseOutboxMax() {
+        return this.databaseOutboxMax;
+    }
+
+    /**
+     * @param databaseOutboxMax セットする databaseOutboxMax
+     */
+    public void setDatabaseOutboxMax(int databaseOutboxMax) {
+        this.databaseOutboxMax = databaseOutboxMax;
+    }
+
+    /**
+     * @return databaseUrl
+     */
+    public String getDatabaseUrl() {
+        return this.databaseUrl;
+    }
+
+    /**
+     * @param databaseUrl セットする databaseUrl
+     */
+    public void setDatabaseUrl(String databaseUrl) {
+        this.databaseUrl = databaseUrl;
+    }
+
+    /**
+     * @return headlessStatusPort
+     */
+    public int getHeadlessStatusPort() {
+        return this.headlessStatusPort;
+    }
+
+    /**
+     * @param headlessStatusPort セットする headlessStatusPort
+     */
+    public void setHeadlessStatusPort(int headlessStatusPort) {
+        this.headlessStatusPort = headlessStatusPort;
+    }
+
+    /**
+     * @return useAssetCache
+     */
+    public boolean isUseAssetCache() {
+        return this.useAssetCache;
+    }
+
+    /**
+     * @param useAssetCache セットする useAssetCache
+     */
+    public void setUseAssetCache(boolean useAssetCache) {
+        this.useAssetCache = useAssetCache;
+    }
+
+    /**
+     * @return assetCacheSize
+     */
+    public int getAssetCacheSize() {
+        return this.assetCacheSize;
+    }
+
+    /**
+     * @param assetCacheSize セットする assetCacheSize
+     */
+    public void setAssetCacheSize(int assetCacheSize) {
+        this.assetCacheSize = assetCacheSize;
+    }
+
+    /**
+     * @return proxyAcceptors
+     */
+    public int getProxyAcceptors() {
+        return this.proxyAcceptors;
+    }
+
+    /**
+     * @param proxyAcceptors セットする proxyAcceptors
+     */
+    public void setProxyAcceptors(int proxyAcceptors) {
+        this.proxyAcceptors = proxyAcceptors;
+    }
+
+    /**
+     * @return proxySelectors
+     */
+    public int getProxySelectors() {
+        return this.proxySelectors;
+    }
+
+    /**
+     * @param proxySelectors セットする proxySelectors
+     */
+    public void setProxySelectors(int proxySelectors) {
+        this.proxySelectors = proxySelectors;
+    }
+
+    /**
+     * @return proxyMinThreads
+     */
+    public int getProxyMinThreads() {
+        return this.proxyMinThreads;
+    }
+
+    /**
+     * @param proxyMinThreads セットする proxyMinThreads
+     */
+    public void setProxyMinThreads(int proxyMinThreads) {
+        this.proxyMinThreads = proxyMinThreads;
+    }
+
+    /**
+     * @return proxyMaxThreads
+     */
+    public int getProxyMaxThreads() {
+        return this.proxyMaxThreads;
+    }
+
+    /**
+     * @param proxyMaxThreads セットする proxyMaxThreads
+     */
+    public void setProxyMaxThreads(int proxyMaxThreads) {
+        this.proxyMaxThreads = proxyMaxThreads;
+    }
+
+    /**
+     * @return proxyIdleTimeout
+     */
+    public int getProxyIdleTimeout() {
+        return this.proxyIdleTimeout;
+    }
+
+    /**
+     * @param proxyIdleTimeout セットする proxyIdleTimeout
+     */
+    public void setProxyIdleTimeout(int proxyIdleTimeout) {
+        this.proxyIdleTimeout = proxyIdleTimeout;
+    }
+
+    /**
+     * @return upstreamMaxThreads
+     */
+    public int getUpstreamMaxThreads() {
+        return this.upstreamMaxThreads;
+    }
+
+    /**
+     * @param upstreamMaxThreads セットする upstreamMaxThreads
+     */
+    public void setUpstreamMaxThreads(int upstreamMaxThreads) {
+        this.upstreamMaxThreads = upstreamMaxThreads;
+    }
+
+    /**
+     * @return upstreamMaxConnections
+     */
+    public int getUpstreamMaxConnections() {
+        return this.upstreamMaxConnections;
+    }
+
+    /**
+     * @param upstreamMaxConnections セットする upstreamMaxConnections
+     */
+    public void setUpstreamMaxConnections(int upstreamMaxConnections) {
+        this.upstreamMaxConnections = upstreamMaxConnections;
+    }
+
+    /**
+     * @return upstreamIdleTimeout
+     */
+    public int getUpstreamIdleTimeout() {
+        return this.upstreamIdleTimeout;
+    }
+
+    /**
+     * @param upstreamIdleTimeout セットする upstreamIdleTimeout
+     */
+    public void setUpstreamIdleTimeout(int upstreamIdleTimeout) {
+        this.upstreamIdleTimeout = upstreamIdleTimeout;
+    }
+
+    /**
+     * @return upstreamTimeout
+     */
+    public int getUpstreamTimeout() {
+        return this.upstreamTimeout;
+    }
+
+    /**
+     * @param upstreamTimeout セットする upstreamTimeout
+     */
+    public void setUpstreamTimeout(int upstreamTimeout) {
+        this.upstreamTimeout = upstreamTimeout;
+    }
+
+    /**
+     * @return multiAccount
+     */
+    public boolean isMultiAccount() {
+        return this.multiAccount;
+    }
+
+    /**
+     * @param multiAccount セットする multiAccount
+     */
+    public void setMultiAccount(boolean multiAccount) {
+        this.multiAccount = multiAccount;
+    }
+
+    /**
+     * @return proxyPassThrough
+     */
+    public boolean isProxyPassThrough() {
+        return this.proxyPassThrough;
+    }
+
+    /**
+     * @param proxyPassThrough セットする proxyPassThrough
+     */
+    public void setProxyPassThrough(boolean proxyPassThrough) {
+        this.proxyPassThrough = proxyPassThrough;
+    }
+
+}
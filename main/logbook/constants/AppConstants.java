@@ -186,6 +186,18 @@ public class AppConstants {
     /** 敵データファイル  */
     public static final File ENEMY_DATA_FILE = new File("./config/KCRDB-enemyid.csv");
 
+    /** 敵データファイルの追記ジャーナル  */
+    public static final File ENEMY_DATA_JOURNAL_FILE = new File("./config/KCRDB-enemyid.journal.csv");
+
+    /** 艦これ統計データベースへの送信待ちを保存するディレクトリ */
+    public static final File DATABASE_OUTBOX_DIR = new File("./dbqueue");
+
+    /** ゲームの画像や音声のキャッシュを保存するディレクトリ */
+    public static final File ASSET_CACHE_DIR = new File("./assetcache");
+
+    /** 主アカウント以外の報告書や出撃ログを保存するディレクトリ */
+    public static final File ACCOUNTS_DIR = new File("./accounts");
+
     /** 出撃ログ表示用CSSファイル */
     public static final File BATTLE_LOG_CSS_FILE = new File("./templates/battle-log.css");
 
@@ -0,0 +1,418 @@
+package logbook.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import logbook.config.AppConfig;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 受信したJSONを保存します<br>
+ * 保存は別スレッドで行うので、呼び出し側はキューに入れるだけです<br>
+ * <br>
+ * アーカイブモードでは1レスポンス1ファイルではなく、gzip圧縮したセグメントファイルにまとめて書き込みます<br>
+ * セグメントファイルは先頭にヘッダ(MAGIC, VERSION)、続いて各レコードが
+ * [時刻(long)][DataType名(UTF)][JSONのバイト数(int)][JSON(UTF-8)] の形式で並びます<br>
+ * セグメントごとに時刻とDataTypeで引けるインデックスファイル(タブ区切りテキスト)も出力します
+ */
+public final class JsonArchive {
+
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(JsonArchive.class);
+
+    /** セグメントファイルの拡張子 */
+    public static final String SEGMENT_EXT = "jsonseg";
+
+    /** インデックスファイルの拡張子 */
+    public static final String INDEX_EXT = "idx";
+
+    /** セグメントファイルの先頭 "LBJA" */
+    private static final int MAGIC = 0x4C424A41;
+
+    private static final int VERSION = 1;
+
+    /** セグメントの最大サイズ(圧縮前) */
+    private static final int SEGMENT_SIZE = 32 * 1024 * 1024;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * 書き込み待ちキュー<br>
+     * 入れるのは通信データを処理するスレッド(画面ありの場合はUIスレッド)なので、待たせず取りこぼさないように上限なしにします
+     */
+    private static final BlockingQueue<Data> queue = new LinkedBlockingQueue<Data>();
+
+    /** 書き込み中のセグメント */
+    private static Segment segment;
+
+    /** 個別ファイルのファイル名 */
+    private static final SimpleDateFormat fileFormat = new SimpleDateFormat("yyyy-MM-dd_HHmmss.SSS");
+
+    /** セグメントのファイル名 */
+    private static final SimpleDateFormat segmentFormat = new SimpleDateFormat("yyyy-MM-dd_HHmmss");
+
+    /** セグメントを切り替える日付 */
+    private static final SimpleDateFormat dayFormat = new SimpleDateFormat("yyyyMMdd");
+
+    /**
+     * JSONを保存キューに入れます
+     *
+     * @param data データ
+     */
+    public static void add(Data data) {
+        queue.add(data);
+    }
+
+    /**
+     * 書き込み待ちの数
+     *
+     * @return 書き込み待ちの数
+     */
+    public static int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * キューに残っているJSONを書き込んでセグメントを閉じます
+     */
+    public static synchronized void close() {
+        drain();
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOG.warn("JSONセグメントのクローズに失敗しました", e);
+            }
+            segment = null;
+        }
+    }
+
+    private static synchronized void drain() {
+        Data data;
+        while ((data = queue.poll()) != null) {
+            try {
+                write(data);
+            } catch (IOException e) {
+                LOG.warn("JSONオブジェクトを保存するに失敗しました", e);
+                LOG.warn(data);
+            }
+        }
+        if (segment != null) {
+            try {
+                segment.flush();
+            } catch (IOException e) {
+                LOG.warn("JSONセグメントのフラッシュに失敗しました", e);
+            }
+        }
+    }
+
+    private static void write(Data data) throws IOException {
+        String dir = AppConfig.get().getStoreJsonPath();
+        byte[] json = data.getJsonObject().toString().getBytes(UTF8);
+        if (AppConfig.get().isStoreJsonArchive()) {
+            Date time = data.getCreateDate();
+            if ((segment != null) && !segment.accept(dir, time)) {
+                segment.close();
+                segment = null;
+            }
+            if (segment == null) {
+                segment = new Segment(dir, time);
+            }
+            segment.write(time, data.getDataType(), json);
+        }
+        else {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+            // ファイル名
+            String fname = new StringBuilder().append(fileFormat.format(data.getCreateDate())).append("_")
+                    .append(data.getDataType()).append(".json").toString();
+            // ファイルパス
+            File file = new File(FilenameUtils.concat(dir, fname));
+            FileUtils.writeByteArrayToFile(file, json);
+        }
+    }
+
+    /**
+     * 書き込み中のセグメント
+     */
+    private static final class Segment implements Closeable {
+        private final String dir;
+        private final String day;
+        private final DataOutputStream output;
+        private final Writer index;
+
+        Segment(String dir, Date time) throws IOException {
+            this.dir = dir;
+            this.day = dayFormat.format(time);
+            String base = FilenameUtils.concat(dir, segmentFormat.format(time));
+            File file = new File(base + "." + SEGMENT_EXT);
+            FileUtils.forceMkdir(file.getParentFile());
+            this.output = new DataOutputStream(new GZIPOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file)), 64 * 1024, true));
+            this.index = new OutputStreamWriter(new FileOutputStream(base + "." + INDEX_EXT), UTF8);
+            this.output.writeInt(MAGIC);
+            this.output.writeInt(VERSION);
+        }
+
+        /** このセグメントに続けて書き込めるか */
+        boolean accept(String dir, Date time) {
+            return this.dir.equals(dir) && this.day.equals(dayFormat.format(time))
+                    && (this.output.size() < SEGMENT_SIZE);
+        }
+
+        void write(Date time, DataType type, byte[] json) throws IOException {
+            int offset = this.output.size();
+            this.output.writeLong(time.getTime());
+            this.output.writeUTF(type.name());
+            this.output.writeInt(json.length);
+            this.output.write(json);
+            this.index.write(time.getTime() + "\t" + type.name() + "\t" + offset + "\n");
+        }
+
+        void flush() throws IOException {
+            this.output.flush();
+            this.index.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.output.close();
+            } finally {
+                this.index.close();
+            }
+        }
+    }
+
+    /**
+     * セグメントファイル中の1レコード
+     */
+    public static final class Record {
+        private final Date time;
+        private final DataType type;
+        private final byte[] json;
+
+        Record(Date time, DataType type, byte[] json) {
+            this.time = time;
+            this.type = type;
+            this.json = json;
+        }
+
+        /**
+         * @return 受信時刻
+         */
+        public Date getTime() {
+            return this.time;
+        }
+
+        /**
+         * @return データの種類
+         */
+        public DataType getDataType() {
+            return this.type;
+        }
+
+        /**
+         * JSONを復号してデータにします
+         * @return データ
+         */
+        public TestData toData() {
+            try (JsonReader jsonreader = Json.createReader(new ByteArrayInputStream(this.json))) {
+                JsonObject json = jsonreader.readObject();
+                return new TestData(this.time, this.type, json);
+            }
+        }
+    }
+
+    /**
+     * インデックスファイルの1行
+     */
+    public static final class IndexEntry {
+        /** 受信時刻 */
+        public final long time;
+        /** データの種類 */
+        public final DataType type;
+        /** 圧縮前のセグメント先頭からの位置 */
+        public final long offset;
+
+        IndexEntry(long time, DataType type, long offset) {
+            this.time = time;
+            this.type = type;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * セグメントファイルを先頭から読み込みます
+     */
+    public static final class Reader implements Closeable {
+        private final DataInputStream input;
+        private long position;
+
+        public Reader(File file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(new FileInputStream(file), 64 * 1024)));
+            if ((this.input.readInt() != MAGIC) || (this.input.readInt() != VERSION)) {
+                this.input.close();
+                throw new IOException(file.getPath() + " はJSONセグメントファイルではありません");
+            }
+            this.position = 8;
+        }
+
+        /**
+         * 指定位置まで読み飛ばします
+         * @param offset インデックスの位置
+         */
+        public void skipTo(long offset) throws IOException {
+            if (offset < this.position) {
+                throw new IOException("後ろには戻れません");
+            }
+            IOUtils.skipFully(this.input, offset - this.position);
+            this.position = offset;
+        }
+
+        /**
+         * 次のレコードを読み込みます<br>
+         * 書き込み途中で終了したセグメントは読めたところまでを返します
+         * @return 次のレコード 終端の場合null
+         */
+        public Record next() throws IOException {
+            try {
+                long time = this.input.readLong();
+                String type = this.input.readUTF();
+                byte[] json = new byte[this.input.readInt()];
+                this.input.readFully(json);
+                this.position += 8 + 2 + type.getBytes(UTF8).length + 4 + json.length;
+                return new Record(new Date(time), DataType.valueOf(type), json);
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        /**
+         * 全てのレコードを読み込みます
+         * @return レコード
+         */
+        public List<Record> readAll() throws IOException {
+            List<Record> result = new ArrayList<Record>();
+            Record record;
+            while ((record = this.next()) != null) {
+                result.add(record);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+
+    /**
+     * セグメントファイルか
+     * @param file ファイル
+     * @return セグメントファイルならtrue
+     */
+    public static boolean isSegment(File file) {
+        return SEGMENT_EXT.equals(FilenameUtils.getExtension(file.getName()));
+    }
+
+    /**
+     * セグメントのインデックスを読み込みます
+     * @param segmentFile セグメントファイル
+     * @param from この時刻以降 (nullなら制限なし)
+     * @param to この時刻以前 (nullなら制限なし)
+     * @param type このDataTypeのみ (nullなら全て)
+     * @return インデックス
+     */
+    public static List<IndexEntry> readIndex(File segmentFile, Date from, Date to, DataType type)
+            throws IOException {
+        File indexFile = new File(FilenameUtils.removeExtension(segmentFile.getPath()) + "." + INDEX_EXT);
+        List<IndexEntry> result = new ArrayList<IndexEntry>();
+        for (String line : FileUtils.readLines(indexFile, UTF8)) {
+            String[] cols = line.split("\t");
+            if (cols.length < 3) {
+                continue;
+            }
+            IndexEntry entry = new IndexEntry(Long.parseLong(cols[0]), DataType.valueOf(cols[1]),
+                    Long.parseLong(cols[2]));
+            if ((from != null) && (entry.time < from.getTime())) {
+                continue;
+            }
+            if ((to != null) && (entry.time > to.getTime())) {
+                continue;
+            }
+            if ((type != null) && (entry.type != type)) {
+                continue;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * JSONを書き込むスレッド
+     */
+    public static final class WriterThread extends Thread {
+
+        /** ロガー */
+        private static final Logger LOG = LogManager.getLogger(WriterThread.class);
+
+        public WriterThread() {
+            this.setName("logbook_json_archive");
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Data data = queue.take();
+                    synchronized (JsonArchive.class) {
+                        try {
+                            write(data);
+                        } catch (IOException e) {
+                            JsonArchive.LOG.warn("JSONオブジェクトを保存するに失敗しました", e);
+                            JsonArchive.LOG.warn(data);
+                        }
+                        // 溜まっている分もまとめて書き込む
+                        drain();
+                    }
+                }
+            } catch (Exception e) {
+                LOG.fatal("スレッドが異常終了しました", e);
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -30,6 +30,12 @@ public class TestData implements Data {
     private final DataType type;
     private final JsonObject json;
 
+    public TestData(Date date, DataType type, JsonObject json) {
+        this.date = date;
+        this.type = type;
+        this.json = json;
+    }
+
     public TestData(String filepath) throws ParseException, IOException {
         String filename = FilenameUtils.getBaseName(filepath);
         int splitpos = filename.indexOf('_');
@@ -38,11 +38,22 @@ public class UndefinedData implements Data {
      * @param response レスポンスのバイト配列
      */
     public UndefinedData(String fullUrl, String url, byte[] request, byte[] response) {
+        this(fullUrl, url, request, response, Calendar.getInstance().getTime());
+    }
+
+    /**
+     * 未加工データのコンストラクター
+     * 
+     * @param url URL
+     * @param response レスポンスのバイト配列
+     * @param date 受信した日時
+     */
+    public UndefinedData(String fullUrl, String url, byte[] request, byte[] response, Date date) {
         this.fullUrl = fullUrl;
         this.url = url;
         this.request = request;
         this.response = response;
-        this.date = Calendar.getInstance().getTime();
+        this.date = date;
     }
 
     @Override
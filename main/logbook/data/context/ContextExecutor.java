@@ -0,0 +1,98 @@
+package logbook.data.context;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * キャプチャした通信データをGlobalContextに反映する処理を実行します<br>
+ * GlobalContextは1つのスレッドから更新する必要があるので、全ての更新はここを通します。
+ * 画面がある場合はUIスレッドで、ない場合(--headless)は専用のスレッドで実行します
+ */
+public final class ContextExecutor {
+
+    /** 実行するスレッド */
+    private static volatile Executor executor;
+
+    /** 受け付けた数 */
+    private static final AtomicLong submittedCount = new AtomicLong();
+    /** 実行し終わった数 */
+    private static final AtomicLong completedCount = new AtomicLong();
+    /** 最後に受け付けた時刻 */
+    private static volatile long lastSubmitted;
+    /** 最後に実行し終わった時刻 */
+    private static volatile long lastCompleted;
+
+    /**
+     * 実行するスレッドを設定します
+     * 
+     * @param executor 実行するスレッド
+     */
+    public static void setExecutor(Executor executor) {
+        ContextExecutor.executor = executor;
+    }
+
+    /**
+     * 処理を実行します
+     * 
+     * @param task 処理
+     */
+    public static void execute(final Runnable task) {
+        Executor current = executor;
+        if (current == null) {
+            throw new IllegalStateException("ContextExecutorが設定されていません");
+        }
+        submittedCount.incrementAndGet();
+        lastSubmitted = System.currentTimeMillis();
+        current.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    completedCount.incrementAndGet();
+                    lastCompleted = System.currentTimeMillis();
+                }
+            }
+        });
+    }
+
+    /**
+     * 受け付けた数
+     * @return 受け付けた数
+     */
+    public static long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * 実行し終わった数
+     * @return 実行し終わった数
+     */
+    public static long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * 実行待ちの数
+     * @return 実行待ちの数
+     */
+    public static long getQueueSize() {
+        return submittedCount.get() - completedCount.get();
+    }
+
+    /**
+     * 最後に受け付けた時刻
+     * @return 最後に受け付けた時刻 (まだない場合は0)
+     */
+    public static long getLastSubmitted() {
+        return lastSubmitted;
+    }
+
+    /**
+     * 最後に実行し終わった時刻
+     * @return 最後に実行し終わった時刻 (まだない場合は0)
+     */
+    public static long getLastCompleted() {
+        return lastCompleted;
+    }
+}
@@ -0,0 +1,64 @@
+package logbook.data.context;
+
+import logbook.dto.BattleExDto;
+import logbook.dto.MapCellDto;
+import logbook.dto.PracticeUserDetailDto;
+
+/**
+ * GlobalContextが状態を更新したときに通知を受け取るリスナーです<br>
+ * 画面などGlobalContextの外側はこのリスナーで更新を受け取ります。
+ * 通知はGlobalContext.updateContext()を呼び出したスレッドから行われます
+ */
+public interface GlobalContextListener {
+
+    /**
+     * 出撃を開始しました
+     */
+    void startSortie();
+
+    /**
+     * 出撃が終了しました
+     */
+    void endSortie();
+
+    /**
+     * 出撃中の艦隊が更新されました
+     */
+    void updateSortieDock();
+
+    /**
+     * 進撃したマスが更新されました
+     * 
+     * @param mapCellDto マス
+     */
+    void updateMapCell(MapCellDto mapCellDto);
+
+    /**
+     * 戦闘が行われました
+     * 
+     * @param battleDto 戦闘
+     */
+    void updateBattle(BattleExDto battleDto);
+
+    /**
+     * 演習相手の情報が更新されました
+     * 
+     * @param practiceUserExDto 演習相手
+     */
+    void updatePracticeUser(PracticeUserDetailDto practiceUserExDto);
+
+    /**
+     * メッセージを出力します
+     * 
+     * @param message メッセージ
+     */
+    void printMessage(String message);
+
+    /**
+     * 警告を通知します (母港や装備の空きが少ないなど)
+     * 
+     * @param title タイトル
+     * @param message メッセージ
+     */
+    void warning(String title, String message);
+}
@@ -0,0 +1,346 @@
+package logbook.data.context;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import logbook.config.AppConfig;
+import logbook.data.Data;
+import logbook.data.DataType;
+import logbook.data.UndefinedData;
+import logbook.dto.BasicInfoDto;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 複数アカウントの記録が有効な場合に、キャプチャした通信データをアカウントごとのセッションに振り分けます<br>
+ * サーバー名とapi_tokenの組からセッションを決めて、主アカウントは {@link ContextExecutor} で、
+ * それ以外のアカウントはセッションごとの専用スレッドで更新します<br>
+ * 新しいapi_tokenのデータは提督IDがわかるまで(母港か司令部の情報が来るまで)溜めておき、
+ * 同じ提督IDのセッションがあればそこに、なければ新しいセッションを作って振り分けます
+ */
+public final class SessionManager {
+
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(SessionManager.class);
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /** 提督IDがわかるまでに溜めておく最大の数 */
+    private static final int MAX_PENDING = 64;
+
+    /** サーバー名/api_token -> セッション */
+    private static final Map<String, Session> routes = new ConcurrentHashMap<String, Session>();
+
+    /** 提督ID -> セッション (SessionManager.classで同期) */
+    private static final Map<Long, Session> accounts = new LinkedHashMap<Long, Session>();
+
+    /** 提督IDがわかっていないサーバー名/api_token -> 溜めている処理 (SessionManager.classで同期) */
+    private static final Map<String, List<Runnable>> pending = new HashMap<String, List<Runnable>>();
+
+    /** 主アカウントのセッション */
+    private static final Session PRIMARY = new Session(SessionContext.primary(), new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            ContextExecutor.execute(command);
+        }
+    });
+
+    /**
+     * クラスを読み込みます<br>
+     * 終了処理(シャットダウンフック)の中で初めて読み込まれるとログの初期化に失敗するので、
+     * プロキシサーバーを開始するときに呼んでください
+     */
+    public static void init() {
+        // 読み込むだけ
+    }
+
+    /**
+     * 複数アカウントの記録が有効か
+     * @return 有効ならtrue
+     */
+    public static boolean isEnabled() {
+        return AppConfig.get().isMultiAccount();
+    }
+
+    /**
+     * 処理を実行します<br>
+     * 複数アカウントの記録が無効の場合は全て {@link ContextExecutor} で実行します
+     *
+     * @param serverName サーバー名
+     * @param data キャプチャしたデータ
+     * @param task 処理 (この中ではGlobalContextは振り分けたセッションの情報を返します)
+     */
+    public static void execute(String serverName, UndefinedData data, Runnable task) {
+        if (!isEnabled()) {
+            ContextExecutor.execute(task);
+            return;
+        }
+        String token = getApiToken(data.getRequest());
+        if (token == null) {
+            // ログイン前などapi_tokenがないものは主アカウント
+            PRIMARY.execute(task);
+            return;
+        }
+        String key = serverName + "/" + token;
+        Session session = routes.get(key);
+        if (session == null) {
+            session = resolve(key, data, task);
+            if (session == null) {
+                // 提督IDがわかるまで溜めておく
+                return;
+            }
+        }
+        session.execute(task);
+    }
+
+    /**
+     * 新しいapi_tokenの振り分け先を決めます
+     *
+     * @return 振り分け先 (まだ決まらない場合はtaskを溜めてnull)
+     */
+    private static synchronized Session resolve(String key, UndefinedData data, Runnable task) {
+        Session session = routes.get(key);
+        if (session != null) {
+            return session;
+        }
+        List<Runnable> queue = pending.get(key);
+        Long memberId = getMemberId(data);
+        if (memberId == null) {
+            if (queue == null) {
+                queue = new ArrayList<Runnable>();
+                pending.put(key, queue);
+            }
+            if (queue.size() < MAX_PENDING) {
+                queue.add(task);
+                return null;
+            }
+            // いつまでも提督IDがわからない場合は主アカウントとして扱う
+            LOG.warn("提督IDがわからないので主アカウントとして記録します: " + key.substring(0, key.indexOf('/')));
+            session = PRIMARY;
+        }
+        else {
+            session = accounts.get(memberId);
+            if (session == null) {
+                session = newSession(memberId);
+                accounts.put(memberId, session);
+            }
+        }
+        pending.remove(key);
+        if (queue != null) {
+            for (Runnable r : queue) {
+                session.execute(r);
+            }
+        }
+        routes.put(key, session);
+        return session;
+    }
+
+    /**
+     * 提督IDに対応するセッションを作ります<br>
+     * 画面に表示しているアカウントか、まだ主アカウントが決まっていなければ最初のアカウントを主アカウントにします
+     */
+    private static Session newSession(long memberId) {
+        BasicInfoDto basic = SessionContext.primary().getBasicInfo();
+        boolean isPrimary = (basic != null) ?
+                (basic.getMemberId() == memberId) :
+                !accounts.containsValue(PRIMARY);
+        if (isPrimary) {
+            LOG.info("提督ID " + memberId + " を主アカウントとして記録します");
+            return PRIMARY;
+        }
+        final SessionContext context = SessionContext.create(Long.toString(memberId));
+        ExecutorService thread = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread thread = new Thread("logbook_session_" + context.getName()) {
+                    @Override
+                    public void run() {
+                        SessionContext.bind(context);
+                        r.run();
+                    }
+                };
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        LOG.info("提督ID " + memberId + " のセッションを作成しました (" + context.getReportPath() + ")");
+        return new Session(context, thread);
+    }
+
+    /**
+     * 母港と司令部のデータから提督IDを取得します
+     *
+     * @return 提督ID (ない場合はnull)
+     */
+    private static Long getMemberId(UndefinedData data) {
+        DataType type = DataType.TYPEMAP.get(data.getUrl());
+        if ((type != DataType.PORT) && (type != DataType.BASIC)) {
+            return null;
+        }
+        try {
+            Data defined = data.toDefinedData();
+            JsonObject apidata = defined.getJsonObject().getJsonObject("api_data");
+            if (type == DataType.PORT) {
+                apidata = apidata.getJsonObject("api_basic");
+            }
+            JsonValue value = apidata.get("api_member_id");
+            if (value instanceof JsonString) {
+                return Long.valueOf(((JsonString) value).getString());
+            }
+            if (value instanceof JsonNumber) {
+                return ((JsonNumber) value).longValue();
+            }
+        } catch (Exception e) {
+            LOG.warn("提督IDの取得に失敗しました", e);
+        }
+        return null;
+    }
+
+    /**
+     * リクエストからapi_tokenの値を取り出します (_は%5Fでも可)
+     *
+     * @param request リクエスト
+     * @return api_token (ない場合はnull)
+     */
+    static String getApiToken(byte[] request) {
+        if (request == null) {
+            return null;
+        }
+        String body = new String(request, ASCII);
+        int start = findValue(body, "api_token=");
+        if (start < 0) {
+            start = findValue(body, "api%5Ftoken=");
+        }
+        if (start < 0) {
+            return null;
+        }
+        int end = body.indexOf('&', start);
+        String token = body.substring(start, (end < 0) ? body.length() : end);
+        return token.isEmpty() ? null : token;
+    }
+
+    private static int findValue(String body, String key) {
+        int index = 0;
+        while ((index = body.indexOf(key, index)) >= 0) {
+            if ((index == 0) || (body.charAt(index - 1) == '&')) {
+                return index + key.length();
+            }
+            index += key.length();
+        }
+        return -1;
+    }
+
+    /**
+     * セッションの一覧
+     * @return 振り分け先として使われているセッション (主アカウントを含む)
+     */
+    public static synchronized List<SessionContext> getSessions() {
+        List<SessionContext> list = new ArrayList<SessionContext>();
+        list.add(PRIMARY.context);
+        for (Session session : accounts.values()) {
+            if (session != PRIMARY) {
+                list.add(session.context);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 提督IDがわかるまで溜めている数
+     * @return 溜めている数
+     */
+    public static synchronized int getPendingCount() {
+        int count = 0;
+        for (List<Runnable> queue : pending.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * 主アカウント以外のセッションのスレッドを終了し、受け取り済みの処理が終わるまで待ちます (終了するときに使います)<br>
+     * 主アカウントは {@link ContextExecutor} で処理するので対象外です。通信データの処理を止めてから呼んでください
+     *
+     * @param timeout 最大の待ち時間(ms)
+     * @return 全て処理し終わった場合true
+     */
+    public static boolean shutdown(long timeout) {
+        List<ExecutorService> threads = new ArrayList<ExecutorService>();
+        synchronized (SessionManager.class) {
+            for (Session session : accounts.values()) {
+                if (session.executor instanceof ExecutorService) {
+                    threads.add((ExecutorService) session.executor);
+                }
+            }
+            if (!pending.isEmpty()) {
+                LOG.warn("提督IDがわからないまま終了します (" + getPendingCount() + "件)");
+            }
+        }
+        for (ExecutorService thread : threads) {
+            thread.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        boolean terminated = true;
+        for (ExecutorService thread : threads) {
+            try {
+                long wait = Math.max(0, deadline - System.currentTimeMillis());
+                if (!thread.awaitTermination(wait, TimeUnit.MILLISECONDS)) {
+                    terminated = false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (!terminated) {
+            LOG.warn("セッションの処理が終わらないまま終了します");
+        }
+        return terminated;
+    }
+
+    /**
+     * 振り分け先のセッションと、それを更新するスレッド
+     */
+    private static final class Session {
+        private final SessionContext context;
+        private final Executor executor;
+
+        Session(SessionContext context, Executor executor) {
+            this.context = context;
+            this.executor = executor;
+        }
+
+        void execute(final Runnable task) {
+            if (this.context.isPrimary()) {
+                this.executor.execute(task);
+                return;
+            }
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        LOG.warn("通信データの処理に失敗しました (" + Session.this.context.getName() + ")", e);
+                    }
+                }
+            });
+        }
+    }
+}
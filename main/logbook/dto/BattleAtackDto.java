@@ -41,57 +41,128 @@ public class BattleAtackDto {
     @Tag(7)
     public int[] damage;
 
+    /**
+     * 戦闘フェーズの読み込みに使う作業領域<br>
+     * JSONの配列を一度だけ読んでint配列に並べ、そこから攻撃シーケンスを作ります。
+     * スレッドごとに使い回すので、読み込みのたびにInteger等を作りません
+     */
+    private static final class ParseBuffer {
+        /** 砲撃戦: 攻撃元 (at_list の値) */
+        int[] at = new int[32];
+        /** 砲撃戦: 攻撃ごとの攻撃先・ダメージの開始位置 (攻撃数+1個) */
+        int[] start = new int[33];
+        /** 砲撃戦: 攻撃先(0-5) */
+        int[] target = new int[64];
+        /** 砲撃戦: ダメージ */
+        int[] damage = new int[64];
+
+        /** 雷撃戦・航空戦: 艦ごとの攻撃先 (api_frai等) */
+        final int[] rai = new int[6];
+        /** 雷撃戦・航空戦: 艦ごとの被ダメージ (api_edam等) */
+        final int[] dam = new int[6];
+        /** 雷撃戦: 艦ごとの与ダメージ (api_fydam等)、航空戦: 連合艦隊第二艦隊の被ダメージ */
+        final int[] ydam = new int[6];
+        /** 雷撃戦: 攻撃元・攻撃先のインデックス */
+        final int[] originMap = new int[6];
+        final int[] targetMap = new int[6];
+
+        void ensureAtacks(int numAtacks) {
+            if (this.at.length < numAtacks) {
+                this.at = new int[numAtacks];
+                this.start = new int[numAtacks + 1];
+            }
+        }
+
+        void ensureTargets(int numTargets) {
+            if (this.target.length < numTargets) {
+                int length = Math.max(numTargets, this.target.length * 2);
+                this.target = Arrays.copyOf(this.target, length);
+                this.damage = Arrays.copyOf(this.damage, length);
+            }
+        }
+    }
+
+    private static final ThreadLocal<ParseBuffer> parseBuffer = new ThreadLocal<ParseBuffer>() {
+        @Override
+        protected ParseBuffer initialValue() {
+            return new ParseBuffer();
+        }
+    };
+
+    /**
+     * 先頭が-1の艦ごとの配列(api_fdam等)を読む
+     */
+    private static void readShips(JsonArray list, int[] dst) {
+        for (int i = 0; i < 6; ++i) {
+            dst[i] = ((JsonNumber) list.get(i + 1)).intValue();
+        }
+    }
+
     private static List<BattleAtackDto> makeHougeki(
             JsonArray at_list, JsonArray df_list, JsonArray damage_list) {
-        ArrayList<BattleAtackDto> result = new ArrayList<BattleAtackDto>();
-        ArrayList<Integer> flatten_df_list = new ArrayList<Integer>();
-        ArrayList<Integer> flatten_damage_list = new ArrayList<Integer>();
-
-        for (int i = 0; i < at_list.size(); ++i) {
+        int size = at_list.size();
+        ParseBuffer buf = parseBuffer.get();
+        buf.ensureAtacks(size);
+
+        // 作業領域に平らに並べる
+        int numAtacks = 0;
+        int numTargets = 0;
+        for (int i = 0; i < size; ++i) {
             int at = at_list.getInt(i);
             if (at == -1)
                 continue;
+            int begin = numTargets;
             JsonValue df = df_list.get(i);
             JsonValue damage = damage_list.get(i);
             switch (df.getValueType()) {
             case NUMBER:
                 int dfi = ((JsonNumber) df).intValue();
-                int dami = ((JsonNumber) damage).intValue();
                 if (dfi != -1) {
-                    flatten_df_list.add((dfi - 1) % 6);
-                    flatten_damage_list.add(dami);
+                    buf.ensureTargets(numTargets + 1);
+                    buf.target[numTargets] = (dfi - 1) % 6;
+                    buf.damage[numTargets] = ((JsonNumber) damage).intValue();
+                    ++numTargets;
                 }
                 break;
             case ARRAY:
-                int length = ((JsonArray) df).size();
+                JsonArray dfa = (JsonArray) df;
+                JsonArray dama = (JsonArray) damage;
+                int length = dfa.size();
+                buf.ensureTargets(numTargets + length);
                 for (int d = 0; d < length; ++d) {
-                    int dfd = ((JsonArray) df).getInt(d);
-                    int damd = ((JsonArray) damage).getInt(d);
+                    int dfd = dfa.getInt(d);
                     if (dfd != -1) {
-                        flatten_df_list.add((dfd - 1) % 6);
-                        flatten_damage_list.add(damd);
+                        buf.target[numTargets] = (dfd - 1) % 6;
+                        buf.damage[numTargets] = dama.getInt(d);
+                        ++numTargets;
                     }
                 }
                 break;
             default: // あり得ない
                 break;
             }
-            int length = flatten_df_list.size();
-            if (length > 0) {
-                BattleAtackDto dto = new BattleAtackDto();
-                dto.kind = AtackKind.HOUGEKI;
-                dto.friendAtack = (at <= 6);
-                dto.origin = new int[] { (at - 1) % 6 };
-                dto.target = new int[length];
-                dto.damage = new int[length];
-                for (int c = 0; c < length; ++c) {
-                    dto.target[c] = flatten_df_list.get(c);
-                    dto.damage[c] = flatten_damage_list.get(c);
-                }
-                result.add(dto);
+            if (numTargets > begin) {
+                buf.at[numAtacks] = at;
+                buf.start[numAtacks] = begin;
+                ++numAtacks;
             }
-            flatten_df_list.clear();
-            flatten_damage_list.clear();
+        }
+        buf.start[numAtacks] = numTargets;
+
+        // 結果は保存されるので、ちょうどの大きさの配列にする
+        List<BattleAtackDto> result = new ArrayList<BattleAtackDto>(numAtacks);
+        for (int a = 0; a < numAtacks; ++a) {
+            int begin = buf.start[a];
+            int length = buf.start[a + 1] - begin;
+            BattleAtackDto dto = new BattleAtackDto();
+            dto.kind = AtackKind.HOUGEKI;
+            dto.friendAtack = (buf.at[a] <= 6);
+            dto.origin = new int[] { (buf.at[a] - 1) % 6 };
+            dto.target = new int[length];
+            dto.damage = new int[length];
+            System.arraycopy(buf.target, begin, dto.target, 0, length);
+            System.arraycopy(buf.damage, begin, dto.damage, 0, length);
+            result.add(dto);
         }
 
         return result;
@@ -99,19 +170,27 @@ public class BattleAtackDto {
 
     private static BattleAtackDto makeRaigeki(boolean friendAtack,
             JsonArray rai_list, JsonArray dam_list, JsonArray ydam_list) {
-        int[] originMap = new int[6];
-        int[] targetMap = new int[6];
-        boolean[] targetEnabled = new boolean[6];
+        ParseBuffer buf = parseBuffer.get();
+        int[] rai = buf.rai;
+        int[] dam = buf.dam;
+        int[] ydam = buf.ydam;
+        int[] originMap = buf.originMap;
+        int[] targetMap = buf.targetMap;
+        readShips(rai_list, rai);
+        readShips(dam_list, dam);
+        readShips(ydam_list, ydam);
+
         BattleAtackDto dto = new BattleAtackDto();
         dto.kind = AtackKind.RAIGEKI;
         dto.friendAtack = friendAtack;
 
+        // 攻撃先になっている艦は targetMap を0にしておく
+        Arrays.fill(targetMap, -1);
         int idx = 0;
         for (int i = 0; i < 6; ++i) {
-            int rai = rai_list.getInt(i + 1);
-            if (rai > 0) {
+            if (rai[i] > 0) {
                 originMap[i] = idx++;
-                targetEnabled[rai - 1] = true;
+                targetMap[rai[i] - 1] = 0;
             }
         }
         dto.origin = new int[idx];
@@ -120,7 +199,7 @@ public class BattleAtackDto {
 
         idx = 0;
         for (int i = 0; i < 6; ++i) {
-            if (targetEnabled[i]) {
+            if (targetMap[i] != -1) {
                 targetMap[i] = idx++;
             }
         }
@@ -128,17 +207,14 @@ public class BattleAtackDto {
         dto.damage = new int[idx];
 
         for (int i = 0; i < 6; ++i) {
-            int rai = rai_list.getInt(i + 1);
-            int dam = dam_list.getInt(i + 1);
-            int ydam = ydam_list.getInt(i + 1);
-            if (rai > 0) {
+            if (rai[i] > 0) {
                 dto.origin[originMap[i]] = i;
-                dto.ydam[originMap[i]] = ydam;
-                dto.ot[originMap[i]] = targetMap[rai - 1];
+                dto.ydam[originMap[i]] = ydam[i];
+                dto.ot[originMap[i]] = targetMap[rai[i] - 1];
             }
-            if (targetEnabled[i]) {
+            if (targetMap[i] != -1) {
                 dto.target[targetMap[i]] = i;
-                dto.damage[targetMap[i]] = dam;
+                dto.damage[targetMap[i]] = dam[i];
             }
         }
 
@@ -147,55 +223,54 @@ public class BattleAtackDto {
 
     private static BattleAtackDto makeAir(boolean friendAtack,
             JsonArray plane_from, JsonArray dam_list, JsonArray cdam_list) {
+        ParseBuffer buf = parseBuffer.get();
+        int[] dam = buf.dam;
+        int[] cdam = buf.ydam;
+        readShips(dam_list, dam);
+        if (cdam_list != null) {
+            readShips(cdam_list, cdam);
+        }
+        else {
+            Arrays.fill(cdam, 0);
+        }
+
         BattleAtackDto dto = new BattleAtackDto();
         dto.kind = AtackKind.AIR;
         dto.friendAtack = friendAtack;
 
+        int size = plane_from.size();
+        buf.ensureTargets(size);
+        int[] from = buf.target;
         int idx = 0;
-        for (int i = 0; i < plane_from.size(); ++i) {
-            if (plane_from.getInt(i) != -1)
-                ++idx;
-        }
-        dto.origin = new int[idx];
-        idx = 0;
-        for (int i = 0; i < plane_from.size(); ++i) {
-            if (plane_from.getInt(i) != -1)
-                dto.origin[idx++] = (plane_from.getInt(i) - 1) % 6;
+        for (int i = 0; i < size; ++i) {
+            int value = ((JsonNumber) plane_from.get(i)).intValue();
+            if (value != -1)
+                from[idx++] = (value - 1) % 6;
         }
+        dto.origin = Arrays.copyOf(from, idx);
+
         idx = 0;
         for (int i = 0; i < 6; ++i) {
-            int dam = dam_list.getInt(i + 1);
-            if (dam > 0) {
+            if (dam[i] > 0)
+                idx++;
+            if (cdam[i] > 0)
                 idx++;
-            }
-        }
-        if (cdam_list != null) {
-            for (int i = 0; i < 6; ++i) {
-                int dam = cdam_list.getInt(i + 1);
-                if (dam > 0) {
-                    idx++;
-                }
-            }
         }
         dto.target = new int[idx];
         dto.damage = new int[idx];
         idx = 0;
         for (int i = 0; i < 6; ++i) {
-            int dam = dam_list.getInt(i + 1);
-            if (dam > 0) {
+            if (dam[i] > 0) {
                 dto.target[idx] = i;
-                dto.damage[idx] = dam;
+                dto.damage[idx] = dam[i];
                 idx++;
             }
         }
-        if (cdam_list != null) {
-            for (int i = 0; i < 6; ++i) {
-                int dam = cdam_list.getInt(i + 1);
-                if (dam > 0) {
-                    dto.target[idx] = i + 6;
-                    dto.damage[idx] = dam;
-                    idx++;
-                }
+        for (int i = 0; i < 6; ++i) {
+            if (cdam[i] > 0) {
+                dto.target[idx] = i + 6;
+                dto.damage[idx] = cdam[i];
+                idx++;
             }
         }
 
@@ -156,6 +156,24 @@ public class BattleExDto extends AbstractDto {
     @Tag(51)
     private String resultJson;
 
+    /** 生JSON形式の出撃ログから読み込んだ場合の、まだ読み込んでいない戦闘フェーズの種別 */
+    private transient List<BattlePhaseKind> rawPhaseKind;
+
+    /** 生JSON形式の出撃ログから読み込んだ場合の、まだ読み込んでいない戦闘フェーズのJSON */
+    private transient List<String> rawPhaseJson;
+
+    /**
+     * 生JSON形式の出撃ログから読み込んで、まだ戦闘フェーズと戦闘結果を読み込んでいない<br>
+     * 読み込み終わってからfalseを書くので、falseを読んだスレッドからは読み込んだ値が全て見えます
+     */
+    private transient volatile boolean underived;
+
+    /** 戦闘フェーズと戦闘結果を読み込み中 (読み込み中に同じスレッドから呼ばれた場合用, ロック内でのみ参照) */
+    private transient boolean deriving;
+
+    /** 生JSON形式の出撃ログのヘッダーにあった一覧表示用の値 (ない場合null) */
+    private transient RawBattleDto.Summary summary;
+
     /////////////////////////////////////////////////
 
     /**
@@ -220,8 +238,12 @@ public class BattleExDto extends AbstractDto {
         @Tag(19)
         private List<BattleAtackDto> hougeki3 = null;
 
+        /** 受け取ったJSON (保存するときに文字列にします) */
         @Tag(30)
-        private final String json;
+        private String json;
+
+        /** 受け取ったJSON (文字列にする前) */
+        private transient JsonObject jsonObject;
 
         public Phase(BattleExDto battle, JsonObject object, BattlePhaseKind kind,
                 int[] beforeFriendHp, int[] beforeFriendHpCombined, int[] beforeEnemyHp)
@@ -338,7 +360,8 @@ public class BattleExDto extends AbstractDto {
             // 判定を計算
             this.estimatedRank = this.calcResultRank(battle);
 
-            this.json = object.toString();
+            // JSONの文字列化は時間がかかるので、戦闘結果を受け取るまで遅らせる
+            this.jsonObject = object;
         }
 
         // 勝利判定 //
@@ -575,12 +598,27 @@ public class BattleExDto extends AbstractDto {
          * @return
          */
         public JsonObject getJson() {
+            if (this.jsonObject != null) {
+                return this.jsonObject;
+            }
             if (this.json == null) {
                 return null;
             }
             return JsonUtils.fromString(this.json);
         }
 
+        /**
+         * 受け取ったJSON(文字列のまま)
+         * @return
+         */
+        String getJsonString() {
+            if ((this.json == null) && (this.jsonObject != null)) {
+                this.json = this.jsonObject.toString();
+                this.jsonObject = null;
+            }
+            return this.json;
+        }
+
         /**
          * この戦闘フェーズのAPIリクエスト先
          * @return
@@ -750,6 +788,77 @@ public class BattleExDto extends AbstractDto {
         this.battleDate = date;
     }
 
+    /**
+     * 生JSON形式の出撃ログから戦闘データオブジェクトを作成<br>
+     * 戦闘フェーズと戦闘結果は最初にアクセスされたときにJSONから読み込みます
+     * @param date 戦闘のあった日時
+     * @param friends 味方艦隊
+     * @param mapInfo マス情報
+     * @param shipSpace 母港の艦娘空き枠
+     * @param itemSpace 母港の装備アイテム空き枠
+     * @param phaseKind 戦闘フェーズの種別
+     * @param phaseJson 戦闘フェーズのJSON
+     * @param resultJson 戦闘結果のJSON
+     * @param summary 一覧表示用の値 (ない場合null)
+     */
+    BattleExDto(Date date, List<DockDto> friends, MapCellDto mapInfo, int shipSpace, int itemSpace,
+            List<BattlePhaseKind> phaseKind, List<String> phaseJson, String resultJson,
+            RawBattleDto.Summary summary) {
+        this.battleDate = date;
+        this.friends.addAll(friends);
+        this.mapCellDto = mapInfo;
+        this.shipSpace = shipSpace;
+        this.itemSpace = itemSpace;
+        this.rawPhaseKind = phaseKind;
+        this.rawPhaseJson = phaseJson;
+        this.resultJson = resultJson;
+        this.summary = summary;
+        this.underived = true;
+    }
+
+    /**
+     * 生JSON形式の出撃ログから読み込んだ場合、まだ読み込んでいない戦闘フェーズと戦闘結果を読み込みます
+     */
+    private void derive() {
+        if (this.underived) {
+            this.deriveRaw();
+        }
+    }
+
+    /**
+     * 保存してあったJSON文字列から戦闘フェーズを読み込む
+     */
+    private Phase addPhase(String json, BattlePhaseKind kind) {
+        Phase phase = this.addPhase(JsonUtils.fromString(json), kind);
+        phase.json = json;
+        phase.jsonObject = null;
+        return phase;
+    }
+
+    private synchronized void deriveRaw() {
+        // 読み込み済みか、読み込み中に同じスレッドから呼ばれた (readResultJson -> getLastPhase)
+        if (!this.underived || this.deriving) {
+            return;
+        }
+        this.deriving = true;
+        try {
+            List<BattlePhaseKind> kinds = this.rawPhaseKind;
+            List<String> jsons = this.rawPhaseJson;
+            for (int i = 0; i < jsons.size(); ++i) {
+                this.addPhase(jsons.get(i), kinds.get(i));
+            }
+            if (this.resultJson != null) {
+                this.readResultJson(JsonUtils.fromString(this.resultJson));
+            }
+        } finally {
+            // 失敗しても読み込み直さない (戦闘フェーズが重複するため)
+            this.rawPhaseKind = null;
+            this.rawPhaseJson = null;
+            this.deriving = false;
+            this.underived = false;
+        }
+    }
+
     /**
      * 母港情報を設定
      * @param shipSpace
@@ -767,8 +876,11 @@ public class BattleExDto extends AbstractDto {
         if (this.exVersion >= 2) {
             Phase[] phaseCopy = this.phaseList.toArray(new Phase[0]);
             this.phaseList.clear();
+            this.enemy.clear();
+            this.friendGaugeMax = 0;
+            this.enemyGaugeMax = 0;
             for (Phase phase : phaseCopy) {
-                this.addPhase(phase.getJson(), phase.getKind());
+                this.addPhase(phase.getJsonString(), phase.getKind());
             }
             this.readResultJson(JsonUtils.fromString(this.resultJson));
         }
@@ -806,9 +918,15 @@ public class BattleExDto extends AbstractDto {
                     break;
                 }
             }
-            this.friends.add(GlobalContext.getDock(dockId));
+            // 出撃ログから読み込む場合は保存してある艦隊を使う
+            boolean restored = !this.friends.isEmpty();
+            if (!restored) {
+                this.friends.add(GlobalContext.getDock(dockId));
+            }
             if (object.containsKey("api_fParam_combined")) {
-                this.friends.add(GlobalContext.getDock("2"));
+                if (!restored) {
+                    this.friends.add(GlobalContext.getDock("2"));
+                }
                 numFshipsCombined = 6;
                 for (int i = 1; i <= 6; ++i) {
                     if (maxhpsCombined.getInt(i) == -1) {
@@ -974,6 +1092,10 @@ public class BattleExDto extends AbstractDto {
      * @param mapInfo マス情報
      */
     public void setResult(JsonObject object, MapCellDto mapInfo) {
+        // 保存できるように戦闘フェーズのJSONを文字列にする
+        for (Phase phase : this.phaseList) {
+            phase.getJsonString();
+        }
         this.resultJson = object.toString();
         this.mapCellDto = mapInfo;
         this.readResultJson(object);
@@ -1070,6 +1192,7 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public EnemyData getEnemyData(int enemyId, String enemyName) {
+        this.derive();
         String[] enemyShips = new String[] { "", "", "", "", "", "" };
         for (int i = 0; i < this.enemy.size(); ++i) {
             enemyShips[i] = this.enemy.get(i).getFriendlyName();
@@ -1082,6 +1205,11 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public boolean isCombined() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return (summary.getMaxFriendHpCombined() != null);
+        }
+        this.derive();
         return (this.startFriendHpCombined != null);
     }
 
@@ -1090,6 +1218,7 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public Phase getLastPhase() {
+        this.derive();
         if (this.phaseList.size() == 0)
             return null;
         return this.phaseList.get(this.phaseList.size() - 1);
@@ -1100,16 +1229,34 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public Phase getPhase1() {
+        this.derive();
         if (this.phaseList.size() < 1)
             return null;
         return this.phaseList.get(0);
     }
 
+    /**
+     * 最初のフェーズのJSON<br>
+     * 生JSON形式の出撃ログで戦闘フェーズをまだ読み込んでいない場合は、読み込まずに保存してあるJSONから作ります
+     * @return 最初のフェーズのJSON (ない時はnull)
+     */
+    public JsonObject getPhase1Json() {
+        if (this.underived) {
+            List<String> jsons = this.rawPhaseJson;
+            if (jsons != null) {
+                return jsons.isEmpty() ? null : JsonUtils.fromString(jsons.get(0));
+            }
+        }
+        Phase phase = this.getPhase1();
+        return (phase != null) ? phase.getJson() : null;
+    }
+
     /**
      * ２番目のフェーズ（ない時はnull）
      * @return
      */
     public Phase getPhase2() {
+        this.derive();
         if (this.phaseList.size() < 2)
             return null;
         return this.phaseList.get(1);
@@ -1121,6 +1268,11 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public boolean isCompleteResult() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.isCompleteResult();
+        }
+        this.derive();
         if (this.questName != null) {
             // 出撃の場合
             if (this.mapCellDto == null) {
@@ -1140,7 +1292,7 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public boolean isPractice() {
-        return (this.questName == null);
+        return (this.getQuestName() == null);
     }
 
     /**
@@ -1148,6 +1300,10 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public int[] getNowFriendHp() {
+        RawBattleDto.Summary summary = this.summary;
+        if ((summary != null) && (summary.getNowFriendHp() != null)) {
+            return summary.getNowFriendHp();
+        }
         return this.getLastPhase().getNowFriendHp();
     }
 
@@ -1156,6 +1312,10 @@ public class BattleExDto extends AbstractDto {
      * @return
      */
     public int[] getNowFriendHpCombined() {
+        RawBattleDto.Summary summary = this.summary;
+        if ((summary != null) && (summary.getNowFriendHp() != null)) {
+            return summary.getNowFriendHpCombined();
+        }
         return this.getLastPhase().getNowFriendHpCombined();
     }
 
@@ -1206,6 +1366,7 @@ public class BattleExDto extends AbstractDto {
      * @return enemy
      */
     public List<EnemyShipDto> getEnemy() {
+        this.derive();
         return this.enemy;
     }
 
@@ -1215,6 +1376,11 @@ public class BattleExDto extends AbstractDto {
      * @return maxFriendHp
      */
     public int[] getMaxFriendHp() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getMaxFriendHp();
+        }
+        this.derive();
         return this.maxFriendHp;
     }
 
@@ -1223,6 +1389,11 @@ public class BattleExDto extends AbstractDto {
      * @return maxFriendHpCombined
      */
     public int[] getMaxFriendHpCombined() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getMaxFriendHpCombined();
+        }
+        this.derive();
         return this.maxFriendHpCombined;
     }
 
@@ -1231,6 +1402,7 @@ public class BattleExDto extends AbstractDto {
      * @return maxEnemyHp
      */
     public int[] getMaxEnemyHp() {
+        this.derive();
         return this.maxEnemyHp;
     }
 
@@ -1240,6 +1412,7 @@ public class BattleExDto extends AbstractDto {
      * @return startFriendHp
      */
     public int[] getStartFriendHp() {
+        this.derive();
         return this.startFriendHp;
     }
 
@@ -1248,6 +1421,7 @@ public class BattleExDto extends AbstractDto {
      * @return startFriendHpCombined
      */
     public int[] getStartFriendHpCombined() {
+        this.derive();
         return this.startFriendHpCombined;
     }
 
@@ -1256,6 +1430,7 @@ public class BattleExDto extends AbstractDto {
      * @return startEnemyHp
      */
     public int[] getStartEnemyHp() {
+        this.derive();
         return this.startEnemyHp;
     }
 
@@ -1264,6 +1439,7 @@ public class BattleExDto extends AbstractDto {
      * @return friendGaugeMax
      */
     public int getFriendGaugeMax() {
+        this.derive();
         return this.friendGaugeMax;
     }
 
@@ -1272,6 +1448,7 @@ public class BattleExDto extends AbstractDto {
      * @return enemyGaugeMax
      */
     public int getEnemyGaugeMax() {
+        this.derive();
         return this.enemyGaugeMax;
     }
 
@@ -1280,6 +1457,7 @@ public class BattleExDto extends AbstractDto {
      * @return formation
      */
     public String[] getFormation() {
+        this.derive();
         return this.formation;
     }
 
@@ -1288,6 +1466,7 @@ public class BattleExDto extends AbstractDto {
      * @return formationMatch
      */
     public String getFormationMatch() {
+        this.derive();
         return this.formationMatch;
     }
 
@@ -1296,6 +1475,7 @@ public class BattleExDto extends AbstractDto {
      * @return sakuteki
      */
     public String[] getSakuteki() {
+        this.derive();
         return this.sakuteki;
     }
 
@@ -1304,6 +1484,11 @@ public class BattleExDto extends AbstractDto {
      * @return questName
      */
     public String getQuestName() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getQuestName();
+        }
+        this.derive();
         return this.questName;
     }
 
@@ -1312,6 +1497,11 @@ public class BattleExDto extends AbstractDto {
      * @return rank
      */
     public ResultRank getRank() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getRank();
+        }
+        this.derive();
         return this.rank;
     }
 
@@ -1328,6 +1518,11 @@ public class BattleExDto extends AbstractDto {
      * @return enemyName
      */
     public String getEnemyName() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getEnemyName();
+        }
+        this.derive();
         return this.enemyName;
     }
 
@@ -1336,6 +1531,11 @@ public class BattleExDto extends AbstractDto {
      * @return dropShip
      */
     public boolean isDropShip() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.isDropShip();
+        }
+        this.derive();
         return this.dropShip;
     }
 
@@ -1344,6 +1544,11 @@ public class BattleExDto extends AbstractDto {
      * @return dropItem
      */
     public boolean isDropItem() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.isDropItem();
+        }
+        this.derive();
         return this.dropItem;
     }
 
@@ -1352,6 +1557,11 @@ public class BattleExDto extends AbstractDto {
      * @return dropType
      */
     public String getDropType() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getDropType();
+        }
+        this.derive();
         return this.dropType;
     }
 
@@ -1360,6 +1570,11 @@ public class BattleExDto extends AbstractDto {
      * @return dropName
      */
     public String getDropName() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getDropName();
+        }
+        this.derive();
         return this.dropName;
     }
 
@@ -1368,6 +1583,7 @@ public class BattleExDto extends AbstractDto {
      * @return phaseList
      */
     public List<Phase> getPhaseList() {
+        this.derive();
         return this.phaseList;
     }
 
@@ -1377,6 +1593,11 @@ public class BattleExDto extends AbstractDto {
      * @return mvp
      */
     public int getMvp() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getMvp();
+        }
+        this.derive();
         return this.mvp;
     }
 
@@ -1386,6 +1607,11 @@ public class BattleExDto extends AbstractDto {
      * @return mvpCombined
      */
     public int getMvpCombined() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getMvpCombined();
+        }
+        this.derive();
         return this.mvpCombined;
     }
 
@@ -1394,6 +1620,11 @@ public class BattleExDto extends AbstractDto {
      * @return hqLv
      */
     public int getHqLv() {
+        RawBattleDto.Summary summary = this.summary;
+        if (summary != null) {
+            return summary.getHqLv();
+        }
+        this.derive();
         return this.hqLv;
     }
 
@@ -1433,6 +1664,7 @@ public class BattleExDto extends AbstractDto {
      * @return escapeInfo
      */
     public int[] getEscapeInfo() {
+        this.derive();
         return this.escapeInfo;
     }
 
@@ -1442,6 +1674,7 @@ public class BattleExDto extends AbstractDto {
      * @return escaped
      */
     public boolean[] getEscaped() {
+        this.derive();
         return this.escaped;
     }
 
@@ -1455,4 +1688,12 @@ public class BattleExDto extends AbstractDto {
         }
         return JsonUtils.fromString(this.resultJson);
     }
+
+    /**
+     * 戦闘結果のレスポンスJSON(文字列のまま)
+     * @return resultJson
+     */
+    String getResultJsonString() {
+        return this.resultJson;
+    }
 }
\ No newline at end of file
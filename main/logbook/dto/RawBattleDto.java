@@ -0,0 +1,319 @@
+package logbook.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.dyuproject.protostuff.Tag;
+
+/**
+ * 生JSON形式の出撃ログ1件<br>
+ * 戦闘フェーズのHPや攻撃シーケンスなどJSONから計算できるものは保存せず、
+ * APIのレスポンスJSONと、JSONからは分からない艦隊やマスの情報だけを保存します<br>
+ * 出撃ログの一覧に表示する値は {@link Summary} に保存しておき、一覧を作るときは戦闘フェーズを読み込みません
+ */
+public class RawBattleDto extends AbstractDto {
+
+    /** 日付 */
+    @Tag(1)
+    private Date battleDate;
+
+    /** 味方艦隊 */
+    @Tag(2)
+    private List<DockDto> friends;
+
+    /** マス */
+    @Tag(3)
+    private MapCellDto mapCellDto;
+
+    /** 母港空き（ドロップ分を含まない） */
+    @Tag(4)
+    private int shipSpace;
+
+    /** 装備空き（ドロップ分を含まない） */
+    @Tag(5)
+    private int itemSpace;
+
+    /** 戦闘フェーズの種別 */
+    @Tag(6)
+    private List<BattlePhaseKind> phaseKind;
+
+    /** 戦闘フェーズのJSON */
+    @Tag(7)
+    private List<String> phaseJson;
+
+    /** 戦闘結果のJSON */
+    @Tag(8)
+    private String resultJson;
+
+    /** 一覧表示用の値 (これより前に保存したものはnull) */
+    @Tag(9)
+    private Summary summary;
+
+    /**
+     * 読み込み用コンストラクター
+     */
+    public RawBattleDto() {
+    }
+
+    /**
+     * 戦闘データオブジェクトから作成します
+     * @param dto JSONを含む戦闘データ (getExVersion() >= 2)
+     */
+    public RawBattleDto(BattleExDto dto) {
+        this.battleDate = dto.getBattleDate();
+        this.friends = new ArrayList<DockDto>(dto.getFriends());
+        this.mapCellDto = dto.getMapCellDto();
+        this.shipSpace = dto.getShipSpace();
+        this.itemSpace = dto.getItemSpace();
+        List<BattleExDto.Phase> phases = dto.getPhaseList();
+        this.phaseKind = new ArrayList<BattlePhaseKind>(phases.size());
+        this.phaseJson = new ArrayList<String>(phases.size());
+        for (BattleExDto.Phase phase : phases) {
+            this.phaseKind.add(phase.getKind());
+            this.phaseJson.add(phase.getJsonString());
+        }
+        this.resultJson = dto.getResultJsonString();
+        this.summary = new Summary(dto);
+    }
+
+    /**
+     * 生JSON形式で保存できるか
+     * @param dto 戦闘データ
+     * @return JSONが全て揃っている場合true (戦闘フェーズがない場合はfalse)
+     */
+    public static boolean canConvert(BattleExDto dto) {
+        if ((dto.getExVersion() < 2) || (dto.getResultJsonString() == null)) {
+            return false;
+        }
+        // 戦闘フェーズがないものは読み込むとnullになる
+        List<BattleExDto.Phase> phases = dto.getPhaseList();
+        if ((phases == null) || phases.isEmpty()) {
+            return false;
+        }
+        for (BattleExDto.Phase phase : phases) {
+            if (phase.getJsonString() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 戦闘データオブジェクトにします<br>
+     * 戦闘フェーズと戦闘結果は最初にアクセスされたときにJSONから読み込みます
+     * @return 戦闘データ
+     */
+    public BattleExDto toBattleExDto() {
+        return new BattleExDto(this.battleDate, this.friends, this.mapCellDto, this.shipSpace, this.itemSpace,
+                this.phaseKind, this.phaseJson, this.resultJson, this.summary);
+    }
+
+    /**
+     * 日付
+     * @return battleDate
+     */
+    public Date getBattleDate() {
+        return this.battleDate;
+    }
+
+    /**
+     * 出撃ログの一覧に表示する値<br>
+     * 一覧を作るときに戦闘フェーズを読み込まなくて済むように、戦闘結果と戦闘後のHPを保存しておきます。
+     * 保存したあとは変更しません
+     */
+    public static class Summary {
+
+        /** 出撃海域 (演習の場合null) */
+        @Tag(1)
+        private String questName;
+
+        /** ランク */
+        @Tag(2)
+        private ResultRank rank;
+
+        /** 敵艦隊名 */
+        @Tag(3)
+        private String enemyName;
+
+        /** ドロップフラグ */
+        @Tag(4)
+        private boolean dropShip;
+
+        /** ドロップフラグ */
+        @Tag(5)
+        private boolean dropItem;
+
+        /** 艦種 */
+        @Tag(6)
+        private String dropType;
+
+        /** 艦名 */
+        @Tag(7)
+        private String dropName;
+
+        /** 戦闘結果も含んでいるか */
+        @Tag(8)
+        private boolean completeResult;
+
+        /** MVP */
+        @Tag(9)
+        private int mvp;
+
+        /** MVP(連合艦隊第二艦隊) */
+        @Tag(10)
+        private int mvpCombined;
+
+        /** 司令部Lv */
+        @Tag(11)
+        private int hqLv;
+
+        /** 味方艦のMaxHP (連合艦隊の時は第一艦隊) */
+        @Tag(12)
+        private int[] maxFriendHp;
+
+        /** 連合艦隊第二艦隊のMaxHP (連合艦隊でないときはnull) */
+        @Tag(13)
+        private int[] maxFriendHpCombined;
+
+        /** 交戦後の味方艦HP (連合艦隊の時は第一艦隊) */
+        @Tag(14)
+        private int[] nowFriendHp;
+
+        /** 交戦後の連合艦隊第二艦隊のHP (連合艦隊でないときはnull) */
+        @Tag(15)
+        private int[] nowFriendHpCombined;
+
+        /**
+         * 読み込み用コンストラクター
+         */
+        public Summary() {
+        }
+
+        Summary(BattleExDto dto) {
+            this.questName = dto.getQuestName();
+            this.rank = dto.getRank();
+            this.enemyName = dto.getEnemyName();
+            this.dropShip = dto.isDropShip();
+            this.dropItem = dto.isDropItem();
+            this.dropType = dto.getDropType();
+            this.dropName = dto.getDropName();
+            this.completeResult = dto.isCompleteResult();
+            this.mvp = dto.getMvp();
+            this.mvpCombined = dto.getMvpCombined();
+            this.hqLv = dto.getHqLv();
+            this.maxFriendHp = dto.getMaxFriendHp();
+            this.maxFriendHpCombined = dto.getMaxFriendHpCombined();
+            BattleExDto.Phase lastPhase = dto.getLastPhase();
+            if (lastPhase != null) {
+                this.nowFriendHp = lastPhase.getNowFriendHp();
+                this.nowFriendHpCombined = lastPhase.getNowFriendHpCombined();
+            }
+        }
+
+        /**
+         * @return 出撃海域 (演習の場合null)
+         */
+        public String getQuestName() {
+            return this.questName;
+        }
+
+        /**
+         * @return ランク
+         */
+        public ResultRank getRank() {
+            return this.rank;
+        }
+
+        /**
+         * @return 敵艦隊名
+         */
+        public String getEnemyName() {
+            return this.enemyName;
+        }
+
+        /**
+         * @return ドロップ艦があったか
+         */
+        public boolean isDropShip() {
+            return this.dropShip;
+        }
+
+        /**
+         * @return ドロップアイテムがあったか
+         */
+        public boolean isDropItem() {
+            return this.dropItem;
+        }
+
+        /**
+         * @return ドロップ艦の艦種（アイテムの場合は「アイテム」）
+         */
+        public String getDropType() {
+            return this.dropType;
+        }
+
+        /**
+         * @return ドロップ艦・アイテムの名前
+         */
+        public String getDropName() {
+            return this.dropName;
+        }
+
+        /**
+         * @return 戦闘結果も含んでいるか
+         */
+        public boolean isCompleteResult() {
+            return this.completeResult;
+        }
+
+        /**
+         * @return MVP
+         */
+        public int getMvp() {
+            return this.mvp;
+        }
+
+        /**
+         * @return MVP(連合艦隊第二艦隊)
+         */
+        public int getMvpCombined() {
+            return this.mvpCombined;
+        }
+
+        /**
+         * @return 司令部Lv
+         */
+        public int getHqLv() {
+            return this.hqLv;
+        }
+
+        /**
+         * @return 味方艦のMaxHP (連合艦隊の時は第一艦隊)
+         */
+        public int[] getMaxFriendHp() {
+            return this.maxFriendHp;
+        }
+
+        /**
+         * @return 連合艦隊第二艦隊のMaxHP (連合艦隊でないときはnull)
+         */
+        public int[] getMaxFriendHpCombined() {
+            return this.maxFriendHpCombined;
+        }
+
+        /**
+         * @return 交戦後の味方艦HP (連合艦隊の時は第一艦隊)
+         */
+        public int[] getNowFriendHp() {
+            return this.nowFriendHp;
+        }
+
+        /**
+         * @return 交戦後の連合艦隊第二艦隊のHP (連合艦隊でないときはnull)
+         */
+        public int[] getNowFriendHpCombined() {
+            return this.nowFriendHpCombined;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import logbook.data.context.GlobalContext;
 import logbook.internal.Item;
 import logbook.internal.MasterData;
 import logbook.internal.Ship;
+import logbook.internal.ShipStats;
 import logbook.util.JsonUtils;
 
 import org.apache.commons.lang3.StringUtils;
@@ -55,13 +56,16 @@ public abstract class ShipBaseDto extends AbstractDto {
     @Tag(7)
     private final List<ItemDto> slotItem2;
 
+    /** slotItem2がない古いデータのときに作ったもの (保存しない) */
+    private transient List<ItemDto> createdItem2;
+
     /**
      * 艦娘用コンストラクター
      * @param object JSON Object
      */
     public ShipBaseDto(JsonObject object) {
         int shipId = object.getJsonNumber("api_ship_id").intValue();
-        ShipInfoDto shipinfo = Ship.get(String.valueOf(shipId));
+        ShipInfoDto shipinfo = Ship.get(shipId);
         this.shipInfo = shipinfo;
         this.slot = JsonUtils.getIntArray(object, "api_slot");
         this.slotItem2 = createItemDtoList(this.slot);
@@ -83,7 +87,7 @@ public abstract class ShipBaseDto extends AbstractDto {
      * @param slot 装備
      */
     public ShipBaseDto(int shipId, int[] slot) {
-        this.shipInfo = Ship.get(String.valueOf(shipId));
+        this.shipInfo = Ship.get(shipId);
         this.slot = slot;
         this.slotItem = createItemInfoList(slot);
         ShipParameters[] params = ShipParameters.fromBaseAndSlotItem(
@@ -149,10 +153,9 @@ public abstract class ShipBaseDto extends AbstractDto {
      */
     private static List<ItemInfoDto> createItemInfoList(int[] slot) {
         List<ItemInfoDto> items = new ArrayList<ItemInfoDto>();
-        Map<Integer, ItemInfoDto> itemMap = Item.getMap();
         for (int itemid : slot) {
             if (-1 != itemid) {
-                ItemInfoDto item = itemMap.get(itemid);
+                ItemInfoDto item = Item.get(itemid);
                 if (item != null) {
                     items.add(item);
                 } else {
@@ -304,8 +307,13 @@ public abstract class ShipBaseDto extends AbstractDto {
     public List<ItemDto> getItem2() {
         if (this.slotItem2 == null) {
             // 古いバージョンはslotItem2がないのでnullの場合がある
-            // その場合はItemInfoDtoから作成
-            return createItemList(this.getItem());
+            // その場合はItemInfoDtoから作成 (作ったものは使い回す)
+            List<ItemDto> items = this.createdItem2;
+            if (items == null) {
+                items = createItemList(this.getItem());
+                this.createdItem2 = items;
+            }
+            return items;
         }
         else {
             // デシリアライズしたデータはiteminfoへの参照がないので作る
@@ -321,26 +329,20 @@ public abstract class ShipBaseDto extends AbstractDto {
         return this.slotItem2;
     }
 
+    /**
+     * 装備から計算する値(索敵・制空・火力など)
+     * @return 計算した値 (艦娘は装備・Lv・パラメータが変わるまで使い回す)
+     */
+    public ShipStats getStats() {
+        return GlobalContext.getShipStats(this);
+    }
+
     /**
      * 制空値
      * @return 制空値
      */
     public int getSeiku() {
-        List<ItemInfoDto> items = this.getItem();
-        int seiku = 0;
-        for (int i = 0; i < items.size(); i++) {
-            ItemInfoDto item = items.get(i);
-            if (item != null) {
-                if ((item.getType2() == 6)
-                        || (item.getType2() == 7)
-                        || (item.getType2() == 8)
-                        || (item.getType2() == 11)) {
-                    //6:艦上戦闘機,7:艦上爆撃機,8:艦上攻撃機,11:瑞雲系の水上偵察機の場合は制空値を計算する
-                    seiku += (int) Math.floor(item.getParam().getTyku() * Math.sqrt(this.getOnSlot()[i]));
-                }
-            }
-        }
-        return seiku;
+        return this.getStats().getSeiku();
     }
 
     /**
@@ -348,13 +350,7 @@ public abstract class ShipBaseDto extends AbstractDto {
      * @return アイテムの索敵合計
      */
     public int getSlotSakuteki() {
-        int sakuteki = 0;
-        for (ItemInfoDto item : this.getItem()) {
-            if (item != null) {
-                sakuteki += item.getParam().getSaku();
-            }
-        }
-        return sakuteki;
+        return this.getStats().getSlotSakuteki();
     }
 
     /**
@@ -362,18 +358,7 @@ public abstract class ShipBaseDto extends AbstractDto {
      * @return ドラム缶の合計値
      */
     public int getDram() {
-        // ドラム缶合計
-        int dram = 0;
-        List<ItemInfoDto> items = this.getItem();
-        for (int i = 0; i < items.size(); i++) {
-            ItemInfoDto item = items.get(i);
-            if (item != null) {
-                if (item.getName().equals("ドラム缶(輸送用)")) {
-                    dram++;
-                }
-            }
-        }
-        return dram;
+        return this.getStats().getDram();
     }
 
     /**
@@ -381,18 +366,7 @@ public abstract class ShipBaseDto extends AbstractDto {
      * @return 大発の合計値
      */
     public int getDaihatsu() {
-        // 大発合計
-        int daihatsu = 0;
-        List<ItemInfoDto> items = this.getItem();
-        for (int i = 0; i < items.size(); i++) {
-            ItemInfoDto item = items.get(i);
-            if (item != null) {
-                if (item.getName().equals("大発動艇")) {
-                    daihatsu++;
-                }
-            }
-        }
-        return daihatsu;
+        return this.getStats().getDaihatsu();
     }
 
     /**
@@ -121,7 +121,7 @@ public final class ShipDto extends ShipBaseDto implements Comparable<ShipDto> {
         int afterShipId = this.getShipInfo().getAftershipid();
         while (afterShipId != 0) {
             charId = afterShipId;
-            afterShipId = Ship.get(String.valueOf(afterShipId)).getAftershipid();
+            afterShipId = Ship.get(afterShipId).getAftershipid();
         }
         this.charId = charId;
         this.sortno = object.getInt("api_sortno");
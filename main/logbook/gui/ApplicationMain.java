@@ -11,6 +11,8 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import logbook.config.AppConfig;
 import logbook.config.ItemConfig;
@@ -18,7 +20,11 @@ import logbook.config.ItemMasterConfig;
 import logbook.config.ShipConfig;
 import logbook.config.ShipGroupConfig;
 import logbook.constants.AppConstants;
+import logbook.data.JsonArchive;
+import logbook.data.context.ContextExecutor;
 import logbook.data.context.GlobalContext;
+import logbook.data.context.GlobalContextListener;
+import logbook.data.context.SessionManager;
 import logbook.dto.BattleExDto;
 import logbook.dto.DockDto;
 import logbook.dto.MapCellDto;
@@ -30,6 +36,7 @@ import logbook.gui.listener.HelpEventListener;
 import logbook.gui.listener.MainShellAdapter;
 import logbook.gui.listener.TrayItemMenuListener;
 import logbook.gui.listener.TraySelectionListener;
+import logbook.gui.logic.BattleHtmlCache;
 import logbook.gui.logic.LayoutLogic;
 import logbook.gui.logic.PushNotify;
 import logbook.gui.logic.Sound;
@@ -39,8 +46,10 @@ import logbook.internal.EnemyData;
 import logbook.internal.Item;
 import logbook.internal.MasterData;
 import logbook.internal.Ship;
+import logbook.internal.StartupOrchestrator;
 import logbook.server.proxy.DatabaseClient;
 import logbook.server.proxy.ProxyServer;
+import logbook.thread.PersistenceThread;
 import logbook.thread.ThreadManager;
 import logbook.thread.ThreadStateObserver;
 import logbook.util.JIntellitypeWrapper;
@@ -74,6 +83,7 @@ import org.eclipse.swt.widgets.MenuItem;
 import org.eclipse.swt.widgets.MessageBox;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.ToolTip;
 import org.eclipse.swt.widgets.Tray;
 import org.eclipse.swt.widgets.TrayItem;
 import org.eclipse.wb.swt.SWTResourceManager;
@@ -134,6 +144,8 @@ public final class ApplicationMain extends WindowBase {
             try {
                 // スレッドを終了する
                 endThread();
+                // 保存待ちのJSONを書き込む
+                JsonArchive.close();
 
                 // 設定を書き込みます
                 AppConfig.store();
@@ -142,13 +154,71 @@ public final class ApplicationMain extends WindowBase {
                 ItemMasterConfig.store();
                 ItemConfig.store();
                 MasterData.store();
-                EnemyData.store();
+                EnemyData.compact();
             } catch (Exception e) {
                 LOG.fatal("シャットダウンスレッドで異常終了しました", e);
             }
         }
     }
 
+    /**
+     * GlobalContextの更新をメイン画面と戦闘ウィンドウに反映します
+     */
+    private static final class ContextListener implements GlobalContextListener {
+
+        private final ApplicationMain main;
+
+        ContextListener(ApplicationMain main) {
+            this.main = main;
+        }
+
+        @Override
+        public void startSortie() {
+            this.main.startSortie();
+        }
+
+        @Override
+        public void endSortie() {
+            this.main.endSortie();
+        }
+
+        @Override
+        public void updateSortieDock() {
+            this.main.updateSortieDock();
+        }
+
+        @Override
+        public void updateMapCell(MapCellDto mapCellDto) {
+            this.main.updateMapCell(mapCellDto);
+        }
+
+        @Override
+        public void updateBattle(BattleExDto battleDto) {
+            this.main.updateBattle(battleDto);
+        }
+
+        @Override
+        public void updatePracticeUser(PracticeUserDetailDto practiceUserExDto) {
+            this.main.updateCalcPracticeExp(practiceUserExDto);
+        }
+
+        @Override
+        public void printMessage(String message) {
+            this.main.printMessage(message);
+        }
+
+        @Override
+        public void warning(String title, String message) {
+            ToolTip tip = new ToolTip(this.main.getShell(), SWT.BALLOON
+                    | SWT.ICON_ERROR);
+            tip.setText(title);
+            tip.setMessage(message);
+            this.main.getTrayItem().setToolTip(tip);
+            tip.setVisible(true);
+            Sound.randomWarningPlay();
+        }
+    }
+
     /** ベースクラスの持っているshellと同じ */
     private Shell shell;
     /** 表示しない親ウィンドウ */
@@ -192,6 +262,8 @@ public final class ApplicationMain extends WindowBase {
     private CalcExpDialog calcExpWindow;
     /** 演習経験値計算 */
     private CalcPracticeExpDialog calcPracticeExpWindow;
+    /** 艦隊編成検索 */
+    private FleetSearchDialog fleetSearchWindow;
     /** 出撃統計 */
     private BattleAggDialog battleCounterWindow;
     /** グループエディター */
@@ -276,10 +348,22 @@ public final class ApplicationMain extends WindowBase {
             EnemyData.load();
             */
             sysPrint("基本設定ファイル読み込み完了");
+            // 処理開始前に必要な値をセット
+            BattleResultServer.setLogPath(AppConfig.get().getBattleLogPath());
+            // キャプチャしたデータはUIスレッドでGlobalContextに反映する
+            ContextExecutor.setExecutor(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    Display.getDefault().asyncExec(command);
+                }
+            });
+            // 残りの設定ファイルはウィンドウ構築と並行して読み込む
+            StartupOrchestrator.start();
             // シャットダウンフックを登録します
             Runtime.getRuntime().addShutdownHook(new Thread(new ShutdownHookThread()));
             // アプリケーション開始
             main = new ApplicationMain();
+            GlobalContext.addContextListener(new ContextListener(main));
             sysPrint("メインウィンドウ初期化開始");
             main.restore();
         } catch (Error e) {
@@ -527,6 +611,12 @@ public final class ApplicationMain extends WindowBase {
         calcpracticeexp.setAccelerator(SWT.CTRL + 'V');
         this.calcPracticeExpWindow = new CalcPracticeExpDialog(this.dummyHolder, calcpracticeexp);
 
+        // 計算機-艦隊編成検索
+        MenuItem fleetsearch = new MenuItem(calcmenu, SWT.CHECK);
+        fleetsearch.setText("艦隊編成検索(&F)\tCtrl+F");
+        fleetsearch.setAccelerator(SWT.CTRL + 'F');
+        this.fleetSearchWindow = new FleetSearchDialog(this.dummyHolder, fleetsearch);
+
         // その他-資材チャート
         MenuItem resourceChart = new MenuItem(etcmenu, SWT.CHECK);
         resourceChart.setText("資材チャート(&R)\tCtrl+R");
@@ -959,9 +1049,6 @@ public final class ApplicationMain extends WindowBase {
         }
         this.tabFolder.setData("disable-drag-move-this", true);
 
-        // 処理開始前に必要な値をセット
-        BattleResultServer.setLogPath(AppConfig.get().getBattleLogPath());
-
         this.configUpdated();
 
         // ホットキー
@@ -1038,6 +1125,9 @@ public final class ApplicationMain extends WindowBase {
         case 'v':
             this.activate(this.calcPracticeExpWindow);
             break;
+        case 'f':
+            this.activate(this.fleetSearchWindow);
+            break;
         case 'g':
             this.activate(this.shipFilterGroupWindow);
             break;
@@ -1139,6 +1229,7 @@ public final class ApplicationMain extends WindowBase {
                 this.battleShipWindow,
                 this.calcExpWindow,
                 this.calcPracticeExpWindow,
+                this.fleetSearchWindow,
                 this.shipFilterGroupWindow,
                 this.resourceChartWindow,
                 this.battleCounterWindow,
@@ -1188,6 +1279,12 @@ public final class ApplicationMain extends WindowBase {
         ThreadManager.regist(new AsyncExecApplicationMain(this));
         // サウンドを出すスレッド
         ThreadManager.regist(new Sound.PlayerThread());
+        // JSONを保存するスレッド
+        ThreadManager.regist(new JsonArchive.WriterThread());
+        // 設定ファイルを書き込むスレッド
+        ThreadManager.regist(new PersistenceThread());
+        // 会敵報告を作成するスレッド
+        ThreadManager.regist(new BattleHtmlCache.WorkerThread());
         // Push通知を行うスレッド
         ThreadManager.regist(new PushNotify.PushNotifyThread());
         // スレッドを監視するスレッド
@@ -1201,6 +1298,8 @@ public final class ApplicationMain extends WindowBase {
         SWTResourceManager.dispose();
         // プロキシサーバーをシャットダウンする
         ProxyServer.end();
+        // 主アカウント以外のセッションの受け取り済みのデータを反映する
+        SessionManager.shutdown(TimeUnit.SECONDS.toMillis(10));
         DatabaseClient.end();
         // ホットキーを解除
         JIntellitypeWrapper.cleanup();
@@ -236,6 +236,43 @@ public final class ConfigDialog extends Dialog {
         databaseLogButton.setText("データベースへの送信をログ出力する");
         databaseLogButton.setSelection(AppConfig.get().isDatabaseSendLog());
 
+        Label databaseInFlightLabel = new Label(compositeConnection, SWT.NONE);
+        databaseInFlightLabel.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
+        databaseInFlightLabel.setText("同時送信数:");
+
+        final Spinner databaseInFlightSpinner = new Spinner(compositeConnection, SWT.BORDER);
+        databaseInFlightSpinner.setMaximum(8);
+        databaseInFlightSpinner.setMinimum(1);
+        databaseInFlightSpinner.setSelection(AppConfig.get().getDatabaseMaxInFlight());
+        GridData gdDatabaseInFlightSpinner = new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1);
+        gdDatabaseInFlightSpinner.widthHint = 55;
+        databaseInFlightSpinner.setLayoutData(gdDatabaseInFlightSpinner);
+        new Label(compositeConnection, SWT.NONE).setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1));
+
+        final Button useAssetCacheButton = new Button(compositeConnection, SWT.CHECK);
+        useAssetCacheButton.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 4, 1));
+        useAssetCacheButton.setText("ゲームの画像や音声をキャッシュする");
+        useAssetCacheButton.setSelection(AppConfig.get().isUseAssetCache());
+
+        Label assetCacheSizeLabel = new Label(compositeConnection, SWT.NONE);
+        assetCacheSizeLabel.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
+        assetCacheSizeLabel.setText("上限(MB):");
+
+        final Spinner assetCacheSizeSpinner = new Spinner(compositeConnection, SWT.BORDER);
+        assetCacheSizeSpinner.setMaximum(65536);
+        assetCacheSizeSpinner.setMinimum(64);
+        assetCacheSizeSpinner.setIncrement(64);
+        assetCacheSizeSpinner.setSelection(AppConfig.get().getAssetCacheSize());
+        GridData gdAssetCacheSizeSpinner = new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1);
+        gdAssetCacheSizeSpinner.widthHint = 55;
+        assetCacheSizeSpinner.setLayoutData(gdAssetCacheSizeSpinner);
+        new Label(compositeConnection, SWT.NONE).setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1));
+
+        final Button multiAccountButton = new Button(compositeConnection, SWT.CHECK);
+        multiAccountButton.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 4, 1));
+        multiAccountButton.setText("複数のアカウントを記録する(主アカウント以外はaccountsフォルダに保存)");
+        multiAccountButton.setSelection(AppConfig.get().isMultiAccount());
+
         // システム タブ
         compositeSystem.setLayout(new GridLayout(3, false));
 
@@ -342,6 +379,11 @@ public final class ConfigDialog extends Dialog {
         });
         battleLogdirBtn.setText("選択...");
 
+        final Button storeRawBattleLog = new Button(compositeReport, SWT.CHECK);
+        storeRawBattleLog.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 3, 1));
+        storeRawBattleLog.setText("戦闘履歴をJSONのみで保存する(ファイルが小さくなります)");
+        storeRawBattleLog.setSelection(AppConfig.get().isStoreRawBattleLog());
+
         Label materialintervallabel = new Label(compositeReport, SWT.NONE);
         materialintervallabel.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
         materialintervallabel.setText("資材ログ保存間隔(秒)");
@@ -877,6 +919,12 @@ public final class ConfigDialog extends Dialog {
         btnJson.setText("JSONを保存する");
         btnJson.setSelection(AppConfig.get().isStoreJson());
 
+        new Label(compositeDevelopment, SWT.NONE);
+        final Button btnJsonArchive = new Button(compositeDevelopment, SWT.CHECK);
+        btnJsonArchive.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1));
+        btnJsonArchive.setText("圧縮してまとめて保存する");
+        btnJsonArchive.setSelection(AppConfig.get().isStoreJsonArchive());
+
         Label lblJson = new Label(compositeDevelopment, SWT.NONE);
         lblJson.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
         lblJson.setText("JSON保存先");
@@ -953,6 +1001,7 @@ public final class ConfigDialog extends Dialog {
                 */
                 AppConfig.get().setReportPath(reportDir.getText());
                 AppConfig.get().setBattleLogPath(battlelogDir.getText());
+                AppConfig.get().setStoreRawBattleLog(storeRawBattleLog.getSelection());
                 AppConfig.get().setUpdateCheck(checkUpdate.getSelection());
                 AppConfig.get().setAllowOnlyFromLocalhost(onlyFromLocalhost.getSelection());
                 AppConfig.get().setCloseOutsidePort(closeOutsidePort.getSelection());
@@ -1023,6 +1072,10 @@ public final class ConfigDialog extends Dialog {
                 AppConfig.get().setProxyPort(proxyPortSpinner.getSelection());
                 AppConfig.get().setSendDatabase(sendDatabaseButton.getSelection());
                 AppConfig.get().setDatabaseSendLog(databaseLogButton.getSelection());
+                AppConfig.get().setDatabaseMaxInFlight(databaseInFlightSpinner.getSelection());
+                AppConfig.get().setUseAssetCache(useAssetCacheButton.getSelection());
+                AppConfig.get().setAssetCacheSize(assetCacheSizeSpinner.getSelection());
+                AppConfig.get().setMultiAccount(multiAccountButton.getSelection());
                 AppConfig.get().setAccessKey(accessKeyText.getText());
                 // push notify
                 AppConfig.get().setNotifyProwl(prowl.getSelection());
@@ -1040,6 +1093,7 @@ public final class ConfigDialog extends Dialog {
 
                 // development
                 AppConfig.get().setStoreJson(btnJson.getSelection());
+                AppConfig.get().setStoreJsonArchive(btnJsonArchive.getSelection());
                 AppConfig.get().setStoreJsonPath(new File(jsonpath.getText()).getAbsolutePath());
                 AppConfig.get().setEnableTestWindow(btnTest.getSelection());
                 try {
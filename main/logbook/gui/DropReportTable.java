@@ -8,7 +8,9 @@ import java.nio.charset.Charset;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipOutputStream;
@@ -16,9 +18,8 @@ import java.util.zip.ZipOutputStream;
 import logbook.constants.AppConstants;
 import logbook.data.Data;
 import logbook.data.DataType;
-import logbook.dto.BattleExDto;
 import logbook.dto.BattleResultDto;
-import logbook.gui.logic.BattleHtmlGenerator;
+import logbook.gui.logic.BattleHtmlCache;
 import logbook.gui.logic.CreateReportLogic;
 import logbook.gui.logic.TableItemCreator;
 import logbook.gui.logic.TableRowHeader;
@@ -37,6 +38,7 @@ import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.MenuItem;
 import org.eclipse.swt.widgets.MessageBox;
@@ -58,6 +60,12 @@ public final class DropReportTable extends AbstractTableDialog {
 
     private final BattleDetailDialog detailDialog;
 
+    /** 詳細を表示しようとしている戦闘 */
+    private BattleResultDto requestedBattle;
+
+    /** 先読みする選択行の前後の行数 */
+    private static final int PREFETCH_ROWS = 2;
+
     /**
      * @param parent
      */
@@ -97,14 +105,25 @@ public final class DropReportTable extends AbstractTableDialog {
             public void mouseDoubleClick(MouseEvent e) {
                 int selected = DropReportTable.this.table.getSelectionIndex();
                 if (selected != -1) {
-                    BattleResultDto result = DropReportTable.this.getItemFromIndex(selected);
-                    DropReportTable.this.detailDialog.open();
-                    DropReportTable.this.detailDialog.setBattle(
-                            DropReportTable.this.getHTMLOfItem(result, false),
-                            DropReportTable.this.getBattleTitle(result));
+                    DropReportTable.this.showDetail(DropReportTable.this.getItemFromIndex(selected));
                 }
             }
         });
+        // 選択やスクロールで近くの行の会敵報告を先読みする
+        this.table.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                DropReportTable.this.prefetch();
+            }
+        });
+        if (this.table.getVerticalBar() != null) {
+            this.table.getVerticalBar().addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    DropReportTable.this.prefetch();
+                }
+            });
+        }
         SelectionListener filterListener = new SelectionAdapter() {
             @Override
             public void widgetSelected(SelectionEvent e) {
@@ -155,12 +174,85 @@ public final class DropReportTable extends AbstractTableDialog {
         }
     }
 
+    /**
+     * 会敵報告を表示します<br>
+     * キャッシュにない場合は別スレッドで作成して、できたら表示します
+     */
+    private void showDetail(final BattleResultDto item) {
+        final String title = this.getBattleTitle(item);
+        this.requestedBattle = item;
+        this.detailDialog.open();
+        String html = BattleHtmlCache.getCached(item);
+        if (html != null) {
+            this.detailDialog.setBattle(html, title);
+            return;
+        }
+        this.detailDialog.setBattle("<html><body>作成中...</body></html>", title);
+        final Display display = this.shell.getDisplay();
+        BattleHtmlCache.request(item, title, new BattleHtmlCache.Callback() {
+            @Override
+            public void done(final String html) {
+                if (display.isDisposed()) {
+                    return;
+                }
+                display.asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        // 別の戦闘が選ばれていたら表示しない
+                        if (DropReportTable.this.requestedBattle != item) {
+                            return;
+                        }
+                        if (html == null) {
+                            ApplicationMain.main.printMessage("会敵報告作成に失敗しました");
+                            return;
+                        }
+                        DropReportTable.this.detailDialog.setBattle(html, title);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 選択している行の前後と表示している行の会敵報告を先読みします
+     */
+    private void prefetch() {
+        if ((this.body == null) || this.body.isEmpty()) {
+            return;
+        }
+        Set<Integer> indices = new LinkedHashSet<Integer>();
+        int selected = this.table.getSelectionIndex();
+        if (selected != -1) {
+            for (int i = 1; i <= PREFETCH_ROWS; ++i) {
+                indices.add(selected + i);
+                indices.add(selected - i);
+            }
+        }
+        int top = this.table.getTopIndex();
+        int visible = this.table.getClientArea().height / Math.max(1, this.table.getItemHeight());
+        for (int i = 0; i < visible; ++i) {
+            indices.add(top + i);
+        }
+        List<BattleResultDto> items = new ArrayList<BattleResultDto>();
+        List<String> titles = new ArrayList<String>();
+        for (int index : indices) {
+            if ((index < 0) || (index >= this.body.size())) {
+                continue;
+            }
+            if (items.size() >= (BattleHtmlCache.MAX_ENTRIES / 2)) {
+                break;
+            }
+            BattleResultDto item = this.getItemFromIndex(index);
+            items.add(item);
+            titles.add(this.getBattleTitle(item));
+        }
+        BattleHtmlCache.prefetch(items, titles);
+    }
+
     private String getHTMLOfItem(BattleResultDto item, boolean forFile) {
         String title = this.getBattleTitle(item);
-        BattleExDto detail = BattleResultServer.get().getBattleDetail(item);
         try {
-            BattleHtmlGenerator gen = new BattleHtmlGenerator();
-            return gen.generateHTML(title, item, detail, forFile);
+            return BattleHtmlCache.generate(item, title, forFile);
         } catch (IOException e) {
             LOG.warn("会敵報告作成に失敗: CSSファイル読み込みに失敗しました", e);
         } catch (Exception e) {
@@ -0,0 +1,342 @@
+package logbook.gui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import logbook.data.context.GlobalContext;
+import logbook.dto.ShipDto;
+import logbook.gui.logic.FleetSearch;
+import logbook.internal.ExpTable;
+import logbook.internal.MasterData;
+import logbook.internal.MasterData.ShipTypeDto;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.MenuItem;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+
+/**
+ * 艦隊編成検索<br>
+ * 保有している艦娘から条件に合う艦隊を {@link FleetSearch} で探して表示します<br>
+ * 組み合わせが多いと時間がかかるので、検索は別のスレッドで行います
+ *
+ */
+public final class FleetSearchDialog extends WindowBase {
+
+    private final Shell parent;
+    private Shell shell;
+    private Combo objectiveCombo;
+    private Spinner fleetSizeSpinner;
+    private Spinner minLvSpinner;
+    private Spinner maxLvSpinner;
+    private Spinner maxFuelSpinner;
+    private Spinner topSpinner;
+    private Text stypeText;
+    private Text requirementText;
+    private Button excludeBusyButton;
+    private Button searchButton;
+    private Label statusLabel;
+    private Table table;
+
+    /**
+     * Create the dialog.
+     * @param parent
+     */
+    public FleetSearchDialog(Shell parent, MenuItem menuItem) {
+        super(menuItem);
+        this.parent = parent;
+    }
+
+    /**
+     * Open the dialog.
+     */
+    @Override
+    public void open() {
+        // 初期化済みの場合
+        if (this.isWindowInitialized()) {
+            this.setVisible(true);
+            return;
+        }
+        this.createContents();
+        this.registerEvents();
+        this.setWindowInitialized(true);
+        this.setVisible(true);
+    }
+
+    @Override
+    protected boolean moveWithDrag() {
+        return true;
+    }
+
+    /**
+     * Create contents of the dialog.
+     */
+    private void createContents() {
+        // シェルを作成
+        super.createContents(this.parent, SWT.CLOSE | SWT.TITLE | SWT.RESIZE, false);
+        this.shell = this.getShell();
+        this.shell.setText("艦隊編成検索");
+        this.shell.setLayout(new GridLayout(1, false));
+
+        Composite condition = new Composite(this.shell, SWT.NONE);
+        condition.setLayout(new GridLayout(4, false));
+        condition.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        new Label(condition, SWT.NONE).setText("評価");
+        this.objectiveCombo = new Combo(condition, SWT.READ_ONLY);
+        for (FleetSearch.Objective objective : FleetSearch.Objective.values()) {
+            this.objectiveCombo.add(objective.toString());
+        }
+        this.objectiveCombo.select(0);
+
+        new Label(condition, SWT.NONE).setText("隻数");
+        this.fleetSizeSpinner = createSpinner(condition, 1, 6, 6);
+
+        new Label(condition, SWT.NONE).setText("Lv");
+        Composite lv = new Composite(condition, SWT.NONE);
+        GridLayout glLv = new GridLayout(3, false);
+        glLv.marginWidth = 0;
+        glLv.marginHeight = 0;
+        lv.setLayout(glLv);
+        this.minLvSpinner = createSpinner(lv, 1, ExpTable.MAX_LEVEL, 1);
+        new Label(lv, SWT.NONE).setText("～");
+        this.maxLvSpinner = createSpinner(lv, 1, ExpTable.MAX_LEVEL, ExpTable.MAX_LEVEL);
+
+        new Label(condition, SWT.NONE).setText("燃料上限");
+        this.maxFuelSpinner = createSpinner(condition, 0, 9999, 0);
+        this.maxFuelSpinner.setToolTipText("燃料(最大)の合計の上限 (0なら制限なし)");
+
+        new Label(condition, SWT.NONE).setText("艦種");
+        this.stypeText = new Text(condition, SWT.BORDER);
+        this.stypeText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 3, 1));
+        this.stypeText.setToolTipText("使える艦種 (例: 駆逐艦/軽巡洋艦, 空欄なら全て)");
+
+        new Label(condition, SWT.NONE).setText("必要な艦種");
+        this.requirementText = new Text(condition, SWT.BORDER);
+        this.requirementText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 3, 1));
+        this.requirementText.setToolTipText("艦種と隻数 (例: 駆逐艦 2, 正規空母/軽空母 1)");
+
+        this.excludeBusyButton = new Button(condition, SWT.CHECK);
+        this.excludeBusyButton.setText("遠征中・入渠中の艦娘を除く");
+        this.excludeBusyButton.setSelection(true);
+        this.excludeBusyButton.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1));
+
+        new Label(condition, SWT.NONE).setText("件数");
+        this.topSpinner = createSpinner(condition, 1, 100, 10);
+
+        Composite command = new Composite(this.shell, SWT.NONE);
+        command.setLayout(new GridLayout(2, false));
+        command.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        this.searchButton = new Button(command, SWT.PUSH);
+        this.searchButton.setText("検索");
+        this.searchButton.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                FleetSearchDialog.this.search();
+            }
+        });
+        this.statusLabel = new Label(command, SWT.NONE);
+        this.statusLabel.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+
+        this.table = new Table(this.shell, SWT.BORDER | SWT.FULL_SELECTION);
+        GridData gdTable = new GridData(SWT.FILL, SWT.FILL, true, true, 1, 1);
+        gdTable.heightHint = 200;
+        this.table.setLayoutData(gdTable);
+        this.table.setHeaderVisible(true);
+        this.table.setLinesVisible(true);
+        for (String header : new String[] { "", "評価値", "燃料", "艦娘" }) {
+            TableColumn col = new TableColumn(this.table, SWT.LEFT);
+            col.setText(header);
+        }
+        this.packTableHeader();
+
+        for (Control c : new Control[] { this.objectiveCombo, this.stypeText, this.requirementText, this.table }) {
+            c.setData("disable-drag-move", true);
+        }
+
+        this.shell.pack();
+    }
+
+    private static Spinner createSpinner(Composite parent, int min, int max, int selection) {
+        Spinner spinner = new Spinner(parent, SWT.BORDER);
+        GridData gd = new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1);
+        gd.widthHint = 45;
+        spinner.setLayoutData(gd);
+        spinner.setMaximum(max);
+        spinner.setMinimum(min);
+        spinner.setSelection(selection);
+        spinner.setData("disable-drag-move", true);
+        return spinner;
+    }
+
+    /**
+     * 検索を始める<br>
+     * 条件と艦娘はここ(UIスレッド)で読み、組み合わせの検索は別のスレッドで行う
+     */
+    private void search() {
+        FleetSearch search = new FleetSearch();
+        search.setObjective(FleetSearch.Objective.values()[this.objectiveCombo.getSelectionIndex()]);
+        search.setFleetSize(this.fleetSizeSpinner.getSelection());
+        search.setMinLv(this.minLvSpinner.getSelection());
+        search.setMaxLv(this.maxLvSpinner.getSelection());
+        search.setMaxFuel(this.maxFuelSpinner.getSelection());
+        search.setTop(this.topSpinner.getSelection());
+        search.setExcludeBusy(this.excludeBusyButton.getSelection());
+        search.setHqLv(GlobalContext.hqLevel());
+
+        Map<String, Integer> stypes = new HashMap<String, Integer>();
+        if (MasterData.getMaster() != null) {
+            for (ShipTypeDto dto : MasterData.getMaster().getStype()) {
+                stypes.put(dto.getName(), dto.getId());
+            }
+        }
+        try {
+            for (int stype : parseStypes(stypes, this.stypeText.getText())) {
+                search.addStype(stype);
+            }
+            // 艦種と隻数をカンマで区切る
+            for (String token : StringUtils.split(this.requirementText.getText().replace('、', ','), ',')) {
+                String[] values = StringUtils.split(token.trim());
+                if (values.length == 0) {
+                    continue;
+                }
+                int count = 1;
+                if ((values.length > 1) && StringUtils.isNumeric(values[values.length - 1])) {
+                    count = Integer.parseInt(values[values.length - 1]);
+                }
+                search.addRequirement(count, parseStypes(stypes, values[0]));
+            }
+        } catch (IllegalArgumentException e) {
+            this.setStatus(e.getMessage());
+            return;
+        }
+
+        // GlobalContextを読む評価値の計算まではUIスレッドで行う
+        Set<Integer> busy = new HashSet<Integer>();
+        busy.addAll(GlobalContext.getMissionShipSet());
+        busy.addAll(GlobalContext.getNDockShipSet());
+        final List<FleetSearch.Candidate> candidates;
+        try {
+            candidates = search.candidates(GlobalContext.getShipMap().values(), busy);
+        } catch (IllegalArgumentException e) {
+            this.setStatus(e.getMessage());
+            return;
+        }
+
+        final FleetSearch condition = search;
+        final Display display = this.shell.getDisplay();
+        this.searchButton.setEnabled(false);
+        this.setStatus("検索中...");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                FleetSearch.Result result = null;
+                String error = null;
+                try {
+                    result = condition.search(candidates);
+                } catch (RuntimeException e) {
+                    error = "検索に失敗しました: " + e.getMessage();
+                }
+                final FleetSearch.Result finalResult = result;
+                final String finalError = error;
+                if (display.isDisposed()) {
+                    return;
+                }
+                display.asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (FleetSearchDialog.this.shell.isDisposed()) {
+                            return;
+                        }
+                        FleetSearchDialog.this.searchButton.setEnabled(true);
+                        if (finalResult == null) {
+                            FleetSearchDialog.this.setStatus(finalError);
+                            return;
+                        }
+                        FleetSearchDialog.this.showResult(finalResult);
+                    }
+                });
+            }
+        }, "logbook_fleet_search");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 検索結果を表示する
+     */
+    private void showResult(FleetSearch.Result result) {
+        this.table.setRedraw(false);
+        this.table.removeAll();
+        int rank = 1;
+        for (FleetSearch.Fleet fleet : result.getFleets()) {
+            List<String> names = new ArrayList<String>();
+            for (ShipDto ship : fleet.getShips()) {
+                names.add(ship.getFriendlyName());
+            }
+            TableItem item = new TableItem(this.table, SWT.NONE);
+            item.setText(new String[] {
+                    Integer.toString(rank++),
+                    Integer.toString((int) fleet.getScore()),
+                    Integer.toString(fleet.getFuel()),
+                    StringUtils.join(names, " / ")
+            });
+        }
+        this.packTableHeader();
+        this.table.setRedraw(true);
+
+        this.setStatus(String.format("%d隻から%d件 (%dms)%s", result.getCandidates(),
+                result.getFleets().size(), result.getElapsed(), result.isComplete() ? "" : " 組み合わせが多いため途中で打ち切りました"));
+    }
+
+    private void setStatus(String text) {
+        this.statusLabel.setText(text);
+        this.statusLabel.getParent().layout();
+    }
+
+    /**
+     * スラッシュで区切った艦種名を艦種IDにする
+     */
+    private static int[] parseStypes(Map<String, Integer> stypes, String text) {
+        String[] names = StringUtils.split(text, "/／ ");
+        int[] ids = new int[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            Integer id = stypes.get(names[i]);
+            if (id == null) {
+                throw new IllegalArgumentException("艦種がありません: " + names[i]);
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * テーブルヘッダーの幅を調節する
+     */
+    private void packTableHeader() {
+        TableColumn[] columns = this.table.getColumns();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].pack();
+        }
+    }
+}
@@ -6,13 +6,17 @@ package logbook.gui;
 import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import logbook.data.Data;
 import logbook.data.DataType;
+import logbook.data.JsonArchive;
 import logbook.data.TestData;
 import logbook.data.context.GlobalContext;
 
+import org.apache.commons.io.FilenameUtils;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.events.MouseWheelListener;
@@ -30,6 +34,7 @@ import org.eclipse.swt.widgets.Text;
  * 
  * テストデータを食べさせる
  * JSON保存先のパスをセットしてリセットを押すと準備ができます。
+ * 圧縮してまとめて保存したセグメントファイル(*.jsonseg)も読み込めます。
  * マウスホイールを回すとJSONファイルを食べさせます。
  * 各種ボタンで一気に食べさせることもできます。
  * 
@@ -43,9 +48,42 @@ public class TestDataFeeder extends WindowBase {
 
     private Text filepathText;
     private Label statusLabel;
-    private String[] fileList;
+    private List<FeedEntry> fileList;
     private int currentIndex;
 
+    /** 食べさせるJSON1つ */
+    private static abstract class FeedEntry {
+        abstract Data load() throws ParseException, IOException;
+    }
+
+    /** 1レスポンス1ファイルのJSON */
+    private static final class FileEntry extends FeedEntry {
+        private final String filepath;
+
+        FileEntry(String filepath) {
+            this.filepath = filepath;
+        }
+
+        @Override
+        Data load() throws ParseException, IOException {
+            return new TestData(this.filepath);
+        }
+    }
+
+    /** セグメントファイル中のJSON */
+    private static final class RecordEntry extends FeedEntry {
+        private final JsonArchive.Record record;
+
+        RecordEntry(JsonArchive.Record record) {
+            this.record = record;
+        }
+
+        @Override
+        Data load() {
+            return this.record.toData();
+        }
+    }
+
     public TestDataFeeder(WindowBase parent) {
         this.createContents(parent, SWT.CLOSE | SWT.TITLE | SWT.MIN | SWT.RESIZE, false);
         this.getShell().setText("JSONを食べさせます");
@@ -148,18 +186,29 @@ public class TestDataFeeder extends WindowBase {
     }
 
     private void updateLabel() {
-        this.statusLabel.setText(String.valueOf(this.currentIndex) + "/" + this.fileList.length);
+        this.statusLabel.setText(String.valueOf(this.currentIndex) + "/" + this.fileList.size());
         this.getShell().layout();
     }
 
     private void resetFilePath() {
         File dir = new File(this.filepathText.getText());
         File[] files = dir.listFiles();
-        this.fileList = new String[files.length];
-        for (int i = 0; i < files.length; ++i) {
-            this.fileList[i] = files[i].getAbsolutePath();
+        Arrays.sort(files);
+        this.fileList = new ArrayList<FeedEntry>();
+        for (File file : files) {
+            if (JsonArchive.isSegment(file)) {
+                try (JsonArchive.Reader reader = new JsonArchive.Reader(file)) {
+                    for (JsonArchive.Record record : reader.readAll()) {
+                        this.fileList.add(new RecordEntry(record));
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            else if (FilenameUtils.isExtension(file.getName(), "json")) {
+                this.fileList.add(new FileEntry(file.getAbsolutePath()));
+            }
         }
-        Arrays.sort(this.fileList);
         this.currentIndex = 0;
 
         this.updateLabel();
@@ -170,11 +219,11 @@ public class TestDataFeeder extends WindowBase {
             return;
         }
         // まずは100個
-        int end = Math.min(this.currentIndex + 1000, this.fileList.length);
+        int end = Math.min(this.currentIndex + 1000, this.fileList.size());
         for (; this.currentIndex < end;) {
-            String filepath = this.fileList[this.currentIndex++];
+            FeedEntry entry = this.fileList.get(this.currentIndex++);
             try {
-                Data data = new TestData(filepath);
+                Data data = entry.load();
                 GlobalContext.updateContext(data);
             } catch (ParseException | IOException | IllegalArgumentException e) {
                 e.printStackTrace();
@@ -182,7 +231,7 @@ public class TestDataFeeder extends WindowBase {
         }
         this.updateLabel();
         // 末尾再帰？？
-        if (this.currentIndex < this.fileList.length) {
+        if (this.currentIndex < this.fileList.size()) {
             this.getShell().getDisplay().asyncExec(new Runnable() {
                 @Override
                 public void run() {
@@ -200,10 +249,10 @@ public class TestDataFeeder extends WindowBase {
     private void nextUntil(DataType type) {
         if (this.fileList == null)
             return;
-        for (; this.currentIndex < this.fileList.length;) {
-            String filepath = this.fileList[this.currentIndex++];
+        for (; this.currentIndex < this.fileList.size();) {
+            FeedEntry entry = this.fileList.get(this.currentIndex++);
             try {
-                Data data = new TestData(filepath);
+                Data data = entry.load();
                 GlobalContext.updateContext(data);
                 this.updateLabel();
                 if (data.getDataType() == type) {
@@ -216,10 +265,10 @@ public class TestDataFeeder extends WindowBase {
     }
 
     private void feedJson() {
-        if ((this.fileList != null) && (this.currentIndex < this.fileList.length)) {
-            String filepath = this.fileList[this.currentIndex++];
+        if ((this.fileList != null) && (this.currentIndex < this.fileList.size())) {
+            FeedEntry entry = this.fileList.get(this.currentIndex++);
             try {
-                Data data = new TestData(filepath);
+                Data data = entry.load();
                 GlobalContext.updateContext(data);
                 this.updateLabel();
             } catch (ParseException | IOException | IllegalArgumentException e) {
@@ -8,10 +8,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import logbook.config.AppConfig;
-import logbook.config.ShipGroupConfig;
 import logbook.constants.AppConstants;
+import logbook.data.Data;
+import logbook.data.DataType;
+import logbook.data.EventListener;
 import logbook.data.context.GlobalContext;
 import logbook.dto.BasicInfoDto;
 import logbook.dto.DeckMissionDto;
@@ -23,8 +26,7 @@ import logbook.gui.logic.PushNotify;
 import logbook.gui.logic.Sound;
 import logbook.gui.logic.TimeLogic;
 import logbook.gui.widgets.FleetComposite;
-import logbook.internal.EnemyData;
-import logbook.internal.MasterData;
+import logbook.thread.PersistenceThread;
 import logbook.util.SwtUtils;
 
 import org.apache.commons.lang3.StringUtils;
@@ -41,15 +43,32 @@ import org.eclipse.swt.widgets.ToolTip;
 import org.eclipse.wb.swt.SWTResourceManager;
 
 /**
- * 非同期にメイン画面を更新します
+ * 非同期にメイン画面を更新します<br>
+ * 遠征・入渠の残り時間の表示や通知が変わる時刻と、通信データで状態が変わったときだけ起きて画面を更新します
  */
 public final class AsyncExecApplicationMain extends Thread {
     private static final Logger LOG = LogManager.getLogger(AsyncExecApplicationMain.class);
 
     private static final int ONE_MINUTES = 60;
 
+    private static final int ONE_HOUR = 60 * 60;
+
+    private static final int ONE_DAY = 60 * 60 * 24;
+
+    /** 何もなくてもこの間隔で更新する (設定の変更などを反映するため) */
+    private static final long MAX_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     private final ApplicationMain main;
 
+    /** 通信データを受け取ったら起こす */
+    private final Object lock = new Object();
+
+    /** lockで保護 */
+    private boolean updated = false;
+
+    /** 画面更新のまとめ役 */
+    private final FrameTask frameTask;
+
     /**
      * 非同期にメイン画面を更新するスレッドのコンストラクター
      * 
@@ -57,7 +76,24 @@ public final class AsyncExecApplicationMain extends Thread {
      */
     public AsyncExecApplicationMain(ApplicationMain main) {
         this.main = main;
+        this.frameTask = new FrameTask(main);
         this.setName("logbook_async_exec_application_main");
+        GlobalContext.addEventListener(new EventListener() {
+            @Override
+            public void update(DataType type, Data data) {
+                AsyncExecApplicationMain.this.wakeUp();
+            }
+        });
+    }
+
+    /**
+     * 状態が変わったので次の時刻を待たずに更新させます
+     */
+    private void wakeUp() {
+        synchronized (this.lock) {
+            this.updated = true;
+            this.lock.notifyAll();
+        }
     }
 
     /**
@@ -67,38 +103,38 @@ public final class AsyncExecApplicationMain extends Thread {
     public void run() {
 
         try {
-            long nextUpdateTime = 0;
             int previousUpdateCounter = 0;
             while (true) {
                 // 更新されているかチェック
                 int currentUpdateCounter = GlobalContext.getUpdateCounter();
                 if (previousUpdateCounter != currentUpdateCounter) {
 
-                    // 保有アイテム数を更新する
-                    Display.getDefault().asyncExec(new UpdateItemCountTask(this.main));
-                    // 保有艦娘数を更新する
-                    Display.getDefault().asyncExec(new UpdateShipCountTask(this.main));
-                    // 艦隊タブを更新する
-                    Display.getDefault().asyncExec(new UpdateFleetTabTask(this.main));
+                    // 保有アイテム数・保有艦娘数・艦隊タブを更新する
+                    this.frameTask.countsDirty.set(true);
 
                     previousUpdateCounter = currentUpdateCounter;
 
-                    // 更新日時が実装されているファイルたちはすぐに保存
-                    ShipGroupConfig.store();
-                    MasterData.store();
-                    EnemyData.store();
+                    // 更新日時が実装されているファイルたちは別スレッドでまとめて保存
+                    PersistenceThread.request();
                 }
 
                 // 遠征と入渠を更新する
-                Display.getDefault().asyncExec(new UpdateDeckNdockTask(this.main));
-
-                long currentTime = Calendar.getInstance().getTimeInMillis();
-                // 次のアップデートは1秒後
-                nextUpdateTime += TimeUnit.SECONDS.toMillis(1);
-                if (nextUpdateTime < currentTime)
-                    nextUpdateTime = currentTime + TimeUnit.SECONDS.toMillis(1);
-
-                Thread.sleep(nextUpdateTime - currentTime);
+                this.frameTask.timersDirty.set(true);
+                this.frameTask.post();
+
+                // 次に表示が変わる時刻か、状態が変わるまで待つ
+                long currentTime = System.currentTimeMillis();
+                long nextUpdateTime = Math.min(currentTime + MAX_INTERVAL, getNextDeadline(currentTime));
+                synchronized (this.lock) {
+                    while (!this.updated) {
+                        long wait = nextUpdateTime - System.currentTimeMillis();
+                        if (wait <= 0) {
+                            break;
+                        }
+                        this.lock.wait(wait);
+                    }
+                    this.updated = false;
+                }
             }
         } catch (Exception e) {
             LOG.fatal("スレッドが異常終了しました", e);
@@ -106,6 +142,110 @@ public final class AsyncExecApplicationMain extends Thread {
         }
     }
 
+    /**
+     * 遠征と入渠の残り時間の表示や通知が次に変わる時刻を計算する
+     * 
+     * @param now 現在時刻
+     * @return 次に更新が必要な時刻 (なければLong.MAX_VALUE)
+     */
+    private static long getNextDeadline(long now) {
+        long next = Long.MAX_VALUE;
+        boolean remind = AppConfig.get().isMissionRemind();
+        for (DeckMissionDto deckMission : GlobalContext.getDeckMissions()) {
+            if ((deckMission.getMission() != null) && (deckMission.getTime() != null)) {
+                next = Math.min(next, getNextChange(now, deckMission.getTime().getTime(), remind));
+            }
+        }
+        for (NdockDto ndock : GlobalContext.getNdocks()) {
+            if ((ndock.getNdockid() != 0) && (ndock.getNdocktime() != null)) {
+                next = Math.min(next, getNextChange(now, ndock.getNdocktime().getTime(), false));
+            }
+        }
+        return next;
+    }
+
+    /**
+     * 1つのタイマーの残り時間の表示や通知が次に変わる時刻を計算する<br>
+     * 1時間以下は秒まで表示するので毎秒、それより長い間は分が変わるときだけ更新します
+     * 
+     * @param now 現在時刻
+     * @param end 完了時刻
+     * @param remind 完了後に定期的にリマインドするか
+     * @return 次に更新が必要な時刻 (なければLong.MAX_VALUE)
+     */
+    private static long getNextChange(long now, long end, boolean remind) {
+        long rest = TimeUnit.MILLISECONDS.toSeconds(end - now);
+        long target;
+        if (rest > ONE_HOUR) {
+            // 分が変わるときか、表示形式が変わるとき
+            long boundary = (rest > ONE_DAY) ? ONE_DAY : ONE_HOUR;
+            target = Math.max((rest - (rest % ONE_MINUTES)) - 1, boundary);
+        } else if (rest > 0) {
+            target = rest - 1;
+        } else {
+            int interval = AppConfig.get().getRemindInterbal();
+            if (!remind || (interval <= 0)) {
+                return Long.MAX_VALUE;
+            }
+            // restがintervalで割り切れるときにリマインドする
+            long v = rest - 1;
+            target = v - (((v % interval) + interval) % interval);
+            if (target >= -1) {
+                target -= interval;
+            }
+        }
+        // restがtargetになる最初の時刻 (restは0の方向に切り捨て)
+        if (target >= 0) {
+            return (end - ((target + 1) * 1000)) + 1;
+        }
+        return end - (target * 1000);
+    }
+
+    /**
+     * 画面の更新をまとめて1回のasyncExecで行います<br>
+     * 前の更新がまだ実行されていない間は新しく登録せず、実行するときにまとめて反映します
+     */
+    private static final class FrameTask implements Runnable {
+
+        /** 保有アイテム数・保有艦娘数・艦隊タブ */
+        final AtomicBoolean countsDirty = new AtomicBoolean();
+        /** 遠征と入渠 */
+        final AtomicBoolean timersDirty = new AtomicBoolean();
+        /** asyncExec済みで未実行 */
+        private final AtomicBoolean posted = new AtomicBoolean();
+
+        private final UpdateItemCountTask itemCount;
+        private final UpdateShipCountTask shipCount;
+        private final UpdateFleetTabTask fleetTab;
+        private final UpdateDeckNdockTask deckNdock;
+
+        FrameTask(ApplicationMain main) {
+            this.itemCount = new UpdateItemCountTask(main);
+            this.shipCount = new UpdateShipCountTask(main);
+            this.fleetTab = new UpdateFleetTabTask(main);
+            this.deckNdock = new UpdateDeckNdockTask(main);
+        }
+
+        void post() {
+            if (this.posted.compareAndSet(false, true)) {
+                Display.getDefault().asyncExec(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            this.posted.set(false);
+            if (this.countsDirty.getAndSet(false)) {
+                this.itemCount.run();
+                this.shipCount.run();
+                this.fleetTab.run();
+            }
+            if (this.timersDirty.getAndSet(false)) {
+                this.deckNdock.run();
+            }
+        }
+    }
+
     /**
      * 2つの日付から残り時間を計算する
      * 
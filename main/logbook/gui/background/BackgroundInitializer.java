@@ -3,7 +3,6 @@ package logbook.gui.background;
 import java.util.List;
 
 import logbook.config.AppConfig;
-import logbook.config.ShipGroupConfig;
 import logbook.data.context.GlobalContext;
 import logbook.dto.CreateItemDto;
 import logbook.dto.GetShipDto;
@@ -11,10 +10,7 @@ import logbook.dto.MissionResultDto;
 import logbook.gui.ApplicationMain;
 import logbook.gui.logic.CreateReportLogic;
 import logbook.internal.BattleResultServer;
-import logbook.internal.EnemyData;
-import logbook.internal.Item;
-import logbook.internal.MasterData;
-import logbook.internal.Ship;
+import logbook.internal.StartupOrchestrator;
 import logbook.server.proxy.ProxyServer;
 
 import org.apache.logging.log4j.LogManager;
@@ -53,16 +49,9 @@ public final class BackgroundInitializer extends Thread {
         }
         ApplicationMain.sysPrint("サーバ起動完了");
 
-        // 設定ファイルを読み込む（遅延初期化が実装されているが先読みしておく）
+        // 設定ファイルの読み込みを待つ（StartupOrchestratorが並列に読み込んでいる）
         try {
-            boolean success = true;
-            success &= Ship.INIT_COMPLETE; // ShipConfig
-            success &= MasterData.INIT_COMPLETE; // MasterData
-            ShipGroupConfig.get(); // ShipGroupConfig
-            success &= Item.INIT_COMPLETE; // ItemMasterConfig
-            success &= GlobalContext.INIT_COMPLETE; // ItemConfig
-            success &= EnemyData.INIT_COMPLETE; // EnemyData
-            if (!success) {
+            if (!StartupOrchestrator.awaitConfig()) {
                 LOG.warn("設定ファイルの読み込みに失敗したっぽい？");
             }
         } catch (Exception e) {
@@ -123,6 +112,7 @@ public final class BackgroundInitializer extends Thread {
 
         try {
             // 出撃ログファイル読み込み
+            StartupOrchestrator.await(StartupOrchestrator.Phase.BATTLE_LOG);
             final int numLogRecord = BattleResultServer.get().size();
             ApplicationMain.sysPrint("出撃ログ読み込み完了");
             ApplicationMain.logPrint("出撃ログ読み込み完了(" + numLogRecord + "件)");
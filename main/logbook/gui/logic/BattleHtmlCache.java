@@ -0,0 +1,178 @@
+package logbook.gui.logic;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import logbook.constants.AppConstants;
+import logbook.dto.BattleExDto;
+import logbook.dto.BattleResultDto;
+import logbook.internal.BattleResultServer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 会敵報告のHTMLを別スレッドで作成してキャッシュします<br>
+ * 最近作成したHTMLを戦闘日時をキーにして保持し、CSSファイルが変更されたらキャッシュを捨てます<br>
+ * 表示を要求されたものを先読みより優先して作成します
+ */
+public final class BattleHtmlCache {
+
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(BattleHtmlCache.class);
+
+    /** キャッシュする件数 */
+    public static final int MAX_ENTRIES = 32;
+
+    /**
+     * HTMLの作成が終わったときに呼ばれます
+     */
+    public interface Callback {
+        /**
+         * 作成スレッドから呼ばれます
+         * @param html 作成したHTML (作成できなかった場合はnull)
+         */
+        void done(String html);
+    }
+
+    private static final class Request {
+        final BattleResultDto item;
+        final String title;
+        /** 先読みの場合はnull */
+        final Callback callback;
+
+        Request(BattleResultDto item, String title, Callback callback) {
+            this.item = item;
+            this.title = title;
+            this.callback = callback;
+        }
+    }
+
+    private static final LinkedBlockingDeque<Request> queue = new LinkedBlockingDeque<Request>();
+
+    /** 戦闘日時 -> HTML (アクセス順) */
+    private static final Map<Date, String> cache = new LinkedHashMap<Date, String>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Date, String> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    };
+
+    /** キャッシュを作ったときのCSSファイルの更新日時 */
+    private static long cssLastModified = AppConstants.BATTLE_LOG_CSS_FILE.lastModified();
+
+    /**
+     * HTMLを作成します (キャッシュを使いません)
+     * @param item 戦闘結果
+     * @param title HTMLのタイトル
+     * @param forFile ファイルに保存する場合true (charsetを出力します)
+     * @return HTML (戦闘結果が不完全な場合や詳細が読み込めない場合はnull)
+     */
+    public static String generate(BattleResultDto item, String title, boolean forFile) throws Exception {
+        BattleExDto detail = BattleResultServer.get().getBattleDetail(item);
+        if (detail == null) {
+            return null;
+        }
+        return new BattleHtmlGenerator().generateHTML(title, item, detail, forFile);
+    }
+
+    /**
+     * キャッシュされているHTMLを取得します
+     * @param item 戦闘結果
+     * @return HTML (キャッシュされていない場合はnull)
+     */
+    public static String getCached(BattleResultDto item) {
+        synchronized (cache) {
+            checkCss();
+            return cache.get(item.getBattleDate());
+        }
+    }
+
+    /**
+     * HTMLの作成を要求します<br>
+     * 先読みより優先して作成し、終わったら作成スレッドからcallbackを呼び出します
+     * @param item 戦闘結果
+     * @param title HTMLのタイトル
+     * @param callback 作成が終わったときに呼ばれる
+     */
+    public static void request(BattleResultDto item, String title, Callback callback) {
+        queue.addFirst(new Request(item, title, callback));
+    }
+
+    /**
+     * HTMLを先読みします<br>
+     * まだ作成していない前回の先読みは取り消します
+     * @param items 戦闘結果
+     * @param titles HTMLのタイトル
+     */
+    public static void prefetch(List<BattleResultDto> items, List<String> titles) {
+        for (Iterator<Request> it = queue.iterator(); it.hasNext();) {
+            if (it.next().callback == null) {
+                it.remove();
+            }
+        }
+        for (int i = 0; i < items.size(); ++i) {
+            BattleResultDto item = items.get(i);
+            if (getCached(item) == null) {
+                queue.addLast(new Request(item, titles.get(i), null));
+            }
+        }
+    }
+
+    /** CSSファイルが変わっていたらキャッシュを捨てる */
+    private static void checkCss() {
+        long lastModified = AppConstants.BATTLE_LOG_CSS_FILE.lastModified();
+        if (lastModified != cssLastModified) {
+            cache.clear();
+            cssLastModified = lastModified;
+        }
+    }
+
+    private static void process(Request request) {
+        String html = getCached(request.item);
+        if (html == null) {
+            try {
+                html = generate(request.item, request.title, false);
+            } catch (Exception e) {
+                LOG.warn("会敵報告作成に失敗", e);
+            }
+            if (html != null) {
+                synchronized (cache) {
+                    cache.put(request.item.getBattleDate(), html);
+                }
+            }
+        }
+        if (request.callback != null) {
+            request.callback.done(html);
+        }
+    }
+
+    /**
+     * HTMLを作成するスレッド
+     */
+    public static class WorkerThread extends Thread {
+
+        /** ロガー */
+        private static final Logger LOG = LogManager.getLogger(WorkerThread.class);
+
+        public WorkerThread() {
+            this.setName("logbook_battle_html");
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    process(queue.take());
+                }
+            } catch (Exception e) {
+                LOG.fatal("スレッドが異常終了しました", e);
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
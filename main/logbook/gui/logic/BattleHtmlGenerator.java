@@ -886,7 +886,10 @@ public class BattleHtmlGenerator extends HTMLGenerator {
         String[] sectionTitleClass = new String[] { "sec-title" };
 
         // タイトル
-        String time = dateFormat.format(result.getBattleDate());
+        String time;
+        synchronized (dateFormat) {
+            time = dateFormat.format(result.getBattleDate());
+        }
         String header;
         if (battle.isPractice()) {
             header = "「" + battle.getEnemyName() + "」との演習 (" + time + ")";
@@ -0,0 +1,155 @@
+package logbook.gui.logic;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import logbook.config.bean.ShipGroupBean;
+import logbook.data.context.GlobalContext;
+import logbook.dto.ShipDto;
+import logbook.dto.ShipFilterDto;
+import logbook.internal.ShipSearchIndex;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 所有艦娘一覧のフィルターを艦娘ごとに判定しやすい形にしたものです<br>
+ * 検索語の分割と正規表現のコンパイルは作成時に1回だけ行い、
+ * 検索語は艦娘の索引で先にまとめて判定しておきます。
+ * 艦隊・鍵・遠征・修理の条件は、艦娘の状態のビットと比べるだけにします
+ */
+public final class CompiledShipFilter {
+
+    /** 艦隊に所属 */
+    private static final int ON_FLEET = 1;
+    /** 鍵付き */
+    private static final int LOCKED = 1 << 1;
+    /** 遠征中 */
+    private static final int MISSION = 1 << 2;
+    /** 要修理 */
+    private static final int NEED_BATH = 1 << 3;
+
+    /** 判定するビット */
+    private final int mask;
+    /** 判定するビットの期待値 */
+    private final int value;
+    /** どの艦娘も通らない (条件が矛盾している、無効な正規表現など) */
+    private final boolean none;
+
+    /** 検索語にマッチした艦娘のID (検索語がない場合はnull) */
+    private final BitSet textMatched;
+
+    /** 艦種 (艦種でフィルタしない場合はnull) */
+    private final boolean[] enabledType;
+    /** グループ (グループでフィルタしない場合はnull) */
+    private final ShipGroupBean group;
+
+    /**
+     * フィルターを作成します
+     * 
+     * @param filter フィルター
+     * @param index 艦娘の索引
+     */
+    public CompiledShipFilter(ShipFilterDto filter, ShipSearchIndex index) {
+        boolean none = false;
+        int mask = 0;
+        int value = 0;
+        // 両方外されている条件はどの艦娘も通らない
+        none |= !filter.onfleet && !filter.notonfleet;
+        none |= !filter.locked && !filter.notlocked;
+        none |= !filter.mission && !filter.notmission;
+        none |= !filter.needbath && !filter.notneedbath;
+        // 片方だけ外されている条件はビットを判定する
+        if (filter.onfleet != filter.notonfleet) {
+            mask |= ON_FLEET;
+            value |= filter.onfleet ? ON_FLEET : 0;
+        }
+        if (filter.locked != filter.notlocked) {
+            mask |= LOCKED;
+            value |= filter.locked ? LOCKED : 0;
+        }
+        if (filter.mission != filter.notmission) {
+            mask |= MISSION;
+            value |= filter.mission ? MISSION : 0;
+        }
+        if (filter.needbath != filter.notneedbath) {
+            mask |= NEED_BATH;
+            value |= filter.needbath ? NEED_BATH : 0;
+        }
+
+        BitSet textMatched = null;
+        if (!StringUtils.isEmpty(filter.nametext)) {
+            // 全ての検索語にマッチする艦娘
+            for (String word : StringUtils.split(filter.nametext, " ")) {
+                BitSet matched;
+                if (filter.regexp) {
+                    try {
+                        matched = index.find(Pattern.compile(word));
+                    } catch (PatternSyntaxException e) {
+                        // 無効な正規表現はどの艦娘も通らない
+                        none = true;
+                        break;
+                    }
+                }
+                else {
+                    matched = index.find(word);
+                }
+                if (textMatched == null) {
+                    textMatched = matched;
+                }
+                else {
+                    textMatched.and(matched);
+                }
+            }
+        }
+
+        this.none = none;
+        this.mask = mask;
+        this.value = value;
+        this.textMatched = textMatched;
+        this.enabledType = filter.groupMode ? null : filter.enabledType;
+        this.group = filter.groupMode ? filter.group : null;
+    }
+
+    /**
+     * 艦娘がフィルターを通るか判定します
+     * 
+     * @param ship 艦娘
+     * @param missionSet 遠征中の艦娘のID
+     * @return フィルタ結果
+     */
+    public boolean test(ShipDto ship, Set<Integer> missionSet) {
+        if (this.none) {
+            return false;
+        }
+        if ((this.textMatched != null) && !this.textMatched.get(ship.getId())) {
+            return false;
+        }
+        if (this.mask != 0) {
+            int bits = 0;
+            if (((this.mask & ON_FLEET) != 0) && !StringUtils.isEmpty(ship.getFleetid())) {
+                bits |= ON_FLEET;
+            }
+            if (((this.mask & LOCKED) != 0) && ship.getLocked()) {
+                bits |= LOCKED;
+            }
+            if (((this.mask & MISSION) != 0) && missionSet.contains(ship.getId())) {
+                bits |= MISSION;
+            }
+            if (((this.mask & NEED_BATH) != 0) && (ship.getDocktime() > 0) && !GlobalContext.isNdock(ship.getId())) {
+                bits |= NEED_BATH;
+            }
+            if (bits != this.value) {
+                return false;
+            }
+        }
+        if ((this.enabledType != null) && (this.enabledType[ship.getStype()] == false)) {
+            return false;
+        }
+        if ((this.group != null) && !this.group.getShips().contains(ship.getId())) {
+            return false;
+        }
+        return true;
+    }
+}
@@ -21,12 +21,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import logbook.config.AppConfig;
 import logbook.constants.AppConstants;
 import logbook.data.context.GlobalContext;
+import logbook.data.context.SessionContext;
 import logbook.dto.BattleExDto;
 import logbook.dto.BattleResultDto;
 import logbook.dto.CreateItemDto;
@@ -383,12 +382,15 @@ public final class CreateReportLogic {
     public static List<Comparable[]> getShipListBody(boolean specdiff, ShipFilterDto filter) {
         //ApplicationMain.sysPrint("ShipListBody Start");
         Set<Integer> missionSet = GlobalContext.getMissionShipSet();
+        // フィルターは艦娘ごとではなく1回だけ準備する
+        CompiledShipFilter compiled = (filter != null) ?
+                new CompiledShipFilter(filter, GlobalContext.getShipSearchIndex()) : null;
         List<Comparable[]> body = new ArrayList<Comparable[]>();
         ShipItemListener script = ShipItemProxy.get();
         script.begin(specdiff);
         int count = 0;
         for (ShipDto ship : GlobalContext.getShipMap().values()) {
-            if ((filter != null) && !shipFilter(ship, filter, missionSet)) {
+            if ((compiled != null) && !compiled.test(ship, missionSet)) {
                 continue;
             }
             body.add(ArrayUtils.addAll(new Comparable[] {
@@ -664,148 +666,6 @@ public final class CreateReportLogic {
         }
     }
 
-    /**
-     * 艦娘をフィルタします
-     * 
-     * @param ship 艦娘
-     * @param filter フィルターオブジェクト
-     * @return フィルタ結果
-     */
-    private static boolean shipFilter(ShipDto ship, ShipFilterDto filter, Set<Integer> missionSet) {
-        // テキストでフィルタ
-        if (!StringUtils.isEmpty(filter.nametext)) {
-            // 検索ワード
-            String[] words = StringUtils.split(filter.nametext, " ");
-            // 検索対象
-            // 名前
-            String name = ship.getName();
-            // 艦種
-            String type = ship.getType();
-            // 装備
-            List<ItemInfoDto> item = ship.getItem();
-
-            // テキストが入力されている場合処理する
-            if (filter.regexp) {
-                // 正規表現で検索
-                for (int i = 0; i < words.length; i++) {
-                    Pattern pattern;
-                    try {
-                        pattern = Pattern.compile(words[i]);
-                    } catch (PatternSyntaxException e) {
-                        // 無効な正規表現はfalseを返す
-                        return false;
-                    }
-                    boolean find = false;
-
-                    // 名前で検索
-                    find = find ? find : pattern.matcher(name).find();
-                    // 艦種で検索
-                    find = find ? find : pattern.matcher(type).find();
-                    // 装備で検索
-                    for (ItemInfoDto itemDto : item) {
-                        if ((itemDto == null) || (itemDto.getName() == null)) {
-                            find = find ? find : false;
-                        } else {
-                            find = find ? find : pattern.matcher(itemDto.getName()).find();
-                        }
-                    }
-
-                    if (!find) {
-                        // どれにもマッチしない場合
-                        return false;
-                    }
-                }
-            } else {
-                // 部分一致で検索する
-                for (int i = 0; i < words.length; i++) {
-                    boolean find = false;
-
-                    // 名前で検索
-                    find = find ? find : name.indexOf(words[i]) != -1;
-                    // 艦種で検索
-                    find = find ? find : type.indexOf(words[i]) != -1;
-                    // 装備で検索
-                    for (ItemInfoDto itemDto : item) {
-                        if ((itemDto == null) || (itemDto.getName() == null)) {
-                            find = find ? find : false;
-                        } else {
-                            find = find ? find : itemDto.getName().indexOf(words[i]) != -1;
-                        }
-                    }
-
-                    if (!find) {
-                        // どれにもマッチしない場合
-                        return false;
-                    }
-                }
-            }
-        }
-        // 艦隊に所属
-        if (!filter.onfleet) {
-            if (!StringUtils.isEmpty(ship.getFleetid())) {
-                return false;
-            }
-        }
-        // 艦隊に非所属
-        if (!filter.notonfleet) {
-            if (StringUtils.isEmpty(ship.getFleetid())) {
-                return false;
-            }
-        }
-        // 鍵付き
-        if (!filter.locked) {
-            if (ship.getLocked()) {
-                return false;
-            }
-        }
-        // 鍵付きではない
-        if (!filter.notlocked) {
-            if (!ship.getLocked()) {
-                return false;
-            }
-        }
-        if (!filter.mission || !filter.notmission) {
-            boolean isMission = missionSet.contains(ship.getId());
-            // 遠征中
-            if (!filter.mission && isMission) {
-                return false;
-            }
-            // 遠征中ではない
-            if (!filter.notmission && !isMission) {
-                return false;
-            }
-        }
-        if (!filter.needbath || !filter.notneedbath) {
-            boolean needBath = (ship.getDocktime() > 0) && !GlobalContext.isNdock(ship.getId());
-            // 要修理
-            if (!filter.needbath && needBath) {
-                return false;
-            }
-            // 修理の必要なし
-            if (!filter.notneedbath && !needBath) {
-                return false;
-            }
-        }
-
-        if (filter.groupMode == false) {
-            // 艦種でフィルタ
-            if ((filter.enabledType != null) &&
-                    (filter.enabledType[ship.getStype()] == false))
-            {
-                return false;
-            }
-        }
-        else {
-            // グループでフィルタ
-            if (filter.group != null) {
-                if (!filter.group.getShips().contains(ship.getId())) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
     /**
      * 海戦・ドロップ報告書を書き込む
      * 
@@ -995,7 +855,7 @@ public final class CreateReportLogic {
      */
     private static File getStoreFile(String name, String altername) throws IOException {
         // 報告書の保存先にファイルを保存します
-        File report = new File(FilenameUtils.concat(AppConfig.get().getReportPath(), name));
+        File report = new File(FilenameUtils.concat(SessionContext.current().getReportPath(), name));
         File dir = report.getParentFile();
         if ((dir == null) || !(dir.exists() || dir.mkdirs())) {
             // 報告書の保存先ディレクトリが無く、ディレクトリの作成に失敗した場合はカレントフォルダにファイルを保存
@@ -0,0 +1,891 @@
+package logbook.gui.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import logbook.data.context.GlobalContext;
+import logbook.dto.ShipDto;
+import logbook.internal.ExpTable;
+import logbook.internal.ShipStats;
+
+/**
+ * 保有している艦娘から、条件に合う艦隊のうち評価値の高いものを探します<br>
+ * 艦娘の値は今の装備で計算します ({@link ShipStats})。
+ * 評価値は艦娘ごとの値の合計なので、評価値の高い順に並べた艦娘から選び、
+ * 残りの枠を次に高い艦娘で埋めても今の上位に届かない組み合わせは調べません(分枝限定法)<br>
+ * 旗艦の候補ごとに分けてForkJoinPoolで並列に調べます<br>
+ * <br>
+ * スクリプトからも使えます
+ * <pre>
+ * var FleetSearch = Java.type("logbook.gui.logic.FleetSearch");
+ * var search = new FleetSearch();
+ * search.setObjective(FleetSearch.Objective.SAKUTEKI);
+ * search.addRequirement(2, 2); // 駆逐艦2隻以上
+ * var fleets = search.search().getFleets();
+ * </pre>
+ */
+public final class FleetSearch {
+
+    /** 並列に調べるスレッド */
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    /** 調べた数をまとめて数える間隔 */
+    private static final int NODE_COUNT_INTERVAL = 1 << 12;
+
+    /** 評価値 */
+    public static enum Objective {
+        /** 新秋簡易式の索敵値 */
+        SAKUTEKI("索敵(新秋簡易式)"),
+        /** 制空値 */
+        SEIKU("制空"),
+        /** 砲撃戦火力 */
+        HOUGEKI("砲撃戦火力"),
+        /** 雷撃戦火力 */
+        RAIGEKI("雷撃戦火力"),
+        /** 対潜火力 */
+        TAISEN("対潜火力"),
+        /** 夜戦火力 */
+        YASEN("夜戦火力"),
+        /** Lv */
+        LV("Lv");
+
+        private final String name;
+
+        private Objective(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 艦娘1隻の値
+         *
+         * @param ship 艦娘
+         * @return 値
+         */
+        public double score(ShipDto ship) {
+            ShipStats stats = ship.getStats();
+            switch (this) {
+            case SAKUTEKI:
+                // SakutekiString と同じく艦ごとに切り捨てて足す
+                return Math.floor(stats.getV3Item() + stats.getV3Ship());
+            case SEIKU:
+                return stats.getSeiku();
+            case HOUGEKI:
+                return stats.getHougekiPower();
+            case RAIGEKI:
+                return stats.getRaigekiPower();
+            case TAISEN:
+                return stats.getTaisenPower();
+            case YASEN:
+                return stats.getYasenPower();
+            default:
+                return ship.getLv();
+            }
+        }
+
+        /**
+         * 艦娘によらない値 (司令部Lv分など)
+         *
+         * @param hqLv 司令部Lv
+         * @return 値
+         */
+        public double constant(int hqLv) {
+            if ((this == SAKUTEKI) && (hqLv != 0)) {
+                // SakutekiString の新秋簡易式 - 提督レベル分
+                return -Math.floor(hqLv * 0.4);
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /** 評価値 */
+    private Objective objective = Objective.SAKUTEKI;
+    /** 隻数 */
+    private int fleetSize = 6;
+    /** Lvの下限 */
+    private int minLv = 1;
+    /** Lvの上限 */
+    private int maxLv = ExpTable.MAX_LEVEL;
+    /** 燃料(最大)合計の上限 (0なら制限なし) */
+    private int maxFuel = 0;
+    /** 使える艦種 (空なら全て) */
+    private final Set<Integer> stypes = new HashSet<Integer>();
+    /** 艦種ごとの必要数 */
+    private final List<Requirement> requirements = new ArrayList<Requirement>();
+    /** 遠征中・入渠中の艦娘を除く */
+    private boolean excludeBusy = true;
+    /** 探す艦隊の数 */
+    private int top = 10;
+    /** 司令部Lv (索敵値の計算に使う) */
+    private int hqLv = 0;
+    /** 調べる組み合わせの数の上限 (0なら制限なし) */
+    private long nodeLimit = 50000000L;
+
+    /**
+     * 保有している艦娘から探します
+     *
+     * @return 結果
+     */
+    public Result search() {
+        return this.search(GlobalContext.getShipMap().values());
+    }
+
+    /**
+     * 指定した艦娘から探します
+     *
+     * @param ships 艦娘
+     * @return 結果
+     */
+    public Result search(Collection<ShipDto> ships) {
+        Set<Integer> busy = new HashSet<Integer>();
+        if (this.excludeBusy) {
+            busy.addAll(GlobalContext.getMissionShipSet());
+            busy.addAll(GlobalContext.getNDockShipSet());
+        }
+        return this.search(ships, busy);
+    }
+
+    /**
+     * 指定した艦娘から探します
+     *
+     * @param ships 艦娘
+     * @param busy 除く艦娘のID (遠征中・入渠中の艦娘。excludeBusyがfalseなら使いません)
+     * @return 結果
+     */
+    public Result search(Collection<ShipDto> ships, Set<Integer> busy) {
+        return this.search(this.candidates(ships, busy));
+    }
+
+    /**
+     * 条件に合う艦娘を選んで評価値を計算します<br>
+     * 評価値の計算は今のセッションの値のキャッシュ ({@link ShipStats}) を使うので、UIスレッドで呼んでください
+     *
+     * @param ships 艦娘
+     * @param busy 除く艦娘のID (遠征中・入渠中の艦娘。excludeBusyがfalseなら使いません)
+     * @return 候補
+     */
+    public List<Candidate> candidates(Collection<ShipDto> ships, Set<Integer> busy) {
+        this.validate();
+        List<Candidate> list = new ArrayList<Candidate>();
+        for (ShipDto ship : ships) {
+            if ((ship == null) || (ship.getShipInfo() == null) || (this.excludeBusy && busy.contains(ship.getId()))) {
+                continue;
+            }
+            if ((ship.getLv() < this.minLv) || (ship.getLv() > this.maxLv)) {
+                continue;
+            }
+            if (!this.stypes.isEmpty() && !this.stypes.contains(ship.getStype())) {
+                continue;
+            }
+            double score = this.objective.score(ship);
+            if (Double.isNaN(score)) {
+                // 装備の情報が足りず計算できない
+                continue;
+            }
+            list.add(new Candidate(ship, score, this.requirements));
+        }
+        return list;
+    }
+
+    /**
+     * {@link #candidates(Collection, Set)} で選んだ艦娘から探します<br>
+     * GlobalContextを読まないので、UIスレッド以外から呼べます。候補を選んだ後に条件を変えないでください
+     *
+     * @param candidates 候補
+     * @return 結果
+     */
+    public Result search(List<Candidate> candidates) {
+        long begin = System.nanoTime();
+        this.validate();
+        List<Candidate> list = new ArrayList<Candidate>(candidates);
+        Collections.sort(list, new Comparator<Candidate>() {
+            @Override
+            public int compare(Candidate o1, Candidate o2) {
+                int ret = -Double.compare(o1.score, o2.score);
+                if (ret == 0) {
+                    ret = Integer.compare(o1.ship.getId(), o2.ship.getId());
+                }
+                return ret;
+            }
+        });
+
+        Search search = new Search(this, list);
+        if (list.size() >= this.fleetSize) {
+            POOL.invoke(new SearchTask(search, 0, list.size() - this.fleetSize + 1));
+        }
+        return new Result(search.collector.getFleets(), list.size(), search.nodes.get(), !search.aborted,
+                (System.nanoTime() - begin) / 1000000L);
+    }
+
+    private void validate() {
+        if (this.fleetSize < 1) {
+            throw new IllegalArgumentException("隻数が正しくありません");
+        }
+        if (this.requirements.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("艦種の条件が多すぎます");
+        }
+    }
+
+    /**
+     * 艦種の条件を追加します
+     *
+     * @param count 必要な数
+     * @param stypes 艦種 (いずれかに当てはまるものを数える)
+     */
+    public void addRequirement(int count, int... stypes) {
+        this.requirements.add(new Requirement(count, stypes));
+    }
+
+    /**
+     * 艦種の条件を消します
+     */
+    public void clearRequirements() {
+        this.requirements.clear();
+    }
+
+    /**
+     * 使える艦種を追加します
+     *
+     * @param stype 艦種
+     */
+    public void addStype(int stype) {
+        this.stypes.add(stype);
+    }
+
+    /**
+     * 使える艦種を消します (全ての艦種を使えるようにします)
+     */
+    public void clearStypes() {
+        this.stypes.clear();
+    }
+
+    /**
+     * @return 評価値
+     */
+    public Objective getObjective() {
+        return this.objective;
+    }
+
+    /**
+     * @param objective 評価値
+     */
+    public void setObjective(Objective objective) {
+        this.objective = objective;
+    }
+
+    /**
+     * @return 隻数
+     */
+    public int getFleetSize() {
+        return this.fleetSize;
+    }
+
+    /**
+     * @param fleetSize 隻数
+     */
+    public void setFleetSize(int fleetSize) {
+        this.fleetSize = fleetSize;
+    }
+
+    /**
+     * @return Lvの下限
+     */
+    public int getMinLv() {
+        return this.minLv;
+    }
+
+    /**
+     * @param minLv Lvの下限
+     */
+    public void setMinLv(int minLv) {
+        this.minLv = minLv;
+    }
+
+    /**
+     * @return Lvの上限
+     */
+    public int getMaxLv() {
+        return this.maxLv;
+    }
+
+    /**
+     * @param maxLv Lvの上限
+     */
+    public void setMaxLv(int maxLv) {
+        this.maxLv = maxLv;
+    }
+
+    /**
+     * @return 燃料(最大)合計の上限 (0なら制限なし)
+     */
+    public int getMaxFuel() {
+        return this.maxFuel;
+    }
+
+    /**
+     * @param maxFuel 燃料(最大)合計の上限 (0なら制限なし)
+     */
+    public void setMaxFuel(int maxFuel) {
+        this.maxFuel = maxFuel;
+    }
+
+    /**
+     * @return 遠征中・入渠中の艦娘を除く
+     */
+    public boolean isExcludeBusy() {
+        return this.excludeBusy;
+    }
+
+    /**
+     * @param excludeBusy 遠征中・入渠中の艦娘を除く
+     */
+    public void setExcludeBusy(boolean excludeBusy) {
+        this.excludeBusy = excludeBusy;
+    }
+
+    /**
+     * @return 探す艦隊の数
+     */
+    public int getTop() {
+        return this.top;
+    }
+
+    /**
+     * @param top 探す艦隊の数
+     */
+    public void setTop(int top) {
+        this.top = top;
+    }
+
+    /**
+     * @return 司令部Lv
+     */
+    public int getHqLv() {
+        return this.hqLv;
+    }
+
+    /**
+     * @param hqLv 司令部Lv (索敵値の計算に使う)
+     */
+    public void setHqLv(int hqLv) {
+        this.hqLv = hqLv;
+    }
+
+    /**
+     * @return 調べる組み合わせの数の上限 (0なら制限なし)
+     */
+    public long getNodeLimit() {
+        return this.nodeLimit;
+    }
+
+    /**
+     * @param nodeLimit 調べる組み合わせの数の上限 (0なら制限なし)
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * 艦種の条件
+     */
+    private static final class Requirement {
+        private final int count;
+        private final int[] stypes;
+
+        Requirement(int count, int[] stypes) {
+            this.count = count;
+            this.stypes = stypes.clone();
+        }
+
+        boolean matches(int stype) {
+            for (int s : this.stypes) {
+                if (s == stype) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 候補の艦娘
+     */
+    /**
+     * 探す候補の艦娘と評価値
+     */
+    public static final class Candidate {
+        private final ShipDto ship;
+        private final double score;
+        /** 当てはまる艦種の条件 */
+        private final int mask;
+
+        Candidate(ShipDto ship, double score, List<Requirement> requirements) {
+            this.ship = ship;
+            this.score = score;
+            int mask = 0;
+            for (int i = 0; i < requirements.size(); ++i) {
+                if (requirements.get(i).matches(ship.getStype())) {
+                    mask |= 1 << i;
+                }
+            }
+            this.mask = mask;
+        }
+
+        /**
+         * @return 艦娘
+         */
+        public ShipDto getShip() {
+            return this.ship;
+        }
+
+        /**
+         * @return 評価値
+         */
+        public double getScore() {
+            return this.score;
+        }
+    }
+
+    /**
+     * 探すときに参照する値 (作成後は変更しない) と、見つけた艦隊
+     */
+    private static final class Search {
+        private final int n;
+        private final int size;
+        private final ShipDto[] ships;
+        private final double[] score;
+        private final int[] fuel;
+        private final int[] charId;
+        private final int[] mask;
+        /** i番目以降の高い方からk隻の合計 (同じ艦娘は1隻として数える) */
+        private final double[][] best;
+        /** i番目以降の燃料の少ない方からk隻の合計 */
+        private final int[][] minFuel;
+        /** i番目以降で条件rに当てはまる数 */
+        private final int[][] remain;
+        /** 条件rに当てはまるもののうち高い方からm隻の合計 */
+        private final double[][] matchPrefix;
+        private final int[] required;
+        /** 2つ以上の条件に当てはまる艦娘がいない */
+        private final boolean disjoint;
+        private final int maxFuel;
+        private final long nodeLimit;
+        private final double constant;
+        private final Collector collector;
+
+        /** 調べた数 */
+        private final AtomicLong nodes = new AtomicLong();
+        /** 上限に達したので打ち切った */
+        private volatile boolean aborted = false;
+
+        Search(FleetSearch cond, List<Candidate> list) {
+            this.n = list.size();
+            this.size = cond.fleetSize;
+            this.ships = new ShipDto[this.n];
+            this.score = new double[this.n];
+            this.fuel = new int[this.n];
+            this.charId = new int[this.n];
+            this.mask = new int[this.n];
+            for (int i = 0; i < this.n; ++i) {
+                Candidate c = list.get(i);
+                this.ships[i] = c.ship;
+                this.score[i] = c.score;
+                this.fuel[i] = c.ship.getFuelMax();
+                this.charId[i] = c.ship.getCharId();
+                this.mask[i] = c.mask;
+            }
+            this.best = new double[this.n + 1][this.size + 1];
+            int[] chars = new int[this.size];
+            for (int i = 0; i < this.n; ++i) {
+                int k = 0;
+                for (int j = i; (j < this.n) && (k < this.size); ++j) {
+                    if (!contains(chars, k, this.charId[j])) {
+                        chars[k] = this.charId[j];
+                        this.best[i][k + 1] = this.best[i][k] + this.score[j];
+                        ++k;
+                    }
+                }
+                // 足りない場合は組み合わせがないので何でもよい
+                for (; k < this.size; ++k) {
+                    this.best[i][k + 1] = this.best[i][k];
+                }
+            }
+            this.maxFuel = cond.maxFuel;
+            if (this.maxFuel > 0) {
+                this.minFuel = new int[this.n + 1][this.size + 1];
+                int[] smallest = new int[this.size];
+                int count = 0;
+                for (int i = this.n - 1; i >= 0; --i) {
+                    // 燃料の少ない方からsize隻を並べたまま保持する
+                    int f = this.fuel[i];
+                    int j = -1;
+                    if (count < this.size) {
+                        j = count++;
+                    }
+                    else if (f < smallest[this.size - 1]) {
+                        j = this.size - 1;
+                    }
+                    if (j >= 0) {
+                        while ((j > 0) && (smallest[j - 1] > f)) {
+                            smallest[j] = smallest[j - 1];
+                            --j;
+                        }
+                        smallest[j] = f;
+                    }
+                    int sum = 0;
+                    for (int k = 1; k <= this.size; ++k) {
+                        sum += (k <= count) ? smallest[k - 1] : 0;
+                        this.minFuel[i][k] = sum;
+                    }
+                }
+            }
+            else {
+                this.minFuel = null;
+            }
+            boolean disjoint = true;
+            for (int m : this.mask) {
+                if ((m & (m - 1)) != 0) {
+                    disjoint = false;
+                }
+            }
+            this.disjoint = disjoint;
+            this.required = new int[cond.requirements.size()];
+            this.remain = new int[this.required.length][this.n + 1];
+            this.matchPrefix = new double[this.required.length][];
+            for (int r = 0; r < this.required.length; ++r) {
+                this.required[r] = cond.requirements.get(r).count;
+                for (int i = this.n - 1; i >= 0; --i) {
+                    this.remain[r][i] = this.remain[r][i + 1] + (((this.mask[i] >> r) & 1));
+                }
+                this.matchPrefix[r] = new double[this.remain[r][0] + 1];
+                int m = 0;
+                for (int i = 0; i < this.n; ++i) {
+                    if (((this.mask[i] >> r) & 1) != 0) {
+                        this.matchPrefix[r][m + 1] = this.matchPrefix[r][m] + this.score[i];
+                        ++m;
+                    }
+                }
+            }
+            this.nodeLimit = cond.nodeLimit;
+            this.constant = cond.objective.constant(cond.hqLv);
+            this.collector = new Collector(Math.max(1, cond.top));
+        }
+
+        private static boolean contains(int[] array, int length, int value) {
+            for (int i = 0; i < length; ++i) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * j番目の艦娘を追加できるか
+         *
+         * @param j 追加する艦娘
+         * @param chosen 選んだ艦娘
+         * @param depth 選んだ数
+         * @param fuel 選んだ艦娘の燃料合計
+         * @param have 条件ごとの当てはまる数
+         */
+        boolean canAdd(int j, int[] chosen, int depth, int fuel, int[] have) {
+            int rest = this.size - depth - 1;
+            if ((this.minFuel != null) && ((fuel + this.fuel[j] + this.minFuel[j + 1][rest]) > this.maxFuel)) {
+                return false;
+            }
+            // 同じ艦娘(改造前後を含む)は1隻まで
+            for (int i = 0; i < depth; ++i) {
+                if (this.charId[chosen[i]] == this.charId[j]) {
+                    return false;
+                }
+            }
+            // 残りの枠と残りの候補で条件を満たせるか
+            for (int r = 0; r < this.required.length; ++r) {
+                int need = this.required[r] - have[r] - ((this.mask[j] >> r) & 1);
+                if ((need > 0) && ((need > rest) || (need > this.remain[r][j + 1]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * from番目以降からk隻を選んだ場合の評価値の上限<br>
+         * 足りない数を条件に当てはまるものの高い方から、残りを全体の高い方から選んだ場合です。
+         * 条件が重ならない場合は全ての条件を合わせて、重なる場合は条件ごとに計算した小さい方を使います
+         */
+        double bound(int from, int k, int[] have) {
+            double bound = this.best[from][k];
+            double disjointBound = 0;
+            int disjointNeed = 0;
+            for (int r = 0; r < this.required.length; ++r) {
+                int need = this.required[r] - have[r];
+                if (need > 0) {
+                    // from番目以降の当てはまるものの始まり
+                    int start = this.remain[r][0] - this.remain[r][from];
+                    double match = this.matchPrefix[r][start + need] - this.matchPrefix[r][start];
+                    bound = Math.min(bound, match + this.best[from][k - need]);
+                    disjointBound += match;
+                    disjointNeed += need;
+                }
+            }
+            if (this.disjoint && (disjointNeed > 0)) {
+                if (disjointNeed > k) {
+                    return Double.NEGATIVE_INFINITY;
+                }
+                bound = Math.min(bound, disjointBound + this.best[from][k - disjointNeed]);
+            }
+            return bound;
+        }
+
+        /**
+         * from番目以降から残りを選びます
+         */
+        void dfs(int from, int depth, double score, int fuel, int[] chosen, int[] have, long[] counter) {
+            int k = this.size - depth;
+            if (k == 0) {
+                this.collector.offer(this, chosen, score + this.constant, fuel);
+                return;
+            }
+            if ((score + this.bound(from, k, have) + this.constant) <= this.collector.threshold) {
+                return;
+            }
+            for (int j = from; j <= (this.n - k); ++j) {
+                // 残りをj番目から高い順に埋めた場合が上限 (jが進むほど小さくなる)
+                double bound = score + this.score[j] + this.best[j + 1][k - 1] + this.constant;
+                if (bound <= this.collector.threshold) {
+                    break;
+                }
+                if (((++counter[0] % NODE_COUNT_INTERVAL) == 0) && this.count(NODE_COUNT_INTERVAL)) {
+                    return;
+                }
+                if (!this.canAdd(j, chosen, depth, fuel, have)) {
+                    continue;
+                }
+                chosen[depth] = j;
+                this.add(have, j, 1);
+                this.dfs(j + 1, depth + 1, score + this.score[j], fuel + this.fuel[j], chosen, have, counter);
+                this.add(have, j, -1);
+                if (this.aborted) {
+                    return;
+                }
+            }
+        }
+
+        private void add(int[] have, int j, int delta) {
+            for (int r = 0; r < have.length; ++r) {
+                if (((this.mask[j] >> r) & 1) != 0) {
+                    have[r] += delta;
+                }
+            }
+        }
+
+        /**
+         * 調べた数を足します
+         *
+         * @return 上限に達した場合true
+         */
+        boolean count(long delta) {
+            long total = this.nodes.addAndGet(delta);
+            if ((this.nodeLimit > 0) && (total >= this.nodeLimit)) {
+                this.aborted = true;
+            }
+            return this.aborted;
+        }
+    }
+
+    /**
+     * 旗艦にする候補の範囲を分けて調べる
+     */
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        SearchTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if ((this.to - this.from) > 1) {
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new SearchTask(this.search, this.from, mid), new SearchTask(this.search, mid, this.to));
+                return;
+            }
+            Search s = this.search;
+            int j = this.from;
+            double bound = s.score[j] + s.best[j + 1][s.size - 1] + s.constant;
+            int[] chosen = new int[s.size];
+            int[] have = new int[s.required.length];
+            if (s.aborted || (bound <= s.collector.threshold)) {
+                return;
+            }
+            if (!s.canAdd(j, chosen, 0, 0, have)) {
+                return;
+            }
+            chosen[0] = j;
+            s.add(have, j, 1);
+            long[] counter = new long[] { 1 };
+            s.dfs(j + 1, 1, s.score[j], s.fuel[j], chosen, have, counter);
+            s.count(counter[0] % NODE_COUNT_INTERVAL);
+        }
+    }
+
+    /**
+     * 見つけた艦隊のうち評価値の高いものを保持します<br>
+     * 一杯になったら一番低い評価値をthresholdに入れ、これ以下にしかならない組み合わせは調べません
+     */
+    private static final class Collector {
+        private final int top;
+        private final PriorityQueue<Fleet> queue;
+        private volatile double threshold = Double.NEGATIVE_INFINITY;
+
+        Collector(int top) {
+            this.top = top;
+            this.queue = new PriorityQueue<Fleet>(top, new Comparator<Fleet>() {
+                @Override
+                public int compare(Fleet o1, Fleet o2) {
+                    return Double.compare(o1.score, o2.score);
+                }
+            });
+        }
+
+        synchronized void offer(Search search, int[] chosen, double score, int fuel) {
+            if (score <= this.threshold) {
+                return;
+            }
+            List<ShipDto> ships = new ArrayList<ShipDto>(chosen.length);
+            for (int index : chosen) {
+                ships.add(search.ships[index]);
+            }
+            this.queue.add(new Fleet(ships, score, fuel));
+            if (this.queue.size() > this.top) {
+                this.queue.poll();
+            }
+            if (this.queue.size() == this.top) {
+                this.threshold = this.queue.peek().score;
+            }
+        }
+
+        synchronized List<Fleet> getFleets() {
+            Fleet[] fleets = this.queue.toArray(new Fleet[this.queue.size()]);
+            Arrays.sort(fleets, new Comparator<Fleet>() {
+                @Override
+                public int compare(Fleet o1, Fleet o2) {
+                    return -Double.compare(o1.score, o2.score);
+                }
+            });
+            return Arrays.asList(fleets);
+        }
+    }
+
+    /**
+     * 見つけた艦隊
+     */
+    public static final class Fleet {
+        private final List<ShipDto> ships;
+        private final double score;
+        private final int fuel;
+
+        Fleet(List<ShipDto> ships, double score, int fuel) {
+            this.ships = Collections.unmodifiableList(ships);
+            this.score = score;
+            this.fuel = fuel;
+        }
+
+        /**
+         * @return 艦娘 (評価値の高い順)
+         */
+        public List<ShipDto> getShips() {
+            return this.ships;
+        }
+
+        /**
+         * @return 評価値
+         */
+        public double getScore() {
+            return this.score;
+        }
+
+        /**
+         * @return 燃料(最大)合計
+         */
+        public int getFuel() {
+            return this.fuel;
+        }
+    }
+
+    /**
+     * 探した結果
+     */
+    public static final class Result {
+        private final List<Fleet> fleets;
+        private final int candidates;
+        private final long nodes;
+        private final boolean complete;
+        private final long elapsed;
+
+        Result(List<Fleet> fleets, int candidates, long nodes, boolean complete, long elapsed) {
+            this.fleets = fleets;
+            this.candidates = candidates;
+            this.nodes = nodes;
+            this.complete = complete;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * @return 見つけた艦隊 (評価値の高い順)
+         */
+        public List<Fleet> getFleets() {
+            return this.fleets;
+        }
+
+        /**
+         * @return 条件に合った艦娘の数
+         */
+        public int getCandidates() {
+            return this.candidates;
+        }
+
+        /**
+         * @return 調べた組み合わせの数
+         */
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        /**
+         * @return 全て調べた場合true (上限に達して打ち切った場合false)
+         */
+        public boolean isComplete() {
+            return this.complete;
+        }
+
+        /**
+         * @return かかった時間(ms)
+         */
+        public long getElapsed() {
+            return this.elapsed;
+        }
+    }
+}
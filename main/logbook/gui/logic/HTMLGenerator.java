@@ -3,7 +3,9 @@
  */
 package logbook.gui.logic;
 
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +25,32 @@ public class HTMLGenerator {
 
     private static String TAB = "    ";
 
+    /** 読み込んだCSS */
+    private static String css = null;
+    /** 読み込んだときのCSSファイルの更新日時 */
+    private static long cssLastModified = 0;
+
+    /**
+     * CSSファイルを読み込みます (変更されていなければ前回読み込んだものを返します)
+     * @return CSS
+     */
+    private static synchronized String getCss() throws IOException {
+        File file = AppConstants.BATTLE_LOG_CSS_FILE;
+        long lastModified = file.lastModified();
+        if ((css == null) || (lastModified != cssLastModified)) {
+            if (file.exists()) {
+                try (InputStream input = new FileInputStream(file)) {
+                    css = IOUtils.toString(input);
+                }
+            }
+            else {
+                css = "";
+            }
+            cssLastModified = lastModified;
+        }
+        return css;
+    }
+
     public void genHeader(String title, boolean genCharset) throws IOException {
         this.sb.append("<!DOCTYPE html>").append("\r\n");
         this.sb.append("<html>").append("\r\n");
@@ -32,10 +60,7 @@ public class HTMLGenerator {
         }
         this.sb.append("<title>").append(title).append("</title>").append("\r\n");
         this.sb.append("<style type=\"text/css\">").append("\r\n");
-        if (AppConstants.BATTLE_LOG_CSS_FILE.exists()) {
-            String css = IOUtils.toString(new FileInputStream(AppConstants.BATTLE_LOG_CSS_FILE));
-            this.sb.append(css);
-        }
+        this.sb.append(getCss());
         this.sb.append("</style>").append("\r\n");
         this.sb.append("</head>").append("\r\n");
     }
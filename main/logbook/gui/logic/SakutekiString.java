@@ -6,8 +6,8 @@ package logbook.gui.logic;
 import java.util.List;
 
 import logbook.config.AppConfig;
-import logbook.dto.ItemInfoDto;
 import logbook.dto.ShipBaseDto;
+import logbook.internal.ShipStats;
 
 /**
  * @author Nekopanda
@@ -45,81 +45,12 @@ public class SakutekiString implements Comparable<SakutekiString> {
     // 情報が不足してて計算できなかった
     private boolean sakutekiFailed = false;
 
-    private static class ShipParam {
-        public int sakuteki;
-        public int kanbaku;
-        public int kanko;
-        public int kantei;
-        public int suitei;
-        public int suibaku;
-        public int kogataDentan;
-        public int oogataDentan;
-        public int tansyouto;
-        public int other;
-        public boolean failed;
-
-        ShipParam(ShipBaseDto ship) {
-            List<ItemInfoDto> items = ship.getItem();
-            this.sakuteki = ship.getSakuteki();
-            this.kanbaku = 0;
-            this.kanko = 0;
-            this.kantei = 0;
-            this.suitei = 0;
-            this.suibaku = 0;
-            this.kogataDentan = 0;
-            this.oogataDentan = 0;
-            this.tansyouto = 0;
-            this.other = 0;
-            boolean failed = false;
-            for (int i = 0; i < items.size(); i++) {
-                ItemInfoDto item = items.get(i);
-                if (item != null) {
-                    // 装備の索敵値
-                    this.sakuteki -= item.getParam().getSaku();
-                    if (item.getType2() == 0) { // 取得できていない
-                        failed = true;
-                    }
-                    int saku = item.getParam().getSaku();
-                    switch (item.getType2()) {
-                    case 7: // 艦上爆撃機
-                        this.kanbaku += saku;
-                        break;
-                    case 8: // 艦上攻撃機
-                        this.kanko += saku;
-                        break;
-                    case 9: // 艦上偵察機
-                        this.kantei += saku;
-                        break;
-                    case 10: // 水上偵察機
-                        this.suitei += saku;
-                        break;
-                    case 11: // 水上爆撃機
-                        this.suibaku += saku;
-                        break;
-                    case 12: // 小型電探
-                        this.kogataDentan += saku;
-                        break;
-                    case 13: // 大型電探
-                        this.oogataDentan += saku;
-                        break;
-                    case 29: // 探照灯
-                        this.tansyouto += saku;
-                        break;
-                    default: // その他
-                        this.other += saku;
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
     public <SHIP extends ShipBaseDto> SakutekiString(List<SHIP> ships, int hqLv) {
         for (SHIP ship : ships) {
-            ShipParam param = new ShipParam(ship);
-            this.add(ship);
-            this.addToCalcV2(param);
-            this.addToCalcV3(param);
+            ShipStats stats = ship.getStats();
+            this.add(stats);
+            this.addToCalcV2(stats);
+            this.addToCalcV3(stats);
         }
         this.addToCalcV2(hqLv);
         this.addToCalcV3(hqLv);
@@ -127,46 +58,29 @@ public class SakutekiString implements Comparable<SakutekiString> {
     }
 
     public SakutekiString(ShipBaseDto ship) {
-        ShipParam param = new ShipParam(ship);
-        this.add(ship);
-        this.addToCalcV2(param);
-        this.addToCalcV3(param);
+        ShipStats stats = ship.getStats();
+        this.add(stats);
+        this.addToCalcV2(stats);
+        this.addToCalcV3(stats);
         this.calc();
     }
 
-    private void add(ShipBaseDto ship) {
-        List<ItemInfoDto> items = ship.getItem();
-        int[] onslot = ship.getOnSlot();
+    // 艦ごとの値は装備が変わるまで使い回す (ShipStats)
+    private void add(ShipStats stats) {
         // 装備込の索敵値計
-        this.totalSakuteki += ship.getSakuteki();
-        for (int i = 0; i < items.size(); i++) {
-            ItemInfoDto item = items.get(i);
-            if (item != null) {
-                // 装備の索敵値
-                this.slotSakuteki += item.getParam().getSaku();
-                if (item.getType1() == 0) { // 取得できていない
-                    this.sakutekiFailed = true;
-                }
-                if ((item.getType1() == 7) && (onslot[i] > 0)) { // 7: 偵察機 (搭載数>0の場合のみ)
-                    this.teisatsuSakuteki += item.getParam().getSaku();
-                }
-                if (item.getType1() == 8) { // 8: 電探
-                    this.dentanSakuteki += item.getParam().getSaku();
-                }
-            }
+        this.totalSakuteki += stats.getSakuteki();
+        // 装備の索敵値
+        this.slotSakuteki += stats.getSlotSakuteki();
+        if (stats.isSakutekiFailed()) { // 取得できていない
+            this.sakutekiFailed = true;
         }
+        this.teisatsuSakuteki += stats.getTeisatsuSakuteki();
+        this.dentanSakuteki += stats.getDentanSakuteki();
     }
 
-    private void addToCalcV2(ShipParam p) {
-        this.v2Item += (p.kanbaku * (1.0376255))
-                + (p.kanko * (1.3677954))
-                + (p.kantei * (1.6592780))
-                + (p.suitei * (2.0000000))
-                + (p.suibaku * (1.7787282))
-                + (p.kogataDentan * (1.0045358))
-                + (p.oogataDentan * (0.9906638))
-                + (p.tansyouto * (0.9067950));
-        this.v2Ship += (Math.sqrt(p.sakuteki) * (1.6841056));
+    private void addToCalcV2(ShipStats stats) {
+        this.v2Item += stats.getV2Item();
+        this.v2Ship += stats.getV2Ship();
     }
 
     private void addToCalcV2(int hqLv) {
@@ -176,17 +90,9 @@ public class SakutekiString implements Comparable<SakutekiString> {
             this.v2HqLv = Math.ceil((double) hqLv / 5) * 5 * (-0.6142467);
     }
 
-    private void addToCalcV3(ShipParam p) {
-        double fromItem = (p.kanbaku * 0.6)
-                + (p.kanko * 0.8)
-                + (p.kantei * 1.0)
-                + (p.suitei * 1.2)
-                + (p.suibaku * 1.0)
-                + (p.kogataDentan * 0.6)
-                + (p.oogataDentan * 0.6)
-                + (p.tansyouto * 0.5)
-                + (p.other * 0.5);
-        double fromShip = Math.sqrt(p.sakuteki);
+    private void addToCalcV3(ShipStats stats) {
+        double fromItem = stats.getV3Item();
+        double fromShip = stats.getV3Ship();
 
         this.calc25v3 += Math.floor(fromItem + fromShip);
         this.v3Item += fromItem;
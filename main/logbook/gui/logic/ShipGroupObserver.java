@@ -3,8 +3,8 @@
  */
 package logbook.gui.logic;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import logbook.config.bean.ShipGroupBean;
 
@@ -14,7 +14,7 @@ import logbook.config.bean.ShipGroupBean;
  */
 public class ShipGroupObserver {
 
-    private static List<ShipGroupListener> listeners = new ArrayList<ShipGroupListener>();
+    private static List<ShipGroupListener> listeners = new CopyOnWriteArrayList<ShipGroupListener>();
 
     public static void addListener(ShipGroupListener listener) {
         listeners.add(listener);
@@ -4,12 +4,11 @@
 package logbook.gui.logic;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import logbook.data.context.GlobalContext;
 import logbook.dto.ShipDto;
+import logbook.internal.ShipOrderIndex;
 
 /**
  * @author Nekopanda
@@ -24,86 +23,24 @@ public class ShipOrder {
         this.ship = ship;
     }
 
-    private static class ShipComparatorBase implements Comparator<ShipOrder> {
-        @Override
-        public int compare(ShipOrder o1, ShipOrder o2) {
-            int ret = Integer.compare(o1.ship.getSortno(), o2.ship.getSortno());
-            if (ret == 0) {
-                ret = Integer.compare(o1.ship.getId(), o2.ship.getId());
-            }
-            return ret;
-        }
-    }
-
-    private static void genSortNumber(List<ShipOrder> list, int index, Comparator<ShipOrder> comp) {
-        Collections.sort(list, comp);
-        for (int i = 0; i < list.size(); ++i) {
-            list.get(i).sortNumber[index] = i;
-        }
-    }
-
+    /**
+     * 艦娘一覧の並び順をID順で取得します<br>
+     * 順位は {@link GlobalContext#getShipOrderIndex()} が艦娘の更新に合わせて保持しているものを使います
+     * 
+     * @return ID順の艦娘と順位
+     */
     public static List<ShipOrder> getOrderedShipList() {
+        ShipOrderIndex index = GlobalContext.getShipOrderIndex();
         List<ShipOrder> ships = new ArrayList<ShipOrder>();
+        // 艦娘MapはID順
         for (ShipDto ship : GlobalContext.getShipMap().values()) {
-            ships.add(new ShipOrder(ship));
-        }
-        // Lv順
-        genSortNumber(ships, 0, new ShipComparatorBase() {
-            @Override
-            public int compare(ShipOrder o1, ShipOrder o2) {
-                int ret = -Integer.compare(o1.ship.getLv(), o2.ship.getLv());
-                if (ret == 0) {
-                    return super.compare(o1, o2);
-                }
-                return ret;
-            }
-        });
-        // 艦種順
-        genSortNumber(ships, 1, new Comparator<ShipOrder>() {
-            @Override
-            public int compare(ShipOrder o1, ShipOrder o2) {
-                int ret = -Integer.compare(o1.ship.getShipInfo().getStype(), o2.ship.getShipInfo().getStype());
-                if (ret == 0) {
-                    ret = Integer.compare(o1.ship.getSortno(), o2.ship.getSortno());
-                    /*// Lv順の後に安定ソートするので
-                    if (ret == 0) {
-                        ret = -Integer.compare(o1.ship.getLv(), o2.ship.getLv());
-                        if (ret == 0) {
-                            ret = Integer.compare(o1.ship.getId(), o2.ship.getId());
-                        }
-                    }
-                    */
-                }
-                return ret;
-            }
-        });
-        // NEW
-        genSortNumber(ships, 2, new ShipComparatorBase() {
-            @Override
-            public int compare(ShipOrder o1, ShipOrder o2) {
-                return -Integer.compare(o1.ship.getId(), o2.ship.getId());
+            ShipOrder order = new ShipOrder(ship);
+            int[] ranks = index.getRanks(ship.getId());
+            if (ranks != null) {
+                System.arraycopy(ranks, 0, order.sortNumber, 0, order.sortNumber.length);
             }
-        });
-        // 修理順
-        genSortNumber(ships, 3, new ShipComparatorBase() {
-            @Override
-            public int compare(ShipOrder o1, ShipOrder o2) {
-                double o1rate = (double) o1.ship.getNowhp() / (double) o1.ship.getMaxhp();
-                double o2rate = (double) o2.ship.getNowhp() / (double) o2.ship.getMaxhp();
-                int ret = Double.compare(o1rate, o2rate);
-                if (ret == 0) {
-                    return super.compare(o1, o2);
-                }
-                return ret;
-            }
-        });
-        // 最後にID順にしておく
-        Collections.sort(ships, new Comparator<ShipOrder>() {
-            @Override
-            public int compare(ShipOrder o1, ShipOrder o2) {
-                return Integer.compare(o1.ship.getId(), o2.ship.getId());
-            }
-        });
+            ships.add(order);
+        }
         return ships;
     }
 }
@@ -2,12 +2,18 @@ package logbook.gui.widgets;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.CheckForNull;
 
 import logbook.config.AppConfig;
+import logbook.config.bean.AppConfigBean;
 import logbook.constants.AppConstants;
 import logbook.data.context.GlobalContext;
 import logbook.dto.DockDto;
@@ -103,8 +109,8 @@ public class FleetComposite extends Composite {
     private final Label[] hpLabels = new Label[MAXCHARA];
     /** HPゲージ */
     private final Label[] hpgaugeLabels = new Label[MAXCHARA];
-    /** HPゲージイメージ */
-    private final Image[] hpgaugeImages = new Image[MAXCHARA];
+    /** 表示中のHPゲージイメージのキー */
+    private final Integer[] hpgaugeKeys = new Integer[MAXCHARA];
     /** HPメッセージ */
     private final Label[] hpmsgLabels = new Label[MAXCHARA];
     /** コンディション */
@@ -123,6 +129,15 @@ public class FleetComposite extends Composite {
     private final Label[] nextLabels = new Label[MAXCHARA];
     /** メッセージ */
     private final StyledText message;
+    /** 艦娘がいない行 */
+    private static final Object EMPTY_ROW = new Object();
+    /** 行を最後に更新したときの表示に関係する値 (まだ更新していない場合はnull) */
+    private final Object[] rowKeys = new Object[MAXCHARA];
+    /** 行を最後に更新したときの艦娘のステータス */
+    private final BitSet[] shipStatus = new BitSet[MAXCHARA];
+
+    /** HPゲージイメージのキャッシュ (全艦隊で共有) */
+    private static final GaugeImageCache GAUGE_CACHE = new GaugeImageCache();
 
     /**
      * @param parent 艦隊タブの親
@@ -283,12 +298,21 @@ public class FleetComposite extends Composite {
 
         List<ShipDto> ships = dock.getShips();
         boolean[] escaped = dock.getEscaped();
+        boolean rowChanged = false;
         for (int i = ships.size(); i < MAXCHARA; i++) {
+            if (this.rowKeys[i] == EMPTY_ROW) {
+                continue;
+            }
+            this.rowKeys[i] = EMPTY_ROW;
+            this.shipStatus[i] = null;
+            rowChanged = true;
             this.iconLabels[i].setImage(null);
             this.nameLabels[i].setText("");
             this.lvLabels[i].setText("");
             this.hpLabels[i].setText("");
             this.hpgaugeLabels[i].setImage(null);
+            GAUGE_CACHE.release(this.hpgaugeKeys[i]);
+            this.hpgaugeKeys[i] = null;
             this.hpmsgLabels[i].setText("");
             this.condLabels[i].setText("");
             this.condstLabels[i].setText("");
@@ -309,30 +333,8 @@ public class FleetComposite extends Composite {
 
         for (int i = 0; i < ships.size(); i++) {
             ShipDto ship = ships.get(i);
-            // 艦娘のステータス
-            BitSet shipstatus = new BitSet();
-            // HP
-            int nowhp = ship.getNowhp();
-            // MaxHP
-            int maxhp = ship.getMaxhp();
-            // HP割合
-            float hpratio = (float) nowhp / (float) maxhp;
-            // 経験値ゲージの割合
-            float expraito = ship.getExpraito();
             // 疲労
             int cond = ship.getCond();
-            // 弾
-            int bull = ship.getBull();
-            // 弾Max
-            int bullmax = ship.getBullMax();
-            // 残弾比
-            float bullraito = bullmax != 0 ? (float) bull / (float) bullmax : 1f;
-            // 燃料
-            int fuel = ship.getFuel();
-            // 燃料Max
-            int fuelmax = ship.getFuelMax();
-            // 残燃料比
-            float fuelraito = fuelmax != 0 ? (float) fuel / (float) fuelmax : 1f;
             // 艦隊合計Lv
             totallv += ship.getLv();
 
@@ -342,207 +344,20 @@ public class FleetComposite extends Composite {
                 this.clearDate = new TimeString(ship.getCondClearTime().getTime()).toString();
             }
 
-            // 体力メッセージ
             boolean isEscaped = ((escaped != null) && escaped[i]);
-            if (isEscaped) {
-                this.hpmsgLabels[i].setText("退避");
-                this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.ESCAPED_SHIP_COLOR));
-                this.hpmsgLabels[i].setForeground(null);
-            }
-            else if (ship.isBadlyDamage()) {
-                if (AppConfig.get().isFatalBybadlyDamage()) {
-                    // 大破で致命的アイコン
-                    this.state.set(FATAL);
-                    shipstatus.set(FATAL);
-                }
+            if (!isEscaped && ship.isBadlyDamage()) {
                 // 大破している艦娘がいる場合メッセージを表示
                 this.badlyDamage = true;
-                if (ship.isSunk()) {
-                    this.hpmsgLabels[i].setText("轟沈");
-                }
-                else {
-                    this.hpmsgLabels[i].setText("大破");
-                }
-                this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
-                this.hpmsgLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
-            } else if (ship.isHalfDamage()) {
-                if (AppConfig.get().isWarnByHalfDamage()) {
-                    // 中破で警告アイコン
-                    this.state.set(WARN);
-                    shipstatus.set(WARN);
-                }
-
-                this.hpmsgLabels[i].setText("中破");
-                this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
-                this.hpmsgLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
-            } else if (ship.isSlightDamage()) {
-                this.hpmsgLabels[i].setText("小破");
-                this.hpmsgLabels[i].setBackground(null);
-                this.hpmsgLabels[i].setForeground(null);
-            } else {
-                this.hpmsgLabels[i].setText("健在");
-                this.hpmsgLabels[i].setBackground(null);
-                this.hpmsgLabels[i].setForeground(null);
-            }
-
-            // ステータス
-            // ステータス.疲労
-            this.condstLabels[i].setText("疲");
-            if (cond >= 49) {
-                this.condstLabels[i].setEnabled(false);
-            } else {
-                this.condstLabels[i].setEnabled(true);
-            }
-            // ステータス.燃料
-            this.fuelstLabels[i].setText("燃");
-            if (fuelraito >= 1f) {
-                this.fuelstLabels[i].setEnabled(false);
-                this.fuelstLabels[i].setForeground(null);
-            } else {
-                if (AppConfig.get().isWarnByNeedSupply()) {
-                    // 補給不足で警告アイコン
-                    this.state.set(WARN);
-                    shipstatus.set(WARN);
-                }
-                this.fuelstLabels[i].setEnabled(true);
-                if (fuelraito <= AppConstants.EMPTY_SUPPLY) {
-                    // 補給赤
-                    this.fuelstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
-                } else if (fuelraito <= AppConstants.LOW_SUPPLY) {
-                    // 補給橙
-                    this.fuelstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
-                }
-            }
-            // ステータス.弾
-            this.bullstLabels[i].setText("弾");
-            if (bullraito >= 1f) {
-                this.bullstLabels[i].setEnabled(false);
-                this.bullstLabels[i].setBackground(null);
-                this.bullstLabels[i].setForeground(null);
-            } else {
-                if (AppConfig.get().isWarnByNeedSupply()) {
-                    // 補給不足で警告アイコン
-                    this.state.set(WARN);
-                    shipstatus.set(WARN);
-                }
-                this.bullstLabels[i].setEnabled(true);
-                if (bullraito <= AppConstants.EMPTY_SUPPLY) {
-                    this.bullstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
-                } else if (bullraito <= AppConstants.LOW_SUPPLY) {
-                    this.bullstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
-                }
-            }
-
-            // ステータス.ダメコン
-            List<ItemInfoDto> item = ship.getItem();
-            int dmgcsty = 0;
-            int dmgcstm = 0;
-            for (ItemInfoDto itemDto : item) {
-                if (itemDto != null) {
-                    if (itemDto.getName().equals("応急修理要員")) {
-                        dmgcsty++;
-                    } else if (itemDto.getName().equals("応急修理女神")) {
-                        dmgcstm++;
-                    }
-                }
-            }
-            if (dmgcsty > 0) {
-                this.dmgcstyLabels[i].setText("要員x" + dmgcsty);
-                this.dmgcstyLabels[i].setEnabled(true);
-                this.dmgcstyLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_DARK_GREEN));
-
-            } else {
-                this.dmgcstyLabels[i].setText("");
-                this.dmgcstyLabels[i].setEnabled(false);
-                this.dmgcstyLabels[i].setForeground(null);
-            }
-            if (dmgcstm > 0) {
-                this.dmgcstmLabels[i].setText("女神x" + dmgcstm);
-                this.dmgcstmLabels[i].setEnabled(true);
-                this.dmgcstmLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_DARK_GREEN));
-
-            } else {
-                this.dmgcstmLabels[i].setText("");
-                this.dmgcstmLabels[i].setEnabled(false);
-                this.dmgcstmLabels[i].setForeground(null);
-            }
-            // ステータス.あと何回
-            if (AppConfig.get().isDisplayCount()) {
-                Integer nextcount = this.getNextCount(ship, i == 0);
-                if (nextcount != null) {
-                    this.nextLabels[i].setText(MessageFormat.format("あと{0}回", nextcount));
-                } else {
-                    this.nextLabels[i].setText("");
-                }
             }
 
-            // コンディション
-            if (cond <= AppConstants.COND_RED) {
-                // 疲労19以下
-                if (AppConfig.get().isWarnByCondState()) {
-                    // 疲労状態で警告アイコン
-                    this.state.set(WARN);
-                    shipstatus.set(WARN);
-                }
-                this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
-                this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
-            } else if (cond <= AppConstants.COND_ORANGE) {
-                // 疲労29以下
-                if (AppConfig.get().isWarnByCondState()) {
-                    // 疲労状態で警告アイコン
-                    this.state.set(WARN);
-                    shipstatus.set(WARN);
-                }
-                this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
-                this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
-            } else if ((cond >= AppConstants.COND_DARK_GREEN) && (cond < AppConstants.COND_GREEN)) {
-                // 疲労50以上
-                this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_DARK_GREEN_COLOR));
-                this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_DARK_GREEN_COLOR));
-            } else if (cond >= AppConstants.COND_GREEN) {
-                // 疲労53以上
-                this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_GREEN_COLOR));
-                this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_GREEN_COLOR));
-            } else {
-                this.condLabels[i].setForeground(null);
-                this.condstLabels[i].setForeground(null);
+            // 表示に関係する値が変わった行だけ更新する
+            List<Object> rowKey = getRowKey(ship, isEscaped, i == 0);
+            if (!rowKey.equals(this.rowKeys[i])) {
+                this.shipStatus[i] = this.updateShipRow(i, ship, isEscaped, i == 0);
+                this.rowKeys[i] = rowKey;
+                rowChanged = true;
             }
-
-            // 艦娘の状態アイコンを更新
-            if (shipstatus.get(FATAL)) {
-                this.iconLabels[i].setImage(SWTResourceManager.getImage(FleetComposite.class,
-                        AppConfig.get().isMonoIcon()
-                                ? AppConstants.R_ICON_EXCLAMATION_MONO
-                                : AppConstants.R_ICON_EXCLAMATION));
-            } else if (shipstatus.get(WARN)) {
-                this.iconLabels[i].setImage(SWTResourceManager.getImage(FleetComposite.class,
-                        AppConfig.get().isMonoIcon()
-                                ? AppConstants.R_ICON_ERROR_MONO
-                                : AppConstants.R_ICON_ERROR));
-            } else {
-                this.iconLabels[i].setImage(null);
-            }
-
-            // ラベルを更新する
-            // 名前
-            this.nameLabels[i].setText(ship.getName());
-            this.nameLabels[i].setToolTipText(MessageFormat.format(AppConstants.TOOLTIP_FLEETTAB_SHIP, nowhp, maxhp,
-                    fuel, fuelmax, bull, bullmax, ship.getNext()));
-            this.lvLabels[i].setText(MessageFormat.format("(Lv.{0})", ship.getLv()));
-            // HP
-            this.hpLabels[i].setText(MessageFormat.format("{0}/{1} ", nowhp, maxhp));
-            // HPゲージ
-            Image gauge = this.getHpGaugeImage(hpratio, expraito);
-            this.hpgaugeLabels[i].setImage(gauge);
-            if (this.hpgaugeImages[i] != null) {
-                // 古いイメージを破棄
-                this.hpgaugeImages[i].dispose();
-            }
-            this.hpgaugeImages[i] = gauge;
-            // コンディション
-            this.condLabels[i].setText(MessageFormat.format("{0} cond.", cond));
-            this.bullstLabels[i].getParent().layout();
-
+            this.state.or(this.shipStatus[i]);
         }
         // メッセージを更新する
         // 入渠中の艦娘を探す
@@ -654,7 +469,9 @@ public class FleetComposite extends Composite {
         this.updateTabIcon();
         this.postFatal();
 
-        this.fleetGroup.layout();
+        if (rowChanged) {
+            this.fleetGroup.layout();
+        }
 
         this.getShell().setRedraw(true);
     }
@@ -718,22 +535,354 @@ public class FleetComposite extends Composite {
     }
 
     /**
-     * HPゲージのイメージを取得します
+     * 艦娘1隻分の行を更新します
+     *
+     * @param i 行
+     * @param ship 艦娘
+     * @param isEscaped 退避している
+     * @param isFlagship 旗艦
+     * @return 艦娘のステータス (警告・致命的)
+     */
+    private BitSet updateShipRow(int i, ShipDto ship, boolean isEscaped, boolean isFlagship) {
+        // 艦娘のステータス
+        BitSet shipstatus = new BitSet();
+        // HP
+        int nowhp = ship.getNowhp();
+        // MaxHP
+        int maxhp = ship.getMaxhp();
+        // HP割合
+        float hpratio = (float) nowhp / (float) maxhp;
+        // 経験値ゲージの割合
+        float expraito = ship.getExpraito();
+        // 疲労
+        int cond = ship.getCond();
+        // 弾
+        int bull = ship.getBull();
+        // 弾Max
+        int bullmax = ship.getBullMax();
+        // 残弾比
+        float bullraito = bullmax != 0 ? (float) bull / (float) bullmax : 1f;
+        // 燃料
+        int fuel = ship.getFuel();
+        // 燃料Max
+        int fuelmax = ship.getFuelMax();
+        // 残燃料比
+        float fuelraito = fuelmax != 0 ? (float) fuel / (float) fuelmax : 1f;
+        // 体力メッセージ
+        if (isEscaped) {
+            this.hpmsgLabels[i].setText("退避");
+            this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.ESCAPED_SHIP_COLOR));
+            this.hpmsgLabels[i].setForeground(null);
+        }
+        else if (ship.isBadlyDamage()) {
+            if (AppConfig.get().isFatalBybadlyDamage()) {
+                // 大破で致命的アイコン
+                shipstatus.set(FATAL);
+            }
+            if (ship.isSunk()) {
+                this.hpmsgLabels[i].setText("轟沈");
+            }
+            else {
+                this.hpmsgLabels[i].setText("大破");
+            }
+            this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
+            this.hpmsgLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
+        } else if (ship.isHalfDamage()) {
+            if (AppConfig.get().isWarnByHalfDamage()) {
+                // 中破で警告アイコン
+                shipstatus.set(WARN);
+            }
+
+            this.hpmsgLabels[i].setText("中破");
+            this.hpmsgLabels[i].setBackground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
+            this.hpmsgLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
+        } else if (ship.isSlightDamage()) {
+            this.hpmsgLabels[i].setText("小破");
+            this.hpmsgLabels[i].setBackground(null);
+            this.hpmsgLabels[i].setForeground(null);
+        } else {
+            this.hpmsgLabels[i].setText("健在");
+            this.hpmsgLabels[i].setBackground(null);
+            this.hpmsgLabels[i].setForeground(null);
+        }
+
+        // ステータス
+        // ステータス.疲労
+        this.condstLabels[i].setText("疲");
+        if (cond >= 49) {
+            this.condstLabels[i].setEnabled(false);
+        } else {
+            this.condstLabels[i].setEnabled(true);
+        }
+        // ステータス.燃料
+        this.fuelstLabels[i].setText("燃");
+        if (fuelraito >= 1f) {
+            this.fuelstLabels[i].setEnabled(false);
+            this.fuelstLabels[i].setForeground(null);
+        } else {
+            if (AppConfig.get().isWarnByNeedSupply()) {
+                // 補給不足で警告アイコン
+                shipstatus.set(WARN);
+            }
+            this.fuelstLabels[i].setEnabled(true);
+            if (fuelraito <= AppConstants.EMPTY_SUPPLY) {
+                // 補給赤
+                this.fuelstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
+            } else if (fuelraito <= AppConstants.LOW_SUPPLY) {
+                // 補給橙
+                this.fuelstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
+            }
+        }
+        // ステータス.弾
+        this.bullstLabels[i].setText("弾");
+        if (bullraito >= 1f) {
+            this.bullstLabels[i].setEnabled(false);
+            this.bullstLabels[i].setBackground(null);
+            this.bullstLabels[i].setForeground(null);
+        } else {
+            if (AppConfig.get().isWarnByNeedSupply()) {
+                // 補給不足で警告アイコン
+                shipstatus.set(WARN);
+            }
+            this.bullstLabels[i].setEnabled(true);
+            if (bullraito <= AppConstants.EMPTY_SUPPLY) {
+                this.bullstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
+            } else if (bullraito <= AppConstants.LOW_SUPPLY) {
+                this.bullstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
+            }
+        }
+
+        // ステータス.ダメコン
+        List<ItemInfoDto> item = ship.getItem();
+        int dmgcsty = 0;
+        int dmgcstm = 0;
+        for (ItemInfoDto itemDto : item) {
+            if (itemDto != null) {
+                if (itemDto.getName().equals("応急修理要員")) {
+                    dmgcsty++;
+                } else if (itemDto.getName().equals("応急修理女神")) {
+                    dmgcstm++;
+                }
+            }
+        }
+        if (dmgcsty > 0) {
+            this.dmgcstyLabels[i].setText("要員x" + dmgcsty);
+            this.dmgcstyLabels[i].setEnabled(true);
+            this.dmgcstyLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_DARK_GREEN));
+
+        } else {
+            this.dmgcstyLabels[i].setText("");
+            this.dmgcstyLabels[i].setEnabled(false);
+            this.dmgcstyLabels[i].setForeground(null);
+        }
+        if (dmgcstm > 0) {
+            this.dmgcstmLabels[i].setText("女神x" + dmgcstm);
+            this.dmgcstmLabels[i].setEnabled(true);
+            this.dmgcstmLabels[i].setForeground(SWTResourceManager.getColor(SWT.COLOR_DARK_GREEN));
+
+        } else {
+            this.dmgcstmLabels[i].setText("");
+            this.dmgcstmLabels[i].setEnabled(false);
+            this.dmgcstmLabels[i].setForeground(null);
+        }
+        // ステータス.あと何回
+        if (AppConfig.get().isDisplayCount()) {
+            Integer nextcount = this.getNextCount(ship, isFlagship);
+            if (nextcount != null) {
+                this.nextLabels[i].setText(MessageFormat.format("あと{0}回", nextcount));
+            } else {
+                this.nextLabels[i].setText("");
+            }
+        }
+
+        // コンディション
+        if (cond <= AppConstants.COND_RED) {
+            // 疲労19以下
+            if (AppConfig.get().isWarnByCondState()) {
+                // 疲労状態で警告アイコン
+                shipstatus.set(WARN);
+            }
+            this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
+            this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_RED_COLOR));
+        } else if (cond <= AppConstants.COND_ORANGE) {
+            // 疲労29以下
+            if (AppConfig.get().isWarnByCondState()) {
+                // 疲労状態で警告アイコン
+                shipstatus.set(WARN);
+            }
+            this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
+            this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_ORANGE_COLOR));
+        } else if ((cond >= AppConstants.COND_DARK_GREEN) && (cond < AppConstants.COND_GREEN)) {
+            // 疲労50以上
+            this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_DARK_GREEN_COLOR));
+            this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_DARK_GREEN_COLOR));
+        } else if (cond >= AppConstants.COND_GREEN) {
+            // 疲労53以上
+            this.condLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_GREEN_COLOR));
+            this.condstLabels[i].setForeground(SWTResourceManager.getColor(AppConstants.COND_GREEN_COLOR));
+        } else {
+            this.condLabels[i].setForeground(null);
+            this.condstLabels[i].setForeground(null);
+        }
+
+        // 艦娘の状態アイコンを更新
+        if (shipstatus.get(FATAL)) {
+            this.iconLabels[i].setImage(SWTResourceManager.getImage(FleetComposite.class,
+                    AppConfig.get().isMonoIcon()
+                            ? AppConstants.R_ICON_EXCLAMATION_MONO
+                            : AppConstants.R_ICON_EXCLAMATION));
+        } else if (shipstatus.get(WARN)) {
+            this.iconLabels[i].setImage(SWTResourceManager.getImage(FleetComposite.class,
+                    AppConfig.get().isMonoIcon()
+                            ? AppConstants.R_ICON_ERROR_MONO
+                            : AppConstants.R_ICON_ERROR));
+        } else {
+            this.iconLabels[i].setImage(null);
+        }
+
+        // ラベルを更新する
+        // 名前
+        this.nameLabels[i].setText(ship.getName());
+        this.nameLabels[i].setToolTipText(MessageFormat.format(AppConstants.TOOLTIP_FLEETTAB_SHIP, nowhp, maxhp,
+                fuel, fuelmax, bull, bullmax, ship.getNext()));
+        this.lvLabels[i].setText(MessageFormat.format("(Lv.{0})", ship.getLv()));
+        // HP
+        this.hpLabels[i].setText(MessageFormat.format("{0}/{1} ", nowhp, maxhp));
+        // HPゲージ
+        this.setHpGaugeImage(i, hpratio, expraito);
+        // コンディション
+        this.condLabels[i].setText(MessageFormat.format("{0} cond.", cond));
+        this.bullstLabels[i].getParent().layout();
+        return shipstatus;
+    }
+
+    /**
+     * 行の表示に関係する値を取得します
+     *
+     * @param ship 艦娘
+     * @param isEscaped 退避している
+     * @param isFlagship 旗艦
+     * @return 表示に関係する値
+     */
+    private static List<Object> getRowKey(ShipDto ship, boolean isEscaped, boolean isFlagship) {
+        List<String> items = new ArrayList<String>();
+        for (ItemInfoDto itemDto : ship.getItem()) {
+            items.add((itemDto != null) ? itemDto.getName() : null);
+        }
+        AppConfigBean config = AppConfig.get();
+        return Arrays.<Object> asList(ship.getId(), ship.getName(), ship.getLv(), ship.getNowhp(), ship.getMaxhp(),
+                ship.getCond(), ship.getFuel(), ship.getFuelMax(), ship.getBull(), ship.getBullMax(),
+                ship.getExp(), ship.getNext(), ship.getExpraito(), items, isEscaped, isFlagship,
+                config.isFatalBybadlyDamage(), config.isWarnByHalfDamage(), config.isWarnByNeedSupply(),
+                config.isWarnByCondState(), config.isMonoIcon(), config.isDisplayCount(),
+                config.getDefaultSea(), config.getDefaultEvaluate());
+    }
+
+    /**
+     * HPゲージのイメージを設定します
+     * @param i 行
      * @param hpratio HP割合
-     * @return HPゲージのイメージ
+     * @param expraito 経験値割合
      */
-    private Image getHpGaugeImage(float hpratio, float expraito) {
-        Image image = new Image(Display.getDefault(), GAUGE_WIDTH, GAUGE_HEIGHT);
-        GC gc = new GC(image);
-        gc.setBackground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
-        gc.fillRectangle(0, 0, GAUGE_WIDTH, GAUGE_HEIGHT);
-        gc.setBackground(SWTResourceManager.getColor(gradation(hpratio, GAUGE_EMPTY, GAUGE_HALF, GAUGE_FULL)));
-        gc.fillRectangle(0, 0, (int) (GAUGE_WIDTH * hpratio), GAUGE_HEIGHT);
-        gc.setBackground(SWTResourceManager.getColor(EXP_GAUGE));
-        gc.fillRectangle(0, GAUGE_HEIGHT - EXP_GAUGE_HEIGHT, (int) (GAUGE_WIDTH * expraito), EXP_GAUGE_HEIGHT);
-        gc.drawImage(image, 0, 0);
-        gc.dispose();
-        return image;
+    private void setHpGaugeImage(int i, float hpratio, float expraito) {
+        Integer key = GaugeImageCache.key(hpratio, expraito);
+        if (key.equals(this.hpgaugeKeys[i])) {
+            return;
+        }
+        this.hpgaugeLabels[i].setImage(GAUGE_CACHE.acquire(key));
+        GAUGE_CACHE.release(this.hpgaugeKeys[i]);
+        this.hpgaugeKeys[i] = key;
+    }
+
+    /**
+     * HPゲージのイメージのキャッシュです<br>
+     * ゲージの幅(ピクセル)をキーにしてイメージを共有します。
+     * 使われなくなったイメージも一定数まで残しておき、それを超えたら古いものから破棄します<br>
+     * UIスレッドからのみ使用します
+     */
+    private static final class GaugeImageCache {
+
+        /** 使われていないイメージを残しておく数 */
+        private static final int MAX_UNUSED = 32;
+
+        /** キー -> イメージ */
+        private final Map<Integer, Image> images = new HashMap<Integer, Image>();
+        /** キー -> 使用している行の数 */
+        private final Map<Integer, Integer> refs = new HashMap<Integer, Integer>();
+        /** 使われていないイメージのキー (古い順) */
+        private final LinkedHashSet<Integer> unused = new LinkedHashSet<Integer>();
+
+        /**
+         * キーを作成します
+         * @param hpratio HP割合
+         * @param expraito 経験値割合
+         * @return キー
+         */
+        static Integer key(float hpratio, float expraito) {
+            int hp = Math.max(0, Math.min(GAUGE_WIDTH, (int) (GAUGE_WIDTH * hpratio)));
+            int exp = Math.max(0, Math.min(GAUGE_WIDTH, (int) (GAUGE_WIDTH * expraito)));
+            return Integer.valueOf((hp * (GAUGE_WIDTH + 1)) + exp);
+        }
+
+        /**
+         * イメージを取得して使用中にします
+         * @param key キー
+         * @return イメージ
+         */
+        Image acquire(Integer key) {
+            Image image = this.images.get(key);
+            if ((image == null) || image.isDisposed()) {
+                image = create(key);
+                this.images.put(key, image);
+            }
+            Integer count = this.refs.get(key);
+            this.refs.put(key, (count == null) ? 1 : count + 1);
+            this.unused.remove(key);
+            return image;
+        }
+
+        /**
+         * イメージの使用をやめます
+         * @param key キー (nullの場合は何もしません)
+         */
+        void release(Integer key) {
+            if (key == null) {
+                return;
+            }
+            Integer count = this.refs.get(key);
+            if ((count == null) || (count <= 1)) {
+                this.refs.remove(key);
+                this.unused.add(key);
+                if (this.unused.size() > MAX_UNUSED) {
+                    Iterator<Integer> it = this.unused.iterator();
+                    Integer eldest = it.next();
+                    it.remove();
+                    Image image = this.images.remove(eldest);
+                    if (image != null) {
+                        image.dispose();
+                    }
+                }
+            }
+            else {
+                this.refs.put(key, count - 1);
+            }
+        }
+
+        private static Image create(int key) {
+            int hp = key / (GAUGE_WIDTH + 1);
+            int exp = key % (GAUGE_WIDTH + 1);
+            float hpratio = (float) hp / GAUGE_WIDTH;
+            Image image = new Image(Display.getDefault(), GAUGE_WIDTH, GAUGE_HEIGHT);
+            GC gc = new GC(image);
+            gc.setBackground(SWTResourceManager.getColor(SWT.COLOR_WHITE));
+            gc.fillRectangle(0, 0, GAUGE_WIDTH, GAUGE_HEIGHT);
+            gc.setBackground(SWTResourceManager.getColor(gradation(hpratio, GAUGE_EMPTY, GAUGE_HALF, GAUGE_FULL)));
+            gc.fillRectangle(0, 0, hp, GAUGE_HEIGHT);
+            gc.setBackground(SWTResourceManager.getColor(EXP_GAUGE));
+            gc.fillRectangle(0, GAUGE_HEIGHT - EXP_GAUGE_HEIGHT, exp, EXP_GAUGE_HEIGHT);
+            gc.dispose();
+            return image;
+        }
     }
 
     /**
@@ -795,10 +944,9 @@ public class FleetComposite extends Composite {
     @Override
     public void dispose() {
         super.dispose();
-        for (Image image : this.hpgaugeImages) {
-            if (image != null) {
-                image.dispose();
-            }
+        for (int i = 0; i < MAXCHARA; i++) {
+            GAUGE_CACHE.release(this.hpgaugeKeys[i]);
+            this.hpgaugeKeys[i] = null;
         }
     }
 
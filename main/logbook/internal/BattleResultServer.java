@@ -26,9 +26,11 @@ import java.util.TreeSet;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import logbook.config.AppConfig;
 import logbook.constants.AppConstants;
 import logbook.dto.BattleExDto;
 import logbook.dto.BattleResultDto;
+import logbook.dto.RawBattleDto;
 import logbook.gui.logic.IntegerPair;
 import logbook.scripting.BattleLogListener;
 import logbook.scripting.BattleLogProxy;
@@ -57,6 +59,11 @@ public class BattleResultServer {
 
     private static Schema<BattleExDto> schema = RuntimeSchema.getSchema(BattleExDto.class);
 
+    private static Schema<RawBattleDto> rawSchema = RuntimeSchema.getSchema(RawBattleDto.class);
+
+    /** 生JSON形式の出撃ログの拡張子 */
+    public static final String RAW_EXT = "rdat";
+
     private static class BattleResult extends BattleResultDto {
         public DataFile file;
         public int index;
@@ -79,6 +86,16 @@ public class BattleResultServer {
         instance = null;
     }
 
+    /**
+     * 指定したディレクトリの出撃ログを読み込みます<br>
+     * {@link #get()} とは別のインスタンスになります (主アカウント以外の出撃ログ用)
+     * @param path 出撃ログの保存先
+     * @return 出撃ログ
+     */
+    public static BattleResultServer open(String path) {
+        return new BattleResultServer(path);
+    }
+
     public static BattleResultServer get() {
         if (instance == null) {
             synchronized (BattleResultServer.class) {
@@ -113,10 +130,13 @@ public class BattleResultServer {
 
     private abstract class DataFile {
         final File file;
+        /** 生JSON形式か */
+        final boolean raw;
         int numRecords = 0;
 
-        public DataFile(File file) {
+        public DataFile(File file, String name) {
             this.file = file;
+            this.raw = isRaw(name);
         }
 
         public List<BattleExDto> readAll() throws IOException {
@@ -136,7 +156,9 @@ public class BattleResultServer {
         }
 
         List<BattleExDto> load(InputStream input) throws IOException {
-            List<BattleExDto> result = loadFromInputStream(input, BattleResultServer.this.buffer);
+            List<BattleExDto> result = this.raw ?
+                    loadRawFromInputStream(input, BattleResultServer.this.buffer) :
+                    loadFromInputStream(input, BattleResultServer.this.buffer);
             this.numRecords = result.size();
             return result;
         }
@@ -146,7 +168,7 @@ public class BattleResultServer {
     private class NormalDataFile extends DataFile {
 
         public NormalDataFile(File file) {
-            super(file);
+            super(file, file.getName());
         }
 
         @Override
@@ -165,7 +187,13 @@ public class BattleResultServer {
         public void addToFile(BattleExDto dto) {
             // ファイルとリストに追加
             try (FileOutputStream output = new FileOutputStream(getStoreFile(this.file), true)) {
-                ProtostuffIOUtil.writeDelimitedTo(output, dto, schema, BattleResultServer.this.buffer);
+                if (this.raw) {
+                    ProtostuffIOUtil.writeDelimitedTo(output, new RawBattleDto(dto), rawSchema,
+                            BattleResultServer.this.buffer);
+                }
+                else {
+                    ProtostuffIOUtil.writeDelimitedTo(output, dto, schema, BattleResultServer.this.buffer);
+                }
                 BattleResultServer.this.buffer.clear();
             } catch (IOException e) {
                 LOG.warn("出撃ログの書き込みに失敗しました", e);
@@ -179,7 +207,7 @@ public class BattleResultServer {
         private final String zipName;
 
         public ZipDataFile(File file, String zipName) {
-            super(file);
+            super(file, zipName);
             this.zipName = zipName;
         }
 
@@ -211,15 +239,92 @@ public class BattleResultServer {
         return result;
     }
 
+    /**
+     * 生JSON形式の出撃ログを読み込みます<br>
+     * 戦闘フェーズと戦闘結果は最初にアクセスされたときにJSONから読み込まれます
+     */
+    private static List<BattleExDto> loadRawFromInputStream(InputStream input, LinkedBuffer buffer)
+            throws IOException {
+        List<BattleExDto> result = new ArrayList<BattleExDto>();
+        try {
+            while (input.available() > 0) {
+                RawBattleDto raw = rawSchema.newMessage();
+                ProtostuffIOUtil.mergeDelimitedFrom(input, raw, rawSchema, buffer);
+                result.add(raw.toBattleExDto());
+            }
+        } catch (EOFException e) {
+        }
+        return result;
+    }
+
+    /**
+     * 生JSON形式の出撃ログか
+     * @param name ファイル名
+     * @return 生JSON形式ならtrue
+     */
+    public static boolean isRaw(String name) {
+        return RAW_EXT.equals(FilenameUtils.getExtension(name));
+    }
+
+    /**
+     * 出撃ログファイル(zipでないもの)を読み込みます
+     * @param file 出撃ログファイル(.datまたは.rdat)
+     * @return 出撃ログ
+     */
+    public static List<BattleExDto> readFile(File file) throws IOException {
+        try (InputStream input = new FileInputStream(file)) {
+            return read(input, file.getName());
+        }
+    }
+
+    /**
+     * 出撃ログを読み込みます
+     * @param input 入力 (zipの中のファイルなど)
+     * @param name ファイル名 (拡張子で形式を判断します)
+     * @return 出撃ログ
+     */
+    public static List<BattleExDto> read(InputStream input, String name) throws IOException {
+        LinkedBuffer buffer = LinkedBuffer.allocate(128 * 1024);
+        return isRaw(name) ?
+                loadRawFromInputStream(input, buffer) :
+                loadFromInputStream(input, buffer);
+    }
+
+    /**
+     * 従来の形式で出撃ログを書き込みます
+     * @param output 出力先
+     * @param battles 出撃ログ
+     */
+    public static void write(OutputStream output, List<BattleExDto> battles) throws IOException {
+        LinkedBuffer buffer = LinkedBuffer.allocate(128 * 1024);
+        for (BattleExDto dto : battles) {
+            ProtostuffIOUtil.writeDelimitedTo(output, dto, schema, buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 生JSON形式で出撃ログを書き込みます
+     * @param output 出力先
+     * @param battles 出撃ログ (RawBattleDto.canConvertがtrueのもの)
+     */
+    public static void writeRaw(OutputStream output, List<BattleExDto> battles) throws IOException {
+        LinkedBuffer buffer = LinkedBuffer.allocate(128 * 1024);
+        for (BattleExDto dto : battles) {
+            ProtostuffIOUtil.writeDelimitedTo(output, new RawBattleDto(dto), rawSchema, buffer);
+            buffer.clear();
+        }
+    }
+
     private BattleResultServer(String path) {
         this.path = path;
         // ファイルを読み込んで resultList を作成
         File dir = new File(path);
         if (dir.exists()) {
             // ファイルリストを作成
-            for (File file : FileUtils.listFiles(dir, new String[] { "dat", "zip" }, true)) {
+            for (File file : FileUtils.listFiles(dir, new String[] { "dat", RAW_EXT, "zip" }, true)) {
                 try {
-                    if (file.getName().endsWith("dat")) {
+                    if (!file.getName().endsWith("zip")) {
                         DataFile dataFile = new NormalDataFile(file);
                         this.fileMap.put(dataFile.getPath(), dataFile);
                     }
@@ -248,7 +353,7 @@ public class BattleResultServer {
         }
     }
 
-    public void reloadFiles() {
+    public synchronized void reloadFiles() {
         this.resultDateSet.clear();
         this.resultList.clear();
 
@@ -303,10 +408,11 @@ public class BattleResultServer {
         }
     }
 
-    public void addNewResult(BattleExDto dto) {
+    public synchronized void addNewResult(BattleExDto dto) {
         // ファイルとリストに追加
         if (dto.isCompleteResult()) {
-            File file = new File(FilenameUtils.concat(this.path, format.format(dto.getBattleDate()) + ".dat"));
+            String ext = (AppConfig.get().isStoreRawBattleLog() && RawBattleDto.canConvert(dto)) ? RAW_EXT : "dat";
+            File file = new File(FilenameUtils.concat(this.path, format.format(dto.getBattleDate()) + "." + ext));
             DataFile dataFile = this.fileMap.get(file.getAbsolutePath());
             if (dataFile == null) {
                 dataFile = new NormalDataFile(file);
@@ -407,7 +513,7 @@ public class BattleResultServer {
     }
 
     /** 詳細を読み込む（失敗したら null ） */
-    public BattleExDto getBattleDetail(BattleResultDto summary) {
+    public synchronized BattleExDto getBattleDetail(BattleResultDto summary) {
         BattleResult result = (BattleResult) summary;
         if ((this.cachedFile == null) || (result.file != this.cachedFile)) {
             try {
@@ -450,7 +556,8 @@ public class BattleResultServer {
             // 報告書の保存先ディレクトリが無く、ディレクトリの作成に失敗した場合はカレントフォルダにファイルを保存
             file = new File(file.getName());
         }
-        File altFile = new File(FilenameUtils.removeExtension(file.getPath()) + "_alternativefile.dat");
+        File altFile = new File(FilenameUtils.removeExtension(file.getPath()) + "_alternativefile."
+                + FilenameUtils.getExtension(file.getName()));
         if (ReportUtils.isLocked(file)) {
             // ロックされている場合は代替ファイルに書き込みます
             file = altFile;
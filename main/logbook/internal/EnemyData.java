@@ -3,6 +3,7 @@
  */
 package logbook.internal;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -15,9 +16,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import logbook.constants.AppConstants;
-import logbook.gui.ApplicationMain;
+import logbook.util.ReportUtils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,8 +39,14 @@ public class EnemyData {
     private static final Logger LOG = LogManager.getLogger(EnemyData.class);
     private static Map<Integer, EnemyData> ENEMY = new TreeMap<Integer, EnemyData>();
 
-    /** 変更があったか */
-    private static boolean modified = false;
+    /** まだファイルに書き込んでいない変更 */
+    private static List<EnemyData> pending = new ArrayList<EnemyData>();
+
+    /** ジャーナルに記録されている件数 */
+    private static int journalLength = 0;
+
+    /** ジャーナルがこの件数を超えたら本体ファイルに統合する */
+    private static final int COMPACT_THRESHOLD = 256;
 
     // 始めてアクセスがあった時に読み込む
     public static final boolean INIT_COMPLETE;
@@ -84,14 +92,14 @@ public class EnemyData {
     /**
      * 敵編成を設定します
      */
-    public static void set(int id, EnemyData item) {
+    public static synchronized void set(int id, EnemyData item) {
         EnemyData old = ENEMY.get(id);
         if ((old != null) && old.equals(item)) {
             // 更新する必要なし
             return;
         }
         ENEMY.put(id, item);
-        modified = true;
+        pending.add(item);
     }
 
     /**
@@ -100,7 +108,7 @@ public class EnemyData {
      * @param id エネミーID
      * @return 敵編成
      */
-    public static EnemyData get(int id) {
+    public static synchronized EnemyData get(int id) {
         return ENEMY.get(id);
     }
 
@@ -109,50 +117,92 @@ public class EnemyData {
      * 
      * @return IDの一覧
      */
-    public static Set<Integer> keySet() {
-        return ENEMY.keySet();
+    public static synchronized Set<Integer> keySet() {
+        return new TreeSet<Integer>(ENEMY.keySet());
     }
 
-    public static void store() throws IOException {
+    /**
+     * 変更をジャーナルに追記します<br>
+     * ジャーナルが大きくなったら本体ファイルに統合します
+     */
+    public static synchronized void store() throws IOException {
         // 変更があったときだけ書き込む
-        if (modified) {
-            CSVWriter writer = new CSVWriter(new OutputStreamWriter(
-                    new FileOutputStream(AppConstants.ENEMY_DATA_FILE), AppConstants.CHARSET));
-            List<String> flatten = new ArrayList<String>();
+        if (pending.isEmpty()) {
+            return;
+        }
+        if ((journalLength + pending.size()) > COMPACT_THRESHOLD) {
+            compact();
+            return;
+        }
+        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(
+                new FileOutputStream(AppConstants.ENEMY_DATA_JOURNAL_FILE, true), AppConstants.CHARSET))) {
+            for (EnemyData data : pending) {
+                writer.writeNext(toRow(data));
+            }
+        }
+        journalLength += pending.size();
+        pending.clear();
+        LOG.info("Enemyジャーナル追記");
+    }
+
+    /**
+     * ジャーナルを本体ファイルに統合します
+     */
+    public static synchronized void compact() throws IOException {
+        if (pending.isEmpty() && (journalLength == 0)) {
+            return;
+        }
+        File tmp = new File(AppConstants.ENEMY_DATA_FILE.getAbsolutePath() + ".tmp");
+        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(
+                new FileOutputStream(tmp), AppConstants.CHARSET))) {
             for (Entry<Integer, EnemyData> e : ENEMY.entrySet()) {
-                EnemyData data = e.getValue();
-                flatten.add(String.valueOf(data.getEnemyId()));
-                for (String s : data.getEnemyShips()) {
-                    flatten.add(s);
-                }
-                flatten.add(data.getFormation());
-                if (data.getEnemyName() != null) {
-                    flatten.add(data.getEnemyName());
-                }
-                writer.writeNext(flatten.toArray(new String[flatten.size()]));
-                flatten.clear();
+                writer.writeNext(toRow(e.getValue()));
             }
-            writer.close();
-            ApplicationMain.sysPrint("Enemyファイル更新");
-            modified = false;
         }
+        ReportUtils.replaceFile(tmp, AppConstants.ENEMY_DATA_FILE);
+        AppConstants.ENEMY_DATA_JOURNAL_FILE.delete();
+        journalLength = 0;
+        pending.clear();
+        LOG.info("Enemyファイル更新");
+    }
+
+    private static String[] toRow(EnemyData data) {
+        List<String> flatten = new ArrayList<String>();
+        flatten.add(String.valueOf(data.getEnemyId()));
+        for (String s : data.getEnemyShips()) {
+            flatten.add(s);
+        }
+        flatten.add(data.getFormation());
+        if (data.getEnemyName() != null) {
+            flatten.add(data.getEnemyName());
+        }
+        return flatten.toArray(new String[flatten.size()]);
+    }
+
+    public static synchronized void load() throws IOException {
+        read(AppConstants.ENEMY_DATA_FILE);
+        // ジャーナルは後の行が優先
+        journalLength = read(AppConstants.ENEMY_DATA_JOURNAL_FILE);
     }
 
-    public static void load() throws IOException {
-        if (AppConstants.ENEMY_DATA_FILE.exists()) {
-            CSVReader reader = new CSVReader(new InputStreamReader(
-                    new FileInputStream(AppConstants.ENEMY_DATA_FILE), AppConstants.CHARSET));
-            for (String[] entry : reader.readAll()) {
-                if (entry.length >= 8) {
-                    String[] enemyShips = new String[6];
-                    System.arraycopy(entry, 1, enemyShips, 0, 6);
-                    int id = Integer.parseInt(entry[0]);
-                    String name = (entry.length >= 9) ? entry[8] : null;
-                    ENEMY.put(id, new EnemyData(id, name, enemyShips, entry[7]));
+    private static int read(File file) throws IOException {
+        int count = 0;
+        if (file.exists()) {
+            try (CSVReader reader = new CSVReader(new InputStreamReader(
+                    new FileInputStream(file), AppConstants.CHARSET))) {
+                for (String[] entry : reader.readAll()) {
+                    if (entry.length >= 8) {
+                        String[] enemyShips = new String[6];
+                        System.arraycopy(entry, 1, enemyShips, 0, 6);
+                        int id = Integer.parseInt(entry[0]);
+                        String name = (entry.length >= 9) ? entry[8] : null;
+                        ENEMY.put(id, new EnemyData(id, name, enemyShips, entry[7]));
+                        ++count;
+                    }
                 }
             }
-            reader.close();
         }
+        return count;
     }
 
     /**
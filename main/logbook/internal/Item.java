@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 import logbook.config.ItemMasterConfig;
 import logbook.dto.ItemInfoDto;
@@ -22,9 +21,10 @@ public class Item {
             0, 0, 0, 0, 0, 0, 0);
 
     /**
-     * アイテムプリセット値
+     * アイテム (初期値はプリセット値)
      */
-    private static final Map<Integer, ItemInfoDto> ITEM = new HashMap<Integer, ItemInfoDto>() {
+    private static final MasterTable<ItemInfoDto> ITEM = new MasterTable<ItemInfoDto>(
+            new HashMap<Integer, ItemInfoDto>() {
         {
             this.put(1, new ItemInfoDto(1, 1, 1, 0, 0, 0, 1, 0, 0, 1, 0, "12cm単装砲", 0, 0, 0, 0,
                     0, 0, 0, 0, 0, 0, 1));
@@ -385,7 +385,7 @@ public class Item {
             this.put(551, new ItemInfoDto(551, 3, 3, 0, 0, 0, 27, 0, 3, 3, 0, "20inch連装砲", 0, 0, 0, 4,
                     0, 0, 0, 0, 0, 0, 4));
         }
-    };
+    });
 
     // 始めてアクセスがあった時に読み込む
     public static final boolean INIT_COMPLETE;
@@ -401,6 +401,16 @@ public class Item {
         ITEM.put(id, item);
     }
 
+    /**
+     * アイテムをまとめて設定します<br>
+     * 全部設定し終わるまで、他のスレッドからは前の状態が見えます
+     * 
+     * @param items ID -> アイテム
+     */
+    public static void setAll(Map<Integer, ItemInfoDto> items) {
+        ITEM.putAll(items);
+    }
+
     /**
      * アイテムを取得します
      * 
@@ -414,14 +424,10 @@ public class Item {
     /**
      * IDの一覧を取得します
      * 
-     * @return IDの一覧
+     * @return IDの一覧 (昇順)
      */
-    public static Set<Integer> keySet() {
-        return ITEM.keySet();
-    }
-
-    public static Map<Integer, ItemInfoDto> getMap() {
-        return ITEM;
+    public static int[] getIds() {
+        return ITEM.getIds();
     }
 
     public static void dumpCSV(OutputStreamWriter fw) throws IOException {
@@ -430,8 +436,8 @@ public class Item {
                 ','));
         fw.write("\n");
 
-        for (Integer key : Item.keySet()) {
-            ItemInfoDto dto = Item.get(key);
+        for (int id : Item.getIds()) {
+            ItemInfoDto dto = Item.get(id);
             ShipParameters param = dto.getParam();
             if (dto.getName().length() > 0) {
                 fw.write(StringUtils.join(new String[] {
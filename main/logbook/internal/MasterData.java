@@ -19,15 +19,20 @@ import javax.json.JsonValue;
 import logbook.constants.AppConstants;
 import logbook.dto.JsonData;
 import logbook.dto.UseItemDto;
-import logbook.gui.ApplicationMain;
 import logbook.util.BeanUtils;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 /**
  * @author Nekopanda
  *
  */
 public class MasterData {
 
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(MasterData.class);
+
     private static class Holder {
         public static MasterData instance = null;
     }
@@ -39,13 +44,13 @@ public class MasterData {
      * 
      * 設定ファイルに書き込みます
      */
-    public static void store() throws IOException {
+    public static synchronized void store() throws IOException {
         if (Holder.instance == null) {
             return;
         }
         // 最終更新日時がファイル更新日時より新しい時だけ書き込む
         if (modified) {
-            ApplicationMain.sysPrint("マスターファイル更新");
+            LOG.info("マスターファイル更新");
             BeanUtils.writeObject(AppConstants.MASTER_DATA_CONFIG, Holder.instance);
             modified = false;
         }
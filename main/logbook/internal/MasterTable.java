@@ -0,0 +1,95 @@
+package logbook.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * マスターIDを添字にした配列でマスターデータを保持します<br>
+ * 更新するときは配列をコピーして差し替えるので、読み出しはロックせずに最新の配列をそのまま参照します<br>
+ * マスターIDは小さい連番なので、配列の大きさは最大のID+1になります
+ *
+ * @param <T> マスターデータの型
+ */
+final class MasterTable<T> {
+
+    private volatile Object[] table = new Object[0];
+
+    /**
+     * @param initial 初期値 (マスターID -> マスターデータ)
+     */
+    MasterTable(Map<Integer, ? extends T> initial) {
+        this.putAll(initial);
+    }
+
+    /**
+     * IDで取得します
+     * @param id マスターID
+     * @return マスターデータ (ない場合はnull)
+     */
+    @SuppressWarnings("unchecked")
+    T get(int id) {
+        Object[] table = this.table;
+        if ((id < 0) || (id >= table.length)) {
+            return null;
+        }
+        return (T) table[id];
+    }
+
+    /**
+     * 1件設定します
+     * @param id マスターID
+     * @param value マスターデータ
+     */
+    synchronized void put(int id, T value) {
+        checkId(id);
+        Object[] next = Arrays.copyOf(this.table, Math.max(this.table.length, id + 1));
+        next[id] = value;
+        this.table = next;
+    }
+
+    /**
+     * まとめて設定します<br>
+     * 配列のコピーは1回だけで、読み出し側からは全部設定した後の状態だけが見えます
+     * @param values マスターID -> マスターデータ
+     */
+    synchronized void putAll(Map<Integer, ? extends T> values) {
+        int length = this.table.length;
+        for (Integer id : values.keySet()) {
+            checkId(id);
+            length = Math.max(length, id + 1);
+        }
+        Object[] next = Arrays.copyOf(this.table, length);
+        for (Map.Entry<Integer, ? extends T> entry : values.entrySet()) {
+            next[entry.getKey()] = entry.getValue();
+        }
+        this.table = next;
+    }
+
+    /**
+     * 設定されているIDの一覧を取得します
+     * @return IDの一覧 (昇順)
+     */
+    int[] getIds() {
+        Object[] table = this.table;
+        int count = 0;
+        for (Object value : table) {
+            if (value != null) {
+                count++;
+            }
+        }
+        int[] ids = new int[count];
+        int n = 0;
+        for (int i = 0; i < table.length; ++i) {
+            if (table[i] != null) {
+                ids[n++] = i;
+            }
+        }
+        return ids;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("マスターIDが負です: " + id);
+        }
+    }
+}
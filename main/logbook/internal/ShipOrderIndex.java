@@ -0,0 +1,388 @@
+package logbook.internal;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import logbook.dto.ShipDto;
+
+/**
+ * 艦娘一覧のLv順・艦種順・NEW順・修理順の順位を保持します<br>
+ * 並び順ごとに部分木の大きさを持つ平衡二分木(Treap)を持ち、艦娘の追加・削除・Lvや耐久の変化のたびに
+ * その艦娘だけを入れ直すので、艦娘一覧を読み込み直すたびに全体を並べ替える必要がありません<br>
+ * 1隻の順位は部分木の大きさから O(log n) で求めます。
+ * 全艦の順位は変更後に最初に参照したときに木をなぞって表にし、以降はその表から O(1) で返します
+ */
+public final class ShipOrderIndex {
+
+    /** Lv順 */
+    public static final int LV = 0;
+    /** 艦種順 */
+    public static final int STYPE = 1;
+    /** NEW順 */
+    public static final int NEW = 2;
+    /** 修理順 */
+    public static final int REPAIR = 3;
+
+    /** 並び順の数 */
+    public static final int ORDER_COUNT = 4;
+
+    /** Lv順: Lvの高い順、同じなら図鑑番号順、ID順 */
+    private static final Comparator<Key> LV_ORDER = new Comparator<Key>() {
+        @Override
+        public int compare(Key o1, Key o2) {
+            int ret = -Integer.compare(o1.lv, o2.lv);
+            if (ret == 0) {
+                ret = compareBase(o1, o2);
+            }
+            return ret;
+        }
+    };
+
+    /** 艦種順: 艦種の大きい順、同じなら図鑑番号順、Lv順 */
+    private static final Comparator<Key> STYPE_ORDER = new Comparator<Key>() {
+        @Override
+        public int compare(Key o1, Key o2) {
+            int ret = -Integer.compare(o1.stype, o2.stype);
+            if (ret == 0) {
+                ret = Integer.compare(o1.sortno, o2.sortno);
+                if (ret == 0) {
+                    ret = LV_ORDER.compare(o1, o2);
+                }
+            }
+            return ret;
+        }
+    };
+
+    /** NEW順: IDの大きい順 */
+    private static final Comparator<Key> NEW_ORDER = new Comparator<Key>() {
+        @Override
+        public int compare(Key o1, Key o2) {
+            return -Integer.compare(o1.id, o2.id);
+        }
+    };
+
+    /** 修理順: 耐久の割合の低い順、同じなら図鑑番号順、ID順 */
+    private static final Comparator<Key> REPAIR_ORDER = new Comparator<Key>() {
+        @Override
+        public int compare(Key o1, Key o2) {
+            int ret = Double.compare(o1.hpRate, o2.hpRate);
+            if (ret == 0) {
+                ret = compareBase(o1, o2);
+            }
+            return ret;
+        }
+    };
+
+    private final Tree[] trees = new Tree[] {
+            new Tree(LV_ORDER), new Tree(STYPE_ORDER), new Tree(NEW_ORDER), new Tree(REPAIR_ORDER)
+    };
+
+    /** 艦娘ID -> 木に入れたときの値 */
+    private final Map<Integer, Key> keys = new HashMap<Integer, Key>();
+
+    /** 艦娘ID -> 順位 (変更されたらnull) */
+    private Map<Integer, int[]> ranks;
+
+    private static int compareBase(Key o1, Key o2) {
+        int ret = Integer.compare(o1.sortno, o2.sortno);
+        if (ret == 0) {
+            ret = Integer.compare(o1.id, o2.id);
+        }
+        return ret;
+    }
+
+    /**
+     * 艦娘を追加するか、順位に関わる値が変わっていれば入れ直します
+     *
+     * @param ship 艦娘
+     */
+    public synchronized void put(ShipDto ship) {
+        Key key = new Key(ship);
+        Key old = this.keys.put(key.id, key);
+        if (key.equals(old)) {
+            return;
+        }
+        for (Tree tree : this.trees) {
+            if (old != null) {
+                tree.remove(old);
+            }
+            tree.insert(key);
+        }
+        this.ranks = null;
+    }
+
+    /**
+     * 艦娘を取り除きます
+     *
+     * @param id 艦娘ID
+     */
+    public synchronized void remove(int id) {
+        Key old = this.keys.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (Tree tree : this.trees) {
+            tree.remove(old);
+        }
+        this.ranks = null;
+    }
+
+    /**
+     * いない艦娘を取り除きます<br>
+     * 艦娘の一覧を読み直したときは、全て {@link #put(ShipDto)} してからこれを呼ぶと変わった艦娘だけ入れ直します
+     *
+     * @param ids いる艦娘のID
+     */
+    public synchronized void retain(Collection<Integer> ids) {
+        Iterator<Key> it = this.keys.values().iterator();
+        while (it.hasNext()) {
+            Key old = it.next();
+            if (!ids.contains(old.id)) {
+                it.remove();
+                for (Tree tree : this.trees) {
+                    tree.remove(old);
+                }
+                this.ranks = null;
+            }
+        }
+    }
+
+    /**
+     * 全ての艦娘を取り除きます
+     */
+    public synchronized void clear() {
+        this.keys.clear();
+        for (Tree tree : this.trees) {
+            tree.root = null;
+        }
+        this.ranks = null;
+    }
+
+    /**
+     * 艦娘の数
+     * @return 艦娘の数
+     */
+    public synchronized int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * 艦娘の順位を取得します
+     *
+     * @param order 並び順 ({@link #LV}, {@link #STYPE}, {@link #NEW}, {@link #REPAIR})
+     * @param id 艦娘ID
+     * @return 順位 (ゼロ始まり, ない場合は-1)
+     */
+    public synchronized int getRank(int order, int id) {
+        if (this.ranks != null) {
+            int[] rank = this.ranks.get(id);
+            return (rank != null) ? rank[order] : -1;
+        }
+        Key key = this.keys.get(id);
+        return (key != null) ? this.trees[order].rank(key) : -1;
+    }
+
+    /**
+     * 艦娘のLv順, 艦種順, NEW順, 修理順の順位を取得します
+     *
+     * @param id 艦娘ID
+     * @return 順位 (ゼロ始まり, ない場合はnull)
+     */
+    public synchronized int[] getRanks(int id) {
+        if (this.ranks == null) {
+            Map<Integer, int[]> map = new HashMap<Integer, int[]>();
+            for (Integer shipId : this.keys.keySet()) {
+                map.put(shipId, new int[ORDER_COUNT]);
+            }
+            for (int i = 0; i < ORDER_COUNT; ++i) {
+                this.trees[i].fill(map, i);
+            }
+            this.ranks = map;
+        }
+        return this.ranks.get(id);
+    }
+
+    /**
+     * 木に入れる値 (入れている間は変更しない)
+     */
+    private static final class Key {
+        private final int id;
+        private final int lv;
+        private final int sortno;
+        private final int stype;
+        private final double hpRate;
+
+        Key(ShipDto ship) {
+            this.id = ship.getId();
+            this.lv = ship.getLv();
+            this.sortno = ship.getSortno();
+            this.stype = ship.getShipInfo().getStype();
+            this.hpRate = (double) ship.getNowhp() / (double) ship.getMaxhp();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return (this.id == other.id) && (this.lv == other.lv) && (this.sortno == other.sortno)
+                    && (this.stype == other.stype) && (Double.compare(this.hpRate, other.hpRate) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+    }
+
+    /**
+     * 部分木の大きさを持つTreap
+     */
+    private static final class Tree {
+        private final Comparator<Key> comparator;
+        private final Random random = new Random();
+        private Node root;
+
+        Tree(Comparator<Key> comparator) {
+            this.comparator = comparator;
+        }
+
+        void insert(Key key) {
+            this.root = this.insert(this.root, new Node(key, this.random.nextInt()));
+        }
+
+        private Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (added.priority > node.priority) {
+                Node[] split = this.split(node, added.key);
+                added.left = split[0];
+                added.right = split[1];
+                return added.update();
+            }
+            if (this.comparator.compare(added.key, node.key) < 0) {
+                node.left = this.insert(node.left, added);
+            }
+            else {
+                node.right = this.insert(node.right, added);
+            }
+            return node.update();
+        }
+
+        /** keyより小さいものと大きいものに分けます */
+        private Node[] split(Node node, Key key) {
+            if (node == null) {
+                return new Node[2];
+            }
+            if (this.comparator.compare(node.key, key) < 0) {
+                Node[] split = this.split(node.right, key);
+                node.right = split[0];
+                split[0] = node.update();
+                return split;
+            }
+            Node[] split = this.split(node.left, key);
+            node.left = split[1];
+            split[1] = node.update();
+            return split;
+        }
+
+        void remove(Key key) {
+            this.root = this.remove(this.root, key);
+        }
+
+        private Node remove(Node node, Key key) {
+            if (node == null) {
+                return null;
+            }
+            int cmp = this.comparator.compare(key, node.key);
+            if (cmp < 0) {
+                node.left = this.remove(node.left, key);
+            }
+            else if (cmp > 0) {
+                node.right = this.remove(node.right, key);
+            }
+            else {
+                return merge(node.left, node.right);
+            }
+            return node.update();
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                return left.update();
+            }
+            right.left = merge(left, right.left);
+            return right.update();
+        }
+
+        /** keyより小さいものの数 */
+        int rank(Key key) {
+            int rank = 0;
+            Node node = this.root;
+            while (node != null) {
+                int cmp = this.comparator.compare(key, node.key);
+                if (cmp <= 0) {
+                    if (cmp == 0) {
+                        return rank + size(node.left);
+                    }
+                    node = node.left;
+                }
+                else {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return rank;
+        }
+
+        private static int size(Node node) {
+            return (node != null) ? node.size : 0;
+        }
+
+        /** 小さい順に順位を書き込みます */
+        void fill(Map<Integer, int[]> ranks, int order) {
+            fill(this.root, ranks, order, 0);
+        }
+
+        private static int fill(Node node, Map<Integer, int[]> ranks, int order, int rank) {
+            if (node == null) {
+                return rank;
+            }
+            rank = fill(node.left, ranks, order, rank);
+            ranks.get(node.key.id)[order] = rank++;
+            return fill(node.right, ranks, order, rank);
+        }
+    }
+
+    private static final class Node {
+        private final Key key;
+        private final int priority;
+        private Node left;
+        private Node right;
+        /** 部分木の大きさ */
+        private int size = 1;
+
+        Node(Key key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+
+        Node update() {
+            this.size = 1 + Tree.size(this.left) + Tree.size(this.right);
+            return this;
+        }
+    }
+}
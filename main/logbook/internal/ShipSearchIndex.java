@@ -0,0 +1,85 @@
+package logbook.internal;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import logbook.dto.ItemInfoDto;
+import logbook.dto.ShipDto;
+
+/**
+ * 艦娘の名前・艦種・装備名から艦娘を探すための索引です<br>
+ * 文字列ごとに、その文字列を持つ艦娘のIDの集合を持ちます。
+ * 艦娘400隻・装備1600個でも異なる文字列は数百種類しかないので、
+ * 検索語は文字列の種類だけ調べて、見つかった集合を合わせるだけで済みます<br>
+ * 作成後は変更しないので、複数のスレッドから参照できます
+ */
+public final class ShipSearchIndex {
+
+    /** 文字列 -> その文字列を名前・艦種・装備名に持つ艦娘のID */
+    private final Map<String, BitSet> postings = new HashMap<String, BitSet>();
+
+    /**
+     * 索引を作成します
+     * 
+     * @param ships 艦娘
+     */
+    public ShipSearchIndex(Collection<ShipDto> ships) {
+        for (ShipDto ship : ships) {
+            int id = ship.getId();
+            this.add(ship.getName(), id);
+            this.add(ship.getType(), id);
+            for (ItemInfoDto itemDto : ship.getItem()) {
+                if (itemDto != null) {
+                    this.add(itemDto.getName(), id);
+                }
+            }
+        }
+    }
+
+    private void add(String text, int id) {
+        if (text == null) {
+            return;
+        }
+        BitSet ids = this.postings.get(text);
+        if (ids == null) {
+            ids = new BitSet();
+            this.postings.put(text, ids);
+        }
+        ids.set(id);
+    }
+
+    /**
+     * 名前・艦種・装備名のどれかに部分一致する艦娘を探します
+     * 
+     * @param word 検索語
+     * @return 艦娘のID
+     */
+    public BitSet find(String word) {
+        BitSet result = new BitSet();
+        for (Map.Entry<String, BitSet> entry : this.postings.entrySet()) {
+            if (entry.getKey().indexOf(word) != -1) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 名前・艦種・装備名のどれかが正規表現にマッチする艦娘を探します
+     * 
+     * @param pattern 正規表現
+     * @return 艦娘のID
+     */
+    public BitSet find(Pattern pattern) {
+        BitSet result = new BitSet();
+        for (Map.Entry<String, BitSet> entry : this.postings.entrySet()) {
+            if (pattern.matcher(entry.getKey()).find()) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,329 @@
+package logbook.internal;
+
+import java.util.List;
+
+import logbook.dto.ItemInfoDto;
+import logbook.dto.ShipBaseDto;
+import logbook.dto.ShipParameters;
+
+/**
+ * 艦娘1隻の装備から計算する値(索敵・制空・火力など)です<br>
+ * 艦・Lv・パラメータ・装備・搭載数が同じなら同じ値になるので、{@link ShipStatsCache} で使い回します<br>
+ * 作成後は変更しないので、複数のスレッドから参照できます
+ */
+public final class ShipStats {
+
+    /** 装備込の索敵値 */
+    private final int sakuteki;
+    /** 装備の索敵値計 */
+    private final int slotSakuteki;
+    /** 偵察機の索敵値計 (搭載数>0の場合のみ) */
+    private final int teisatsuSakuteki;
+    /** 電探の索敵値計 */
+    private final int dentanSakuteki;
+    /** 装備の種別が取得できていない */
+    private final boolean sakutekiFailed;
+
+    /** 2-5式(秋) 艦素索敵分 */
+    private final double v2Ship;
+    /** 2-5式(秋) 装備分 */
+    private final double v2Item;
+    /** 新秋簡易式 艦素索敵分 */
+    private final double v3Ship;
+    /** 新秋簡易式 装備分 */
+    private final double v3Item;
+
+    /** 制空値 */
+    private final int seiku;
+    /** ドラム缶の数 */
+    private final int dram;
+    /** 大発の数 */
+    private final int daihatsu;
+
+    /** 装備命中 */
+    private final int accuracy;
+    /** 砲撃戦火力 */
+    private final int hougekiPower;
+    /** 雷撃戦火力 */
+    private final int raigekiPower;
+    /** 対潜火力 */
+    private final int taisenPower;
+    /** 夜戦火力 */
+    private final int yasenPower;
+
+    /**
+     * 計算します
+     *
+     * @param ship 艦娘か敵艦
+     */
+    public ShipStats(ShipBaseDto ship) {
+        List<ItemInfoDto> items = ship.getItem();
+        this.sakuteki = ship.getSakuteki();
+
+        int slotSakuteki = 0;
+        int teisatsuSakuteki = 0;
+        int dentanSakuteki = 0;
+        boolean sakutekiFailed = false;
+        // 2-5式の装備種別ごとの索敵値計
+        int kanbaku = 0;
+        int kanko = 0;
+        int kantei = 0;
+        int suitei = 0;
+        int suibaku = 0;
+        int kogataDentan = 0;
+        int oogataDentan = 0;
+        int tansyouto = 0;
+        int other = 0;
+        int seiku = 0;
+        int dram = 0;
+        int daihatsu = 0;
+        int[] onslot = ship.getOnSlot();
+        for (int i = 0; i < items.size(); i++) {
+            ItemInfoDto item = items.get(i);
+            if (item == null) {
+                continue;
+            }
+            int saku = item.getParam().getSaku();
+            slotSakuteki += saku;
+            if (item.getType1() == 0) { // 取得できていない
+                sakutekiFailed = true;
+            }
+            if (item.getType1() == 7) { // 7: 偵察機 (搭載数>0の場合のみ)
+                if (getOnSlot(onslot, i) > 0) {
+                    teisatsuSakuteki += saku;
+                }
+            }
+            if (item.getType1() == 8) { // 8: 電探
+                dentanSakuteki += saku;
+            }
+            switch (item.getType2()) {
+            case 7: // 艦上爆撃機
+                kanbaku += saku;
+                break;
+            case 8: // 艦上攻撃機
+                kanko += saku;
+                break;
+            case 9: // 艦上偵察機
+                kantei += saku;
+                break;
+            case 10: // 水上偵察機
+                suitei += saku;
+                break;
+            case 11: // 水上爆撃機
+                suibaku += saku;
+                break;
+            case 12: // 小型電探
+                kogataDentan += saku;
+                break;
+            case 13: // 大型電探
+                oogataDentan += saku;
+                break;
+            case 29: // 探照灯
+                tansyouto += saku;
+                break;
+            default: // その他
+                other += saku;
+                break;
+            }
+            if ((item.getType2() == 6)
+                    || (item.getType2() == 7)
+                    || (item.getType2() == 8)
+                    || (item.getType2() == 11)) {
+                //6:艦上戦闘機,7:艦上爆撃機,8:艦上攻撃機,11:瑞雲系の水上偵察機の場合は制空値を計算する
+                seiku += (int) Math.floor(item.getParam().getTyku() * Math.sqrt(getOnSlot(onslot, i)));
+            }
+            if ("ドラム缶(輸送用)".equals(item.getName())) {
+                dram++;
+            }
+            if ("大発動艇".equals(item.getName())) {
+                daihatsu++;
+            }
+        }
+        this.slotSakuteki = slotSakuteki;
+        this.teisatsuSakuteki = teisatsuSakuteki;
+        this.dentanSakuteki = dentanSakuteki;
+        this.sakutekiFailed = sakutekiFailed;
+        this.seiku = seiku;
+        this.dram = dram;
+        this.daihatsu = daihatsu;
+
+        // 艦素の索敵値
+        int shipSakuteki = this.sakuteki - slotSakuteki;
+        this.v2Item = (kanbaku * (1.0376255))
+                + (kanko * (1.3677954))
+                + (kantei * (1.6592780))
+                + (suitei * (2.0000000))
+                + (suibaku * (1.7787282))
+                + (kogataDentan * (1.0045358))
+                + (oogataDentan * (0.9906638))
+                + (tansyouto * (0.9067950));
+        this.v2Ship = (Math.sqrt(shipSakuteki) * (1.6841056));
+        this.v3Item = (kanbaku * 0.6)
+                + (kanko * 0.8)
+                + (kantei * 1.0)
+                + (suitei * 1.2)
+                + (suibaku * 1.0)
+                + (kogataDentan * 0.6)
+                + (oogataDentan * 0.6)
+                + (tansyouto * 0.5)
+                + (other * 0.5);
+        this.v3Ship = Math.sqrt(shipSakuteki);
+
+        // 火力 (艦娘一覧の火力と同じ計算)
+        ShipParameters param = ship.getParam();
+        ShipParameters slotParam = ship.getSlotParam();
+        if ((param != null) && (slotParam != null)) {
+            switch (ship.getStype()) {
+            case 7: // 軽空母
+            case 11: // 正規空母
+            case 16: // 水上機母艦
+            case 18: // 装甲空母
+                // (火力 + 雷装) × 1.5 + 爆装 × 2 + 55
+                this.hougekiPower = (int) Math.floor((param.getHoug() + slotParam.getRaig()) * 1.5)
+                        + (slotParam.getBaku() * 2) + 55;
+                break;
+            default:
+                this.hougekiPower = param.getHoug() + 5;
+                break;
+            }
+            // 対潜 = [ 艦船の対潜 ÷ 5 ] + 装備の対潜 × 2 + 25
+            int taisenItem = slotParam.getTais();
+            int taisenShip = param.getTais() - taisenItem;
+            this.taisenPower = (int) Math.floor(taisenShip / 5.0) + (taisenItem * 2) + 25;
+            this.accuracy = slotParam.getHoum();
+            this.raigekiPower = param.getRaig() + 5;
+            this.yasenPower = param.getHoug() + param.getRaig();
+        }
+        else {
+            this.hougekiPower = 0;
+            this.taisenPower = 0;
+            this.accuracy = 0;
+            this.raigekiPower = 0;
+            this.yasenPower = 0;
+        }
+    }
+
+    /** 搭載数 (敵艦で搭載数がわからない場合は0) */
+    private static int getOnSlot(int[] onslot, int i) {
+        return ((onslot != null) && (i < onslot.length)) ? onslot[i] : 0;
+    }
+
+    /**
+     * @return 装備込の索敵値
+     */
+    public int getSakuteki() {
+        return this.sakuteki;
+    }
+
+    /**
+     * @return 装備の索敵値計
+     */
+    public int getSlotSakuteki() {
+        return this.slotSakuteki;
+    }
+
+    /**
+     * @return 偵察機の索敵値計 (搭載数>0の場合のみ)
+     */
+    public int getTeisatsuSakuteki() {
+        return this.teisatsuSakuteki;
+    }
+
+    /**
+     * @return 電探の索敵値計
+     */
+    public int getDentanSakuteki() {
+        return this.dentanSakuteki;
+    }
+
+    /**
+     * @return 装備の種別が取得できていない場合true
+     */
+    public boolean isSakutekiFailed() {
+        return this.sakutekiFailed;
+    }
+
+    /**
+     * @return 2-5式(秋) 艦素索敵分
+     */
+    public double getV2Ship() {
+        return this.v2Ship;
+    }
+
+    /**
+     * @return 2-5式(秋) 装備分
+     */
+    public double getV2Item() {
+        return this.v2Item;
+    }
+
+    /**
+     * @return 新秋簡易式 艦素索敵分
+     */
+    public double getV3Ship() {
+        return this.v3Ship;
+    }
+
+    /**
+     * @return 新秋簡易式 装備分
+     */
+    public double getV3Item() {
+        return this.v3Item;
+    }
+
+    /**
+     * @return 制空値
+     */
+    public int getSeiku() {
+        return this.seiku;
+    }
+
+    /**
+     * @return ドラム缶の数
+     */
+    public int getDram() {
+        return this.dram;
+    }
+
+    /**
+     * @return 大発の数
+     */
+    public int getDaihatsu() {
+        return this.daihatsu;
+    }
+
+    /**
+     * @return 装備命中
+     */
+    public int getAccuracy() {
+        return this.accuracy;
+    }
+
+    /**
+     * @return 砲撃戦火力
+     */
+    public int getHougekiPower() {
+        return this.hougekiPower;
+    }
+
+    /**
+     * @return 雷撃戦火力
+     */
+    public int getRaigekiPower() {
+        return this.raigekiPower;
+    }
+
+    /**
+     * @return 対潜火力
+     */
+    public int getTaisenPower() {
+        return this.taisenPower;
+    }
+
+    /**
+     * @return 夜戦火力
+     */
+    public int getYasenPower() {
+        return this.yasenPower;
+    }
+}
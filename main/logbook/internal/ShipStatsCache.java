@@ -0,0 +1,126 @@
+package logbook.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import logbook.dto.ItemInfoDto;
+import logbook.dto.ShipBaseDto;
+import logbook.dto.ShipDto;
+import logbook.dto.ShipInfoDto;
+import logbook.dto.ShipParameters;
+
+/**
+ * 艦娘ごとに {@link ShipStats} を保持します<br>
+ * 母港を読み込むたびに艦娘のオブジェクトは作り直されますが、
+ * 艦・Lv・パラメータ・装備・搭載数が前回と同じなら前回計算した値を返します。
+ * 装備の変更・Lvアップ・近代化改修などで変わったときだけ計算し直します<br>
+ * 保持するのは保有している艦娘(艦娘のマップにあるものと同じオブジェクト)だけです。
+ * 敵艦や、出撃ログなどに記録された過去の艦娘は保持せずに毎回計算します
+ */
+public final class ShipStatsCache {
+
+    /** 保有している艦娘 */
+    private final Map<Integer, ShipDto> ships;
+
+    /** 艦娘ID -> 計算した値 */
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<Integer, Entry>();
+
+    /**
+     * @param ships 保有している艦娘 (艦娘ID -> 艦娘)
+     */
+    public ShipStatsCache(Map<Integer, ShipDto> ships) {
+        this.ships = ships;
+    }
+
+    /**
+     * 艦娘の装備から計算する値を取得します
+     *
+     * @param ship 艦娘か敵艦
+     * @return 計算した値
+     */
+    public ShipStats get(ShipBaseDto ship) {
+        if (!(ship instanceof ShipDto)) {
+            return new ShipStats(ship);
+        }
+        ShipDto dto = (ShipDto) ship;
+        Integer id = dto.getId();
+        if (this.ships.get(id) != dto) {
+            // 過去の艦娘で今の艦娘の値を上書きしないように、保有している艦娘以外は保持しない
+            return new ShipStats(dto);
+        }
+        Entry entry = this.entries.get(id);
+        if ((entry == null) || !entry.matches(dto)) {
+            entry = new Entry(dto);
+            this.entries.put(id, entry);
+        }
+        return entry.stats;
+    }
+
+    /**
+     * 艦娘を取り除きます
+     *
+     * @param id 艦娘ID
+     */
+    public void remove(int id) {
+        this.entries.remove(id);
+    }
+
+    /**
+     * いない艦娘を取り除きます
+     *
+     * @param ids いる艦娘のID
+     */
+    public void retain(Collection<Integer> ids) {
+        this.entries.keySet().retainAll(ids);
+    }
+
+    /**
+     * 計算に使った値と、計算した値
+     */
+    private static final class Entry {
+        private final ShipInfoDto shipInfo;
+        private final int lv;
+        private final ShipParameters param;
+        private final ItemInfoDto[] items;
+        private final int[] onslot;
+        private final ShipStats stats;
+
+        Entry(ShipDto ship) {
+            this.shipInfo = ship.getShipInfo();
+            this.lv = ship.getLv();
+            this.param = ship.getParam();
+            this.items = toArray(ship.getItem());
+            this.onslot = (ship.getOnSlot() != null) ? ship.getOnSlot().clone() : null;
+            this.stats = new ShipStats(ship);
+        }
+
+        boolean matches(ShipDto ship) {
+            if ((this.shipInfo != ship.getShipInfo()) || (this.lv != ship.getLv())
+                    || !Arrays.equals(this.onslot, ship.getOnSlot())) {
+                return false;
+            }
+            ShipParameters other = ship.getParam();
+            if ((this.param != other) && ((this.param == null) || !this.param.equals(other))) {
+                return false;
+            }
+            // 装備はマスターデータの参照で比べる (マスターデータが更新されたら計算し直す)
+            List<ItemInfoDto> items = ship.getItem();
+            if (items.size() != this.items.length) {
+                return false;
+            }
+            for (int i = 0; i < this.items.length; ++i) {
+                if (items.get(i) != this.items[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static ItemInfoDto[] toArray(List<ItemInfoDto> items) {
+            return items.toArray(new ItemInfoDto[items.size()]);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package logbook.internal;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import logbook.config.ShipGroupConfig;
+import logbook.data.context.GlobalContext;
+import logbook.scripting.BattleLogProxy;
+import logbook.scripting.EventListenerProxy;
+import logbook.scripting.ItemInfoProxy;
+import logbook.scripting.MissionProxy;
+import logbook.scripting.ShipItemProxy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 起動時の設定ファイル読み込みを依存関係に従って並列に実行します<br>
+ * 各設定はstatic initializerで遅延読み込みされるので、ここでは先に触っておくことで
+ * UIスレッドがウィンドウ構築中に読み込みを待たされないようにします<br>
+ * 画面なしで記録する場合(--headless)も同じ順序で読み込みます
+ */
+public final class StartupOrchestrator {
+
+    private static final Logger LOG = LogManager.getLogger(StartupOrchestrator.class);
+
+    /**
+     * 起動フェーズ<br>
+     * 依存するフェーズは必ず先に宣言すること
+     */
+    public static enum Phase {
+        /** ShipConfig */
+        SHIP_CONFIG {
+            @Override
+            boolean load() {
+                return Ship.INIT_COMPLETE;
+            }
+        },
+        /** MasterData */
+        MASTER_DATA {
+            @Override
+            boolean load() {
+                return MasterData.INIT_COMPLETE;
+            }
+        },
+        /** ShipGroupConfig */
+        SHIP_GROUP_CONFIG {
+            @Override
+            boolean load() {
+                return ShipGroupConfig.get() != null;
+            }
+        },
+        /** ItemMasterConfig */
+        ITEM_MASTER_CONFIG {
+            @Override
+            boolean load() {
+                return Item.INIT_COMPLETE;
+            }
+        },
+        /** EnemyData */
+        ENEMY_DATA {
+            @Override
+            boolean load() {
+                return EnemyData.INIT_COMPLETE;
+            }
+        },
+        /** ItemConfig (装備マスターが必要) */
+        ITEM_CONFIG(ITEM_MASTER_CONFIG) {
+            @Override
+            boolean load() {
+                return GlobalContext.INIT_COMPLETE;
+            }
+        },
+        /** ユーザスクリプト */
+        SCRIPT {
+            @Override
+            boolean load() {
+                EventListenerProxy.get();
+                ShipItemProxy.get();
+                ItemInfoProxy.get();
+                MissionProxy.get();
+                BattleLogProxy.get();
+                return true;
+            }
+        },
+        /** 出撃ログ (全ての設定とスクリプトが必要) */
+        BATTLE_LOG(SHIP_CONFIG, MASTER_DATA, ITEM_MASTER_CONFIG, ENEMY_DATA, ITEM_CONFIG, SCRIPT) {
+            @Override
+            boolean load() {
+                BattleResultServer.get();
+                return true;
+            }
+        };
+
+        private final Phase[] depends;
+
+        private Phase(Phase... depends) {
+            this.depends = depends;
+        }
+
+        /**
+         * 読み込みを実行します
+         * @return 読み込みに成功したか
+         */
+        abstract boolean load();
+
+        /**
+         * 設定ファイルのフェーズか
+         */
+        boolean isConfig() {
+            return (this != SCRIPT) && (this != BATTLE_LOG);
+        }
+    }
+
+    /** フェーズの実行状態 */
+    private static final class PhaseState {
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Phase> dependents = new ArrayList<Phase>();
+        final AtomicInteger waiting;
+        volatile long begin;
+        volatile long end;
+        volatile boolean success;
+
+        PhaseState(Phase phase) {
+            this.waiting = new AtomicInteger(phase.depends.length);
+        }
+    }
+
+    private static final Map<Phase, PhaseState> states = new EnumMap<Phase, PhaseState>(Phase.class);
+
+    private static final AtomicInteger remaining = new AtomicInteger(Phase.values().length);
+
+    private static ExecutorService executor;
+
+    private static long startTime;
+
+    static {
+        for (Phase phase : Phase.values()) {
+            states.put(phase, new PhaseState(phase));
+        }
+        for (Phase phase : Phase.values()) {
+            for (Phase depend : phase.depends) {
+                states.get(depend).dependents.add(phase);
+            }
+        }
+    }
+
+    /**
+     * 読み込みを開始します<br>
+     * AppConfigの読み込み後に呼び出してください
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        startTime = System.currentTimeMillis();
+        int nThreads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(nThreads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "logbook_startup_" + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (Phase phase : Phase.values()) {
+            if (phase.depends.length == 0) {
+                submit(phase);
+            }
+        }
+    }
+
+    /**
+     * フェーズの完了を待ちます
+     * @param phase フェーズ
+     * @return 読み込みに成功したか
+     */
+    public static boolean await(Phase phase) throws InterruptedException {
+        start();
+        PhaseState state = states.get(phase);
+        state.done.await();
+        return state.success;
+    }
+
+    /**
+     * 全ての設定ファイルの読み込み完了を待ちます
+     * @return 全て読み込みに成功したか
+     */
+    public static boolean awaitConfig() throws InterruptedException {
+        boolean success = true;
+        for (Phase phase : Phase.values()) {
+            if (phase.isConfig()) {
+                success &= await(phase);
+            }
+        }
+        return success;
+    }
+
+    private static void submit(final Phase phase) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                execute(phase);
+            }
+        });
+    }
+
+    private static void execute(Phase phase) {
+        PhaseState state = states.get(phase);
+        state.begin = System.currentTimeMillis();
+        try {
+            state.success = phase.load();
+        } catch (Throwable e) {
+            LOG.warn(phase + " の読み込みでエラーが発生しました", e);
+        }
+        state.end = System.currentTimeMillis();
+        state.done.countDown();
+
+        // 依存が解決したフェーズを開始
+        for (Phase dependent : state.dependents) {
+            if (states.get(dependent).waiting.decrementAndGet() == 0) {
+                submit(dependent);
+            }
+        }
+        if (remaining.decrementAndGet() == 0) {
+            executor.shutdown();
+            printTimeline();
+        }
+    }
+
+    /**
+     * フェーズごとの開始・終了時刻を出力します
+     */
+    private static void printTimeline() {
+        StringBuilder sb = new StringBuilder("起動タイムライン (開始からのms)");
+        for (Phase phase : Phase.values()) {
+            PhaseState state = states.get(phase);
+            sb.append("\n  ").append(phase)
+                    .append(": ").append(state.begin - startTime)
+                    .append(" - ").append(state.end - startTime)
+                    .append(" (").append(state.end - state.begin).append(" ms)");
+            if (!state.success) {
+                sb.append(" 失敗");
+            }
+        }
+        LOG.info(sb.toString());
+    }
+}
@@ -0,0 +1,343 @@
+package logbook.server;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import logbook.config.AppConfig;
+import logbook.config.ItemConfig;
+import logbook.config.ItemMasterConfig;
+import logbook.config.ShipConfig;
+import logbook.config.ShipGroupConfig;
+import logbook.data.JsonArchive;
+import logbook.data.context.ContextExecutor;
+import logbook.data.context.GlobalContext;
+import logbook.data.context.GlobalContextListener;
+import logbook.data.context.SessionManager;
+import logbook.dto.BattleExDto;
+import logbook.dto.CreateItemDto;
+import logbook.dto.GetShipDto;
+import logbook.dto.MapCellDto;
+import logbook.dto.MissionResultDto;
+import logbook.dto.PracticeUserDetailDto;
+import logbook.gui.logic.CreateReportLogic;
+import logbook.internal.BattleResultServer;
+import logbook.internal.EnemyData;
+import logbook.internal.MasterData;
+import logbook.internal.StartupOrchestrator;
+import logbook.server.proxy.DatabaseClient;
+import logbook.server.proxy.ProxyServer;
+import logbook.thread.PersistenceThread;
+import logbook.thread.ThreadManager;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 画面なしで通信のキャプチャと記録だけを行います (--headless)<br>
+ * プロキシ、GlobalContextの更新、報告書・出撃ログ・JSONの保存、統計データベースへの送信を行い、
+ * localhostに状態を返すエンドポイントを立てます<br>
+ * SWTのクラスは使わないので、ディスプレイのないサーバーで動かせます<br>
+ * <br>
+ * 使い方: java -jar logbook.jar --headless [--status-port ポート番号]<br>
+ * 設定は画面ありの場合と同じ設定ファイルを使います。状態は http://localhost:ポート番号/ で取得できます
+ */
+public final class HeadlessRecorder {
+
+    private static final Logger LOG = LogManager.getLogger(HeadlessRecorder.class);
+
+    /**
+     * GlobalContextのメッセージをログに出します
+     */
+    private static final class LogListener implements GlobalContextListener {
+
+        @Override
+        public void startSortie() {
+        }
+
+        @Override
+        public void endSortie() {
+        }
+
+        @Override
+        public void updateSortieDock() {
+        }
+
+        @Override
+        public void updateMapCell(MapCellDto mapCellDto) {
+        }
+
+        @Override
+        public void updateBattle(BattleExDto battleDto) {
+        }
+
+        @Override
+        public void updatePracticeUser(PracticeUserDetailDto practiceUserExDto) {
+        }
+
+        @Override
+        public void printMessage(String message) {
+            LOG.info(message);
+        }
+
+        @Override
+        public void warning(String title, String message) {
+            LOG.warn(title + ": " + message);
+        }
+    }
+
+    /**
+     * 終了処理の手順<br>
+     * 前から順に行います。1つが失敗しても残り(設定の保存など)は行います
+     */
+    private static enum ShutdownStep {
+        STATUS_SERVER {
+            @Override
+            void run(ShutdownHookThread hook) {
+                StatusServer.end();
+            }
+        },
+        PROXY_SERVER {
+            @Override
+            void run(ShutdownHookThread hook) {
+                ProxyServer.end();
+            }
+        },
+        /** 受け取り済みのデータを反映してから保存する */
+        CONTEXT_THREAD {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                hook.contextThread.shutdown();
+                hook.contextThread.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        },
+        /** 主アカウント以外のセッションも同様 */
+        SESSIONS {
+            @Override
+            void run(ShutdownHookThread hook) {
+                SessionManager.shutdown(TimeUnit.SECONDS.toMillis(10));
+            }
+        },
+        DATABASE_CLIENT {
+            @Override
+            void run(ShutdownHookThread hook) {
+                DatabaseClient.end();
+            }
+        },
+        /** 保存待ちのJSONを書き込む */
+        JSON_ARCHIVE {
+            @Override
+            void run(ShutdownHookThread hook) {
+                JsonArchive.close();
+            }
+        },
+        APP_CONFIG {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                AppConfig.store();
+            }
+        },
+        SHIP_CONFIG {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                ShipConfig.store();
+            }
+        },
+        SHIP_GROUP_CONFIG {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                ShipGroupConfig.store();
+            }
+        },
+        ITEM_MASTER_CONFIG {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                ItemMasterConfig.store();
+            }
+        },
+        ITEM_CONFIG {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                ItemConfig.store();
+            }
+        },
+        MASTER_DATA {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                MasterData.store();
+            }
+        },
+        ENEMY_DATA {
+            @Override
+            void run(ShutdownHookThread hook) throws Exception {
+                EnemyData.compact();
+            }
+        };
+
+        abstract void run(ShutdownHookThread hook) throws Exception;
+    }
+
+    /**
+     * 終了処理を行います
+     */
+    private static final class ShutdownHookThread implements Runnable {
+
+        private final ExecutorService contextThread;
+
+        ShutdownHookThread(ExecutorService contextThread) {
+            this.contextThread = contextThread;
+        }
+
+        @Override
+        public void run() {
+            for (ShutdownStep step : ShutdownStep.values()) {
+                try {
+                    step.run(this);
+                } catch (Throwable e) {
+                    // Errorでも残りの保存は行う
+                    LOG.fatal("終了処理に失敗しました: " + step, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) {
+        try {
+            AppConfig.load();
+            int statusPort = AppConfig.get().getHeadlessStatusPort();
+            for (int i = 0; i < args.length; ++i) {
+                if ("--status-port".equals(args[i]) && ((i + 1) < args.length)) {
+                    statusPort = Integer.parseInt(args[++i]);
+                }
+            }
+            // 処理開始前に必要な値をセット
+            BattleResultServer.setLogPath(AppConfig.get().getBattleLogPath());
+            // 残りの設定ファイルは並列に読み込む
+            StartupOrchestrator.start();
+
+            // GlobalContextを更新するスレッド
+            final ExecutorService contextThread = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    return new Thread(r, "logbook_context");
+                }
+            });
+            ContextExecutor.setExecutor(new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    contextThread.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                command.run();
+                            } catch (Exception e) {
+                                LOG.warn("通信データの処理に失敗しました", e);
+                            }
+                            PersistenceThread.request();
+                        }
+                    });
+                }
+            });
+            GlobalContext.addContextListener(new LogListener());
+            Runtime.getRuntime().addShutdownHook(new Thread(new ShutdownHookThread(contextThread)));
+
+            // JSONを保存するスレッド
+            ThreadManager.regist(new JsonArchive.WriterThread());
+            // 設定ファイルを書き込むスレッド
+            ThreadManager.regist(new PersistenceThread());
+            ThreadManager.start();
+
+            ProxyServer.start();
+            LOG.info("プロキシサーバーを開始しました (ポート " + AppConfig.get().getListenPort() + ")");
+            StatusServer.start(statusPort);
+            LOG.info("状態を http://localhost:" + statusPort + "/ で取得できます");
+
+            loadLogs();
+
+            // 終了するまで待つ
+            new CountDownLatch(1).await();
+        } catch (Exception e) {
+            LOG.fatal("メインスレッドが異常終了しました", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 設定ファイルと過去のログを読み込みます
+     */
+    private static void loadLogs() {
+        try {
+            if (!StartupOrchestrator.awaitConfig()) {
+                LOG.warn("設定ファイルの読み込みに失敗したっぽい？");
+            }
+        } catch (Exception e) {
+            LOG.warn("設定ファイル読み込みでエラーが発生しました", e);
+        }
+
+        try {
+            // 遠征ログ
+            final List<MissionResultDto> missionResultList = AppConfig.get().isLoadMissionLog() ?
+                    CreateReportLogic.loadMissionReport() : null;
+            if (missionResultList != null) {
+                ContextExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        GlobalContext.addMissionResultList(missionResultList);
+                        LOG.info("遠征ログ読み込み完了(" + missionResultList.size() + "件)");
+                    }
+                });
+            }
+        } catch (Exception e) {
+            LOG.warn("遠征ログ読み込みでエラー", e);
+        }
+
+        try {
+            // 建造ログ
+            final List<GetShipDto> createShipList = AppConfig.get().isLoadCreateShipLog() ?
+                    CreateReportLogic.loadCreateShipReport() : null;
+            if (createShipList != null) {
+                ContextExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        GlobalContext.addGetshipList(createShipList);
+                        LOG.info("建造ログ読み込み完了(" + createShipList.size() + "件)");
+                    }
+                });
+            }
+        } catch (Exception e) {
+            LOG.warn("建造ログ読み込みでエラー", e);
+        }
+
+        try {
+            // 開発ログ
+            final List<CreateItemDto> createItemList = AppConfig.get().isLoadCreateItemLog() ?
+                    CreateReportLogic.loadCreateItemReport() : null;
+            if (createItemList != null) {
+                ContextExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        GlobalContext.addCreateItemList(createItemList);
+                        LOG.info("開発ログ読み込み完了(" + createItemList.size() + "件)");
+                    }
+                });
+            }
+        } catch (Exception e) {
+            LOG.warn("開発ログ読み込みでエラー", e);
+        }
+
+        try {
+            // 出撃ログファイル読み込み
+            StartupOrchestrator.await(StartupOrchestrator.Phase.BATTLE_LOG);
+            LOG.info("出撃ログ読み込み完了(" + BattleResultServer.get().size() + "件)");
+        } catch (Exception e) {
+            LOG.warn("出撃ログの読み込みに失敗しました (" + AppConfig.get().getBattleLogPath() + ")", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package logbook.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import logbook.config.AppConfig;
+import logbook.constants.AppConstants;
+import logbook.data.JsonArchive;
+import logbook.data.context.ContextExecutor;
+import logbook.data.context.GlobalContext;
+import logbook.data.context.SessionContext;
+import logbook.data.context.SessionManager;
+import logbook.dto.BasicInfoDto;
+import logbook.server.proxy.AssetCache;
+import logbook.server.proxy.CaptureQueue;
+import logbook.server.proxy.DatabaseClient;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+/**
+ * 画面なしで動いているときの状態をlocalhostにJSONで返します<br>
+ * キャプチャした数と処理した数、待ちの数、最後にキャプチャ・処理した時刻などを返します
+ */
+public final class StatusServer {
+
+    private static final Logger LOG = LogManager.getLogger(StatusServer.class);
+
+    private static Server server;
+
+    /** 開始した時刻 */
+    private static long startTime;
+
+    /**
+     * 開始します
+     * 
+     * @param port ポート番号
+     */
+    public static synchronized void start(int port) {
+        try {
+            startTime = System.currentTimeMillis();
+            server = new Server(new InetSocketAddress("localhost", port));
+            server.setHandler(new AbstractHandler() {
+                @Override
+                public void handle(String target, Request baseRequest, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+                    baseRequest.setHandled(true);
+                    response.setStatus(HttpServletResponse.SC_OK);
+                    response.setContentType("application/json; charset=UTF-8");
+                    try (JsonWriter writer = Json.createWriter(response.getWriter())) {
+                        writer.writeObject(getStatus().build());
+                    }
+                }
+            });
+            server.start();
+        } catch (Exception e) {
+            LOG.fatal("状態サーバーの起動に失敗しました", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 終了します
+     */
+    public static synchronized void end() {
+        try {
+            if (server != null) {
+                server.stop();
+                server = null;
+            }
+        } catch (Exception e) {
+            LOG.warn("状態サーバーの終了に失敗しました", e);
+        }
+    }
+
+    /**
+     * 現在の状態を作成します
+     * 
+     * @return 状態
+     */
+    public static JsonObjectBuilder getStatus() {
+        long now = System.currentTimeMillis();
+        long uptime = now - startTime;
+        long completed = ContextExecutor.getCompletedCount();
+        return Json.createObjectBuilder()
+                .add("version", AppConstants.VERSION)
+                .add("time", formatTime(now))
+                .add("uptimeSeconds", uptime / 1000)
+                .add("captured", ContextExecutor.getSubmittedCount())
+                .add("processed", completed)
+                .add("processedPerMinute", (uptime > 0) ? ((completed * 60000.0) / uptime) : 0)
+                .add("updateCounter", GlobalContext.getUpdateCounter())
+                .add("lastCaptured", formatTime(ContextExecutor.getLastSubmitted()))
+                .add("lastProcessed", formatTime(ContextExecutor.getLastCompleted()))
+                .add("queue", Json.createObjectBuilder()
+                        .add("capture", CaptureQueue.getQueueSize())
+                        .add("context", ContextExecutor.getQueueSize())
+                        .add("jsonArchive", JsonArchive.getQueueSize())
+                        .add("database", DatabaseClient.getQueueSize()))
+                .add("capture", Json.createObjectBuilder()
+                        .add("captured", CaptureQueue.getCapturedCount())
+                        .add("decoded", CaptureQueue.getDecodedCount())
+                        .add("updated", CaptureQueue.getUpdatedCount())
+                        .add("full", CaptureQueue.getFullCount())
+                        .add("lagLastMillis", CaptureQueue.getLastLag())
+                        .add("lagAverageMillis", CaptureQueue.getAverageLag())
+                        .add("lagMaxMillis", CaptureQueue.getMaxLag()))
+                .add("database", Json.createObjectBuilder()
+                        .add("sent", DatabaseClient.getSentCount())
+                        .add("failed", DatabaseClient.getFailedCount())
+                        .add("dropped", DatabaseClient.getDroppedCount())
+                        .add("queueAgeSeconds", DatabaseClient.getQueueAge() / 1000))
+                .add("assetCache", Json.createObjectBuilder()
+                        .add("enabled", AppConfig.get().isUseAssetCache())
+                        .add("hit", AssetCache.getHitCount())
+                        .add("validated", AssetCache.getValidatedCount())
+                        .add("miss", AssetCache.getMissCount())
+                        .add("hitRatio", AssetCache.getHitRatio())
+                        .add("stored", AssetCache.getStoredCount())
+                        .add("evicted", AssetCache.getEvictedCount())
+                        .add("entries", AssetCache.getEntryCount())
+                        .add("totalBytes", AssetCache.getTotalBytes())
+                        .add("bytesFromCache", AssetCache.getBytesFromCache())
+                        .add("bytesFromServer", AssetCache.getBytesFromServer()))
+                .add("sessions", getSessions());
+    }
+
+    private static JsonObjectBuilder getSessions() {
+        JsonArrayBuilder list = Json.createArrayBuilder();
+        for (SessionContext context : SessionManager.getSessions()) {
+            BasicInfoDto basic = context.getBasicInfo();
+            list.add(Json.createObjectBuilder()
+                    .add("name", context.getName())
+                    .add("primary", context.isPrimary())
+                    .add("memberId", (basic != null) ? basic.getMemberId() : 0)
+                    .add("updateCounter", context.getUpdateCounter())
+                    .add("reportPath", context.getReportPath()));
+        }
+        return Json.createObjectBuilder()
+                .add("enabled", SessionManager.isEnabled())
+                .add("pending", SessionManager.getPendingCount())
+                .add("list", list);
+    }
+
+    private static String formatTime(long time) {
+        if (time == 0) {
+            return "";
+        }
+        return new SimpleDateFormat(AppConstants.DATE_FORMAT).format(new Date(time));
+    }
+}
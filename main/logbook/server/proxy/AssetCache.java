@@ -0,0 +1,669 @@
+package logbook.server.proxy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import logbook.config.AppConfig;
+import logbook.constants.AppConstants;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpHeader;
+
+/**
+ * ゲームの画像や音声(/kcs/以下)をローカルのディスクにキャッシュします<br>
+ * <br>
+ * URLのパスとクエリ文字列をキーにして、応答の内容はSHA-1のファイル名で保存します。
+ * 中身が同じファイルはURLが違っても1つだけ保存します<br>
+ * クエリ文字列(?version=...)が付いているものはバージョンごとに内容が変わらないので、ゲームサーバーに問い合わせずに返します。
+ * クエリ文字列がないものは保存したETagとLast-Modifiedでゲームサーバーに更新を確認してから返します<br>
+ * 合計の大きさが設定の上限を超えたら、使われていないものから削除します
+ */
+public final class AssetCache {
+
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(AssetCache.class);
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** 更新を確認中のキャッシュ */
+    private static final String ENTRY = "logbook.assetcache.entry";
+    /** キャッシュになかったので保存する */
+    private static final String STORE = "logbook.assetcache.store";
+    /** ゲームサーバーが304を返したのでキャッシュから返す */
+    private static final String VALIDATED = "logbook.assetcache.validated";
+    /** 保存中の応答 */
+    private static final String WRITER = "logbook.assetcache.writer";
+
+    private static final File BLOB_DIR = new File(AppConstants.ASSET_CACHE_DIR, "blob");
+    private static final File META_DIR = new File(AppConstants.ASSET_CACHE_DIR, "meta");
+    private static final File TMP_DIR = new File(AppConstants.ASSET_CACHE_DIR, "tmp");
+
+    /** キャッシュした応答 */
+    private static final class Entry {
+        final String key;
+        final String hash;
+        final long size;
+        final String contentType;
+        final String etag;
+        final String lastModified;
+        final String cacheControl;
+
+        Entry(String key, String hash, long size, String contentType, String etag, String lastModified,
+                String cacheControl) {
+            this.key = key;
+            this.hash = hash;
+            this.size = size;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+        }
+    }
+
+    /** キー -> キャッシュ (アクセス順) */
+    private static final LinkedHashMap<String, Entry> index = new LinkedHashMap<String, Entry>(256, 0.75f, true);
+    /** 内容のハッシュ -> 参照しているキーの数 */
+    private static final Map<String, Integer> blobRefs = new HashMap<String, Integer>();
+    /** 保存している内容の合計(byte) */
+    private static long totalBytes = 0;
+    private static boolean initialized = false;
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong validatedCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong storedCount = new AtomicLong();
+    private static final AtomicLong evictedCount = new AtomicLong();
+    private static final AtomicLong bytesFromCache = new AtomicLong();
+    private static final AtomicLong bytesFromServer = new AtomicLong();
+
+    /**
+     * キャッシュの対象か判定します
+     * @param request リクエスト
+     * @return キャッシュが有効で、/kcs/以下のGETの場合true
+     */
+    public static boolean isCacheable(HttpServletRequest request) {
+        if (!AppConfig.get().isUseAssetCache() || !"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        return (uri != null) && uri.startsWith("/kcs/") && (request.getHeader("Range") == null);
+    }
+
+    /**
+     * キャッシュにあれば応答を返します
+     * @param request リクエスト
+     * @param response レスポンス
+     * @return キャッシュから返した場合true (falseの場合はゲームサーバーに問い合わせる)
+     */
+    public static boolean serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = getKey(request);
+        Entry entry;
+        synchronized (AssetCache.class) {
+            init();
+            entry = index.get(key);
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+            request.setAttribute(STORE, Boolean.TRUE);
+            return false;
+        }
+        if (request.getQueryString() == null) {
+            // バージョンがないので更新を確認してから返す
+            request.setAttribute(ENTRY, entry);
+            return false;
+        }
+        if (!respond(entry, request, response)) {
+            remove(entry);
+            missCount.incrementAndGet();
+            request.setAttribute(STORE, Boolean.TRUE);
+            return false;
+        }
+        hitCount.incrementAndGet();
+        touch(entry);
+        return true;
+    }
+
+    /**
+     * ゲームサーバーへのリクエストを調整します
+     * @param proxyRequest ゲームサーバーへのリクエスト
+     * @param request リクエスト
+     */
+    public static void customizeProxyRequest(Request proxyRequest, HttpServletRequest request) {
+        // 保存した内容をそのまま返せるように圧縮させない
+        proxyRequest.header(HttpHeader.ACCEPT_ENCODING, null);
+        Entry entry = (Entry) request.getAttribute(ENTRY);
+        if (entry != null) {
+            // ブラウザの条件ではなくキャッシュの条件で確認する (ブラウザの条件は返すときに判定する)
+            proxyRequest.header(HttpHeader.IF_NONE_MATCH, entry.etag);
+            proxyRequest.header(HttpHeader.IF_MODIFIED_SINCE, entry.lastModified);
+        }
+    }
+
+    /**
+     * ゲームサーバーの応答ヘッダーを受け取ったときに呼ばれます
+     * @param request リクエスト
+     * @param response レスポンス
+     * @param proxyResponse ゲームサーバーの応答
+     */
+    public static void onResponseHeaders(HttpServletRequest request, HttpServletResponse response,
+            Response proxyResponse) {
+        Entry entry = (Entry) request.getAttribute(ENTRY);
+        int status = proxyResponse.getStatus();
+        if ((entry != null) && (status == HttpServletResponse.SC_NOT_MODIFIED)) {
+            request.setAttribute(VALIDATED, Boolean.TRUE);
+            return;
+        }
+        if (entry != null) {
+            missCount.incrementAndGet();
+        }
+        else if (request.getAttribute(STORE) == null) {
+            return;
+        }
+        if ((status != HttpServletResponse.SC_OK)
+                || (proxyResponse.getHeaders().get(HttpHeader.CONTENT_ENCODING) != null)) {
+            return;
+        }
+        String cacheControl = proxyResponse.getHeaders().get(HttpHeader.CACHE_CONTROL);
+        if ((cacheControl != null) && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return;
+        }
+        try {
+            request.setAttribute(WRITER, new Writer(getKey(request),
+                    proxyResponse.getHeaders().get(HttpHeader.CONTENT_TYPE),
+                    proxyResponse.getHeaders().get(HttpHeader.ETAG),
+                    proxyResponse.getHeaders().get(HttpHeader.LAST_MODIFIED),
+                    cacheControl));
+        } catch (IOException e) {
+            LOG.warn("アセットキャッシュの一時ファイルが作成できません", e);
+        }
+    }
+
+    /**
+     * 応答の内容を保存中か判定します
+     * @param request リクエスト
+     * @return 内容を保存している、またはキャッシュの内容で応答する場合true
+     */
+    public static boolean needsContent(HttpServletRequest request) {
+        return (request.getAttribute(WRITER) != null) || (request.getAttribute(VALIDATED) != null);
+    }
+
+    /**
+     * 内容を見ずにブラウザに返した応答の大きさを記録します
+     * @param request リクエスト
+     * @param length 長さ
+     */
+    public static void onPassThroughContent(HttpServletRequest request, int length) {
+        if ((request.getAttribute(STORE) != null) || (request.getAttribute(ENTRY) != null)) {
+            bytesFromServer.addAndGet(length);
+        }
+    }
+
+    /**
+     * ゲームサーバーの応答の内容を受け取ったときに呼ばれます
+     * @param request リクエスト
+     * @param buffer 内容
+     * @param offset 開始位置
+     * @param length 長さ
+     */
+    public static void onResponseContent(HttpServletRequest request, byte[] buffer, int offset, int length) {
+        if ((request.getAttribute(STORE) != null) || (request.getAttribute(ENTRY) != null)) {
+            bytesFromServer.addAndGet(length);
+        }
+        Writer writer = (Writer) request.getAttribute(WRITER);
+        if (writer != null) {
+            if (!writer.write(buffer, offset, length)) {
+                request.removeAttribute(WRITER);
+            }
+        }
+    }
+
+    /**
+     * ゲームサーバーの応答が完了したときに呼ばれます
+     * @param request リクエスト
+     * @param response レスポンス
+     */
+    public static void onResponseSuccess(HttpServletRequest request, HttpServletResponse response) {
+        Entry entry = (Entry) request.getAttribute(ENTRY);
+        if ((entry != null) && (request.getAttribute(VALIDATED) != null)) {
+            try {
+                if (respond(entry, request, response)) {
+                    validatedCount.incrementAndGet();
+                    touch(entry);
+                }
+                else {
+                    // 確認中に削除された
+                    remove(entry);
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                }
+            } catch (IOException e) {
+                LOG.warn("アセットキャッシュから返せませんでした", e);
+            }
+        }
+        Writer writer = (Writer) request.getAttribute(WRITER);
+        if (writer != null) {
+            writer.commit();
+        }
+    }
+
+    /**
+     * ゲームサーバーの応答が失敗したときに呼ばれます
+     * @param request リクエスト
+     */
+    public static void onResponseFailure(HttpServletRequest request) {
+        Writer writer = (Writer) request.getAttribute(WRITER);
+        if (writer != null) {
+            writer.abort();
+        }
+    }
+
+    /**
+     * @return キャッシュから返した回数 (ゲームサーバーに問い合わせなかったもの)
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return ゲームサーバーが更新なし(304)を返したのでキャッシュから返した回数
+     */
+    public static long getValidatedCount() {
+        return validatedCount.get();
+    }
+
+    /**
+     * @return キャッシュになかった回数
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return 保存した回数
+     */
+    public static long getStoredCount() {
+        return storedCount.get();
+    }
+
+    /**
+     * @return 上限を超えたので削除した回数
+     */
+    public static long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    /**
+     * @return キャッシュから返した大きさ(byte)
+     */
+    public static long getBytesFromCache() {
+        return bytesFromCache.get();
+    }
+
+    /**
+     * @return キャッシュの対象でゲームサーバーから受け取った大きさ(byte)
+     */
+    public static long getBytesFromServer() {
+        return bytesFromServer.get();
+    }
+
+    /**
+     * @return ヒット率 (まだ要求がなければ0)
+     */
+    public static double getHitRatio() {
+        long hit = hitCount.get() + validatedCount.get();
+        long total = hit + missCount.get();
+        return (total == 0) ? 0 : (double) hit / total;
+    }
+
+    /**
+     * @return 保存しているキーの数
+     */
+    public static synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    /**
+     * @return 保存している内容の合計(byte)
+     */
+    public static synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return キャッシュの状況
+     */
+    public static String getStatusString() {
+        return String.format("アセットキャッシュ: ヒット率 %.1f%% (ヒット %d 更新確認 %d ミス %d) 保存 %d件 %.1fMB 削除 %d件",
+                getHitRatio() * 100, getHitCount(), getValidatedCount(), getMissCount(),
+                getEntryCount(), getTotalBytes() / 1048576.0, getEvictedCount());
+    }
+
+    private static String getKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return (query == null) ? request.getRequestURI() : (request.getRequestURI() + "?" + query);
+    }
+
+    private static long getMaxBytes() {
+        return Math.max(1, AppConfig.get().getAssetCacheSize()) * 1024L * 1024L;
+    }
+
+    /**
+     * キャッシュから応答を返します<br>
+     * ブラウザが同じものを持っている場合は304を返します
+     * @return 内容のファイルがなかった場合false
+     */
+    private static boolean respond(Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        String ifModifiedSince = request.getHeader("If-Modified-Since");
+        boolean notModified = (ifNoneMatch != null) ? ifNoneMatch.equals(entry.etag) :
+                ((ifModifiedSince != null) && ifModifiedSince.equals(entry.lastModified));
+        InputStream in = null;
+        if (!notModified) {
+            try {
+                in = new FileInputStream(getBlobFile(entry.hash));
+            } catch (FileNotFoundException e) {
+                // 削除された
+                return false;
+            }
+        }
+        try {
+            setHeader(response, "ETag", entry.etag);
+            setHeader(response, "Last-Modified", entry.lastModified);
+            setHeader(response, "Cache-Control", entry.cacheControl);
+            if (notModified) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            setHeader(response, "Content-Type", entry.contentType);
+            response.setHeader("Content-Length", Long.toString(entry.size));
+            OutputStream out = response.getOutputStream();
+            bytesFromCache.addAndGet(IOUtils.copyLarge(in, out));
+            out.flush();
+            return true;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    private static void setHeader(HttpServletResponse response, String name, String value) {
+        if (value != null) {
+            response.setHeader(name, value);
+        }
+    }
+
+    private static File getBlobFile(String hash) {
+        return new File(new File(BLOB_DIR, hash.substring(0, 2)), hash);
+    }
+
+    private static File getMetaFile(String key) {
+        return new File(META_DIR, toHex(sha1().digest(key.getBytes(UTF8))));
+    }
+
+    /** 使った順番が再起動後も分かるように、メタデータファイルの更新日時を変えます */
+    private static void touch(Entry entry) {
+        getMetaFile(entry.key).setLastModified(System.currentTimeMillis());
+    }
+
+    /**
+     * ディスクからキャッシュの一覧を読み込みます<br>
+     * どのメタデータからも参照されていない内容と、書き込み途中の一時ファイルは削除します
+     */
+    private static void init() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        BLOB_DIR.mkdirs();
+        META_DIR.mkdirs();
+        TMP_DIR.mkdirs();
+        for (File tmp : listFiles(TMP_DIR)) {
+            tmp.delete();
+        }
+        List<File> metaFiles = new ArrayList<File>(Arrays.asList(listFiles(META_DIR)));
+        Collections.sort(metaFiles, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(o1.lastModified(), o2.lastModified());
+            }
+        });
+        for (File metaFile : metaFiles) {
+            Entry entry = readMeta(metaFile);
+            if ((entry != null) && getBlobFile(entry.hash).isFile()) {
+                put(entry);
+            }
+            else {
+                metaFile.delete();
+            }
+        }
+        for (File dir : listFiles(BLOB_DIR)) {
+            for (File blob : listFiles(dir)) {
+                if (!blobRefs.containsKey(blob.getName())) {
+                    blob.delete();
+                }
+            }
+        }
+        evict();
+        LOG.info("アセットキャッシュを読み込みました " + index.size() + "件 " + (totalBytes / 1048576) + "MB");
+    }
+
+    private static File[] listFiles(File dir) {
+        File[] files = dir.listFiles();
+        return (files == null) ? new File[0] : files;
+    }
+
+    private static Entry readMeta(File file) {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+            String key = properties.getProperty("key");
+            String hash = properties.getProperty("hash");
+            if ((key == null) || (hash == null) || (hash.length() < 2)) {
+                return null;
+            }
+            return new Entry(key, hash, Long.parseLong(properties.getProperty("size")),
+                    properties.getProperty("contentType"), properties.getProperty("etag"),
+                    properties.getProperty("lastModified"), properties.getProperty("cacheControl"));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeMeta(Entry entry) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("key", entry.key);
+        properties.setProperty("hash", entry.hash);
+        properties.setProperty("size", Long.toString(entry.size));
+        setProperty(properties, "contentType", entry.contentType);
+        setProperty(properties, "etag", entry.etag);
+        setProperty(properties, "lastModified", entry.lastModified);
+        setProperty(properties, "cacheControl", entry.cacheControl);
+        try (OutputStream out = new FileOutputStream(getMetaFile(entry.key))) {
+            properties.store(out, null);
+        }
+    }
+
+    private static void setProperty(Properties properties, String name, String value) {
+        if (value != null) {
+            properties.setProperty(name, value);
+        }
+    }
+
+    /** 索引に追加します (同じキーの古いものは置き換えます) */
+    private static void put(Entry entry) {
+        Entry old = index.put(entry.key, entry);
+        if (old != null) {
+            unref(old);
+        }
+        Integer refs = blobRefs.get(entry.hash);
+        if (refs == null) {
+            totalBytes += entry.size;
+            refs = 0;
+        }
+        blobRefs.put(entry.hash, refs + 1);
+    }
+
+    /** 内容の参照を減らして、どこからも参照されなくなったら削除します */
+    private static void unref(Entry entry) {
+        Integer refs = blobRefs.get(entry.hash);
+        if (refs == null) {
+            return;
+        }
+        if (refs > 1) {
+            blobRefs.put(entry.hash, refs - 1);
+        }
+        else {
+            blobRefs.remove(entry.hash);
+            totalBytes -= entry.size;
+            // 返している途中で削除できない場合は次の起動時に削除する
+            getBlobFile(entry.hash).delete();
+        }
+    }
+
+    private static synchronized void remove(Entry entry) {
+        if (index.get(entry.key) == entry) {
+            index.remove(entry.key);
+            getMetaFile(entry.key).delete();
+            unref(entry);
+        }
+    }
+
+    /** 上限を超えている間、使われていないものから削除します */
+    private static void evict() {
+        long maxBytes = getMaxBytes();
+        for (Iterator<Entry> it = index.values().iterator(); (totalBytes > maxBytes) && it.hasNext();) {
+            Entry entry = it.next();
+            it.remove();
+            getMetaFile(entry.key).delete();
+            unref(entry);
+            evictedCount.incrementAndGet();
+        }
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; ++i) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[(i * 2) + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    /**
+     * ゲームサーバーの応答を一時ファイルに書き込みながらハッシュを計算し、完了したらキャッシュに入れます
+     */
+    private static final class Writer {
+        private final String key;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+        private final String cacheControl;
+        private final File tmp;
+        private final OutputStream out;
+        private final MessageDigest digest = sha1();
+        private long size = 0;
+
+        Writer(String key, String contentType, String etag, String lastModified, String cacheControl)
+                throws IOException {
+            this.key = key;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+            synchronized (AssetCache.class) {
+                init();
+            }
+            this.tmp = File.createTempFile("asset", ".tmp", TMP_DIR);
+            this.out = new FileOutputStream(this.tmp);
+        }
+
+        /**
+         * @return 続けて書き込める場合true
+         */
+        boolean write(byte[] buffer, int offset, int length) {
+            this.size += length;
+            // 1つで上限の1/4を超えるものは保存しない
+            if (this.size > (getMaxBytes() / 4)) {
+                this.abort();
+                return false;
+            }
+            try {
+                this.out.write(buffer, offset, length);
+                this.digest.update(buffer, offset, length);
+                return true;
+            } catch (IOException e) {
+                LOG.warn("アセットキャッシュに書き込めません", e);
+                this.abort();
+                return false;
+            }
+        }
+
+        void abort() {
+            IOUtils.closeQuietly(this.out);
+            this.tmp.delete();
+        }
+
+        void commit() {
+            try {
+                this.out.close();
+                String hash = toHex(this.digest.digest());
+                Entry entry = new Entry(this.key, hash, this.size, this.contentType, this.etag, this.lastModified,
+                        this.cacheControl);
+                synchronized (AssetCache.class) {
+                    File blob = getBlobFile(hash);
+                    if (blob.isFile()) {
+                        // 同じ内容がもうある
+                        this.tmp.delete();
+                    }
+                    else {
+                        blob.getParentFile().mkdirs();
+                        Files.move(this.tmp.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    writeMeta(entry);
+                    put(entry);
+                    evict();
+                }
+                storedCount.incrementAndGet();
+            } catch (IOException e) {
+                LOG.warn("アセットキャッシュに保存できません", e);
+                this.tmp.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package logbook.server.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+import logbook.data.Data;
+import logbook.data.DataType;
+import logbook.data.UndefinedData;
+import logbook.data.context.GlobalContext;
+import logbook.data.context.SessionContext;
+import logbook.data.context.SessionManager;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * キャプチャした通信データを受け取って解析するスレッドです<br>
+ * プロキシの応答処理はキューに入れるだけにして(ロックなし・一定時間)、解凍・JSONの解析・データベースへの送信は
+ * このスレッドで行ってから GlobalContext の更新を依頼します<br>
+ * キューは書き込み1スレッド・読み出し1スレッド専用のリングバッファです。
+ * 応答処理はHttpClientの複数のスレッドで動くので書き込むスレッドごとにリングバッファを持ち、
+ * 読み出すときは受け付けた順番が一番早いものから取り出します。
+ * 番号を取ってから書き込むまでの間に次の番号が先に書き込まれることがあるので、番号が飛んでいるときは前の番号が
+ * 書き込まれるまで待ち、全体で受け付けた順番に処理します<br>
+ * リングバッファが一杯のときも応答処理を待たせないように、溢れた分は別のキューに入れます
+ */
+public final class CaptureQueue extends Thread {
+
+    private static final Logger LOG = LogManager.getLogger(CaptureQueue.class);
+
+    /** リングバッファの大きさ (2のべき乗) */
+    private static final int RING_SIZE = 256;
+
+    /** 待つときの最大の時間(ns) (起こし損ねた場合の保険) */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** 飛んでいる番号を待つ最大の時間(ns) (書き込めなかった場合の保険) */
+    private static final long GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** 飛んでいる番号を待つときに1回で待つ時間(ns) */
+    private static final long GAP_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** 受け付けた順番 */
+    private static final AtomicLong sequence = new AtomicLong();
+
+    /** 書き込むスレッドごとのリングバッファ */
+    private static final ThreadLocal<Ring> localRing = new ThreadLocal<Ring>();
+
+    /** 全てのリングバッファ */
+    private static final List<Ring> rings = new CopyOnWriteArrayList<Ring>();
+
+    /** 受け付けた件数 */
+    private static final AtomicLong capturedCount = new AtomicLong();
+    /** 解析した件数 */
+    private static final AtomicLong decodedCount = new AtomicLong();
+    /** 処理し終わった件数 (解析に失敗したものも含む) */
+    private static final AtomicLong processedCount = new AtomicLong();
+    /** リングバッファが一杯で溢れた件数 */
+    private static final AtomicLong fullCount = new AtomicLong();
+    /** 状態に反映した件数 */
+    private static final AtomicLong updatedCount = new AtomicLong();
+    /** 受信から状態に反映するまでの時間の合計(ns) */
+    private static final AtomicLong totalLag = new AtomicLong();
+    /** 受信から状態に反映するまでの時間の最大(ns) */
+    private static final AtomicLong maxLag = new AtomicLong();
+    /** 受信から状態に反映するまでの時間(ns) (最後に反映したもの) */
+    private static volatile long lastLag = 0;
+
+    /** 読み出すスレッド (応答処理でロックを取らないようにクラスの初期化で開始します) */
+    private static final CaptureQueue consumer = new CaptureQueue();
+
+    static {
+        consumer.start();
+    }
+
+    /** 読み出し側が待っている */
+    private volatile boolean waiting = false;
+
+    /** 次に処理する番号 (読み出し側だけが使う) */
+    private long nextSeq = 0;
+    /** 番号が飛んでいるのに気付いた時刻(ns) (飛んでいない場合は0) */
+    private long gapSince = 0;
+
+    private CaptureQueue() {
+        this.setName("logbook_capture");
+        this.setDaemon(true);
+    }
+
+    /**
+     * クラスを読み込んで、読み出すスレッドを開始します<br>
+     * 終了処理(シャットダウンフック)の中で初めて読み込まれるとログの初期化に失敗するので、
+     * プロキシサーバーを開始するときに呼んでください
+     */
+    public static void init() {
+        // クラスの初期化で開始している
+    }
+
+    /**
+     * キャプチャした通信データを受け付けます<br>
+     * 応答の内容はここではコピーせず、読み出し側で取り出します
+     *
+     * @param fullUrl URL
+     * @param uri URI
+     * @param serverName サーバー名
+     * @param request リクエストの内容
+     * @param response 応答の内容
+     * @param contentEncoding 応答のContent-Encoding
+     */
+    public static void add(String fullUrl, String uri, String serverName, byte[] request,
+            ByteArrayOutputStream response, String contentEncoding) {
+        Ring ring = localRing.get();
+        if (ring == null) {
+            ring = new Ring(Thread.currentThread());
+            localRing.set(ring);
+            rings.add(ring);
+        }
+        Capture capture = new Capture(fullUrl, uri, serverName, request, response, contentEncoding);
+        capturedCount.incrementAndGet();
+        // 読み出し側は番号が飛んでいると待つので、番号を取ったらすぐに書き込む
+        capture.seq = sequence.getAndIncrement();
+        if (!ring.offer(capture)) {
+            fullCount.incrementAndGet();
+        }
+        if (consumer.waiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Ring ring = oldest();
+                if (ring == null) {
+                    this.waiting = true;
+                    ring = oldest();
+                    if (ring == null) {
+                        LockSupport.parkNanos(this, PARK_NANOS);
+                        this.waiting = false;
+                        continue;
+                    }
+                    this.waiting = false;
+                }
+                Capture capture = ring.peek();
+                if ((capture.seq > this.nextSeq) && !this.skipGap(capture)) {
+                    // 前の番号を書き込んでいる途中
+                    LockSupport.parkNanos(this, GAP_PARK_NANOS);
+                    continue;
+                }
+                ring.remove(capture);
+                // 飛ばした番号が後から届いても戻らない
+                this.nextSeq = Math.max(this.nextSeq, capture.seq + 1);
+                this.gapSince = 0;
+                try {
+                    decode(capture);
+                } catch (Exception e) {
+                    LOG.warn("通信データの解析に失敗しました", e);
+                } finally {
+                    processedCount.incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            LOG.fatal("スレッドが異常終了しました", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 番号が飛んでいるとき、待つのをやめて先に進むかを決めます<br>
+     * 番号を取ってから書き込むまでの間なので普通はすぐに埋まりますが、長い間埋まらない場合は飛ばします
+     *
+     * @param capture 飛んだ後の番号のもの
+     * @return 先に進む場合true
+     */
+    private boolean skipGap(Capture capture) {
+        long now = System.nanoTime();
+        if (this.gapSince == 0) {
+            this.gapSince = now;
+            return false;
+        }
+        if ((now - this.gapSince) < GAP_NANOS) {
+            return false;
+        }
+        LOG.warn(String.format("受け付けた通信データ %d～%d が届かないので飛ばします", this.nextSeq, capture.seq - 1));
+        return true;
+    }
+
+    /**
+     * 一番早く受け付けたものがあるリングバッファを探します
+     *
+     * @return リングバッファ (全て空ならnull)
+     */
+    private static Ring oldest() {
+        Ring oldest = null;
+        Capture first = null;
+        Iterator<Ring> it = rings.iterator();
+        while (it.hasNext()) {
+            Ring ring = it.next();
+            Capture head = ring.peek();
+            if (head == null) {
+                if (!ring.owner.isAlive()) {
+                    // 書き込むスレッドが終了して空になった
+                    rings.remove(ring);
+                }
+                continue;
+            }
+            if ((first == null) || (head.seq < first.seq)) {
+                first = head;
+                oldest = ring;
+            }
+        }
+        return oldest;
+    }
+
+    private static void decode(final Capture capture) {
+        byte[] responseBody = capture.response.toByteArray();
+
+        // 圧縮されていたら解凍する
+        if ((capture.contentEncoding != null) && capture.contentEncoding.equals("gzip")) {
+            try {
+                responseBody = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(responseBody)));
+            } catch (IOException e) {
+                //
+            }
+        }
+
+        final UndefinedData rawData = new UndefinedData(capture.fullUrl, capture.uri, capture.request,
+                responseBody, capture.date);
+        // 統計データベース(http://kancolle-db.net/)に送信する
+        DatabaseClient.send(rawData);
+
+        // キャプチャしたバイト配列は何のデータかを決定する
+        final Data data = rawData.toDefinedData();
+        decodedCount.incrementAndGet();
+        if (data.getDataType() == DataType.UNDEFINED) {
+            return;
+        }
+        final String serverName = capture.serverName;
+        // 複数アカウントを記録する場合はアカウントごとのセッションに振り分ける
+        SessionManager.execute(serverName, rawData, new Runnable() {
+            @Override
+            public void run() {
+                // 定義済みのデータの場合に状態を更新する
+                GlobalContext.updateContext(data);
+
+                // サーバー名が不明の場合、サーバー名をセットする (主アカウントのサーバー)
+                if (!Filter.isServerDetected() && SessionContext.current().isPrimary()) {
+                    Filter.setServerName(serverName);
+                }
+                updated(System.nanoTime() - capture.nanos);
+            }
+        });
+    }
+
+    private static void updated(long lag) {
+        updatedCount.incrementAndGet();
+        totalLag.addAndGet(lag);
+        lastLag = lag;
+        long max;
+        while ((max = maxLag.get()) < lag) {
+            if (maxLag.compareAndSet(max, lag)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 受け付けたものを全て処理し終わるまで待ちます (終了するときに使います)<br>
+     * 新しく受け付けないようにしてから呼んでください
+     *
+     * @param timeout 最大の待ち時間(ms)
+     * @return 全て処理し終わった場合true
+     */
+    public static boolean drain(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (processedCount.get() < capturedCount.get()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(consumer);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 受け付けた件数
+     */
+    public static long getCapturedCount() {
+        return capturedCount.get();
+    }
+
+    /**
+     * @return 解析した件数
+     */
+    public static long getDecodedCount() {
+        return decodedCount.get();
+    }
+
+    /**
+     * @return 状態に反映した件数
+     */
+    public static long getUpdatedCount() {
+        return updatedCount.get();
+    }
+
+    /**
+     * @return リングバッファが一杯で溢れた件数
+     */
+    public static long getFullCount() {
+        return fullCount.get();
+    }
+
+    /**
+     * @return 解析待ちの件数
+     */
+    public static int getQueueSize() {
+        int size = 0;
+        for (Ring ring : rings) {
+            size += ring.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return 受信から状態に反映するまでの時間(ms) (最後に反映したもの)
+     */
+    public static double getLastLag() {
+        return lastLag / 1e6;
+    }
+
+    /**
+     * @return 受信から状態に反映するまでの時間の平均(ms)
+     */
+    public static double getAverageLag() {
+        long count = updatedCount.get();
+        return (count > 0) ? ((totalLag.get() / 1e6) / count) : 0;
+    }
+
+    /**
+     * @return 受信から状態に反映するまでの時間の最大(ms)
+     */
+    public static double getMaxLag() {
+        return maxLag.get() / 1e6;
+    }
+
+    /**
+     * @return 状況
+     */
+    public static String getStatusString() {
+        return String.format("キャプチャ: 受付 %d 解析 %d 反映 %d 解析待ち %d件 / 反映までの時間 最後 %.1fms 平均 %.1fms 最大 %.1fms",
+                getCapturedCount(), getDecodedCount(), getUpdatedCount(), getQueueSize(),
+                getLastLag(), getAverageLag(), getMaxLag());
+    }
+
+    /**
+     * キャプチャした通信データ
+     */
+    private static final class Capture {
+        /** 受け付けた番号 (書き込む直前に付けます) */
+        private long seq;
+        private final long nanos = System.nanoTime();
+        private final Date date = new Date();
+        private final String fullUrl;
+        private final String uri;
+        private final String serverName;
+        private final byte[] request;
+        private final ByteArrayOutputStream response;
+        private final String contentEncoding;
+
+        Capture(String fullUrl, String uri, String serverName, byte[] request,
+                ByteArrayOutputStream response, String contentEncoding) {
+            this.fullUrl = fullUrl;
+            this.uri = uri;
+            this.serverName = serverName;
+            this.request = request;
+            this.response = response;
+            this.contentEncoding = contentEncoding;
+        }
+    }
+
+    /**
+     * 書き込み1スレッド・読み出し1スレッド専用のリングバッファ<br>
+     * 書き込み側だけがtailを、読み出し側だけがheadを進めます。
+     * 一杯のときは溢れた分をoverflowに入れます
+     */
+    private static final class Ring {
+        private final Thread owner;
+        private final Capture[] buffer = new Capture[RING_SIZE];
+        /** リングバッファから溢れた分 */
+        private final ConcurrentLinkedQueue<Capture> overflow = new ConcurrentLinkedQueue<Capture>();
+        /** 次に読み出す位置 */
+        private final AtomicLong head = new AtomicLong();
+        /** 次に書き込む位置 */
+        private final AtomicLong tail = new AtomicLong();
+
+        Ring(Thread owner) {
+            this.owner = owner;
+        }
+
+        /** 書き込み側: 一杯で溢れた分に入れたらfalse */
+        boolean offer(Capture capture) {
+            long t = this.tail.get();
+            if (((t - this.head.get()) >= RING_SIZE) || !this.overflow.isEmpty()) {
+                // 待たずに溢れた分に入れる (溢れた分があるうちはそちらに続ける)
+                this.overflow.add(capture);
+                return false;
+            }
+            this.buffer[(int) t & (RING_SIZE - 1)] = capture;
+            // 読み出し側が待つ前に見えるようにvolatileで書く
+            this.tail.set(t + 1);
+            return true;
+        }
+
+        /** 読み出し側: 受け付けた順番が一番早いもの (空ならnull) */
+        Capture peek() {
+            // 溢れた分を先に見る (逆の順番だと、その間にリングバッファに書き込まれた古いものを見落とす)
+            Capture spilled = this.overflow.peek();
+            long h = this.head.get();
+            if (h < this.tail.get()) {
+                Capture first = this.buffer[(int) h & (RING_SIZE - 1)];
+                if ((spilled == null) || (first.seq < spilled.seq)) {
+                    return first;
+                }
+            }
+            return spilled;
+        }
+
+        /** 読み出し側: peek()で取り出したものを取り除く */
+        void remove(Capture capture) {
+            if (this.overflow.peek() == capture) {
+                this.overflow.poll();
+                return;
+            }
+            long h = this.head.get();
+            this.buffer[(int) h & (RING_SIZE - 1)] = null;
+            this.head.lazySet(h + 1);
+        }
+
+        int size() {
+            return (int) (this.tail.get() - this.head.get()) + this.overflow.size();
+        }
+    }
+}
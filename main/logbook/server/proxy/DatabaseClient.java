@@ -1,33 +1,65 @@
 package logbook.server.proxy;
 
-import java.io.UnsupportedEncodingException;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
 import java.util.concurrent.BlockingQueue;
-import java.util.regex.Pattern;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import logbook.config.AppConfig;
 import logbook.constants.AppConstants;
 import logbook.data.UndefinedData;
-import logbook.gui.ApplicationMain;
+import logbook.data.context.GlobalContext;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.jetty.client.HttpClient;
-import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
-import org.eclipse.jetty.client.util.StringContentProvider;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.UrlEncoded;
-import org.eclipse.swt.widgets.Display;
 
 /**
- * 艦これ統計データベースに送信する
+ * 艦これ統計データベースに送信する<br>
+ * 送信するデータは一旦送信箱(ディレクトリ)に1件ずつファイルで保存して、送信できたら削除します。
+ * なので、送信できないまま終了しても次の起動時に送信します<br>
+ * 送信に失敗したら、失敗が続くほど長く(ランダムな幅を持たせて)待ってから再送します
  * @author Nekopanda
  */
 public class DatabaseClient extends Thread {
     private static final Logger LOG = LogManager.getLogger(DatabaseClient.class);
     private static DatabaseClient instance = null;
 
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** 送信箱のファイルの拡張子 */
+    private static final String OUTBOX_EXT = ".rec";
+
+    /** 再送までの最初の待ち時間(ms) */
+    private static final long BACKOFF_BASE = 1000;
+
+    /** 再送までの最大の待ち時間(ms) */
+    private static final long BACKOFF_MAX = TimeUnit.MINUTES.toMillis(5);
+
+    /** 1回の送信のタイムアウト(秒) */
+    private static final long TIMEOUT = 30;
+
+    /** 受け取って送信箱に保存していないデータの最大の数 */
+    private static final int MAX_RECEIVED = 1024;
+
     private static final String[] sendDatabaseUrls = new String[]
     {
             "api_port/port",
@@ -54,21 +86,50 @@ public class DatabaseClient extends Thread {
             "api_req_combined_battle/battleresult"
     };
 
+    /** 送信できた件数 */
+    private static final AtomicLong sentCount = new AtomicLong();
+    /** 送信に失敗した回数 (再送したものを含む) */
+    private static final AtomicLong failedCount = new AtomicLong();
+    /** 送信せずに捨てた件数 */
+    private static final AtomicLong droppedCount = new AtomicLong();
+    /** 送信待ちの件数 */
+    private static volatile int queueSize = 0;
+    /** 一番古い送信待ちを受け取った時刻 (送信待ちがなければ0) */
+    private static volatile long oldestTime = 0;
+
     private static synchronized DatabaseClient getInstance() {
         if (instance == null) {
-            instance = new DatabaseClient();
+            instance = new DatabaseClient(AppConstants.DATABASE_OUTBOX_DIR);
             instance.start();
         }
         return instance;
     }
 
+    /**
+     * クラスを読み込みます (送信するスレッドは最初に送信するときに開始します)<br>
+     * 終了処理(シャットダウンフック)の中で初めて読み込まれるとログの初期化に失敗するので、
+     * プロキシサーバーを開始するときに呼んでください
+     */
+    public static void init() {
+        // 読み込むだけ
+    }
+
     public static void send(UndefinedData data) {
         if (AppConfig.get().isSendDatabase() && (AppConfig.get().getAccessKey().length() > 0)) {
             for (String entry : sendDatabaseUrls)
             {
                 if (data.getUrl().endsWith(entry))
                 {
-                    getInstance().dataQueue.offer(data);
+                    try {
+                        // 通信データを処理するスレッドから呼ばれるので、送信箱への書き込みが追いつくまで待つ
+                        // (捨てるのは送信待ちが databaseOutboxMax を超えたときだけ)
+                        DatabaseClient client = getInstance();
+                        client.receivable.acquire();
+                        client.events.add(data);
+                    } catch (InterruptedException e) {
+                        droppedCount.incrementAndGet();
+                        Thread.currentThread().interrupt();
+                    }
                     break;
                 }
             }
@@ -85,34 +146,387 @@ public class DatabaseClient extends Thread {
             } catch (InterruptedException e) {
                 LOG.fatal("DatabaseClientスレッド終了時に何かのエラー", e);
             }
+            LOG.info(getStatusString());
+        }
+    }
+
+    /**
+     * @return 送信できた件数
+     */
+    public static long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return 送信に失敗した回数 (再送したものを含む)
+     */
+    public static long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return 送信せずに捨てた件数
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return 送信待ちの件数
+     */
+    public static int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return 一番古い送信待ちの経過時間(ms) 送信待ちがなければ0
+     */
+    public static long getQueueAge() {
+        long oldest = oldestTime;
+        return (oldest == 0) ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    /**
+     * @return 送信状況
+     */
+    public static String getStatusString() {
+        return "DB送信: 成功 " + getSentCount() + " 失敗 " + getFailedCount() + " 破棄 " + getDroppedCount()
+                + " 送信待ち " + getQueueSize() + "件 (最古 " + (getQueueAge() / 1000) + "秒前)";
+    }
+
+    private static final byte[] API_TOKEN = "api_token=".getBytes(UTF8);
+    private static final byte[] API_TOKEN_ESCAPED = "api%5Ftoken=".getBytes(UTF8);
+
+    /**
+     * リクエストからapi_tokenを取り除きます<br>
+     * "&amp;api_token=[0-9a-f]+" または "api_token=[0-9a-f]+&amp;?" を取り除きます (_は%5Fでも可)
+     * @param request リクエスト
+     * @return api_tokenを取り除いたリクエスト (含まれていなければrequestそのもの)
+     */
+    static byte[] removeApiToken(byte[] request) {
+        byte[] result = null;
+        int len = 0;
+        int copied = 0;
+        for (int i = 0; i < request.length; ++i) {
+            int keyLength = startsWith(request, i, API_TOKEN) ? API_TOKEN.length :
+                    startsWith(request, i, API_TOKEN_ESCAPED) ? API_TOKEN_ESCAPED.length : 0;
+            if (keyLength == 0) {
+                continue;
+            }
+            int end = i + keyLength;
+            while ((end < request.length) && isLowerHex(request[end])) {
+                end++;
+            }
+            if (end == (i + keyLength)) {
+                // トークンの値がない
+                continue;
+            }
+            int start = i;
+            if ((start > copied) && (request[start - 1] == '&')) {
+                start--;
+            }
+            else if ((end < request.length) && (request[end] == '&')) {
+                end++;
+            }
+            if (result == null) {
+                result = new byte[request.length];
+            }
+            System.arraycopy(request, copied, result, len, start - copied);
+            len += start - copied;
+            copied = end;
+            i = end - 1;
         }
+        if (result == null) {
+            return request;
+        }
+        System.arraycopy(request, copied, result, len, request.length - copied);
+        len += request.length - copied;
+        return Arrays.copyOf(result, len);
     }
 
-    /** この正規表現イミフになりつつある・・・ */
-    private final Pattern apiTokenPattern = Pattern
-            .compile("&api(_|%5F)token=[0-9a-f]+|api(_|%5F)token=[0-9a-f]+&?");
+    private static boolean startsWith(byte[] array, int offset, byte[] prefix) {
+        if ((array.length - offset) < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; ++i) {
+            if (array[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-    private final BlockingQueue<UndefinedData> dataQueue = new ArrayBlockingQueue<UndefinedData>(32);
+    private static boolean isLowerHex(byte b) {
+        return ((b >= '0') && (b <= '9')) || ((b >= 'a') && (b <= 'f'));
+    }
+
+    /** 送信箱の1件 */
+    private static final class Entry {
+        final File file;
+        final long time;
+        final String url;
+
+        Entry(File file, long time, String url) {
+            this.file = file;
+            this.time = time;
+            this.url = url;
+        }
+    }
+
+    /** 送信が終わったときの通知 */
+    private static final class Completion {
+        final Entry entry;
+        /** HTTPステータス (通信エラーの場合は-1) */
+        final int status;
+        final String reason;
+
+        Completion(Entry entry, int status, String reason) {
+            this.entry = entry;
+            this.status = status;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * 受け取ったデータ(UndefinedData)と送信完了(Completion) このスレッドだけが処理します<br>
+     * 送信完了はこのスレッドの中から通知されることもあるので、待たずに入れられるように上限なしにします
+     * (データの数は {@link #receivable} で制限します)
+     */
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<Object>();
+
+    /** 受け取って送信箱に保存していないデータの空き */
+    private final Semaphore receivable = new Semaphore(MAX_RECEIVED);
+
+    /** 送信待ち (古い順) */
+    private final Deque<Entry> outbox = new ArrayDeque<Entry>();
+
+    private final File outboxDir;
+
+    private final Random random = new Random();
 
     private HttpClient httpClient = null;
 
-    private boolean endRequested = false;
+    private volatile boolean endRequested = false;
+
+    /** 送信中の件数 */
+    private int inFlight = 0;
 
-    private Request createRequest(UndefinedData data) throws UnsupportedEncodingException {
-        // api_tokenを取り除く
-        String origRequest = new String(data.getRequest(), "UTF-8");
-        String sendRequestBody = this.apiTokenPattern.matcher(origRequest).replaceAll("");
-        String sendResponseBody = new String(data.getResponse(), "UTF-8");
-        UrlEncoded body = new UrlEncoded();
+    /** 連続して失敗した回数 */
+    private int consecutiveFailures = 0;
+
+    /** この時刻まで送信しない */
+    private long pauseUntil = 0;
+
+    /** 送信箱のファイル名の連番 */
+    private long sequence = 0;
+
+    /**
+     * @param outboxDir 送信箱のディレクトリ
+     */
+    DatabaseClient(File outboxDir) {
+        this.outboxDir = outboxDir;
+        this.setName("logbook_database_client");
+    }
+
+    /** 送信箱に保存します */
+    private void store(UndefinedData data) throws IOException {
+        if (!this.outboxDir.exists() && !this.outboxDir.mkdirs()) {
+            throw new IOException("送信箱を作成できません: " + this.outboxDir.getPath());
+        }
+        long time = System.currentTimeMillis();
+        String name = String.format("%013d_%06d", time, (this.sequence++) % 1000000);
+        File tmp = new File(this.outboxDir, name + ".tmp");
+        File file = new File(this.outboxDir, name + OUTBOX_EXT);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            output.writeLong(time);
+            writeBytes(output, data.getFullUrl().getBytes(UTF8));
+            writeBytes(output, data.getUrl().getBytes(UTF8));
+            // api_tokenはファイルにも保存しない
+            writeBytes(output, removeApiToken(data.getRequest()));
+            writeBytes(output, data.getResponse());
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("送信箱に保存できません: " + file.getPath());
+        }
+        this.add(new Entry(file, time, data.getUrl()));
+    }
+
+    /** 受け取ったデータを送信箱に保存します */
+    private void receive(UndefinedData data) {
+        try {
+            this.store(data);
+        } catch (IOException e) {
+            droppedCount.incrementAndGet();
+            LOG.warn("送信するデータの保存に失敗しました", e);
+        } finally {
+            this.receivable.release();
+        }
+    }
+
+    /** 前回送信できなかったものを読み込みます */
+    private void loadOutbox() {
+        File[] files = this.outboxDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                // 書き込み途中で終了したもの
+                file.delete();
+            }
+            else if (file.getName().endsWith(OUTBOX_EXT)) {
+                try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+                    long time = input.readLong();
+                    readBytes(input);
+                    String url = new String(readBytes(input), UTF8);
+                    this.add(new Entry(file, time, url));
+                } catch (IOException e) {
+                    LOG.warn("送信箱のファイルが読み込めないので捨てます: " + file.getPath(), e);
+                    file.delete();
+                    droppedCount.incrementAndGet();
+                }
+            }
+        }
+        if (!this.outbox.isEmpty()) {
+            LOG.info("前回送信できなかった " + this.outbox.size() + " 件を送信します");
+        }
+    }
+
+    private void add(Entry entry) {
+        int max = Math.max(1, AppConfig.get().getDatabaseOutboxMax());
+        while (this.outbox.size() >= max) {
+            // 古いものから捨てる
+            Entry old = this.outbox.pollFirst();
+            old.file.delete();
+            droppedCount.incrementAndGet();
+            LOG.warn("送信待ちが多すぎるので古いデータを捨てます(" + old.url + ")");
+        }
+        this.outbox.addLast(entry);
+        this.updateQueueStatus();
+    }
+
+    private void updateQueueStatus() {
+        queueSize = this.outbox.size() + this.inFlight;
+        Entry first = this.outbox.peekFirst();
+        oldestTime = (first != null) ? first.time : 0;
+    }
+
+    private Request createRequest(Entry entry) throws IOException {
+        FormContentProvider body = new FormContentProvider();
         body.add("token", AppConfig.get().getAccessKey());
         // このクライアントのエージェントキー
         body.add("agent", "6nENnnGzRgSTVeuU652r");
-        body.add("url", data.getFullUrl());
-        body.add("requestbody", sendRequestBody);
-        body.add("responsebody", sendResponseBody); // 
-        return this.httpClient.POST("http://api.kancolle-db.net/2/")
+        // 保存してあるバイト列のまま送信する
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(entry.file)))) {
+            input.readLong();
+            body.add("url", readBytes(input));
+            readBytes(input);
+            body.add("requestbody", readBytes(input));
+            body.add("responsebody", readBytes(input));
+        }
+        return this.httpClient.POST(AppConfig.get().getDatabaseUrl())
                 .agent("logbook/v" + AppConstants.VERSION)
-                .content(new StringContentProvider(body.encode()), "application/x-www-form-urlencoded");
+                .timeout(TIMEOUT, TimeUnit.SECONDS)
+                .content(body, "application/x-www-form-urlencoded");
+    }
+
+    private static int getMaxInFlight() {
+        return Math.max(1, AppConfig.get().getDatabaseMaxInFlight());
+    }
+
+    /** 送信できるだけ送信します */
+    private void dispatch() {
+        while ((this.inFlight < getMaxInFlight()) && !this.outbox.isEmpty()
+                && (System.currentTimeMillis() >= this.pauseUntil)) {
+            final Entry entry = this.outbox.pollFirst();
+            Request request;
+            try {
+                request = this.createRequest(entry);
+            } catch (IOException e) {
+                LOG.warn("送信箱のファイルが読み込めないので捨てます: " + entry.file.getPath(), e);
+                entry.file.delete();
+                droppedCount.incrementAndGet();
+                continue;
+            }
+            this.inFlight++;
+            request.send(new BufferingResponseListener() {
+                @Override
+                public void onComplete(Result result) {
+                    Completion completion;
+                    if (result.isFailed()) {
+                        Throwable failure = result.getFailure();
+                        completion = new Completion(entry, -1, String.valueOf(failure.getMessage()));
+                    }
+                    else {
+                        completion = new Completion(entry, result.getResponse().getStatus(),
+                                result.getResponse().getReason());
+                    }
+                    DatabaseClient.this.events.add(completion);
+                }
+            });
+        }
+        this.updateQueueStatus();
+    }
+
+    /** 送信が終わったとき */
+    private void complete(Completion completion) {
+        this.inFlight--;
+        final Entry entry = completion.entry;
+        if (HttpStatus.isSuccess(completion.status)) {
+            // 成功したらエラーカウンタをリセット
+            this.consecutiveFailures = 0;
+            entry.file.delete();
+            sentCount.incrementAndGet();
+            // ログに出す
+            if (AppConfig.get().isDatabaseSendLog()) {
+                String url = entry.url;
+                GlobalContext.printMessage("DBへ送信しました(" + url.substring(url.lastIndexOf('/') + 1) + ")");
+            }
+        }
+        else {
+            failedCount.incrementAndGet();
+            if (isRetryable(completion.status)) {
+                // 先頭に戻して、少し時間をおいてリトライ
+                this.outbox.addFirst(entry);
+                long delay = this.nextBackoff();
+                this.pauseUntil = System.currentTimeMillis() + delay;
+                LOG.warn("データベースへの送信に失敗しました. " + completion.reason
+                        + " (" + (delay / 1000) + "秒後に再送します)");
+            }
+            else {
+                // 送り直しても受け付けられないので捨てる
+                entry.file.delete();
+                droppedCount.incrementAndGet();
+                LOG.warn("データベースへの送信が拒否されました. " + completion.status + " " + completion.reason
+                        + " (" + entry.url + ")");
+            }
+        }
+        this.updateQueueStatus();
+    }
+
+    /** 再送する価値があるか (通信エラー、サーバーエラー、混雑) */
+    private static boolean isRetryable(int status) {
+        return (status < 0) || (status >= 500) || (status == 408) || (status == 429);
+    }
+
+    /** 次の再送までの待ち時間 (指数的に増やして、半分をランダムにする) */
+    private long nextBackoff() {
+        int failures = Math.min(this.consecutiveFailures++, 20);
+        long delay = Math.min(BACKOFF_MAX, BACKOFF_BASE << failures);
+        return (delay / 2) + (long) (this.random.nextDouble() * (delay / 2));
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
     }
 
     /* (非 Javadoc)
@@ -121,59 +535,28 @@ public class DatabaseClient extends Thread {
     @Override
     public void run() {
         try {
-            int skipCount = 0;
-            int errorCount = 0;
             this.httpClient = new HttpClient();
+            this.httpClient.setMaxConnectionsPerDestination(8);
             this.httpClient.start();
 
+            this.loadOutbox();
+            this.dispatch();
             while (true) {
-                final UndefinedData data = this.dataQueue.take();
-                if (skipCount > 0) {
-                    --skipCount;
-                    continue;
+                // 次に送信できるようになるまで待つ
+                long wait = Long.MAX_VALUE;
+                if (!this.outbox.isEmpty() && (this.inFlight < getMaxInFlight())) {
+                    wait = Math.max(0, this.pauseUntil - System.currentTimeMillis());
                 }
-                for (int retly = 0;; ++retly) {
-                    String errorReason = null;
-                    try {
-                        ContentResponse response = this.createRequest(data).send();
-                        if (HttpStatus.isSuccess(response.getStatus())) {
-                            // 成功したらエラーカウンタをリセット
-                            skipCount = errorCount = 0;
-                            // ログに出す
-                            if (AppConfig.get().isDatabaseSendLog()) {
-                                Display.getDefault().asyncExec(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        if (!ApplicationMain.main.getShell().isDisposed()) {
-                                            String url = data.getUrl();
-                                            ApplicationMain.main.printMessage("DBへ送信しました("
-                                                    + url.substring(url.lastIndexOf('/') + 1) + ")");
-                                        }
-                                    }
-                                });
-                            }
-                            break;
-                        }
-                        else {
-                            errorReason = response.getReason();
-                        }
-                    } catch (Exception e) {
-                        errorReason = e.getMessage();
-                    }
-                    if (errorReason != null) {
-                        // 少し時間をおいてリトライ
-                        Thread.sleep(1000);
-                        if (retly >= 4) {
-                            // リトライが多すぎたらエラーにする
-                            skipCount = (errorCount++) * 4;
-                            LOG.warn("データベースへの送信に失敗しました. " + errorReason);
-                            if (skipCount > 0) {
-                                LOG.warn("以降 " + skipCount + " 個の送信をスキップします.");
-                            }
-                            break;
-                        }
-                    }
+                Object event = (wait == Long.MAX_VALUE) ?
+                        this.events.take() :
+                        this.events.poll(wait, TimeUnit.MILLISECONDS);
+                if (event instanceof UndefinedData) {
+                    this.receive((UndefinedData) event);
                 }
+                else if (event instanceof Completion) {
+                    this.complete((Completion) event);
+                }
+                this.dispatch();
             }
 
         } catch (Exception e) {
@@ -181,6 +564,13 @@ public class DatabaseClient extends Thread {
                 LOG.fatal("スレッドが異常終了しました", e);
             }
         } finally {
+            // 受け取ったまま保存していないものを保存しておく (次の起動時に送信する)
+            Object event;
+            while ((event = this.events.poll()) != null) {
+                if (event instanceof UndefinedData) {
+                    this.receive((UndefinedData) event);
+                }
+            }
             if (this.httpClient != null) {
                 try {
                     this.httpClient.stop();
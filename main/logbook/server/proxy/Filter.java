@@ -1,5 +1,7 @@
 package logbook.server.proxy;
 
+import logbook.config.AppConfig;
+
 /**
  * 動作に必要なデータのみ取得するためのフィルターです。
  *
@@ -21,6 +23,9 @@ public class Filter {
     /** setAttribute用のキー(Content-Encoding) */
     public static final String CONTENT_ENCODING = "logbook.content-encoding";
 
+    /** setAttribute用のキー(キャプチャせずにそのままブラウザに返す応答ならTRUE) */
+    public static final String PASS_THROUGH = "logbook.pass-through";
+
     private static String serverName;
 
     /**
@@ -52,13 +57,13 @@ public class Filter {
      * <p>
      * 取得が必要なデータかを調べます<br>
      * 鎮守府サーバーが検出された場合はサーバー名から必要かどうかを判別します<br>
-     * 鎮守府サーバーが検出できていない場合は常にtrue<br>
+     * 鎮守府サーバーが検出できていない場合と、複数アカウントを記録する場合は常にtrue<br>
      * 
      * @param name サーバー名
      * @return 取得が必要なデータか
      */
     public static boolean isNeed(String name) {
-        if ((!isServerDetected() || (isServerDetected() && serverName.equals(name)))) {
+        if ((!isServerDetected() || AppConfig.get().isMultiAccount() || serverName.equals(name))) {
             return true;
         }
         return false;
@@ -68,14 +73,14 @@ public class Filter {
      * <p>
      * 取得が必要なデータかを調べます<br>
      * 鎮守府サーバーが検出された場合はサーバー名とContent-Typeから必要かどうかを判別します<br>
-     * 鎮守府サーバーが検出できていない場合はContent-Typeから必要かどうかを判別します<br>
+     * 鎮守府サーバーが検出できていない場合と、複数アカウントを記録する場合はContent-Typeから必要かどうかを判別します<br>
      * 
      * @param name サーバー名
      * @param contentType Content-Type
      * @return 取得が必要なデータか
      */
     public static boolean isNeed(String name, String contentType) {
-        if ((!isServerDetected() || serverName.equals(name))
+        if ((!isServerDetected() || AppConfig.get().isMultiAccount() || serverName.equals(name))
                 && CONTENT_TYPE_FILTER.equals(contentType)) {
             return true;
         }
@@ -0,0 +1,164 @@
+package logbook.server.proxy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jetty.client.api.ContentProvider;
+
+/**
+ * application/x-www-form-urlencoded の送信内容<br>
+ * 値をバイト列のままURLエンコードしながら少しずつ送り出すので、大きな値でも全体の文字列を作りません
+ */
+public final class FormContentProvider implements ContentProvider {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** 1回に送り出す大きさ */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(UTF8);
+
+    /** エンコードしない文字 (java.net.URLEncoderと同じ) */
+    private static final boolean[] SAFE = new boolean[256];
+
+    static {
+        for (int c = 'a'; c <= 'z'; ++c) {
+            SAFE[c] = true;
+        }
+        for (int c = 'A'; c <= 'Z'; ++c) {
+            SAFE[c] = true;
+        }
+        for (int c = '0'; c <= '9'; ++c) {
+            SAFE[c] = true;
+        }
+        SAFE['-'] = SAFE['_'] = SAFE['.'] = SAFE['*'] = true;
+    }
+
+    private final List<byte[]> names = new ArrayList<byte[]>();
+    private final List<byte[]> values = new ArrayList<byte[]>();
+    private long length = 0;
+
+    /**
+     * 項目を追加します
+     * @param name 名前
+     * @param value 値 (UTF-8)
+     * @return this
+     */
+    public FormContentProvider add(String name, byte[] value) {
+        byte[] nameBytes = name.getBytes(UTF8);
+        if (!this.names.isEmpty()) {
+            this.length += 1; // &
+        }
+        this.length += encodedLength(nameBytes) + 1 + encodedLength(value);
+        this.names.add(nameBytes);
+        this.values.add(value);
+        return this;
+    }
+
+    /**
+     * 項目を追加します
+     * @param name 名前
+     * @param value 値
+     * @return this
+     */
+    public FormContentProvider add(String name, String value) {
+        return this.add(name, value.getBytes(UTF8));
+    }
+
+    @Override
+    public long getLength() {
+        return this.length;
+    }
+
+    @Override
+    public Iterator<ByteBuffer> iterator() {
+        return new Iterator<ByteBuffer>() {
+            /** 出力中の項目 */
+            private int index = 0;
+            /** 項目の中の段階 (0:'&', 1:名前, 2:'=', 3:値) */
+            private int step = 0;
+            /** 名前または値の中の位置 */
+            private int pos = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < FormContentProvider.this.names.size();
+            }
+
+            @Override
+            public ByteBuffer next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // 1バイトは最大3バイトになるので、その分余裕を持たせる
+                byte[] chunk = new byte[CHUNK_SIZE + 3];
+                int len = 0;
+                while ((len < CHUNK_SIZE) && this.hasNext()) {
+                    switch (this.step) {
+                    case 0:
+                        if (this.index > 0) {
+                            chunk[len++] = '&';
+                        }
+                        this.step++;
+                        break;
+                    case 2:
+                        chunk[len++] = '=';
+                        this.step++;
+                        break;
+                    default:
+                        byte[] src = (this.step == 1) ?
+                                FormContentProvider.this.names.get(this.index) :
+                                FormContentProvider.this.values.get(this.index);
+                        len = this.encode(src, chunk, len);
+                        if (this.pos >= src.length) {
+                            this.pos = 0;
+                            if (++this.step > 3) {
+                                this.step = 0;
+                                this.index++;
+                            }
+                        }
+                        break;
+                    }
+                }
+                return ByteBuffer.wrap(chunk, 0, len);
+            }
+
+            /** chunkがいっぱいになるか最後までエンコードします */
+            private int encode(byte[] src, byte[] chunk, int len) {
+                while ((len < CHUNK_SIZE) && (this.pos < src.length)) {
+                    int b = src[this.pos++] & 0xFF;
+                    if (SAFE[b]) {
+                        chunk[len++] = (byte) b;
+                    }
+                    else if (b == ' ') {
+                        chunk[len++] = '+';
+                    }
+                    else {
+                        chunk[len++] = '%';
+                        chunk[len++] = HEX[b >> 4];
+                        chunk[len++] = HEX[b & 0xF];
+                    }
+                }
+                return len;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static long encodedLength(byte[] value) {
+        long length = 0;
+        for (byte v : value) {
+            int b = v & 0xFF;
+            length += (SAFE[b] || (b == ' ')) ? 1 : 3;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,76 @@
+package logbook.server.proxy;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.server.HttpChannel;
+
+/**
+ * キャプチャしない応答を、ゲームサーバーから受け取ったバッファのままブラウザに書き込みます<br>
+ * ProxyServletの既定の処理では、受信バッファ(ダイレクトバッファ)を受け取るたびにbyte[]を確保してコピーし、
+ * さらにレスポンスのバッファにコピーしてから送信します。
+ * ここでは受信バッファを直接サーバー側の接続に書き込むので、ヒープへのコピーがありません<br>
+ * ProxyServletの応答処理より先に呼ばれるようにリクエストに登録し、バッファを読み切った状態で後に回します
+ * (後の処理では長さ0の内容として扱われます)
+ */
+public final class PassThroughContentListener implements ContentListener {
+
+    /** HttpChannel#write(ByteBuffer, boolean) (Jetty 9.0ではHttpOutputからByteBufferを書き込めないため) */
+    private static final Method WRITE_METHOD = getWriteMethod();
+
+    private final HttpServletRequest httpRequest;
+
+    /**
+     * @param request リクエスト
+     */
+    public PassThroughContentListener(HttpServletRequest request) {
+        this.httpRequest = request;
+    }
+
+    /**
+     * 使えるか判定します
+     * @return 使える場合true
+     */
+    public static boolean isAvailable() {
+        return WRITE_METHOD != null;
+    }
+
+    /*
+     * ヘッダーでそのまま返すと決めた応答の場合、内容をブラウザに書き込みます
+     */
+    @Override
+    public void onContent(Response response, ByteBuffer content) {
+        if (!Boolean.TRUE.equals(this.httpRequest.getAttribute(Filter.PASS_THROUGH)) || !content.hasRemaining()) {
+            return;
+        }
+        AssetCache.onPassThroughContent(this.httpRequest, content.remaining());
+        HttpChannel<?> channel = ((org.eclipse.jetty.server.Request) this.httpRequest).getHttpChannel();
+        try {
+            // 書き込みが終わるまで待つ (戻ったあとバッファはHttpClientに返却される)
+            WRITE_METHOD.invoke(channel, content, Boolean.FALSE);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            response.abort((cause instanceof IOException) ? cause : e);
+        } catch (IllegalAccessException e) {
+            response.abort(e);
+        } finally {
+            content.position(content.limit());
+        }
+    }
+
+    private static Method getWriteMethod() {
+        try {
+            Method method = HttpChannel.class.getDeclaredMethod("write", ByteBuffer.class, boolean.class);
+            method.setAccessible(true);
+            return method;
+        } catch (ReflectiveOperationException | SecurityException e) {
+            return null;
+        }
+    }
+}
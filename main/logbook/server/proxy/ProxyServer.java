@@ -1,7 +1,12 @@
 package logbook.server.proxy;
 
+import java.util.Arrays;
+import java.util.List;
+
 import logbook.config.AppConfig;
-import logbook.gui.ApplicationMain;
+import logbook.config.bean.AppConfigBean;
+import logbook.data.context.GlobalContext;
+import logbook.data.context.SessionManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -22,20 +27,31 @@ public final class ProxyServer {
 
     private static final Logger LOG = LogManager.getLogger(ProxyServer.class);
 
+    /** 終了するときに通信データの処理を待つ最大の時間(ms) */
+    private static final long DRAIN_TIMEOUT = 10000;
+
     private static Server server;
+    private static QueuedThreadPool threadpool;
+    private static ServletHolder proxyServlet;
 
     private static String host;
     private static int port;
     private static String proxyHost;
     private static int proxyPort;
+    /** スレッド数や接続数などの設定 */
+    private static List<Integer> tuning;
 
     public static void start() {
         try {
-            QueuedThreadPool threadpool = new QueuedThreadPool();
-            threadpool.setMinThreads(2);
+            // 終了時に初めて読み込まれないように、先に通信データを処理するスレッドを開始しておく
+            CaptureQueue.init();
+            DatabaseClient.init();
+            SessionManager.init();
+            threadpool = new QueuedThreadPool();
 
             server = new Server(threadpool);
             updateSetting();
+            setThreadPool();
             setConnector();
             /*// httpsをプロキシできないので下のコードに移行
                         ServletHandler servletHandler = new ServletHandler();
@@ -50,7 +66,8 @@ public final class ProxyServer {
 
             // httpはこっちのハンドラでプロキシ
             ServletContextHandler context = new ServletContextHandler(proxy, "/", ServletContextHandler.SESSIONS);
-            ServletHolder proxyServlet = new ServletHolder(new ReverseProxyServlet());
+            proxyServlet = new ServletHolder(new ReverseProxyServlet());
+            setUpstream();
             context.addServlet(proxyServlet, "/*");
 
             server.start();
@@ -67,9 +84,11 @@ public final class ProxyServer {
             }
             if (updateSetting()) {
                 server.stop();
+                setThreadPool();
                 setConnector();
+                setUpstream();
                 server.start();
-                ApplicationMain.logPrint("プロキシサーバを再起動しました");
+                GlobalContext.printMessage("プロキシサーバを再起動しました");
             }
         } catch (Exception e) {
             LOG.fatal("Proxyサーバーの起動に失敗しました", e);
@@ -83,6 +102,18 @@ public final class ProxyServer {
                 server.stop();
                 server.join();
                 server = null;
+                threadpool = null;
+                proxyServlet = null;
+                // 受け付けた通信データを処理し終わるまで待つ
+                if (!CaptureQueue.drain(DRAIN_TIMEOUT)) {
+                    LOG.warn("通信データの処理が終わらないまま終了します");
+                }
+                if (AppConfig.get().isUseAssetCache()) {
+                    LOG.info(AssetCache.getStatusString());
+                }
+                if (CaptureQueue.getCapturedCount() > 0) {
+                    LOG.info(CaptureQueue.getStatusString());
+                }
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -106,8 +137,16 @@ public final class ProxyServer {
             newProxyPort = AppConfig.get().getProxyPort();
         }
 
+        AppConfigBean config = AppConfig.get();
+        List<Integer> newTuning = Arrays.asList(
+                config.getProxyAcceptors(), config.getProxySelectors(),
+                config.getProxyMinThreads(), config.getProxyMaxThreads(), config.getProxyIdleTimeout(),
+                config.getUpstreamMaxThreads(), config.getUpstreamMaxConnections(),
+                config.getUpstreamIdleTimeout(), config.getUpstreamTimeout());
+
         if (StringUtils.equals(newHost, host) && (newPort == port) &&
-                StringUtils.equals(newProxyHost, proxyHost) && (newProxyPort == proxyPort)) {
+                StringUtils.equals(newProxyHost, proxyHost) && (newProxyPort == proxyPort) &&
+                newTuning.equals(tuning)) {
             return false;
         }
 
@@ -115,13 +154,42 @@ public final class ProxyServer {
         port = newPort;
         proxyHost = newProxyHost;
         proxyPort = newProxyPort;
+        tuning = newTuning;
         return true;
     }
 
+    /**
+     * ブラウザからの接続を処理するスレッド数を設定します
+     */
+    private static void setThreadPool() {
+        AppConfigBean config = AppConfig.get();
+        int maxThreads = Math.max(8, config.getProxyMaxThreads());
+        threadpool.setMaxThreads(maxThreads);
+        threadpool.setMinThreads(Math.max(1, Math.min(config.getProxyMinThreads(), maxThreads)));
+    }
+
     private static void setConnector() {
-        ServerConnector connector = new ServerConnector(server, 1, 1);
+        AppConfigBean config = AppConfig.get();
+        ServerConnector connector = new ServerConnector(server,
+                Math.max(1, config.getProxyAcceptors()), Math.max(1, config.getProxySelectors()));
         connector.setPort(port);
         connector.setHost(host);
+        // ブラウザとの接続をKeep-Aliveで保持する時間
+        connector.setIdleTimeout(config.getProxyIdleTimeout());
         server.setConnectors(new Connector[] { connector });
     }
+
+    /**
+     * ゲームサーバーへの接続の設定をします<br>
+     * ProxyServletはHttpClientを作るときに初期化パラメータで設定を上書きするので、初期化パラメータで渡します
+     */
+    private static void setUpstream() {
+        AppConfigBean config = AppConfig.get();
+        proxyServlet.setInitParameter("maxThreads", Integer.toString(Math.max(8, config.getUpstreamMaxThreads())));
+        proxyServlet.setInitParameter("maxConnections",
+                Integer.toString(Math.max(1, config.getUpstreamMaxConnections())));
+        // ゲームサーバーとの接続をKeep-Aliveで保持する時間
+        proxyServlet.setInitParameter("idleTimeout", Integer.toString(config.getUpstreamIdleTimeout()));
+        proxyServlet.setInitParameter("timeout", Integer.toString(config.getUpstreamTimeout()));
+    }
 }
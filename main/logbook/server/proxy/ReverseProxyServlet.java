@@ -1,23 +1,16 @@
 package logbook.server.proxy;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.InetAddress;
-import java.util.zip.GZIPInputStream;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import logbook.config.AppConfig;
-import logbook.data.Data;
-import logbook.data.DataType;
-import logbook.data.UndefinedData;
-import logbook.data.context.GlobalContext;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpRequest;
@@ -26,7 +19,6 @@ import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.proxy.ProxyServlet;
-import org.eclipse.swt.widgets.Display;
 
 /**
  * リバースプロキシ
@@ -48,6 +40,9 @@ public final class ReverseProxyServlet extends ProxyServlet {
             response.setStatus(400);
             return;
         }
+        if (AssetCache.isCacheable(request) && AssetCache.serve(request, response)) {
+            return;
+        }
         super.service(request, response);
     }
 
@@ -57,6 +52,11 @@ public final class ReverseProxyServlet extends ProxyServlet {
     @Override
     protected void customizeProxyRequest(Request proxyRequest, HttpServletRequest request) {
         proxyRequest.onRequestContent(new RequestContentListener(request));
+        if (AppConfig.get().isProxyPassThrough() && PassThroughContentListener.isAvailable()) {
+            // ProxyServletの応答処理より先に呼ばれるように登録する (そのまま返すかは応答ヘッダーで決める)
+            proxyRequest.onResponseContent(new PassThroughContentListener(request));
+            request.setAttribute(Filter.PASS_THROUGH, Boolean.FALSE);
+        }
 
         // Hop-by-Hop ヘッダーを除去します
         proxyRequest.header(HttpHeader.VIA, null);
@@ -69,6 +69,10 @@ public final class ReverseProxyServlet extends ProxyServlet {
         String queryString = ((org.eclipse.jetty.server.Request) request).getQueryString();
         fixQueryString(proxyRequest, queryString);
 
+        if (AssetCache.isCacheable(request)) {
+            AssetCache.customizeProxyRequest(proxyRequest, request);
+        }
+
         super.customizeProxyRequest(proxyRequest, request);
     }
 
@@ -84,6 +88,23 @@ public final class ReverseProxyServlet extends ProxyServlet {
         return super.filterResponseHeader(request, headerName, headerValue);
     }
 
+    /*
+     * レスポンスヘッダーが帰ってきた
+     */
+    @Override
+    protected void onResponseHeaders(HttpServletRequest request, HttpServletResponse response,
+            Response proxyResponse) {
+        super.onResponseHeaders(request, response, proxyResponse);
+        AssetCache.onResponseHeaders(request, response, proxyResponse);
+
+        // キャプチャもキャッシュへの保存もしない応答は、受け取ったバッファのままブラウザに返す
+        if ((request.getAttribute(Filter.PASS_THROUGH) != null)
+                && !Filter.isNeed(request.getServerName(), response.getContentType())
+                && !AssetCache.needsContent(request)) {
+            request.setAttribute(Filter.PASS_THROUGH, Boolean.TRUE);
+        }
+    }
+
     /*
      * レスポンスが帰ってきた
      */
@@ -91,6 +112,10 @@ public final class ReverseProxyServlet extends ProxyServlet {
     protected void onResponseContent(HttpServletRequest request, HttpServletResponse response,
             Response proxyResponse,
             byte[] buffer, int offset, int length) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(Filter.PASS_THROUGH))) {
+            // PassThroughContentListenerで書き込み済み
+            return;
+        }
 
         // フィルタークラスで必要かどうかを判別後、必要であれば内容をキャプチャする
         // 注意: 1回のリクエストで複数回の応答が帰ってくるので全ての応答をキャプチャする必要がある
@@ -103,6 +128,7 @@ public final class ReverseProxyServlet extends ProxyServlet {
             // ストリームに書き込む
             stream.write(buffer, offset, length);
         }
+        AssetCache.onResponseContent(request, buffer, offset, length);
 
         super.onResponseContent(request, response, proxyResponse, buffer, offset, length);
     }
@@ -113,51 +139,30 @@ public final class ReverseProxyServlet extends ProxyServlet {
     @Override
     protected void onResponseSuccess(HttpServletRequest request, HttpServletResponse response,
             Response proxyResponse) {
-
+        AssetCache.onResponseSuccess(request, response);
         if (Filter.isNeed(request.getServerName(), response.getContentType())) {
             byte[] postField = (byte[]) request.getAttribute(Filter.REQUEST_BODY);
             ByteArrayOutputStream stream = (ByteArrayOutputStream) request.getAttribute(Filter.RESPONSE_BODY);
             if (stream != null) {
-                byte[] responseBody = stream.toByteArray();
-
-                // 圧縮されていたら解凍する
-                String contentEncoding = (String) request.getAttribute(Filter.CONTENT_ENCODING);
-                if ((contentEncoding != null) && contentEncoding.equals("gzip")) {
-                    try {
-                        responseBody = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(responseBody)));
-                    } catch (IOException e) {
-                        //
-                    }
-                }
-
-                final UndefinedData rawData = new UndefinedData(request.getRequestURL().toString(),
-                        request.getRequestURI(), postField, responseBody);
-                final String serverName = request.getServerName();
-
-                Display.getDefault().asyncExec(new Runnable() {
-                    @Override
-                    public void run() {
-                        // 統計データベース(http://kancolle-db.net/)に送信する
-                        DatabaseClient.send(rawData);
-
-                        // キャプチャしたバイト配列は何のデータかを決定する
-                        Data data = rawData.toDefinedData();
-                        if (data.getDataType() != DataType.UNDEFINED) {
-                            // 定義済みのデータの場合にキューに追加する
-                            GlobalContext.updateContext(data);
-
-                            // サーバー名が不明の場合、サーバー名をセットする
-                            if (!Filter.isServerDetected()) {
-                                Filter.setServerName(serverName);
-                            }
-                        }
-                    }
-                });
+                // 解析は別のスレッドで行い、ここではキューに入れるだけにする
+                CaptureQueue.add(request.getRequestURL().toString(), request.getRequestURI(),
+                        request.getServerName(), postField, stream,
+                        (String) request.getAttribute(Filter.CONTENT_ENCODING));
             }
         }
         super.onResponseSuccess(request, response, proxyResponse);
     }
 
+    /*
+     * レスポンスが失敗した
+     */
+    @Override
+    protected void onResponseFailure(HttpServletRequest request, HttpServletResponse response,
+            Response proxyResponse, Throwable failure) {
+        AssetCache.onResponseFailure(request);
+        super.onResponseFailure(request, response, proxyResponse, failure);
+    }
+
     /*
      * HttpClientを作成する
      */
@@ -0,0 +1,142 @@
+package logbook.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import logbook.config.AppConfig;
+import logbook.dto.BattleExDto;
+import logbook.dto.RawBattleDto;
+import logbook.internal.BattleResultServer;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+
+import com.dyuproject.protostuff.LinkedBuffer;
+import com.dyuproject.protostuff.ProtostuffIOUtil;
+import com.dyuproject.protostuff.Schema;
+import com.dyuproject.protostuff.runtime.RuntimeSchema;
+
+/**
+ * 出撃ログ(.dat)を生JSON形式(.rdat)に変換して、ファイルサイズと読み込み速度を比較します<br>
+ * <br>
+ * 使い方: BattleLogConverter 変換元ディレクトリ 出力先ディレクトリ<br>
+ * JSONを含まない古い出撃ログは変換できないので、出力先に元の形式(.dat)のまま書き込みます<br>
+ * 変換後に両方を読み込んで、ランクと戦闘後のHPが一致するか確認します
+ */
+public class BattleLogConverter {
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("使い方: BattleLogConverter 変換元ディレクトリ 出力先ディレクトリ");
+            return;
+        }
+        AppConfig.load();
+        File srcDir = new File(args[0]);
+        File dstDir = new File(args[1]);
+        FileUtils.forceMkdir(dstDir);
+
+        Schema<BattleExDto> schema = RuntimeSchema.getSchema(BattleExDto.class);
+        LinkedBuffer buffer = LinkedBuffer.allocate(128 * 1024);
+
+        Collection<File> srcFiles = FileUtils.listFiles(srcDir, new String[] { "dat" }, false);
+        long srcSize = 0;
+        long dstSize = 0;
+        int converted = 0;
+        int skipped = 0;
+        List<File> rawFiles = new ArrayList<File>();
+        for (File src : srcFiles) {
+            List<BattleExDto> battles = BattleResultServer.readFile(src);
+            List<BattleExDto> raw = new ArrayList<BattleExDto>();
+            List<BattleExDto> old = new ArrayList<BattleExDto>();
+            for (BattleExDto dto : battles) {
+                if (RawBattleDto.canConvert(dto)) {
+                    raw.add(dto);
+                }
+                else {
+                    old.add(dto);
+                }
+            }
+            String base = FilenameUtils.getBaseName(src.getName());
+            if (!raw.isEmpty()) {
+                File dst = new File(dstDir, base + "." + BattleResultServer.RAW_EXT);
+                try (OutputStream output = new FileOutputStream(dst)) {
+                    BattleResultServer.writeRaw(output, raw);
+                }
+                rawFiles.add(src);
+                dstSize += dst.length();
+            }
+            if (!old.isEmpty()) {
+                File dst = new File(dstDir, base + ".dat");
+                try (OutputStream output = new FileOutputStream(dst)) {
+                    for (BattleExDto dto : old) {
+                        ProtostuffIOUtil.writeDelimitedTo(output, dto, schema, buffer);
+                        buffer.clear();
+                    }
+                }
+                dstSize += dst.length();
+            }
+            srcSize += src.length();
+            converted += raw.size();
+            skipped += old.size();
+        }
+        System.out.println(String.format("%d件を変換 (JSONがないため変換できなかったもの %d件)", converted, skipped));
+        System.out.println(String.format("ファイルサイズ: %,d byte -> %,d byte (%.1f%%)", srcSize, dstSize,
+                srcSize > 0 ? (dstSize * 100.0) / srcSize : 0));
+
+        // 読み込み速度
+        long begin = System.nanoTime();
+        int count = 0;
+        for (File src : rawFiles) {
+            count += BattleResultServer.readFile(src).size();
+        }
+        long oldTime = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        List<BattleExDto> lazy = new ArrayList<BattleExDto>();
+        for (File src : rawFiles) {
+            lazy.addAll(BattleResultServer.readFile(
+                    new File(dstDir, FilenameUtils.getBaseName(src.getName()) + "." + BattleResultServer.RAW_EXT)));
+        }
+        long rawTime = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        for (BattleExDto dto : lazy) {
+            dto.getLastPhase();
+        }
+        long deriveTime = System.nanoTime() - begin;
+
+        System.out.println(String.format("読み込み(%d件): 従来 %.1f ms / 生JSON %.1f ms + 戦闘フェーズの計算 %.1f ms",
+                count, oldTime / 1e6, rawTime / 1e6, deriveTime / 1e6));
+
+        // 一致するか確認
+        int mismatch = 0;
+        int index = 0;
+        for (File src : rawFiles) {
+            for (BattleExDto dto : BattleResultServer.readFile(src)) {
+                if (!RawBattleDto.canConvert(dto)) {
+                    continue;
+                }
+                BattleExDto raw = lazy.get(index++);
+                if (!dto.getBattleDate().equals(raw.getBattleDate())
+                        || (dto.getRank() != raw.getRank())
+                        || !Arrays.equals(dto.getNowFriendHp(), raw.getNowFriendHp())
+                        || !Arrays.equals(dto.getNowFriendHpCombined(), raw.getNowFriendHpCombined())
+                        || !Arrays.equals(dto.getNowEnemyHp(), raw.getNowEnemyHp())
+                        || (dto.getEnemy().size() != raw.getEnemy().size())) {
+                    System.out.println("不一致: " + dto.getBattleDate());
+                    ++mismatch;
+                }
+            }
+        }
+        System.out.println("不一致 " + mismatch + "件");
+    }
+}
@@ -0,0 +1,312 @@
+package logbook.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import logbook.config.AppConfig;
+import logbook.config.ItemMasterConfig;
+import logbook.config.ShipConfig;
+import logbook.dto.BattleExDto;
+import logbook.dto.RawBattleDto;
+import logbook.dto.ResultRank;
+import logbook.internal.BattleResultServer;
+import logbook.util.ReportUtils;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * 出撃ログの戦闘フェーズを現在の計算ロジックで作り直します<br>
+ * ランク判定やダメージ計算を修正したとき、保存済みの出撃ログに残っている古い計算結果を更新するために使います<br>
+ * <br>
+ * 使い方: BattleLogMigrator [出撃ログのディレクトリ] [--threads スレッド数] [--write]<br>
+ * ディレクトリを省略すると設定の出撃ログの場所を使います<br>
+ * ファイル(zipの場合はzipファイル)ごとに並列に処理し、推定ランクと実際のランクが合っているか確認します<br>
+ * --write を付けると計算結果が変わったファイルを書き直します。一時ファイルに書き込んでから置き換えるので、
+ * 途中で止まっても元のファイルは壊れません<br>
+ * 航海日誌の実行中は出撃ログを書き換えないでください<br>
+ * 生JSON形式(.rdat)の出撃ログは読み込むたびに計算し直されるので、確認だけして書き直しません
+ */
+public class BattleLogMigrator {
+
+    /** ファイルごとの処理結果 */
+    private static final class FileResult {
+        final File file;
+        int records;
+        /** JSONがないため作り直せなかった件数 */
+        int noJson;
+        /** 作り直して結果が変わった件数 */
+        int changed;
+        /** 推定ランクが実際のランクと違う件数 */
+        int rankMismatch;
+        boolean written;
+        final List<String> messages = new ArrayList<String>();
+
+        FileResult(File file) {
+            this.file = file;
+        }
+    }
+
+    private final boolean write;
+
+    private BattleLogMigrator(boolean write) {
+        this.write = write;
+    }
+
+    /**
+     * 1ファイルを処理します
+     * @param file 出撃ログファイル(.dat, .rdat, .zip)
+     * @return 処理結果
+     */
+    private FileResult process(File file) throws IOException {
+        FileResult result = new FileResult(file);
+        // zipの中のファイル名 -> 出撃ログ (zipでない場合はファイル名1つだけ)
+        Map<String, List<BattleExDto>> entries = new LinkedHashMap<String, List<BattleExDto>>();
+        boolean zip = file.getName().endsWith("zip");
+        if (zip) {
+            try (ZipFile zipFile = new ZipFile(file)) {
+                Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    ZipEntry entry = enumeration.nextElement();
+                    try (InputStream input = zipFile.getInputStream(entry)) {
+                        entries.put(entry.getName(), BattleResultServer.read(input, entry.getName()));
+                    }
+                }
+            }
+        }
+        else {
+            entries.put(file.getName(), BattleResultServer.readFile(file));
+        }
+
+        for (Map.Entry<String, List<BattleExDto>> entry : entries.entrySet()) {
+            boolean raw = BattleResultServer.isRaw(entry.getKey());
+            for (BattleExDto dto : entry.getValue()) {
+                this.rederive(dto, raw, result);
+            }
+        }
+
+        if (this.write && (result.changed > 0)) {
+            File tmp = new File(file.getPath() + ".tmp");
+            try (OutputStream output = new FileOutputStream(tmp)) {
+                if (zip) {
+                    try (ZipOutputStream zipOutput = new ZipOutputStream(output)) {
+                        for (Map.Entry<String, List<BattleExDto>> entry : entries.entrySet()) {
+                            zipOutput.putNextEntry(new ZipEntry(entry.getKey()));
+                            writeEntry(zipOutput, entry.getKey(), entry.getValue());
+                            zipOutput.closeEntry();
+                        }
+                    }
+                }
+                else {
+                    writeEntry(output, file.getName(), entries.get(file.getName()));
+                }
+            } catch (IOException e) {
+                tmp.delete();
+                throw e;
+            }
+            ReportUtils.replaceFile(tmp, file);
+            result.written = true;
+        }
+        return result;
+    }
+
+    /**
+     * 1件の戦闘を現在の計算ロジックで作り直して、ランクを確認します
+     */
+    private void rederive(BattleExDto dto, boolean raw, FileResult result) {
+        result.records++;
+        if (raw) {
+            // 読み込んだ時点で現在のロジックで計算されている
+        }
+        else if (RawBattleDto.canConvert(dto)) {
+            Object[] before = snapshot(dto);
+            dto.readFromJson();
+            if (!Arrays.deepEquals(before, snapshot(dto))) {
+                result.changed++;
+            }
+        }
+        else {
+            result.noJson++;
+        }
+        BattleExDto.Phase lastPhase = lastPhase(dto);
+        if ((lastPhase != null) && (dto.getRank() != null)) {
+            ResultRank estimatedRank = lastPhase.getEstimatedRank();
+            if ((estimatedRank != null) && !dto.getRank().equals(estimatedRank.rank())) {
+                result.rankMismatch++;
+                result.messages.add("戦闘結果判定ミス: " + dto.getBattleDate() + " 正解ランク:" + dto.getRank() + " "
+                        + lastPhase.getRankCalcInfo(dto));
+            }
+        }
+    }
+
+    /**
+     * 最後の戦闘フェーズ<br>
+     * 戦闘フェーズがない出撃ログは読み込むとフェーズのリストがnullになるので {@link BattleExDto#getLastPhase()} は使えません
+     */
+    private static BattleExDto.Phase lastPhase(BattleExDto dto) {
+        List<BattleExDto.Phase> phases = dto.getPhaseList();
+        if ((phases == null) || phases.isEmpty()) {
+            return null;
+        }
+        return phases.get(phases.size() - 1);
+    }
+
+    /** 作り直しで変わる可能性のある値 */
+    private static Object[] snapshot(BattleExDto dto) {
+        List<BattleExDto.Phase> phases = dto.getPhaseList();
+        BattleExDto.Phase lastPhase = lastPhase(dto);
+        // 戦闘フェーズがない場合もあるので lastPhase から取る
+        return new Object[] {
+                (phases != null) ? phases.size() : 0,
+                (lastPhase != null) ? lastPhase.getEstimatedRank() : null,
+                (lastPhase != null) ? lastPhase.getNowFriendHp() : null,
+                (lastPhase != null) ? lastPhase.getNowFriendHpCombined() : null,
+                (lastPhase != null) ? lastPhase.getNowEnemyHp() : null,
+                dto.getEnemy().size(),
+                dto.getFriendGaugeMax(),
+                dto.getEnemyGaugeMax(),
+                dto.getDropName()
+        };
+    }
+
+    private static void writeEntry(OutputStream output, String name, List<BattleExDto> battles) throws IOException {
+        if (BattleResultServer.isRaw(name)) {
+            BattleResultServer.writeRaw(output, battles);
+        }
+        else {
+            BattleResultServer.write(output, battles);
+        }
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws InterruptedException {
+        AppConfig.load();
+        ShipConfig.load();
+        ItemMasterConfig.load();
+
+        File dir = null;
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        boolean write = false;
+        for (int i = 0; i < args.length; ++i) {
+            if ("--threads".equals(args[i])) {
+                nThreads = Integer.parseInt(args[++i]);
+            }
+            else if ("--write".equals(args[i])) {
+                write = true;
+            }
+            else {
+                dir = new File(args[i]);
+            }
+        }
+        if (dir == null) {
+            dir = new File(AppConfig.get().getBattleLogPath());
+        }
+        if (!dir.isDirectory()) {
+            System.out.println("出撃ログのディレクトリがありません: " + dir.getPath());
+            return;
+        }
+
+        List<File> files = new ArrayList<File>(FileUtils.listFiles(dir,
+                new String[] { "dat", BattleResultServer.RAW_EXT, "zip" }, true));
+        // 大きいファイルから始めて、最後に1スレッドだけ残る時間を短くする
+        Collections.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(o2.length(), o1.length());
+            }
+        });
+        long totalBytes = 0;
+        for (File file : files) {
+            totalBytes += file.length();
+        }
+
+        final BattleLogMigrator migrator = new BattleLogMigrator(write);
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "logbook_migrate_" + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        CompletionService<FileResult> completion = new ExecutorCompletionService<FileResult>(executor);
+        long begin = System.nanoTime();
+        for (final File file : files) {
+            completion.submit(new Callable<FileResult>() {
+                @Override
+                public FileResult call() throws Exception {
+                    return migrator.process(file);
+                }
+            });
+        }
+
+        int records = 0;
+        int noJson = 0;
+        int changed = 0;
+        int rankMismatch = 0;
+        int written = 0;
+        int errors = 0;
+        for (int i = 0; i < files.size(); ++i) {
+            try {
+                FileResult result = completion.take().get();
+                for (String message : result.messages) {
+                    System.out.println(message);
+                }
+                records += result.records;
+                noJson += result.noJson;
+                changed += result.changed;
+                rankMismatch += result.rankMismatch;
+                if (result.written) {
+                    written++;
+                    System.out.println("書き直しました: " + result.file.getPath());
+                }
+            } catch (ExecutionException e) {
+                errors++;
+                System.out.println("処理に失敗しました");
+                e.getCause().printStackTrace(System.out);
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        double seconds = elapsed / 1e9;
+        System.out.println(String.format("%dファイル %d件を%dスレッドで処理 (%.2f 秒, %.0f 件/秒, %.1f MB/秒)",
+                files.size(), records, nThreads, seconds, records / seconds, totalBytes / 1048576.0 / seconds));
+        System.out.println(String.format("計算結果が変わったもの %d件 / JSONがないため作り直せなかったもの %d件", changed, noJson));
+        System.out.println(String.format("ランク判定ミス %d件", rankMismatch));
+        if (write) {
+            System.out.println(String.format("書き直したファイル %d個", written));
+        }
+        else if (changed > 0) {
+            System.out.println("--write を付けると計算結果が変わったファイルを書き直します");
+        }
+        if (errors > 0) {
+            System.out.println(String.format("失敗したファイル %d個", errors));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package logbook.test;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import logbook.config.AppConfig;
+import logbook.data.UndefinedData;
+import logbook.server.proxy.DatabaseClient;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+/**
+ * ローカルに立てたダミーのデータベースサーバーにDatabaseClientで送信してみます<br>
+ * サーバーは一定の割合で503を返したり、応答を遅らせたりします<br>
+ * <br>
+ * 使い方: DatabaseClientStub [件数] [失敗する割合(0-1)] [応答時間(ms)] [同時送信数]<br>
+ * 送信待ちはカレントディレクトリの dbqueue に保存されます。
+ * 途中で止めてからもう一度実行すると、前回送れなかったものから送信します
+ */
+public class DatabaseClientStub {
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws Exception {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        final double failureRate = (args.length > 1) ? Double.parseDouble(args[1]) : 0.2;
+        final long latency = (args.length > 2) ? Long.parseLong(args[2]) : 20;
+        int maxInFlight = (args.length > 3) ? Integer.parseInt(args[3]) : 4;
+
+        final AtomicInteger received = new AtomicInteger();
+        final AtomicInteger tokenLeaked = new AtomicInteger();
+        final Random random = new Random(0);
+        Server server = new Server(0);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                boolean fail;
+                synchronized (random) {
+                    fail = random.nextDouble() < failureRate;
+                }
+                if (fail) {
+                    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    return;
+                }
+                String body = request.getParameter("requestbody");
+                if ((body != null) && body.contains("api_token")) {
+                    tokenLeaked.incrementAndGet();
+                }
+                received.incrementAndGet();
+                response.setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+        server.start();
+        int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+
+        AppConfig.load();
+        AppConfig.get().setSendDatabase(true);
+        AppConfig.get().setAccessKey("stub");
+        AppConfig.get().setDatabaseUrl("http://localhost:" + port + "/2/");
+        AppConfig.get().setDatabaseMaxInFlight(maxInFlight);
+
+        long begin = System.currentTimeMillis();
+        for (int i = 0; i < count; ++i) {
+            DatabaseClient.send(new UndefinedData("http://localhost/kcsapi/api_port/port", "/kcsapi/api_port/port",
+                    ("api_verno=1&api_token=0123456789abcdef&api_sort_key=" + i).getBytes(),
+                    ("svdata={\"api_result\":1,\"api_data\":{\"index\":" + i + "}}").getBytes()));
+        }
+        // 全部送信するまで待つ (バックオフが長くなっても最大2分)
+        long deadline = begin + (2 * 60 * 1000);
+        while ((System.currentTimeMillis() < deadline) && ((DatabaseClient.getSentCount() < count)
+                || (DatabaseClient.getQueueSize() > 0))) {
+            Thread.sleep(200);
+            if ((DatabaseClient.getSentCount() >= count) && (DatabaseClient.getQueueSize() == 0)) {
+                break;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - begin;
+        System.out.println(DatabaseClient.getStatusString());
+        System.out.println(String.format("サーバーが受け取った件数 %d (api_tokenを含むもの %d件) / %.1f 秒",
+                received.get(), tokenLeaked.get(), elapsed / 1000.0));
+        DatabaseClient.end();
+        server.stop();
+    }
+}
@@ -0,0 +1,341 @@
+package logbook.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import logbook.data.Data;
+import logbook.data.DataType;
+import logbook.data.UndefinedData;
+import logbook.data.context.GlobalContext;
+import logbook.dto.AtackKind;
+import logbook.dto.BattleAtackDto;
+import logbook.dto.BattleExDto;
+import logbook.dto.BattlePhaseKind;
+import logbook.dto.ItemInfoDto;
+import logbook.dto.ShipInfoDto;
+import logbook.dto.chart.ResourceLog;
+import logbook.gui.logic.CreateReportLogic;
+import logbook.internal.Item;
+import logbook.internal.Ship;
+
+import org.apache.commons.io.FileUtils;
+
+import com.dyuproject.protostuff.LinkedBuffer;
+import com.dyuproject.protostuff.ProtostuffIOUtil;
+import com.dyuproject.protostuff.Schema;
+import com.dyuproject.protostuff.runtime.RuntimeSchema;
+
+/**
+ * よく呼ばれる処理のベンチマーク<br>
+ * SampleDataGeneratorで作ったデータを使うので、ゲームに接続しなくても実行できます<br>
+ * <br>
+ * 使い方: HotPathBenchmark [--filter 名前の一部] [--time 1回の測定時間(ms)] [--iterations 測定回数]
+ * [--warmup ウォームアップ回数] [--ships 艦娘の数] [--items 装備の数] [--out 作業ディレクトリ]<br>
+ * 報告書や出撃ログは作業ディレクトリ(省略時は ./bench)に書き込みます<br>
+ * 艦娘一覧はscriptディレクトリのスクリプトを使います
+ */
+public class HotPathBenchmark {
+
+    private static Data toData(DataType type, JsonObject json) {
+        return new UndefinedData("http://localhost" + type.getUrl(), type.getUrl(),
+                "api_verno=1&api_token=0123456789abcdef".getBytes(),
+                SampleDataGenerator.toSvdata(json)).toDefinedData();
+    }
+
+    /**
+     * 比較用: ArrayList&lt;Integer&gt;を使っていた以前の砲撃戦の読み込み
+     */
+    private static List<BattleAtackDto> makeHougekiBoxing(JsonObject hougeki) {
+        JsonArray at_list = hougeki.getJsonArray("api_at_list");
+        JsonArray df_list = hougeki.getJsonArray("api_df_list");
+        JsonArray damage_list = hougeki.getJsonArray("api_damage");
+        ArrayList<BattleAtackDto> result = new ArrayList<BattleAtackDto>();
+        ArrayList<Integer> flatten_df_list = new ArrayList<Integer>();
+        ArrayList<Integer> flatten_damage_list = new ArrayList<Integer>();
+        for (int i = 0; i < at_list.size(); ++i) {
+            int at = at_list.getInt(i);
+            if (at == -1)
+                continue;
+            JsonValue df = df_list.get(i);
+            JsonValue damage = damage_list.get(i);
+            if (df.getValueType() == JsonValue.ValueType.NUMBER) {
+                int dfi = ((JsonNumber) df).intValue();
+                if (dfi != -1) {
+                    flatten_df_list.add((dfi - 1) % 6);
+                    flatten_damage_list.add(((JsonNumber) damage).intValue());
+                }
+            }
+            else {
+                for (int d = 0; d < ((JsonArray) df).size(); ++d) {
+                    int dfd = ((JsonArray) df).getInt(d);
+                    if (dfd != -1) {
+                        flatten_df_list.add((dfd - 1) % 6);
+                        flatten_damage_list.add(((JsonArray) damage).getInt(d));
+                    }
+                }
+            }
+            int length = flatten_df_list.size();
+            if (length > 0) {
+                BattleAtackDto dto = new BattleAtackDto();
+                dto.kind = AtackKind.HOUGEKI;
+                dto.friendAtack = (at <= 6);
+                dto.origin = new int[] { (at - 1) % 6 };
+                dto.target = new int[length];
+                dto.damage = new int[length];
+                for (int c = 0; c < length; ++c) {
+                    dto.target[c] = flatten_df_list.get(c);
+                    dto.damage[c] = flatten_damage_list.get(c);
+                }
+                result.add(dto);
+            }
+            flatten_df_list.clear();
+            flatten_damage_list.clear();
+        }
+        return result;
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws Exception {
+        MicroBenchmark.Options options = new MicroBenchmark.Options();
+        String filter = null;
+        int ships = 300;
+        int items = 1200;
+        File outDir = new File("bench");
+        for (int i = 0; i < args.length; ++i) {
+            if ("--filter".equals(args[i])) {
+                filter = args[++i];
+            }
+            else if ("--time".equals(args[i])) {
+                options.iterationMillis = Long.parseLong(args[++i]);
+            }
+            else if ("--iterations".equals(args[i])) {
+                options.iterations = Integer.parseInt(args[++i]);
+            }
+            else if ("--warmup".equals(args[i])) {
+                options.warmupIterations = Integer.parseInt(args[++i]);
+            }
+            else if ("--ships".equals(args[i])) {
+                ships = Integer.parseInt(args[++i]);
+            }
+            else if ("--items".equals(args[i])) {
+                items = Integer.parseInt(args[++i]);
+            }
+            else if ("--out".equals(args[i])) {
+                outDir = new File(args[++i]);
+            }
+        }
+
+        ReplayEngine.prepare(outDir);
+        final SampleDataGenerator generator = new SampleDataGenerator(0, ships, items);
+        final JsonObject start2 = generator.start2();
+        final JsonObject port = generator.port();
+        final JsonObject ship3 = generator.ship3();
+        final JsonObject battle = generator.battle(0);
+        final JsonObject battleResult = generator.battleResult(0);
+
+        // マスターと母港を読み込んでおく
+        GlobalContext.updateContext(toData(DataType.START2, start2));
+        GlobalContext.updateContext(toData(DataType.SLOTITEM_MEMBER, generator.slotitemMember()));
+        GlobalContext.updateContext(toData(DataType.PORT, port));
+
+        // 母港で引くマスターID
+        JsonArray apiShip = port.getJsonObject("api_data").getJsonArray("api_ship");
+        final int[] shipIds = new int[apiShip.size()];
+        for (int i = 0; i < shipIds.length; ++i) {
+            shipIds[i] = apiShip.getJsonObject(i).getInt("api_ship_id");
+        }
+        JsonArray apiSlotitem = generator.slotitemMember().getJsonArray("api_data");
+        final int[] slotitemIds = new int[apiSlotitem.size()];
+        for (int i = 0; i < slotitemIds.length; ++i) {
+            slotitemIds[i] = apiSlotitem.getJsonObject(i).getInt("api_slotitem_id");
+        }
+        // 比較用: 以前の文字列キーのConcurrentHashMapとIntegerキーのHashMap
+        final Map<String, ShipInfoDto> shipMaster = new ConcurrentHashMap<String, ShipInfoDto>();
+        for (int id : Ship.getIds()) {
+            shipMaster.put(Integer.toString(id), Ship.get(id));
+        }
+        final Map<Integer, ItemInfoDto> itemMaster = new HashMap<Integer, ItemInfoDto>();
+        for (int id : Item.getIds()) {
+            itemMaster.put(id, Item.get(id));
+        }
+
+        final File materialLog = new File(outDir, "sample_material.csv");
+        FileUtils.writeLines(materialLog, generator.materialLog(20000));
+
+        List<MicroBenchmark> benchmarks = new ArrayList<MicroBenchmark>();
+        benchmarks.add(new MicroBenchmark("toDefinedData.port") {
+            private final byte[] response = SampleDataGenerator.toSvdata(port);
+
+            @Override
+            public Object run() {
+                return new UndefinedData("http://localhost/kcsapi/api_port/port", DataType.PORT.getUrl(),
+                        "api_verno=1&api_token=0123456789abcdef".getBytes(), this.response).toDefinedData();
+            }
+        });
+        benchmarks.add(new MicroBenchmark("toDefinedData.start2") {
+            private final byte[] response = SampleDataGenerator.toSvdata(start2);
+
+            @Override
+            public Object run() {
+                return new UndefinedData("http://localhost/kcsapi/api_start2", DataType.START2.getUrl(),
+                        "api_verno=1&api_token=0123456789abcdef".getBytes(), this.response).toDefinedData();
+            }
+        });
+        benchmarks.add(new MicroBenchmark("updateContext.port") {
+            private final Data data = toData(DataType.PORT, port);
+
+            @Override
+            public Object run() {
+                GlobalContext.updateContext(this.data);
+                return GlobalContext.getShipMap();
+            }
+        });
+        benchmarks.add(new MicroBenchmark("updateContext.ship3") {
+            private final Data data = toData(DataType.SHIP3, ship3);
+
+            @Override
+            public Object run() {
+                GlobalContext.updateContext(this.data);
+                return GlobalContext.getShipMap();
+            }
+        });
+        benchmarks.add(new MicroBenchmark("master.lookup") {
+            @Override
+            public Object run() {
+                Object last = null;
+                for (int id : shipIds) {
+                    last = Ship.get(id);
+                }
+                for (int id : slotitemIds) {
+                    last = Item.get(id);
+                }
+                return last;
+            }
+        });
+        benchmarks.add(new MicroBenchmark("master.lookup.hashmap") {
+            @Override
+            public Object run() {
+                Object last = null;
+                for (int id : shipIds) {
+                    last = shipMaster.get(String.valueOf(id));
+                }
+                for (int id : slotitemIds) {
+                    last = itemMaster.get(id);
+                }
+                return last;
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleExDto.addPhase") {
+            private final JsonObject apidata = battle.getJsonObject("api_data");
+
+            @Override
+            public Object run() {
+                BattleExDto dto = new BattleExDto(new Date());
+                return dto.addPhase(this.apidata, BattlePhaseKind.BATTLE);
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleExDto.addPhase+setResult") {
+            private final JsonObject apidata = battle.getJsonObject("api_data");
+            private final JsonObject resultdata = battleResult.getJsonObject("api_data");
+
+            @Override
+            public Object run() {
+                // 戦闘から戦闘結果を受け取って保存できる状態になるまで
+                BattleExDto dto = new BattleExDto(new Date());
+                dto.addPhase(this.apidata, BattlePhaseKind.BATTLE);
+                dto.setResult(this.resultdata, null);
+                return dto;
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleAtackDto.makeRaigeki") {
+            private final JsonValue raigeki = battle.getJsonObject("api_data").get("api_raigeki");
+
+            @Override
+            public Object run() {
+                return BattleAtackDto.makeRaigeki(this.raigeki, false);
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleAtackDto.makeAir") {
+            private final JsonObject kouku = battle.getJsonObject("api_data").getJsonObject("api_kouku");
+
+            @Override
+            public Object run() {
+                return BattleAtackDto.makeAir(this.kouku.get("api_plane_from"), this.kouku.get("api_stage3"), null);
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleAtackDto.makeHougeki") {
+            private final JsonValue hougeki = battle.getJsonObject("api_data").get("api_hougeki1");
+
+            @Override
+            public Object run() {
+                return BattleAtackDto.makeHougeki(this.hougeki, false);
+            }
+        });
+        benchmarks.add(new MicroBenchmark("BattleAtackDto.makeHougeki.boxing") {
+            private final JsonObject hougeki = battle.getJsonObject("api_data").getJsonObject("api_hougeki1");
+
+            @Override
+            public Object run() {
+                return makeHougekiBoxing(this.hougeki);
+            }
+        });
+        final Schema<BattleExDto> schema = RuntimeSchema.getSchema(BattleExDto.class);
+        final BattleExDto battleDto = new BattleExDto(new Date());
+        battleDto.addPhase(battle.getJsonObject("api_data"), BattlePhaseKind.BATTLE);
+        battleDto.setResult(battleResult.getJsonObject("api_data"), null);
+        final LinkedBuffer buffer = LinkedBuffer.allocate(128 * 1024);
+        final byte[] encoded = ProtostuffIOUtil.toByteArray(battleDto, schema, buffer);
+        buffer.clear();
+        benchmarks.add(new MicroBenchmark("protostuff.encode") {
+            @Override
+            public Object run() {
+                try {
+                    return ProtostuffIOUtil.toByteArray(battleDto, schema, buffer);
+                } finally {
+                    buffer.clear();
+                }
+            }
+        });
+        benchmarks.add(new MicroBenchmark("protostuff.decode") {
+            @Override
+            public Object run() {
+                BattleExDto dto = schema.newMessage();
+                ProtostuffIOUtil.mergeFrom(encoded, dto, schema);
+                return dto;
+            }
+        });
+        benchmarks.add(new MicroBenchmark("CreateReportLogic.getShipListBody") {
+            @Override
+            public Object run() {
+                return CreateReportLogic.getShipListBody(false, null);
+            }
+        });
+        benchmarks.add(new MicroBenchmark("ResourceLog.getInstance") {
+            @Override
+            public Object run() throws Exception {
+                return ResourceLog.getInstance(materialLog);
+            }
+        });
+
+        System.out.println(String.format("艦娘 %d隻 / 装備 %d個 / 戦闘データ %d byte", ships, items, encoded.length));
+        MicroBenchmark.printHeader(System.out);
+        for (MicroBenchmark benchmark : benchmarks) {
+            if ((filter != null) && !benchmark.getName().contains(filter)) {
+                continue;
+            }
+            benchmark.print(System.out, benchmark.measure(options));
+        }
+    }
+}
@@ -33,8 +33,8 @@ public class ItemInfoToCSV {
                 ','));
         fw.write("\n");
 
-        for (Integer key : Item.keySet()) {
-            ItemInfoDto dto = Item.get(key);
+        for (int id : Item.getIds()) {
+            ItemInfoDto dto = Item.get(id);
             ShipParameters param = dto.getParam();
             if (dto.getName().length() > 0) {
                 fw.write(StringUtils.join(new String[] {
@@ -0,0 +1,151 @@
+package logbook.test;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 簡易ベンチマーク<br>
+ * ウォームアップの後、一定時間ずつ測定を繰り返して1回あたりの時間と割り当てたメモリを求めます<br>
+ * run()の戻り値は最適化で処理が消されないように捨てずに保持します
+ */
+public abstract class MicroBenchmark {
+
+    /** 最適化で処理が消されないようにするための置き場 */
+    public static volatile Object sink;
+
+    private final String name;
+
+    /**
+     * @param name ベンチマーク名
+     */
+    protected MicroBenchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return ベンチマーク名
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * 測定前に1回だけ呼ばれます
+     */
+    public void setup() throws Exception {
+    }
+
+    /**
+     * 測定する処理を1回実行します
+     * @return 処理結果
+     */
+    public abstract Object run() throws Exception;
+
+    /** 測定結果 */
+    public static final class Result {
+        /** 1回あたりの時間(ns) 各測定の平均 */
+        public final double nanosPerOp;
+        /** 各測定のばらつき(標準偏差, ns) */
+        public final double stddev;
+        /** 1回あたりに割り当てたメモリ(byte) 測定できない場合は-1 */
+        public final double bytesPerOp;
+        /** 実行回数 */
+        public final long ops;
+
+        Result(double nanosPerOp, double stddev, double bytesPerOp, long ops) {
+            this.nanosPerOp = nanosPerOp;
+            this.stddev = stddev;
+            this.bytesPerOp = bytesPerOp;
+            this.ops = ops;
+        }
+    }
+
+    /** 測定の設定 */
+    public static final class Options {
+        /** ウォームアップの回数 */
+        public int warmupIterations = 3;
+        /** 測定の回数 */
+        public int iterations = 5;
+        /** 1回の測定時間(ms) */
+        public long iterationMillis = 1000;
+    }
+
+    /**
+     * 測定します
+     * @param options 測定の設定
+     * @return 測定結果
+     */
+    public Result measure(Options options) throws Exception {
+        this.setup();
+        for (int i = 0; i < options.warmupIterations; ++i) {
+            this.iteration(options.iterationMillis);
+        }
+        double[] samples = new double[options.iterations];
+        long totalOps = 0;
+        long totalBytes = 0;
+        boolean allocation = true;
+        for (int i = 0; i < options.iterations; ++i) {
+            long beforeBytes = allocatedBytes();
+            long[] result = this.iteration(options.iterationMillis);
+            long afterBytes = allocatedBytes();
+            samples[i] = (double) result[1] / result[0];
+            totalOps += result[0];
+            if ((beforeBytes < 0) || (afterBytes < 0)) {
+                allocation = false;
+            }
+            totalBytes += afterBytes - beforeBytes;
+        }
+        double mean = 0;
+        for (double sample : samples) {
+            mean += sample;
+        }
+        mean /= samples.length;
+        double var = 0;
+        for (double sample : samples) {
+            var += (sample - mean) * (sample - mean);
+        }
+        double stddev = Math.sqrt(var / Math.max(1, samples.length - 1));
+        return new Result(mean, stddev, allocation ? (double) totalBytes / totalOps : -1, totalOps);
+    }
+
+    /** @return [実行回数, 時間(ns)] */
+    private long[] iteration(long millis) throws Exception {
+        long deadline = System.nanoTime() + (millis * 1000000L);
+        long ops = 0;
+        long begin = System.nanoTime();
+        long now;
+        do {
+            sink = this.run();
+            ops++;
+        } while ((now = System.nanoTime()) < deadline);
+        return new long[] { ops, now - begin };
+    }
+
+    /** このスレッドが割り当てたメモリ量 (取得できない場合は-1) */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * 結果の見出しを出力します
+     * @param out 出力先
+     */
+    public static void printHeader(PrintStream out) {
+        out.println(String.format("%-36s %12s %14s %12s %14s", "Benchmark", "ops", "ns/op", "± stddev", "B/op"));
+    }
+
+    /**
+     * 結果を1行出力します
+     * @param out 出力先
+     * @param result 測定結果
+     */
+    public void print(PrintStream out, Result result) {
+        out.println(String.format("%-36s %12d %14.1f %12.1f %14s", this.name, result.ops, result.nanosPerOp,
+                result.stddev, result.bytesPerOp < 0 ? "-" : String.format("%.1f", result.bytesPerOp)));
+    }
+}
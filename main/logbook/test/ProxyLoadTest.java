@@ -0,0 +1,236 @@
+package logbook.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import logbook.config.AppConfig;
+import logbook.server.proxy.ProxyServer;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+/**
+ * ローカルに立てたダミーのゲームサーバーに、複数のブラウザからプロキシ経由で画像を読み込むような負荷をかけます<br>
+ * プロキシサーバーのスレッド数や接続数の設定を変えたときの比較に使います<br>
+ * <br>
+ * 使い方: ProxyLoadTest [--clients ブラウザ数] [--connections ブラウザごとの同時接続数] [--requests ブラウザごとのリクエスト数]
+ * [--latency ゲームサーバーの応答時間(ms)] [--size 応答の大きさ(byte)]
+ * [--acceptors 数] [--selectors 数] [--min-threads 数] [--max-threads 数]
+ * [--upstream-threads 数] [--upstream-connections 数] [--asset-cache] [--no-pass-through]<br>
+ * 設定はカレントディレクトリの config から読み込み、引数で指定したものだけ上書きします (保存はしません)
+ */
+public class ProxyLoadTest {
+
+    /**
+     * 全スレッドが確保したメモリの合計 (取得できない場合は-1)
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        long total = 0;
+        for (long bytes : ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(bean.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = 4;
+        int connections = 6;
+        int requests = 200;
+        long latency = 20;
+        int size = 64 * 1024;
+        boolean assetCache = false;
+
+        AppConfig.load();
+        for (int i = 0; i < args.length; ++i) {
+            if ("--clients".equals(args[i])) {
+                clients = Integer.parseInt(args[++i]);
+            }
+            else if ("--connections".equals(args[i])) {
+                connections = Integer.parseInt(args[++i]);
+            }
+            else if ("--requests".equals(args[i])) {
+                requests = Integer.parseInt(args[++i]);
+            }
+            else if ("--latency".equals(args[i])) {
+                latency = Long.parseLong(args[++i]);
+            }
+            else if ("--size".equals(args[i])) {
+                size = Integer.parseInt(args[++i]);
+            }
+            else if ("--acceptors".equals(args[i])) {
+                AppConfig.get().setProxyAcceptors(Integer.parseInt(args[++i]));
+            }
+            else if ("--selectors".equals(args[i])) {
+                AppConfig.get().setProxySelectors(Integer.parseInt(args[++i]));
+            }
+            else if ("--min-threads".equals(args[i])) {
+                AppConfig.get().setProxyMinThreads(Integer.parseInt(args[++i]));
+            }
+            else if ("--max-threads".equals(args[i])) {
+                AppConfig.get().setProxyMaxThreads(Integer.parseInt(args[++i]));
+            }
+            else if ("--upstream-threads".equals(args[i])) {
+                AppConfig.get().setUpstreamMaxThreads(Integer.parseInt(args[++i]));
+            }
+            else if ("--upstream-connections".equals(args[i])) {
+                AppConfig.get().setUpstreamMaxConnections(Integer.parseInt(args[++i]));
+            }
+            else if ("--asset-cache".equals(args[i])) {
+                assetCache = true;
+            }
+            else if ("--no-pass-through".equals(args[i])) {
+                AppConfig.get().setProxyPassThrough(false);
+            }
+        }
+        final long upstreamLatency = latency;
+        final byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'x');
+
+        // ダミーのゲームサーバー (同時に処理しているリクエスト数の最大を記録する)
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        Server upstream = new Server(0);
+        upstream.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                int current = inFlight.incrementAndGet();
+                int max;
+                while ((max = maxInFlight.get()) < current) {
+                    maxInFlight.compareAndSet(max, current);
+                }
+                try {
+                    Thread.sleep(upstreamLatency);
+                    response.setStatus(HttpServletResponse.SC_OK);
+                    response.setContentType("image/png");
+                    response.setContentLength(body.length);
+                    OutputStream out = response.getOutputStream();
+                    out.write(body);
+                } catch (InterruptedException e) {
+                    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+        upstream.start();
+        int upstreamPort = ((ServerConnector) upstream.getConnectors()[0]).getLocalPort();
+
+        int proxyPort = freePort();
+        AppConfig.get().setListenPort(proxyPort);
+        AppConfig.get().setUseProxy(false);
+        AppConfig.get().setUseAssetCache(assetCache);
+        ProxyServer.start();
+
+        // ブラウザと同じようにホストごとに接続を保持して使い回す
+        System.setProperty("http.maxConnections", Integer.toString(connections));
+        final Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("localhost", proxyPort));
+        final String base = "http://127.0.0.1:" + upstreamPort + "/kcs/resources/image/";
+        final int total = clients * connections * requests;
+        final long[] latencies = new long[total];
+        final AtomicInteger index = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final int perThread = requests;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(clients * connections);
+        for (int c = 0; c < (clients * connections); ++c) {
+            final int thread = c;
+            new Thread("logbook_loadtest_" + c) {
+                @Override
+                public void run() {
+                    byte[] buffer = new byte[16 * 1024];
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; ++i) {
+                            long begin = System.nanoTime();
+                            try {
+                                URL url = new URL(base + thread + "_" + i + ".png?version=1");
+                                HttpURLConnection connection = (HttpURLConnection) url.openConnection(proxy);
+                                int received = 0;
+                                try (InputStream in = connection.getInputStream()) {
+                                    int len;
+                                    while ((len = in.read(buffer)) != -1) {
+                                        received += len;
+                                    }
+                                }
+                                if ((connection.getResponseCode() != HttpURLConnection.HTTP_OK)
+                                        || (received != body.length)) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (IOException e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[index.getAndIncrement()] = System.nanoTime() - begin;
+                        }
+                    } catch (InterruptedException e) {
+                        // 終了
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+
+        long allocated = allocatedBytes();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        allocated = allocatedBytes() - allocated;
+        ProxyServer.end();
+        upstream.stop();
+
+        Arrays.sort(latencies);
+        System.out.println(String.format(
+                "ブラウザ %d x 同時接続 %d / 応答時間 %dms / 応答 %d byte", clients, connections, upstreamLatency,
+                body.length));
+        System.out.println(String.format(
+                "acceptors %d / selectors %d / threads %d-%d / upstream threads %d / upstream connections %d / pass-through %s",
+                AppConfig.get().getProxyAcceptors(), AppConfig.get().getProxySelectors(),
+                AppConfig.get().getProxyMinThreads(), AppConfig.get().getProxyMaxThreads(),
+                AppConfig.get().getUpstreamMaxThreads(), AppConfig.get().getUpstreamMaxConnections(),
+                AppConfig.get().isProxyPassThrough() ? "on" : "off"));
+        System.out.println(String.format("%d件 (エラー %d件) / %.2f 秒 / %.0f 件/秒 / %.1f MB/秒", total,
+                errors.get(), seconds, total / seconds, ((double) total * body.length) / 1048576.0 / seconds));
+        System.out.println(String.format("応答時間 p50 %.1fms / p90 %.1fms / p99 %.1fms / 最大 %.1fms",
+                latencies[total / 2] / 1e6, latencies[(int) (total * 0.9)] / 1e6,
+                latencies[(int) (total * 0.99)] / 1e6, latencies[total - 1] / 1e6));
+        System.out.println(String.format("ゲームサーバーの同時処理数 最大 %d", maxInFlight.get()));
+        if (allocated >= 0) {
+            System.out.println(String.format("確保したメモリ %.1f MB (1件あたり %.1f KB, 計測側のスレッドを含む)",
+                    allocated / 1048576.0, (allocated / 1024.0) / total));
+        }
+    }
+}
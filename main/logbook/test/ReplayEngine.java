@@ -0,0 +1,350 @@
+package logbook.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import logbook.config.AppConfig;
+import logbook.data.Data;
+import logbook.data.DataType;
+import logbook.data.JsonArchive;
+import logbook.data.TestData;
+import logbook.data.context.GlobalContext;
+import logbook.data.context.SessionContext;
+import logbook.dto.DockDto;
+import logbook.dto.ItemDto;
+import logbook.dto.MaterialDto;
+import logbook.dto.ShipDto;
+import logbook.internal.BattleResultServer;
+
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * 保存したJSONをGlobalContextに流し込んで、ハンドラの処理時間と最終状態を出力します<br>
+ * <br>
+ * 使い方: ReplayEngine [--realtime] [--speed 倍率] [--out 出力先] ファイルまたはディレクトリ...<br>
+ * 1レスポンス1ファイルのJSON(*.json)とセグメントファイル(*.jsonseg)を受信時刻順に並べて流し込みます<br>
+ * --realtime を付けると受信時刻の間隔どおりに(--speedの倍率で)流し込みます<br>
+ * 付けない場合はできるだけ速く流し込みます<br>
+ * <br>
+ * 報告書と出撃ログは --out で指定したディレクトリ(省略時は ./replay)に書き込むので、
+ * 普段の報告書が汚れることはありません<br>
+ * 同じデータを流し込めば最終状態のチェックサムは同じになるので、
+ * ハンドラを変更したときに結果が変わっていないかの確認にも使えます
+ */
+public class ReplayEngine {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** 個別ファイルのファイル名 */
+    private static final SimpleDateFormat fileFormat = new SimpleDateFormat("yyyy-MM-dd_HHmmss.SSS");
+
+    /** 流し込むJSON1つ */
+    private static abstract class Entry {
+        final Date time;
+        final DataType type;
+
+        Entry(Date time, DataType type) {
+            this.time = time;
+            this.type = type;
+        }
+
+        abstract Data load() throws ParseException, IOException;
+    }
+
+    /** 1レスポンス1ファイルのJSON */
+    private static final class FileEntry extends Entry {
+        private final File file;
+
+        FileEntry(Date time, DataType type, File file) {
+            super(time, type);
+            this.file = file;
+        }
+
+        @Override
+        Data load() throws ParseException, IOException {
+            return new TestData(this.file.getPath());
+        }
+    }
+
+    /** セグメントファイル中のJSON */
+    private static final class RecordEntry extends Entry {
+        private final JsonArchive.Record record;
+
+        RecordEntry(JsonArchive.Record record) {
+            super(record.getTime(), record.getDataType());
+            this.record = record;
+        }
+
+        @Override
+        Data load() {
+            return this.record.toData();
+        }
+    }
+
+    /** DataTypeごとの処理時間 */
+    private static final class Stat {
+        int count;
+        long total;
+        long max;
+
+        void add(long nanos) {
+            this.count++;
+            this.total += nanos;
+            this.max = Math.max(this.max, nanos);
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    private final Map<DataType, Stat> stats = new EnumMap<DataType, Stat>(DataType.class);
+
+    /** JSONの読み込みにかかった時間 */
+    private long parseNanos;
+
+    /** updateContextにかかった時間 */
+    private long handleNanos;
+
+    /** 全体の時間 */
+    private long wallNanos;
+
+    private int events;
+
+    private int errors;
+
+    /**
+     * 流し込むJSONを追加します
+     * @param file ファイル(*.json, *.jsonseg)またはそれらを含むディレクトリ
+     */
+    public void add(File file) throws IOException {
+        if (file.isDirectory()) {
+            File[] files = file.listFiles();
+            Arrays.sort(files);
+            for (File child : files) {
+                this.add(child);
+            }
+        }
+        else if (JsonArchive.isSegment(file)) {
+            try (JsonArchive.Reader reader = new JsonArchive.Reader(file)) {
+                for (JsonArchive.Record record : reader.readAll()) {
+                    this.entries.add(new RecordEntry(record));
+                }
+            }
+        }
+        else if (FilenameUtils.isExtension(file.getName(), "json")) {
+            String name = FilenameUtils.getBaseName(file.getName());
+            int splitpos = name.indexOf('_', name.indexOf('_') + 1);
+            try {
+                Date time = fileFormat.parse(name.substring(0, splitpos));
+                DataType type = DataType.valueOf(name.substring(splitpos + 1));
+                this.entries.add(new FileEntry(time, type, file));
+            } catch (ParseException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                System.out.println("ファイル名が不正なので無視します: " + file.getPath());
+            }
+        }
+    }
+
+    /**
+     * @return 流し込むJSONの数
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 受信時刻順に流し込みます
+     * @param realtime 受信時刻の間隔どおりに流し込むか
+     * @param speed realtimeの時の倍率
+     */
+    public void run(boolean realtime, double speed) throws InterruptedException {
+        // 同時刻の場合は追加した順
+        Collections.sort(this.entries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry o1, Entry o2) {
+                return o1.time.compareTo(o2.time);
+            }
+        });
+
+        long begin = System.nanoTime();
+        long first = this.entries.isEmpty() ? 0 : this.entries.get(0).time.getTime();
+        for (Entry entry : this.entries) {
+            if (realtime) {
+                long due = begin + (long) (((entry.time.getTime() - first) * 1000000L) / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+                }
+            }
+            Data data;
+            long t0 = System.nanoTime();
+            try {
+                data = entry.load();
+            } catch (Exception e) {
+                this.errors++;
+                System.out.println("読み込みに失敗しました: " + entry.type + " " + e);
+                continue;
+            }
+            long t1 = System.nanoTime();
+            try {
+                GlobalContext.updateContext(data);
+            } catch (Exception e) {
+                this.errors++;
+                System.out.println("処理に失敗しました: " + entry.type + " " + e);
+            }
+            long t2 = System.nanoTime();
+
+            this.parseNanos += t1 - t0;
+            this.handleNanos += t2 - t1;
+            Stat stat = this.stats.get(entry.type);
+            if (stat == null) {
+                stat = new Stat();
+                this.stats.put(entry.type, stat);
+            }
+            stat.add(t2 - t1);
+            this.events++;
+        }
+        this.wallNanos = System.nanoTime() - begin;
+    }
+
+    /**
+     * 最終状態のチェックサムを計算します
+     * @return 項目名とCRC32
+     */
+    public static Map<String, Long> checksum() {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+
+        CRC32 crc = new CRC32();
+        for (ShipDto ship : new TreeMap<Integer, ShipDto>(GlobalContext.getShipMap()).values()) {
+            update(crc, ship.getId(), ship.getShipId(), ship.getLv(), ship.getExp(),
+                    ship.getNowhp(), ship.getMaxhp(), ship.getCond(), ship.getFuel(), ship.getBull(),
+                    ship.getLocked() ? 1 : 0);
+            for (int id : ship.getItemId()) {
+                update(crc, id);
+            }
+        }
+        result.put("ships", crc.getValue());
+
+        crc = new CRC32();
+        for (ItemDto item : new TreeMap<Integer, ItemDto>(GlobalContext.getItemMap()).values()) {
+            update(crc, item.getId(), item.getSlotitemId(), item.getLevel());
+        }
+        result.put("items", crc.getValue());
+
+        crc = new CRC32();
+        MaterialDto material = GlobalContext.getMaterial();
+        if (material != null) {
+            update(crc, material.getFuel(), material.getAmmo(), material.getMetal(), material.getBauxite(),
+                    material.getBurner(), material.getBucket(), material.getResearch(), material.getScrew());
+        }
+        result.put("material", crc.getValue());
+
+        crc = new CRC32();
+        for (DockDto dock : new TreeMap<String, DockDto>(GlobalContext.getDock()).values()) {
+            crc.update(dock.getId().getBytes(UTF8));
+            for (ShipDto ship : dock.getShips()) {
+                update(crc, ship.getId());
+            }
+        }
+        result.put("decks", crc.getValue());
+        return result;
+    }
+
+    private static void update(CRC32 crc, int... values) {
+        for (int value : values) {
+            crc.update(value >>> 24);
+            crc.update(value >>> 16);
+            crc.update(value >>> 8);
+            crc.update(value);
+        }
+    }
+
+    /**
+     * 結果を出力します
+     * @param out 出力先
+     */
+    public void printReport(PrintStream out) {
+        double sec = this.wallNanos / 1e9;
+        out.println(String.format("%d件 (エラー %d件) %.3f秒 %.1f件/秒",
+                this.events, this.errors, sec, sec > 0 ? this.events / sec : 0));
+        out.println(String.format("JSON読み込み %.1f ms / updateContext %.1f ms",
+                this.parseNanos / 1e6, this.handleNanos / 1e6));
+        out.println(String.format("%-32s %8s %12s %12s %12s", "DataType", "件数", "合計(ms)", "平均(us)", "最大(us)"));
+        for (Map.Entry<DataType, Stat> entry : this.stats.entrySet()) {
+            Stat stat = entry.getValue();
+            out.println(String.format("%-32s %8d %12.2f %12.1f %12.1f", entry.getKey(), stat.count,
+                    stat.total / 1e6, (stat.total / 1e3) / stat.count, stat.max / 1e3));
+        }
+        out.println(String.format("艦娘 %d隻 / 装備 %d個 / 戦闘結果 %d件", GlobalContext.getShipMap().size(),
+                GlobalContext.getItemMap().size(), GlobalContext.getBattleResultList().size()));
+        for (Map.Entry<String, Long> entry : checksum().entrySet()) {
+            out.println(String.format("%-16s %08x", entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * ウィンドウなしで流し込めるように設定します<br>
+     * 報告書・出撃ログ・建造ドックの投入資源の出力先は outDir に変更し、JSONの保存は行いません<br>
+     * 流し込みは呼び出したスレッドで行ってください
+     * @param outDir 報告書・出撃ログ・建造ドックの投入資源の出力先
+     */
+    public static void prepare(File outDir) {
+        AppConfig.load();
+        AppConfig.get().setStoreJson(false);
+        AppConfig.get().setReportPath(outDir.getPath());
+        AppConfig.get().setBattleLogPath(new File(outDir, "battlelog").getPath());
+        BattleResultServer.setLogPath(AppConfig.get().getBattleLogPath());
+        // config/kdock.xml を書き換えないように専用のセッションで処理する
+        SessionContext.bind(SessionContext.createReplay(outDir));
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean realtime = false;
+        double speed = 1;
+        File outDir = new File("replay");
+        List<File> inputs = new ArrayList<File>();
+        for (int i = 0; i < args.length; ++i) {
+            if ("--realtime".equals(args[i])) {
+                realtime = true;
+            }
+            else if ("--speed".equals(args[i])) {
+                speed = Double.parseDouble(args[++i]);
+            }
+            else if ("--out".equals(args[i])) {
+                outDir = new File(args[++i]);
+            }
+            else {
+                inputs.add(new File(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.out.println("使い方: ReplayEngine [--realtime] [--speed 倍率] [--out 出力先] ファイルまたはディレクトリ...");
+            return;
+        }
+
+        prepare(outDir);
+        ReplayEngine engine = new ReplayEngine();
+        for (File input : inputs) {
+            engine.add(input);
+        }
+        System.out.println(engine.size() + "件のJSONを流し込みます");
+        engine.run(realtime, speed);
+        engine.printReport(System.out);
+    }
+}
@@ -0,0 +1,536 @@
+package logbook.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import logbook.data.DataType;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * ベンチマークやリプレイ用のダミーのAPIレスポンスを作ります<br>
+ * 乱数の種が同じなら同じデータになります<br>
+ * <br>
+ * 使い方: SampleDataGenerator 出力先 [艦娘の数] [装備の数] [出撃回数]<br>
+ * 出力先にJSON保存と同じ形式(日時_DataType.json)でファイルを書き込むので、
+ * そのまま ReplayEngine に食べさせることができます
+ */
+public class SampleDataGenerator {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** 味方艦のマスターID 1～NUM_SHIP_MASTER */
+    private static final int NUM_SHIP_MASTER = 200;
+
+    /** 深海棲艦のマスターID */
+    private static final int ENEMY_SHIP_BASE = 500;
+
+    private static final int NUM_ENEMY_MASTER = 100;
+
+    private static final int NUM_ITEM_MASTER = 150;
+
+    private static final int NUM_STYPE = 21;
+
+    private final long seed;
+    private final int numShips;
+    private final int numItems;
+
+    /**
+     * @param seed 乱数の種
+     * @param numShips 艦娘の数 (24以上)
+     * @param numItems 装備の数
+     */
+    public SampleDataGenerator(long seed, int numShips, int numItems) {
+        this.seed = seed;
+        this.numShips = Math.max(24, numShips);
+        this.numItems = numItems;
+    }
+
+    /** レスポンスごとに別の乱数を使うので呼び出し順で結果は変わらない */
+    private Random random(int salt) {
+        return new Random(this.seed * 31 + salt);
+    }
+
+    private static JsonArrayBuilder array(int... values) {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        for (int value : values) {
+            builder.add(value);
+        }
+        return builder;
+    }
+
+    private static JsonObject response(JsonObjectBuilder data) {
+        return Json.createObjectBuilder()
+                .add("api_result", 1)
+                .add("api_result_msg", "成功")
+                .add("api_data", data)
+                .build();
+    }
+
+    private static JsonObject response(JsonArrayBuilder data) {
+        return Json.createObjectBuilder()
+                .add("api_result", 1)
+                .add("api_result_msg", "成功")
+                .add("api_data", data)
+                .build();
+    }
+
+    /** 艦娘のMaxHP (戦闘と母港で同じ値にするため乱数を使わない) */
+    private static int maxhp(int id) {
+        return 15 + ((id * 7) % 70);
+    }
+
+    /**
+     * api_start2
+     */
+    public JsonObject start2() {
+        Random random = this.random(1);
+        JsonArrayBuilder ships = Json.createArrayBuilder();
+        for (int id = 1; id <= (NUM_SHIP_MASTER + NUM_ENEMY_MASTER); ++id) {
+            int shipId = (id <= NUM_SHIP_MASTER) ? id : (ENEMY_SHIP_BASE + (id - NUM_SHIP_MASTER));
+            boolean enemy = shipId > ENEMY_SHIP_BASE;
+            int hp = 15 + random.nextInt(70);
+            ships.add(Json.createObjectBuilder()
+                    .add("api_id", shipId)
+                    .add("api_sortno", enemy ? 0 : shipId)
+                    .add("api_name", (enemy ? "深海棲艦" : "艦娘") + shipId)
+                    .add("api_yomi", enemy ? "elite" : "かんむす")
+                    .add("api_stype", 1 + random.nextInt(NUM_STYPE))
+                    .add("api_afterlv", enemy || ((shipId % 2) == 0) ? 0 : 20 + random.nextInt(50))
+                    // 改造後は偶数IDにしておく(改造の連鎖が止まるように)
+                    .add("api_aftershipid", String.valueOf(enemy || ((shipId % 2) == 0) ? 0 : shipId + 1))
+                    .add("api_taik", array(hp, hp + 10))
+                    .add("api_souk", array(random.nextInt(50), 50 + random.nextInt(50)))
+                    .add("api_houg", array(random.nextInt(50), 50 + random.nextInt(50)))
+                    .add("api_raig", array(random.nextInt(50), 50 + random.nextInt(50)))
+                    .add("api_tyku", array(random.nextInt(50), 50 + random.nextInt(50)))
+                    .add("api_luck", array(random.nextInt(20), 50 + random.nextInt(50)))
+                    .add("api_soku", 10)
+                    .add("api_leng", 1 + random.nextInt(3))
+                    .add("api_slot_num", 4)
+                    .add("api_maxeq", array(random.nextInt(30), random.nextInt(30), random.nextInt(30),
+                            random.nextInt(30), 0))
+                    .add("api_fuel_max", 15 + random.nextInt(80))
+                    .add("api_bull_max", 15 + random.nextInt(80))
+                    .add("api_powup", array(random.nextInt(4), random.nextInt(4), random.nextInt(4),
+                            random.nextInt(4))));
+        }
+        JsonArrayBuilder items = Json.createArrayBuilder();
+        for (int id = 1; id <= NUM_ITEM_MASTER; ++id) {
+            items.add(Json.createObjectBuilder()
+                    .add("api_id", id)
+                    .add("api_sortno", id)
+                    .add("api_name", "装備" + id)
+                    .add("api_type", array(1 + random.nextInt(3), 1 + random.nextInt(15),
+                            1 + random.nextInt(30), 1 + random.nextInt(40)))
+                    .add("api_taik", 0)
+                    .add("api_souk", random.nextInt(5))
+                    .add("api_houg", random.nextInt(20))
+                    .add("api_raig", random.nextInt(15))
+                    .add("api_soku", 0)
+                    .add("api_baku", random.nextInt(10))
+                    .add("api_tyku", random.nextInt(10))
+                    .add("api_tais", random.nextInt(10))
+                    .add("api_houm", random.nextInt(5))
+                    .add("api_houk", random.nextInt(5))
+                    .add("api_saku", random.nextInt(8))
+                    .add("api_luck", 0)
+                    .add("api_leng", random.nextInt(4)));
+        }
+        JsonArrayBuilder stypes = Json.createArrayBuilder();
+        for (int id = 1; id <= NUM_STYPE; ++id) {
+            stypes.add(Json.createObjectBuilder()
+                    .add("api_id", id)
+                    .add("api_sortno", id)
+                    .add("api_name", "艦種" + id)
+                    .add("api_equip_type", Json.createObjectBuilder().add("1", 1).add("2", 1)));
+        }
+        JsonArrayBuilder useitems = Json.createArrayBuilder();
+        for (int id = 1; id <= 10; ++id) {
+            useitems.add(Json.createObjectBuilder()
+                    .add("api_id", id)
+                    .add("api_usetype", 0)
+                    .add("api_category", 0)
+                    .add("api_name", "アイテム" + id)
+                    .add("api_description", Json.createArrayBuilder().add("").add("")));
+        }
+        return response(Json.createObjectBuilder()
+                .add("api_mst_ship", ships)
+                .add("api_mst_slotitem", items)
+                .add("api_mst_stype", stypes)
+                .add("api_mst_useitem", useitems)
+                .add("api_mst_maparea", Json.createArrayBuilder())
+                .add("api_mst_mapinfo", Json.createArrayBuilder())
+                .add("api_mst_mission", Json.createArrayBuilder()));
+    }
+
+    /**
+     * api_get_member/slot_item
+     */
+    public JsonObject slotitemMember() {
+        Random random = this.random(2);
+        JsonArrayBuilder items = Json.createArrayBuilder();
+        for (int id = 1; id <= this.numItems; ++id) {
+            items.add(Json.createObjectBuilder()
+                    .add("api_id", id)
+                    .add("api_slotitem_id", 1 + random.nextInt(NUM_ITEM_MASTER))
+                    .add("api_locked", random.nextInt(2))
+                    .add("api_level", random.nextInt(11)));
+        }
+        return response(items);
+    }
+
+    private JsonArrayBuilder ships(Random random) {
+        JsonArrayBuilder ships = Json.createArrayBuilder();
+        for (int id = 1; id <= this.numShips; ++id) {
+            // 装備は前から順に4つずつ
+            int[] slot = new int[5];
+            for (int i = 0; i < 5; ++i) {
+                int itemId = ((id - 1) * 4) + i + 1;
+                slot[i] = ((i < 4) && (itemId <= this.numItems)) ? itemId : -1;
+            }
+            int lv = 1 + random.nextInt(150);
+            int maxhp = maxhp(id);
+            ships.add(Json.createObjectBuilder()
+                    .add("api_id", id)
+                    .add("api_sortno", id)
+                    .add("api_ship_id", 1 + random.nextInt(NUM_SHIP_MASTER))
+                    .add("api_lv", lv)
+                    .add("api_exp", array(lv * lv * 100, lv * 100, random.nextInt(100)))
+                    .add("api_nowhp", Math.max(1, maxhp - random.nextInt(maxhp)))
+                    .add("api_maxhp", maxhp)
+                    .add("api_leng", 1 + random.nextInt(3))
+                    .add("api_slot", array(slot))
+                    .add("api_onslot", array(random.nextInt(20), random.nextInt(20), random.nextInt(20),
+                            random.nextInt(20), 0))
+                    .add("api_kyouka", array(0, 0, 0, 0, 0))
+                    .add("api_backs", 1 + random.nextInt(5))
+                    .add("api_fuel", random.nextInt(100))
+                    .add("api_bull", random.nextInt(100))
+                    .add("api_slotnum", 4)
+                    .add("api_ndock_time", 0)
+                    .add("api_ndock_item", array(0, 0))
+                    .add("api_srate", 0)
+                    .add("api_cond", 20 + random.nextInt(80))
+                    .add("api_karyoku", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_raisou", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_taiku", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_soukou", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_kaihi", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_taisen", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_sakuteki", array(random.nextInt(100), 100 + random.nextInt(100)))
+                    .add("api_lucky", array(random.nextInt(50), 50 + random.nextInt(50)))
+                    .add("api_locked", random.nextInt(2))
+                    .add("api_locked_equip", 0));
+        }
+        return ships;
+    }
+
+    private static JsonArrayBuilder decks() {
+        JsonArrayBuilder decks = Json.createArrayBuilder();
+        for (int i = 0; i < 4; ++i) {
+            int[] ships = new int[6];
+            for (int j = 0; j < 6; ++j) {
+                ships[j] = (i * 6) + j + 1;
+            }
+            decks.add(Json.createObjectBuilder()
+                    .add("api_member_id", 1)
+                    .add("api_id", i + 1)
+                    .add("api_name", "第" + (i + 1) + "艦隊")
+                    .add("api_mission", array(0, 0, 0, 0))
+                    .add("api_flagship", "0")
+                    .add("api_ship", array(ships)));
+        }
+        return decks;
+    }
+
+    /**
+     * api_port/port
+     */
+    public JsonObject port() {
+        Random random = this.random(3);
+        JsonArrayBuilder material = Json.createArrayBuilder();
+        for (int id = 1; id <= 8; ++id) {
+            material.add(Json.createObjectBuilder()
+                    .add("api_member_id", 1)
+                    .add("api_id", id)
+                    .add("api_value", (id <= 4) ? 10000 + random.nextInt(200000) : random.nextInt(3000)));
+        }
+        JsonArrayBuilder ndock = Json.createArrayBuilder();
+        for (int id = 1; id <= 4; ++id) {
+            ndock.add(Json.createObjectBuilder()
+                    .add("api_member_id", 1)
+                    .add("api_id", id)
+                    .add("api_state", 0)
+                    .add("api_ship_id", 0)
+                    .add("api_complete_time", 0)
+                    .add("api_complete_time_str", "0"));
+        }
+        return response(Json.createObjectBuilder()
+                .add("api_material", material)
+                .add("api_deck_port", decks())
+                .add("api_ndock", ndock)
+                .add("api_ship", this.ships(this.random(4)))
+                .add("api_basic", Json.createObjectBuilder()
+                        .add("api_member_id", "1")
+                        .add("api_nickname", "サンプル提督")
+                        .add("api_level", 120)
+                        .add("api_rank", 1)
+                        .add("api_experience", 12000000)
+                        .add("api_max_chara", this.numShips + 10)
+                        .add("api_max_slotitem", this.numItems + 40)
+                        .add("api_count_deck", 4)
+                        .add("api_count_kdock", 4)
+                        .add("api_count_ndock", 4)
+                        .add("api_st_win", 10000)
+                        .add("api_st_lose", 500)
+                        .add("api_ms_count", 3000)
+                        .add("api_ms_success", 2900)
+                        .add("api_pt_win", 2000)
+                        .add("api_pt_lose", 100))
+                .add("api_combined_flag", 0));
+    }
+
+    /**
+     * api_get_member/ship3 (艦娘の指定なし)
+     */
+    public JsonObject ship3() {
+        return response(Json.createObjectBuilder()
+                .add("api_ship_data", this.ships(this.random(4)))
+                .add("api_deck_data", decks())
+                .add("api_slot_data", Json.createObjectBuilder()));
+    }
+
+    private static JsonArrayBuilder damages(Random random, int max) {
+        JsonArrayBuilder builder = Json.createArrayBuilder().add(-1);
+        for (int i = 0; i < 6; ++i) {
+            builder.add(random.nextInt(max));
+        }
+        return builder;
+    }
+
+    private static JsonArrayBuilder targets(Random random) {
+        JsonArrayBuilder builder = Json.createArrayBuilder().add(-1);
+        for (int i = 0; i < 6; ++i) {
+            builder.add(random.nextInt(7));
+        }
+        return builder;
+    }
+
+    private static JsonObjectBuilder planeCount(Random random) {
+        int f = random.nextInt(100);
+        int e = random.nextInt(100);
+        return Json.createObjectBuilder()
+                .add("api_f_count", f)
+                .add("api_f_lostcount", random.nextInt(f + 1))
+                .add("api_e_count", e)
+                .add("api_e_lostcount", random.nextInt(e + 1));
+    }
+
+    /**
+     * api_req_sortie/battle (第1艦隊で出撃、敵6隻、航空戦・砲撃戦2巡・雷撃戦あり)
+     * @param index 何戦目か
+     */
+    public JsonObject battle(int index) {
+        Random random = this.random(100 + index);
+        JsonArrayBuilder nowhps = Json.createArrayBuilder().add(-1);
+        JsonArrayBuilder maxhps = Json.createArrayBuilder().add(-1);
+        for (int i = 1; i <= 6; ++i) {
+            nowhps.add(maxhp(i));
+            maxhps.add(maxhp(i));
+        }
+        JsonArrayBuilder shipKe = Json.createArrayBuilder().add(-1);
+        JsonArrayBuilder shipLv = Json.createArrayBuilder().add(-1);
+        JsonArrayBuilder eSlot = Json.createArrayBuilder();
+        JsonArrayBuilder eParam = Json.createArrayBuilder();
+        for (int i = 1; i <= 6; ++i) {
+            int hp = 20 + random.nextInt(80);
+            nowhps.add(hp);
+            maxhps.add(hp);
+            shipKe.add(ENEMY_SHIP_BASE + 1 + random.nextInt(NUM_ENEMY_MASTER));
+            shipLv.add(1 + random.nextInt(100));
+            eSlot.add(array(1 + random.nextInt(NUM_ITEM_MASTER), 1 + random.nextInt(NUM_ITEM_MASTER), -1, -1, -1));
+            eParam.add(array(random.nextInt(100), random.nextInt(100), random.nextInt(100), random.nextInt(100)));
+        }
+
+        JsonObjectBuilder kouku = Json.createObjectBuilder()
+                .add("api_plane_from", Json.createArrayBuilder().add(array(1, 2)).add(array(7)))
+                .add("api_stage1", planeCount(random)
+                        .add("api_disp_seiku", random.nextInt(5))
+                        .add("api_touch_plane", array(-1, -1)))
+                .add("api_stage2", planeCount(random))
+                .add("api_stage3", Json.createObjectBuilder()
+                        .add("api_fdam", damages(random, 30))
+                        .add("api_edam", damages(random, 60)));
+
+        JsonObjectBuilder[] hougeki = new JsonObjectBuilder[2];
+        for (int h = 0; h < 2; ++h) {
+            JsonArrayBuilder atList = Json.createArrayBuilder().add(-1);
+            JsonArrayBuilder dfList = Json.createArrayBuilder().add(-1);
+            JsonArrayBuilder damage = Json.createArrayBuilder().add(-1);
+            for (int i = 0; i < 12; ++i) {
+                boolean friend = (i % 2) == 0;
+                int at = (i / 2) + 1 + (friend ? 0 : 6);
+                int df = 1 + random.nextInt(6) + (friend ? 6 : 0);
+                boolean doubleAttack = random.nextInt(4) == 0;
+                atList.add(at);
+                dfList.add(doubleAttack ? array(df, df) : array(df));
+                damage.add(doubleAttack ? array(random.nextInt(80), random.nextInt(80)) : array(random.nextInt(120)));
+            }
+            hougeki[h] = Json.createObjectBuilder()
+                    .add("api_at_list", atList)
+                    .add("api_at_type", Json.createArrayBuilder())
+                    .add("api_df_list", dfList)
+                    .add("api_damage", damage);
+        }
+
+        JsonObjectBuilder raigeki = Json.createObjectBuilder()
+                .add("api_frai", targets(random))
+                .add("api_erai", targets(random))
+                .add("api_fdam", damages(random, 40))
+                .add("api_edam", damages(random, 150))
+                .add("api_fydam", damages(random, 150))
+                .add("api_eydam", damages(random, 40));
+
+        return response(Json.createObjectBuilder()
+                .add("api_dock_id", 1)
+                .add("api_ship_ke", shipKe)
+                .add("api_ship_lv", shipLv)
+                .add("api_nowhps", nowhps)
+                .add("api_maxhps", maxhps)
+                .add("api_midnight_flag", 0)
+                .add("api_eSlot", eSlot)
+                .add("api_eKyouka", Json.createArrayBuilder())
+                .add("api_fParam", Json.createArrayBuilder())
+                .add("api_eParam", eParam)
+                .add("api_search", array(1, 1))
+                .add("api_formation", array(1, 1 + random.nextInt(5), 1 + random.nextInt(4)))
+                .add("api_stage_flag", array(1, 1, 1))
+                .add("api_kouku", kouku)
+                .add("api_support_flag", 0)
+                .addNull("api_support_info")
+                .add("api_opening_flag", 0)
+                .addNull("api_opening_atack")
+                .add("api_hourai_flag", array(1, 1, 0, 1))
+                .add("api_hougeki1", hougeki[0])
+                .add("api_hougeki2", hougeki[1])
+                .addNull("api_hougeki3")
+                .add("api_raigeki", raigeki));
+    }
+
+    /**
+     * api_req_sortie/battleresult
+     * @param index 何戦目か
+     */
+    public JsonObject battleResult(int index) {
+        Random random = this.random(10000 + index);
+        String[] ranks = { "S", "A", "B", "C", "D" };
+        JsonObjectBuilder data = Json.createObjectBuilder()
+                .add("api_ship_id", array(-1, 1, 2, 3, 4, 5, 6))
+                .add("api_win_rank", ranks[random.nextInt(ranks.length)])
+                .add("api_get_exp", 100)
+                .add("api_mvp", 1 + random.nextInt(6))
+                .add("api_member_lv", 120)
+                .add("api_member_exp", 12000000)
+                .add("api_get_base_exp", 100)
+                .add("api_quest_name", "サンプル海域")
+                .add("api_quest_level", 1)
+                .add("api_enemy_info", Json.createObjectBuilder()
+                        .add("api_level", "")
+                        .add("api_rank", "")
+                        .add("api_deck_name", "敵艦隊" + random.nextInt(20)))
+                .add("api_first_clear", 0);
+        if (random.nextInt(2) == 0) {
+            data.add("api_get_ship", Json.createObjectBuilder()
+                    .add("api_ship_id", 1 + random.nextInt(NUM_SHIP_MASTER))
+                    .add("api_ship_type", "駆逐艦")
+                    .add("api_ship_name", "艦娘" + (1 + random.nextInt(NUM_SHIP_MASTER)))
+                    .add("api_ship_getmes", ""));
+        }
+        return response(data);
+    }
+
+    /**
+     * 資材ログ(資材ログ.csv と同じ形式)
+     * @param rows 行数
+     */
+    public List<String> materialLog(int rows) {
+        Random random = this.random(5);
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        List<String> lines = new ArrayList<String>(rows + 1);
+        lines.add("日付,直前のイベント,燃料,弾薬,鋼材,ボーキ,高速建造材,高速修復材,開発資材,ネジ");
+        long time = 1420070400000L;
+        int[] values = { 100000, 100000, 100000, 100000, 1000, 1000, 1000, 100 };
+        for (int i = 0; i < rows; ++i) {
+            time += 60000L * (1 + random.nextInt(30));
+            StringBuilder sb = new StringBuilder(format.format(new Date(time))).append(",母港");
+            for (int j = 0; j < values.length; ++j) {
+                values[j] = Math.max(0, values[j] + random.nextInt(201) - 100);
+                sb.append(',').append(values[j]);
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * APIのレスポンスボディと同じ形式にします
+     * @param json JSON
+     * @return "svdata=" + JSON
+     */
+    public static byte[] toSvdata(JsonObject json) {
+        return ("svdata=" + json.toString()).getBytes(UTF8);
+    }
+
+    private static void write(File dir, SimpleDateFormat format, long time, DataType type, JsonObject json)
+            throws IOException {
+        File file = new File(dir, format.format(new Date(time)) + "_" + type + ".json");
+        FileUtils.writeStringToFile(file, json.toString(), UTF8);
+    }
+
+    /**
+     * ログインから出撃を繰り返すまでの一連のレスポンスを書き込みます
+     * @param dir 出力先
+     * @param sorties 出撃回数
+     */
+    public void write(File dir, int sorties) throws IOException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd_HHmmss.SSS");
+        long time = 1420070400000L;
+        write(dir, format, time += 1000, DataType.START2, this.start2());
+        write(dir, format, time += 1000, DataType.SLOTITEM_MEMBER, this.slotitemMember());
+        JsonObject port = this.port();
+        write(dir, format, time += 1000, DataType.PORT, port);
+        for (int i = 0; i < sorties; ++i) {
+            write(dir, format, time += 30000, DataType.BATTLE, this.battle(i));
+            write(dir, format, time += 30000, DataType.BATTLE_RESULT, this.battleResult(i));
+            write(dir, format, time += 10000, DataType.PORT, port);
+        }
+        write(dir, format, time += 1000, DataType.SHIP3, this.ship3());
+        FileUtils.writeLines(new File(dir, "資材ログ.csv"), this.materialLog(10000));
+    }
+
+    /**
+     * @param args
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("使い方: SampleDataGenerator 出力先 [艦娘の数] [装備の数] [出撃回数]");
+            return;
+        }
+        int ships = (args.length > 1) ? Integer.parseInt(args[1]) : 300;
+        int items = (args.length > 2) ? Integer.parseInt(args[2]) : 1200;
+        int sorties = (args.length > 3) ? Integer.parseInt(args[3]) : 100;
+        new SampleDataGenerator(0, ships, items).write(new File(args[0]), sorties);
+    }
+}
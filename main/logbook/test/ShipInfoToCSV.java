@@ -31,8 +31,8 @@ public class ShipInfoToCSV {
                 "名前", "艦ID", "タイプID", "タイプ名", "改造Lv", "改造後の艦ID", "Flagship", "Max弾", "Max燃料" }, ','));
         fw.write("\n");
 
-        for (String key : Ship.keySet()) {
-            ShipInfoDto dto = Ship.get(key);
+        for (int id : Ship.getIds()) {
+            ShipInfoDto dto = Ship.get(id);
             if (dto.getName().length() > 0) {
                 fw.write(StringUtils.join(new String[] {
                         dto.getName(),
@@ -0,0 +1,87 @@
+package logbook.thread;
+
+import java.util.concurrent.TimeUnit;
+
+import logbook.config.AppConfig;
+import logbook.config.ShipGroupConfig;
+import logbook.internal.EnemyData;
+import logbook.internal.MasterData;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 更新日時が実装されている設定ファイルを遅れて書き込みます<br>
+ * 書き込み要求は設定された時間だけまとめてから書き込むので、
+ * 短い間に何度更新されてもファイルは1回しか書き込まれません
+ */
+public final class PersistenceThread extends Thread {
+
+    /** ロガー */
+    private static final Logger LOG = LogManager.getLogger(PersistenceThread.class);
+
+    private static final Object lock = new Object();
+
+    /** 書き込み要求があるか */
+    private static boolean requested = false;
+
+    /**
+     * コンストラクター
+     */
+    public PersistenceThread() {
+        this.setName("logbook_persistence");
+    }
+
+    /**
+     * 書き込みを要求します
+     */
+    public static void request() {
+        synchronized (lock) {
+            requested = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                synchronized (lock) {
+                    while (!requested) {
+                        lock.wait();
+                    }
+                }
+                // 要求をまとめるため待つ
+                Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(0, AppConfig.get().getStoreDelay())));
+                synchronized (lock) {
+                    requested = false;
+                }
+                store();
+            }
+        } catch (Exception e) {
+            LOG.fatal("スレッドが異常終了しました", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 変更がある設定ファイルを書き込みます
+     */
+    public static void store() {
+        try {
+            ShipGroupConfig.store();
+        } catch (Exception e) {
+            LOG.warn("グループファイルの書き込みに失敗しました", e);
+        }
+        try {
+            MasterData.store();
+        } catch (Exception e) {
+            LOG.warn("マスターファイルの書き込みに失敗しました", e);
+        }
+        try {
+            EnemyData.store();
+        } catch (Exception e) {
+            LOG.warn("Enemyファイルの書き込みに失敗しました", e);
+        }
+    }
+}
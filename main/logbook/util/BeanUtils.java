@@ -42,14 +42,17 @@ public final class BeanUtils {
                 throw new IOException("Directory '" + parent + "' could not be created");
             }
         }
+        // 一時ファイルに書き込んでから置き換える
+        File tmp = new File(file.getAbsolutePath() + ".tmp");
+        try (XMLEncoder encoder = new XMLEncoder(new FileOutputStream(tmp))) {
+            encoder.writeObject(obj);
+        }
         File backup = new File(file.getAbsolutePath() + ".backup");
         if ((file.exists() && (file.length() > 0)) && (!backup.exists() || backup.delete())) {
             // ファイルが存在してかつサイズが0を超える場合、バックアップを削除した後、ファイルをバックアップにリネームする
             file.renameTo(backup);
         }
-        try (XMLEncoder encoder = new XMLEncoder(new FileOutputStream(file))) {
-            encoder.writeObject(obj);
-        }
+        ReportUtils.replaceFile(tmp, file);
     }
 
     /**
@@ -9,6 +9,9 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -49,6 +52,23 @@ public class ReportUtils {
         }
     }
 
+    /**
+     * 書き込み済みの一時ファイルで本体ファイルを置き換えます<br>
+     * 途中で終了しても本体ファイルが中途半端な状態にならないようにリネームで置き換えます
+     * 
+     * @param tmp 書き込み済みの一時ファイル
+     * @param file 本体ファイル
+     * @throws IOException
+     */
+    public static void replaceFile(File tmp, File file) throws IOException {
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     public static Calendar calendarFromDate(Date date) {
         Calendar cal = Calendar.getInstance();
         cal.setTime(date);
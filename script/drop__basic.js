@@ -34,9 +34,9 @@ function body(battle) {
 	//var ret = [null,null,null,null,null]; // これをやると遅くなる
 	var ret = new ComparableArrayType(5);
 	// 大破艦があるか
-	var lastPhase = battle.getLastPhase();
-	var taiha = (hasTaihaInFleet(lastPhase.getNowFriendHp(), battle.getMaxFriendHp()) ||
-			hasTaihaInFleet(lastPhase.getNowFriendHpCombined(), battle.getMaxFriendHpCombined()));
+	// 生JSON形式の出撃ログは戦闘フェーズを読み込まずに済むよう、戦闘後のHPは battle から取る
+	var taiha = (hasTaihaInFleet(battle.getNowFriendHp(), battle.getMaxFriendHp()) ||
+			hasTaihaInFleet(battle.getNowFriendHpCombined(), battle.getMaxFriendHpCombined()));
 	ret[0] = taiha ? "あり" : null;
 
 	// 旗艦
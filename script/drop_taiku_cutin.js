@@ -25,7 +25,7 @@ function getCutinName(kind) {
 function body(battle) {
 	var shipName = null;
 	var kindName = null;
-	var p1json = battle.getPhase1().getJson();
+	var p1json = battle.getPhase1Json();
 	if( p1json != null &&
 	    p1json.api_kouku != null &&
 		p1json.api_kouku.api_stage2 != null &&
@@ -1,6 +1,5 @@
 load("script/utils.js");
 GlobalContext = Java.type("logbook.data.context.GlobalContext");
-ShipOrder = Java.type("logbook.gui.logic.ShipOrder");
 IntegerPair = Java.type("logbook.gui.logic.IntegerPair");
 TimeString = Java.type("logbook.gui.logic.TimeString");
 HpString = Java.type("logbook.gui.logic.HpString");
@@ -34,11 +33,8 @@ function header() {
 }
 
 function begin(specdiff) {
-	var ships = ShipOrder.getOrderedShipList();
-	ordermap = {};
-	for each (var ship in ships) {
-		ordermap[ship.ship.getId()] = ship.sortNumber;
-	}
+	// 並び順はGlobalContextが艦娘の更新に合わせて保持している
+	shipOrder = GlobalContext.getShipOrderIndex();
 	missionShips = GlobalContext.getMissionShipSet();
 	ndockShips = GlobalContext.getNDockShipSet();
 }
@@ -48,7 +44,7 @@ function getPageNumber(index) {
 }
 
 function body(ship) {
-	var order = ordermap[ship.id]
+	var order = shipOrder.getRanks(ship.id);
 
 	var fleet = null;
 	if (ship.isFleetMember()) {